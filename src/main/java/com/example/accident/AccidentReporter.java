@@ -42,6 +42,7 @@ import javax.swing.JTextArea;
 
 import com.example.logging.CityLogManager;
 import com.example.radio.Radio;
+import com.example.simulation.SimulationRandom;
 
 /**
  * AccidentReporter.java
@@ -102,7 +103,7 @@ public class AccidentReporter {
         this.cityRadio = cityRadio;
         this.city = city;
         this.logManager = logManager;
-        this.random = new Random();
+        this.random = SimulationRandom.newRandom();
     }
     
     /**
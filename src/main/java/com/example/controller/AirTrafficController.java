@@ -42,6 +42,7 @@ import java.util.List;
 
 import com.example.accident.AccidentAlert;
 import com.example.detection.Radar;
+import com.example.detection.RadarSnapshot;
 import com.example.flight.FlightPath;
 import com.example.grid.Grid;
 import com.example.jetpack.JetPack;
@@ -309,8 +310,10 @@ public class AirTrafficController {
         report.append("Severity: ").append(weather.getCurrentSeverity()).append("\n");
         report.append("Safe to Fly: ").append(weather.isSafeToFly() ? "YES" : "NO").append("\n");
         report.append("\n--- RADAR ---\n");
+        RadarSnapshot sweep = radar.getSweepSnapshot();  // Shared per-sweep view; no copy of the contact store
         report.append("Radar Status: ").append(radar.isActive() ? "ACTIVE" : "INACTIVE").append("\n");
-        report.append("Tracked Aircraft: ").append(radar.getTrackedJetpackCount()).append("\n");
+        report.append("Tracked Aircraft: ").append(sweep.size()).append("\n");
+        report.append("Snapshot Version: ").append(sweep.getVersion()).append("\n");
         report.append("\n--- RADIO ---\n");
         report.append("Frequency: ").append(radio.getFrequency()).append("\n");
         report.append("Transmissions Logged: ").append(radio.getTransmissionLog().size()).append("\n");
@@ -330,7 +333,7 @@ public class AirTrafficController {
      * Performs collision detection and alerts
      */
     public void checkForCollisions() {
-        List<String> collisionWarnings = radar.checkForCollisions(15.0);
+        List<String> collisionWarnings = radar.checkForCollisions(radar.getSweepSnapshot(), 15.0);  // Same snapshot as other sweep readers
         
         if (!collisionWarnings.isEmpty()) {
             // Collision warnings detected
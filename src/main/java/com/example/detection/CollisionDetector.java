@@ -8,12 +8,12 @@
  * notifications to air traffic controllers.
  * 
  * Key Responsibilities:
- * - Calculate inter-aircraft distances from current flight positions
+ * - Calculate inter-aircraft horizontal distances for pairs that are not vertically separated
  * - Issue proximity warnings when jetpacks enter WARNING_DISTANCE threshold (~100 units)
  * - Escalate to critical alerts when separation drops below CRITICAL_DISTANCE (~50 units)
  * - Detect actual collisions (zero or near-zero separation) and report to AccidentAlert
  * - Maintain accident counter for incident tracking and reporting
- * - Post collision events to RadarTapeWindow for operator notification
+ * - Post alert level changes to RadarTapeWindow as one batch per sweep
  * 
  * Interactions:
  * - Consumes JetPackFlight and JetPackFlightState data for position analysis
@@ -23,21 +23,30 @@
  * - Coordinates with FlightHazardMonitor for comprehensive hazard management
  * 
  * Patterns & Constraints:
- * - Stateless collision detection; operates on provided flight collections
+ * - Pair alert state lives in ProximityAlertTracker; unchanged pairs are not re-announced
+ * - Hysteresis margin keeps pairs hovering on a threshold from flapping between levels
  * - Configurable distance thresholds (WARNING_DISTANCE, CRITICAL_DISTANCE)
- * - Efficient O(n²) pairwise distance calculation; suitable for moderate aircraft counts
- * - Thread-safe for concurrent collision checks during parallel updates
- * - No dependency on physics engine; uses simple Euclidean distance
+ * - Sort-and-sweep broad phase (SweepAndPrune) limits exact distance tests to nearby pairs
+ * - Same separation rule as Radar.checkForCollisions and RadarNetwork: horizontal distance, and only
+ *   for pairs less than VERTICAL_SEPARATION (100 ft) apart in altitude
+ * - Altitude bands are VERTICAL_SEPARATION high, so pairs in non-adjacent bands are always vertically
+ *   separated and are never tested
+ * - Not thread-safe; one instance per controller, driven from a single thread
+ * - No dependency on physics engine; uses simple Euclidean distance in the horizontal plane
  * 
  * @author Haisam Elkewidy
  */
 
 package com.example.detection;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import com.example.accident.AccidentAlert;
+import com.example.detection.ProximityAlertTracker.AlertLevel;
+import com.example.detection.ProximityAlertTracker.AlertTransition;
+import com.example.detection.ProximityAlertTracker.TransitionKind;
 import com.example.flight.JetPackFlight;
 import com.example.flight.JetPackFlightState;
 import com.example.ui.frames.RadarTapeWindow;
@@ -47,10 +56,17 @@ public class CollisionDetector {
     private static final double WARNING_DISTANCE = 100.0;
     private static final double CRITICAL_DISTANCE = 50.0;
     private static final double ACCIDENT_DISTANCE = 20.0; // Actual collision
+    private static final double VERTICAL_SEPARATION = 100.0; // Feet; pairs at least this far apart in altitude never conflict
+    private static final double ALTITUDE_BAND_HEIGHT = VERTICAL_SEPARATION; // Feet per broad-phase altitude band
+    private static final double HYSTERESIS_MARGIN = 10.0; // Extra separation needed before an alert de-escalates
     
     private RadarTapeWindow radarTape;
     private AccidentAlert accidentAlert;
     private int accidentCounter = 0;
+    private final SweepAndPrune broadPhase =   // Keeps flights sorted on band and X; window covers the hysteresis band
+        new SweepAndPrune(WARNING_DISTANCE + HYSTERESIS_MARGIN, ALTITUDE_BAND_HEIGHT);
+    private final ProximityAlertTracker alertTracker =   // Per-pair alert levels, so only changes are announced
+        new ProximityAlertTracker(WARNING_DISTANCE, CRITICAL_DISTANCE, ACCIDENT_DISTANCE, HYSTERESIS_MARGIN);
     
     /**
      * Constructor with accident alert system
@@ -76,55 +92,120 @@ public class CollisionDetector {
     }
     
     /**
-     * Checks for collisions between all active jetpack flights
+     * Checks for collisions between all active jetpack flights.
+     * Only alert level changes since the previous check are reported, as one radar tape batch.
      * 
      * @param jetpackFlights List of all jetpack flights
      * @param flightStates Map of flight states
      */
     public void checkCollisions(List<JetPackFlight> jetpackFlights, 
                                Map<JetPackFlight, JetPackFlightState> flightStates) {
-        for (int i = 0; i < jetpackFlights.size(); i++) {  // Iterate through all flights
-            JetPackFlight flight1 = jetpackFlights.get(i);  // Get first flight
-            JetPackFlightState state1 = flightStates.get(flight1);  // Get state of first flight
-            if (state1 != null && state1.isParked()) continue;  // Skip parked flights (not actively flying)
-            for (int j = i + 1; j < jetpackFlights.size(); j++) {  // Iterate through remaining flights (avoid duplicate checks)
-                JetPackFlight flight2 = jetpackFlights.get(j);  // Get second flight
-                JetPackFlightState state2 = flightStates.get(flight2);  // Get state of second flight
-                if (state2 != null && state2.isParked()) continue;  // Skip parked flights
-                checkCollisionBetween(flight1, flight2);  // Check for collision between this pair
+        broadPhase.update(jetpackFlights, flightStates);  // Refresh positions, bands and parked flags, re-sort
+        alertTracker.beginSweep();  // Pairs not seen this sweep will be cleared
+        broadPhase.forEachCandidatePair(this::checkCollisionBetween);  // Exact test only for same/adjacent-band pairs inside the window
+        announce(alertTracker.endSweep());  // State changes only
+    }
+    
+    /**
+     * Checks for collisions between the flights sampled in one radar frame, using the sampled
+     * positions and parked flags rather than live flight state.
+     * 
+     * @param frame Radar sweep frame
+     */
+    public void checkCollisions(SweepFrame frame) {
+        broadPhase.update(frame);  // Sampled positions, bands and parked flags
+        alertTracker.beginSweep();
+        broadPhase.forEachCandidatePair((flight1, flight2) -> {
+            int i = frame.indexOf(flight1);
+            int j = frame.indexOf(flight2);
+            observe(flight1, flight2, frame.getX(i) - frame.getX(j), frame.getY(i) - frame.getY(j),
+                frame.getAltitude(i) - frame.getAltitude(j));
+        });
+        announce(alertTracker.endSweep());
+    }
+    
+    /**
+     * Applies and posts one sweep's alert transitions as a single radar tape batch
+     * 
+     * @param transitions Level changes from the alert tracker
+     */
+    private void announce(List<AlertTransition> transitions) {
+        List<String> batch = new ArrayList<>(transitions.size());
+        for (AlertTransition transition : transitions) {
+            String message = reportTransition(transition);
+            if (message != null) {
+                batch.add(message);
             }
         }
+        if (radarTape != null && radarTape.isVisible()) {  // Check if radar tape window is available and visible
+            radarTape.addMessages(batch);  // One display refresh and log write per sweep
+        }
     }
     
     /**
-     * Checks for collision between two specific flights
+     * Measures one candidate pair and feeds the alert tracker
      * 
      * @param flight1 First flight
      * @param flight2 Second flight
      */
     private void checkCollisionBetween(JetPackFlight flight1, JetPackFlight flight2) {
-        double distance = calculateDistance(flight1, flight2);  // Calculate distance between flights
-        
-        if (distance < ACCIDENT_DISTANCE) {  // Check if distance is below accident threshold (20 units)
-            reportAccident(flight1, flight2, distance);  // Report actual collision
-        } else if (distance < CRITICAL_DISTANCE) {  // Check if distance is below critical threshold (50 units)
-            reportCriticalProximity(flight1, flight2, distance);  // Report critical proximity warning
-        } else if (distance < WARNING_DISTANCE) {  // Check if distance is below warning threshold (100 units)
-            reportWarningProximity(flight1, flight2, distance);  // Report proximity warning
-        }
+        observe(flight1, flight2, flight1.getX() - flight2.getX(), flight1.getY() - flight2.getY(),
+            flight1.getAltitude() - flight2.getAltitude());
     }
     
     /**
-     * Calculates distance between two flights
+     * Feeds the alert tracker with the horizontal distance of a pair that is not vertically separated;
+     * vertically separated pairs go unobserved and are cleared at the end of the sweep
      * 
      * @param flight1 First flight
      * @param flight2 Second flight
-     * @return Distance between flights
+     * @param dx East-west separation
+     * @param dy North-south separation
+     * @param dz Altitude difference in feet
      */
-    private double calculateDistance(JetPackFlight flight1, JetPackFlight flight2) {
-        double dx = flight1.getX() - flight2.getX();  // Calculate horizontal distance difference
-        double dy = flight1.getY() - flight2.getY();  // Calculate vertical distance difference
-        return Math.sqrt(dx * dx + dy * dy);  // Return Euclidean distance using Pythagorean theorem
+    private void observe(JetPackFlight flight1, JetPackFlight flight2, double dx, double dy, double dz) {
+        if (Math.abs(dz) >= VERTICAL_SEPARATION) return;  // Stacked flights are separated vertically
+        alertTracker.observe(flight1, flight2, Math.sqrt(dx * dx + dy * dy));  // Level changes are queued by the tracker
+    }
+    
+    /**
+     * Applies side effects for one alert transition and formats its radar tape message
+     * 
+     * @param transition Level change for one pair
+     * @return Radar tape message
+     */
+    private String reportTransition(AlertTransition transition) {
+        boolean rising = transition.getKind() == TransitionKind.ENTER || transition.getKind() == TransitionKind.ESCALATE;
+        if (rising && transition.getTo() == AlertLevel.ACCIDENT) {
+            return reportAccident(transition.getFirst(), transition.getSecond(), transition.getDistance());  // Report actual collision once per encounter
+        }
+        return formatTransition(transition);
+    }
+    
+    /**
+     * Formats the radar tape message for one alert level change. Shared by every source of proximity
+     * alerts, so the city's live alerts read the same as the detector's; accidents, which need an
+     * accident ID, are reported by checkCollisions and read as critical here.
+     * 
+     * @param transition Level change for one pair
+     * @return Radar tape message
+     */
+    public static String formatTransition(AlertTransition transition) {
+        String pair = transition.getFirst().getJetpack().getCallsign() + 
+            " and " + transition.getSecond().getJetpack().getCallsign();
+        String distance = String.format("%.1f", transition.getDistance());
+        switch (transition.getKind()) {
+            case ENTER:
+            case ESCALATE:
+                if (transition.getTo().compareTo(AlertLevel.CRITICAL) >= 0) {
+                    return "⚠️ CRITICAL: " + pair + " are " + distance + " units apart - COLLISION RISK!";  // Critical proximity warning
+                }
+                return "⚠️ Warning: " + pair + " are " + distance + " units apart";  // Proximity warning
+            case DE_ESCALATE:
+                return "↘️ Easing: " + pair + " down to " + transition.getTo() + " at " + distance + " units";
+            default:
+                return "✅ Clear: " + pair + " are separated";
+        }
     }
     
     /**
@@ -133,8 +214,9 @@ public class CollisionDetector {
      * @param flight1 First flight
      * @param flight2 Second flight
      * @param distance Distance between flights
+     * @return Radar tape message for the collision
      */
-    private void reportAccident(JetPackFlight flight1, JetPackFlight flight2, double distance) {
+    private String reportAccident(JetPackFlight flight1, JetPackFlight flight2, double distance) {
         accidentCounter++;  // Increment accident counter for tracking
         String accidentID = "ACC-" + System.currentTimeMillis() + "-" + accidentCounter;  // Generate unique accident ID
         
@@ -147,46 +229,22 @@ public class CollisionDetector {
         // Report to accident alert system
         accidentAlert.reportAccident(accidentID, x, y, "COLLISION", "SEVERE", description);  // Log accident with severe severity
         
-        // Log to radar tape
-        if (radarTape != null && radarTape.isVisible()) {  // Check if radar tape window is available and visible
-            radarTape.addMessage("🚨 ACCIDENT: " + flight1.getJetpack().getCallsign() +   // Add accident message to radar display
-                " and " + flight2.getJetpack().getCallsign() + 
-                " COLLIDED at " + String.format("%.1f", distance) + " units! ID: " + accidentID);
-        }
-        
         // Trigger emergency rerouting for nearby flights
         flight1.setEmergencyReroute(true);  // Set emergency reroute flag for first flight
         flight2.setEmergencyReroute(true);  // Set emergency reroute flag for second flight
+        
+        return "🚨 ACCIDENT: " + flight1.getJetpack().getCallsign() +   // Accident message for radar display
+            " and " + flight2.getJetpack().getCallsign() + 
+            " COLLIDED at " + String.format("%.1f", distance) + " units! ID: " + accidentID;
     }
     
     /**
-     * Reports critical proximity alert
-     * 
-     * @param flight1 First flight
-     * @param flight2 Second flight
-     * @param distance Distance between flights
-     */
-    private void reportCriticalProximity(JetPackFlight flight1, JetPackFlight flight2, double distance) {
-        if (radarTape != null && radarTape.isVisible()) {  // Check if radar tape window is available and visible
-            radarTape.addMessage("⚠️ CRITICAL: " + flight1.getJetpack().getCallsign() +   // Add critical proximity warning to radar display
-                " and " + flight2.getJetpack().getCallsign() + 
-                " are " + String.format("%.1f", distance) + " units apart - COLLISION RISK!");
-        }
-    }
-    
-    /**
-     * Reports warning proximity alert
+     * Gets the proximity alert state table
      * 
-     * @param flight1 First flight
-     * @param flight2 Second flight
-     * @param distance Distance between flights
+     * @return Alert tracker holding per-pair levels
      */
-    private void reportWarningProximity(JetPackFlight flight1, JetPackFlight flight2, double distance) {
-        if (radarTape != null && radarTape.isVisible()) {  // Check if radar tape window is available and visible
-            radarTape.addMessage("⚠️ Warning: " + flight1.getJetpack().getCallsign() +   // Add proximity warning to radar display
-                " and " + flight2.getJetpack().getCallsign() + 
-                " are " + String.format("%.1f", distance) + " units apart");
-        }
+    public ProximityAlertTracker getAlertTracker() {
+        return alertTracker;
     }
     
     /**
@@ -206,4 +264,40 @@ public class CollisionDetector {
     public static double getCriticalDistance() {
         return CRITICAL_DISTANCE;
     }
+    
+    /**
+     * Gets the altitude difference at or above which a pair is vertically separated
+     * 
+     * @return Vertical separation in feet
+     */
+    public static double getVerticalSeparation() {
+        return VERTICAL_SEPARATION;
+    }
+    
+    /**
+     * Gets the extra separation needed before an alert de-escalates
+     * 
+     * @return Hysteresis margin
+     */
+    public static double getHysteresisMargin() {
+        return HYSTERESIS_MARGIN;
+    }
+    
+    /**
+     * Gets the altitude band height used by the broad phase
+     * 
+     * @return Band height in feet
+     */
+    public static double getAltitudeBandHeight() {
+        return ALTITUDE_BAND_HEIGHT;
+    }
+    
+    /**
+     * Gets the accident (actual collision) distance threshold
+     * 
+     * @return Accident distance
+     */
+    public static double getAccidentDistance() {
+        return ACCIDENT_DISTANCE;
+    }
 }
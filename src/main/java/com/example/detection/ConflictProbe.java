@@ -0,0 +1,443 @@
+/**
+ * Predicts future losses of separation by projecting flight velocities over a lookahead horizon.
+ *
+ * Purpose:
+ * CollisionDetector reacts to current separation, so by the time the accident threshold trips the pair
+ * has already collided. ConflictProbe projects each flight along its current leg (active target,
+ * effective speed) in level flight at its current altitude, and computes the time and distance of
+ * closest approach (CPA) for nearby pairs, emitting a ranked list of predicted conflicts within the
+ * horizon.
+ *
+ * Key Responsibilities:
+ * - Derive a constant-velocity track per flight from FlightMovementController state
+ * - Re-probe a flight only when its leg (active target, speed, parked state) changes, or when its
+ *   altitude has drifted more than the altitude tolerance since it was last probed
+ * - Find partner candidates in a uniform grid of leg bounding boxes, then prune those whose boxes
+ *   cannot come within the separation distance
+ * - Compute CPA time, horizontal miss distance and vertical separation for candidate pairs
+ * - Keep conflicting pair predictions and shift them in time while both legs are unchanged
+ * - Bound the number of pair tests per tick; changed flights beyond the budget wait in a queue
+ *
+ * Interactions:
+ * - Reads JetPackFlight position, active target, effective speed and altitude
+ * - Skips parked flights using JetPackFlightState
+ * - Produces PredictedConflict records ranked soonest-first
+ * - Driven once per simulation tick by CitySimulation
+ *
+ * Patterns & Constraints:
+ * - A flight moving straight at a fixed target keeps a constant velocity, so a cached CPA stays exact
+ *   (shifted by elapsed ticks) until either flight changes target or speed
+ * - Steady-state cost per tick is O(flights + conflicts); pair work only follows leg changes
+ * - Projection stops at the end of the current leg; turns beyond it are not predicted
+ * - Altitude is projected level: the per-tick altitude rate is a random walk step, not a trend. The
+ *   current altitude is read every tick and ranks the vertical separation, and predictions are kept
+ *   for pairs within the vertical separation plus twice the tolerance, so drift below the tolerance
+ *   cannot hide a conflict
+ * - A leg box is registered in every grid cell it overlaps, so re-registration only follows leg changes
+ * - Not thread-safe; one instance per controller, driven from a single thread
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.awt.Point;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.flight.JetPackFlight;
+import com.example.flight.JetPackFlightState;
+
+/**
+ * ConflictProbe computes closest-point-of-approach predictions for flight pairs each tick.
+ */
+public class ConflictProbe {
+    /** Default lookahead horizon in seconds */
+    public static final double DEFAULT_HORIZON_SECONDS = 10.0;
+    /** Default cap on pair tests per tick */
+    public static final int DEFAULT_PAIR_TEST_BUDGET = 200_000;
+    /** Vertical separation (feet) that removes a horizontal conflict, matching Radar.checkForCollisions */
+    public static final double DEFAULT_VERTICAL_SEPARATION = 100.0;
+    /** Altitude drift (feet) since the last probe that forces a re-probe */
+    public static final double DEFAULT_ALTITUDE_TOLERANCE = 10.0;
+    /** Side of a candidate grid cell in map units */
+    private static final double GRID_CELL_SIZE = 200.0;
+    /** Simulation tick length in seconds (40 ms animation timer) */
+    private static final double TICK_SECONDS = 0.040;
+
+    /**
+     * Constant-velocity projection of one flight's current leg.
+     */
+    private static final class Track {
+        final JetPackFlight flight;
+        final int id;
+        int version;
+        int stamp;
+        int visit;
+        boolean parked;
+        boolean queued;
+        // Leg identity: predictions stay valid while these are unchanged
+        int targetX;
+        int targetY;
+        double speed;
+        // Per-tick velocity in map units; altitude is projected level
+        double vx;
+        double vy;
+        // Position, altitude and remaining leg length captured when the leg was probed
+        long legTick;
+        double x;
+        double y;
+        double probedAltitude;
+        double legTicks;
+        // Altitude read this tick
+        double altitude;
+        // Bounding box of the remaining leg, padded by half the separation
+        double minX;
+        double maxX;
+        double minY;
+        double maxY;
+        // Grid cells the box is registered in; cellX1 < cellX0 while unregistered
+        int cellX0;
+        int cellY0;
+        int cellX1 = -1;
+        int cellY1;
+        // Conflicting pair predictions involving this flight
+        final List<Prediction> conflicts = new ArrayList<>();
+
+        Track(JetPackFlight flight, int id) {
+            this.flight = flight;
+            this.id = id;
+            this.version = -1;
+        }
+    }
+
+    /**
+     * Cached CPA result for one conflicting pair, valid while both legs are unchanged.
+     */
+    private static final class Prediction {
+        final Track first;
+        final Track second;
+        final long computedTick;
+        final double ticksToClosest;
+        final double missDistance;
+
+        Prediction(Track first, Track second, long computedTick, double ticksToClosest, double missDistance) {
+            this.first = first;
+            this.second = second;
+            this.computedTick = computedTick;
+            this.ticksToClosest = ticksToClosest;
+            this.missDistance = missDistance;
+        }
+    }
+
+    private final double horizonTicks;
+    private final double separationDistance;
+    private final double verticalSeparation;
+    private final double altitudeTolerance = DEFAULT_ALTITUDE_TOLERANCE;
+    private final int pairTestBudget;
+
+    private final Map<JetPackFlight, Track> tracksByFlight = new IdentityHashMap<>();
+    private final ArrayDeque<Track> dirtyQueue = new ArrayDeque<>();
+    private final List<Prediction> activeConflicts = new ArrayList<>();
+    private final Map<Long, List<Track>> grid = new HashMap<>();  // Packed cell coordinates to the boxes overlapping it
+    private Track[] tracks = new Track[16];
+    private int trackCount;
+    private int nextTrackId;
+    private int stamp;
+    private int visitMark;
+    private long tick;
+
+    private List<PredictedConflict> conflicts = Collections.emptyList();
+    private int lastEvaluations;
+    private int lastPairTests;
+
+    /**
+     * Creates a probe with the default 10-second horizon and CRITICAL_DISTANCE separation.
+     */
+    public ConflictProbe() {
+        this(DEFAULT_HORIZON_SECONDS, CollisionDetector.getCriticalDistance(),
+             DEFAULT_VERTICAL_SEPARATION, DEFAULT_PAIR_TEST_BUDGET);
+    }
+
+    /**
+     * Creates a probe with a custom configuration.
+     *
+     * @param horizonSeconds Lookahead horizon in seconds
+     * @param separationDistance Horizontal miss distance below which a conflict is predicted
+     * @param verticalSeparation Altitude gap (feet) at CPA above which the pair is deconflicted
+     * @param pairTestBudget Maximum pair tests per tick (at least one changed flight is always probed)
+     */
+    public ConflictProbe(double horizonSeconds, double separationDistance,
+                         double verticalSeparation, int pairTestBudget) {
+        this.horizonTicks = horizonSeconds / TICK_SECONDS;  // Work in ticks internally
+        this.separationDistance = separationDistance;  // Horizontal conflict threshold
+        this.verticalSeparation = verticalSeparation;  // Vertical deconfliction threshold
+        this.pairTestBudget = pairTestBudget;  // Per-tick work cap
+    }
+
+    /**
+     * Advances the probe by one tick: refreshes tracks, re-probes changed flights within the
+     * budget and ranks the conflicts that fall inside the horizon.
+     *
+     * @param flights Current flights
+     * @param flightStates Flight states used to skip parked flights (may be null)
+     * @return Predicted conflicts within the horizon, soonest first
+     */
+    public List<PredictedConflict> update(List<JetPackFlight> flights,
+                                          Map<JetPackFlight, JetPackFlightState> flightStates) {
+        tick++;
+        refreshTracks(flights, flightStates);
+        probeDirtyTracks();
+        conflicts = rankConflicts();
+        return conflicts;
+    }
+
+    /** Returns the conflicts produced by the most recent update */
+    public List<PredictedConflict> getConflicts() { return conflicts; }
+    /** Returns the lookahead horizon in seconds */
+    public double getHorizonSeconds() { return horizonTicks * TICK_SECONDS; }
+    /** Returns fresh CPA computations performed in the last update */
+    public int getLastEvaluationCount() { return lastEvaluations; }
+    /** Returns pair bounding-box tests performed in the last update */
+    public int getLastPairTestCount() { return lastPairTests; }
+    /** Returns flights whose leg changed but which are still waiting to be probed */
+    public int getPendingCount() { return dirtyQueue.size(); }
+
+    private void refreshTracks(List<JetPackFlight> flights, Map<JetPackFlight, JetPackFlightState> flightStates) {
+        stamp++;
+        for (JetPackFlight flight : flights) {  // One pass: O(n) regardless of pair count
+            Track track = tracksByFlight.get(flight);
+            if (track == null) {
+                track = new Track(flight, nextTrackId++);
+                tracksByFlight.put(flight, track);
+                appendTrack(track);
+            }
+            JetPackFlightState state = (flightStates != null) ? flightStates.get(flight) : null;
+            track.stamp = stamp;
+            refreshTrack(track, state != null && state.isParked());
+        }
+        if (trackCount != flights.size()) {
+            removeStaleTracks();
+        }
+    }
+
+    private void refreshTrack(Track track, boolean parked) {
+        JetPackFlight flight = track.flight;
+        Point target = flight.getActiveTarget();
+        double speed = parked ? 0.0 : flight.getEffectiveSpeed();
+        track.altitude = flight.getAltitude();  // Ranks vertical separation every tick
+        if (track.version >= 0 && parked == track.parked && speed == track.speed
+                && target.x == track.targetX && target.y == track.targetY
+                && Math.abs(track.altitude - track.probedAltitude) <= altitudeTolerance) {
+            return;  // Same leg: existing predictions remain exact
+        }
+        track.version++;  // New leg or altitude: drop this flight's predictions and re-probe it
+        track.parked = parked;
+        track.targetX = target.x;
+        track.targetY = target.y;
+        track.speed = speed;
+        track.legTick = tick;
+        track.x = flight.getX();
+        track.y = flight.getY();
+        track.probedAltitude = track.altitude;
+
+        double dx = target.x - track.x;
+        double dy = target.y - track.y;
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance > 1e-9 && speed > 0) {
+            track.vx = dx / distance * speed;
+            track.vy = dy / distance * speed;
+            track.legTicks = distance / speed;
+        } else {
+            track.vx = 0;
+            track.vy = 0;
+            track.legTicks = Double.POSITIVE_INFINITY;  // Holding position until told otherwise
+        }
+        double endX = distance > 1e-9 && speed > 0 ? target.x : track.x;
+        double endY = distance > 1e-9 && speed > 0 ? target.y : track.y;
+        double margin = separationDistance * 0.5;  // Two boxes overlap iff the legs can come within separation
+        track.minX = Math.min(track.x, endX) - margin;
+        track.maxX = Math.max(track.x, endX) + margin;
+        track.minY = Math.min(track.y, endY) - margin;
+        track.maxY = Math.max(track.y, endY) + margin;
+        register(track);
+
+        clearConflicts(track);
+        if (!track.queued) {
+            track.queued = true;
+            dirtyQueue.add(track);
+        }
+    }
+
+    private void probeDirtyTracks() {
+        lastEvaluations = 0;
+        lastPairTests = 0;
+        while (!dirtyQueue.isEmpty() && (lastPairTests == 0 || lastPairTests < pairTestBudget)) {
+            Track track = dirtyQueue.poll();
+            track.queued = false;
+            if (track.stamp != stamp || track.parked) continue;  // Removed or parked: nothing to probe
+            visitMark++;
+            for (int cx = track.cellX0; cx <= track.cellX1; cx++) {
+                for (int cy = track.cellY0; cy <= track.cellY1; cy++) {
+                    List<Track> cell = grid.get(cellKey(cx, cy));
+                    if (cell != null) {
+                        probeCell(track, cell);
+                    }
+                }
+            }
+        }
+    }
+
+    private void probeCell(Track track, List<Track> cell) {
+        for (int i = 0; i < cell.size(); i++) {
+            Track other = cell.get(i);
+            if (other.visit == visitMark) continue;  // Already met in another shared cell
+            other.visit = visitMark;
+            if (other == track || other.parked || other.queued) continue;  // Queued partners probe the pair later
+            lastPairTests++;
+            if (other.minX > track.maxX || other.maxX < track.minX
+                    || other.minY > track.maxY || other.maxY < track.minY) continue;
+            evaluate(track, other);
+        }
+    }
+
+    /**
+     * Moves a track's box to the grid cells it now overlaps; boxes that stay in the same cells are left alone.
+     */
+    private void register(Track track) {
+        int x0 = cell(track.minX);
+        int y0 = cell(track.minY);
+        int x1 = cell(track.maxX);
+        int y1 = cell(track.maxY);
+        if (x0 == track.cellX0 && y0 == track.cellY0 && x1 == track.cellX1 && y1 == track.cellY1) return;
+        unregister(track);
+        for (int cx = x0; cx <= x1; cx++) {
+            for (int cy = y0; cy <= y1; cy++) {
+                grid.computeIfAbsent(cellKey(cx, cy), key -> new ArrayList<>()).add(track);
+            }
+        }
+        track.cellX0 = x0;
+        track.cellY0 = y0;
+        track.cellX1 = x1;
+        track.cellY1 = y1;
+    }
+
+    private void unregister(Track track) {
+        for (int cx = track.cellX0; cx <= track.cellX1; cx++) {
+            for (int cy = track.cellY0; cy <= track.cellY1; cy++) {
+                long key = cellKey(cx, cy);
+                List<Track> cell = grid.get(key);
+                cell.remove(track);
+                if (cell.isEmpty()) {
+                    grid.remove(key);  // Keep the grid as sparse as the traffic
+                }
+            }
+        }
+        track.cellX1 = track.cellX0 - 1;  // Empty range
+    }
+
+    private static int cell(double coordinate) {
+        return (int) Math.floor(coordinate / GRID_CELL_SIZE);
+    }
+
+    private static long cellKey(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private void evaluate(Track a, Track b) {
+        lastEvaluations++;
+        // Bring both legs to the current tick; velocities are constant along a leg
+        double ageA = tick - a.legTick;
+        double ageB = tick - b.legTick;
+        double ax = a.x + a.vx * ageA;
+        double ay = a.y + a.vy * ageA;
+        double bx = b.x + b.vx * ageB;
+        double by = b.y + b.vy * ageB;
+        double rx = bx - ax;
+        double ry = by - ay;
+        double rvx = b.vx - a.vx;
+        double rvy = b.vy - a.vy;
+        double relativeSpeedSq = rvx * rvx + rvy * rvy;
+        double limit = Math.min(a.legTicks - ageA, b.legTicks - ageB);  // Beyond the first turn the projection is unknown
+        if (limit < 0) return;
+        double t = 0.0;
+        if (relativeSpeedSq > 1e-12) {
+            t = -(rx * rvx + ry * rvy) / relativeSpeedSq;  // Minimizes |r + v t|
+            t = Math.max(0.0, Math.min(t, limit));
+        }
+        double cx = rx + rvx * t;
+        double cy = ry + rvy * t;
+        double miss = Math.sqrt(cx * cx + cy * cy);
+        if (miss >= separationDistance) return;  // Only conflicting pairs are kept
+        if (Math.abs(b.altitude - a.altitude) >= verticalSeparation + 2 * altitudeTolerance) return;  // Level flight
+
+        Track first = a.id < b.id ? a : b;
+        Track second = a.id < b.id ? b : a;
+        Prediction prediction = new Prediction(first, second, tick, t, miss);
+        a.conflicts.add(prediction);
+        b.conflicts.add(prediction);
+        activeConflicts.add(prediction);
+    }
+
+    private List<PredictedConflict> rankConflicts() {
+        List<PredictedConflict> ranked = new ArrayList<>();
+        int kept = 0;
+        for (int i = 0; i < activeConflicts.size(); i++) {
+            Prediction prediction = activeConflicts.get(i);
+            double remaining = prediction.ticksToClosest - (tick - prediction.computedTick);
+            if (remaining < 0) {  // Closest approach has passed: the pair is now diverging
+                prediction.first.conflicts.remove(prediction);
+                prediction.second.conflicts.remove(prediction);
+                continue;
+            }
+            activeConflicts.set(kept++, prediction);
+            double vertical = Math.abs(prediction.second.altitude - prediction.first.altitude);  // Current altitudes
+            if (remaining <= horizonTicks && vertical < verticalSeparation) {
+                ranked.add(new PredictedConflict(prediction.first.flight, prediction.second.flight,
+                    remaining * TICK_SECONDS, prediction.missDistance, vertical));
+            }
+        }
+        activeConflicts.subList(kept, activeConflicts.size()).clear();
+        Collections.sort(ranked);
+        return ranked;
+    }
+
+    private void clearConflicts(Track track) {
+        if (track.conflicts.isEmpty()) return;
+        for (Prediction prediction : track.conflicts) {
+            Track other = prediction.first == track ? prediction.second : prediction.first;
+            other.conflicts.remove(prediction);
+            activeConflicts.remove(prediction);
+        }
+        track.conflicts.clear();
+    }
+
+    private void appendTrack(Track track) {
+        if (trackCount == tracks.length) {
+            tracks = Arrays.copyOf(tracks, tracks.length * 2);
+        }
+        tracks[trackCount++] = track;
+    }
+
+    private void removeStaleTracks() {
+        int kept = 0;
+        for (int i = 0; i < trackCount; i++) {
+            Track track = tracks[i];
+            if (track.stamp == stamp) {
+                tracks[kept++] = track;
+            } else {
+                tracksByFlight.remove(track.flight);
+                unregister(track);
+                clearConflicts(track);
+            }
+        }
+        Arrays.fill(tracks, kept, trackCount, null);
+        trackCount = kept;
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Immutable record of a predicted loss of separation between two jetpack flights.
+ *
+ * Purpose:
+ * Captures the output of ConflictProbe for one flight pair: when the pair will be closest, how close
+ * it will get, and the vertical separation at that moment. Unlike the instantaneous proximity alerts
+ * raised by CollisionDetector, a predicted conflict describes a future state so controllers can act
+ * before the accident threshold is reached.
+ *
+ * Key Responsibilities:
+ * - Hold the flight pair and closest-point-of-approach metrics
+ * - Classify the conflict severity against collision thresholds
+ * - Provide a stable ranking order (soonest first, then closest)
+ *
+ * Interactions:
+ * - Produced by ConflictProbe each tick
+ * - Consumed by CityMapAnimationController for radar tape reporting
+ *
+ * Patterns & Constraints:
+ * - Immutable value object; safe to share across threads
+ * - Times are in seconds from the probe tick, distances in map units, altitude in feet
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import com.example.flight.JetPackFlight;
+
+/**
+ * PredictedConflict describes the closest approach of a flight pair within the probe horizon.
+ */
+public class PredictedConflict implements Comparable<PredictedConflict> {
+    private final JetPackFlight first;
+    private final JetPackFlight second;
+    private final double timeToClosestApproach;
+    private final double closestApproachDistance;
+    private final double verticalSeparation;
+
+    /**
+     * Creates a predicted conflict record.
+     *
+     * @param first First flight of the pair
+     * @param second Second flight of the pair
+     * @param timeToClosestApproach Seconds until the pair is closest
+     * @param closestApproachDistance Horizontal separation at closest approach
+     * @param verticalSeparation Altitude difference at closest approach, in feet
+     */
+    public PredictedConflict(JetPackFlight first, JetPackFlight second, double timeToClosestApproach,
+                             double closestApproachDistance, double verticalSeparation) {
+        this.first = first;  // Store first flight
+        this.second = second;  // Store second flight
+        this.timeToClosestApproach = timeToClosestApproach;  // Seconds until closest approach
+        this.closestApproachDistance = closestApproachDistance;  // Miss distance in map units
+        this.verticalSeparation = verticalSeparation;  // Altitude gap at closest approach
+    }
+
+    /** Returns the first flight of the pair */
+    public JetPackFlight getFirst() { return first; }
+    /** Returns the second flight of the pair */
+    public JetPackFlight getSecond() { return second; }
+    /** Returns seconds until the pair reaches closest approach */
+    public double getTimeToClosestApproach() { return timeToClosestApproach; }
+    /** Returns horizontal separation at closest approach */
+    public double getClosestApproachDistance() { return closestApproachDistance; }
+    /** Returns vertical separation at closest approach in feet */
+    public double getVerticalSeparation() { return verticalSeparation; }
+
+    /**
+     * Returns true if the predicted miss distance is inside the accident threshold.
+     */
+    public boolean isPredictedCollision() {
+        return closestApproachDistance < CollisionDetector.getAccidentDistance();  // Would trip an actual collision
+    }
+
+    /**
+     * Orders conflicts soonest first, breaking ties by smallest miss distance.
+     */
+    @Override
+    public int compareTo(PredictedConflict other) {
+        int byTime = Double.compare(timeToClosestApproach, other.timeToClosestApproach);  // Most urgent first
+        if (byTime != 0) return byTime;
+        return Double.compare(closestApproachDistance, other.closestApproachDistance);  // Then closest miss
+    }
+
+    /**
+     * Returns a radar-tape style description of the conflict.
+     */
+    @Override
+    public String toString() {
+        return String.format("%s and %s predicted %s in %.1fs (miss %.1f units, %.0f ft vertical)",
+            first.getJetpack().getCallsign(), second.getJetpack().getCallsign(),
+            isPredictedCollision() ? "COLLISION" : "loss of separation",
+            timeToClosestApproach, closestApproachDistance, verticalSeparation);
+    }
+}
@@ -0,0 +1,285 @@
+/**
+ * Stateful table of proximity alert levels per flight pair, emitting only level changes.
+ *
+ * Purpose:
+ * Collision sweeps run about once per second and previously re-announced every pair still inside the
+ * warning radius, flooding the radar tape with identical messages. ProximityAlertTracker remembers the
+ * alert level of each pair between sweeps and reports a transition only when a pair enters, escalates,
+ * de-escalates or clears. Hysteresis margins stop pairs hovering on a threshold from flapping.
+ *
+ * Key Responsibilities:
+ * - Keep one alert record per pair, keyed by a packed 64-bit pair id
+ * - Classify separations into CLEAR, WARNING, CRITICAL and ACCIDENT levels
+ * - Escalate as soon as a threshold is crossed; de-escalate only past threshold plus margin
+ * - Clear pairs that were not observed by a sweep (separated beyond the broad-phase window)
+ * - Return each sweep's transitions as one batch
+ *
+ * Interactions:
+ * - Fed by CollisionDetector from SweepAndPrune candidate pairs, and by CityMapAnimationController
+ *   from RadarNetwork conflicts
+ * - Transitions are formatted by the caller and delivered with RadarTapeWindow.addMessages
+ *
+ * Patterns & Constraints:
+ * - Flights receive small integer ids only while they take part in an active alert
+ * - Pairs that stay CLEAR allocate nothing
+ * - Not thread-safe; driven from the sweep thread between beginSweep and endSweep
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.example.flight.JetPackFlight;
+
+/**
+ * ProximityAlertTracker remembers pair alert levels across sweeps and reports level changes.
+ */
+public class ProximityAlertTracker {
+
+    /**
+     * Alert levels in order of increasing severity.
+     */
+    public enum AlertLevel { CLEAR, WARNING, CRITICAL, ACCIDENT }
+
+    /**
+     * Kind of level change reported for a pair.
+     */
+    public enum TransitionKind { ENTER, ESCALATE, DE_ESCALATE, CLEAR }
+
+    /**
+     * One pair's level change within a sweep.
+     */
+    public static final class AlertTransition {
+        private final JetPackFlight first;
+        private final JetPackFlight second;
+        private final AlertLevel from;
+        private final AlertLevel to;
+        private final double distance;
+
+        AlertTransition(JetPackFlight first, JetPackFlight second, AlertLevel from, AlertLevel to, double distance) {
+            this.first = first;
+            this.second = second;
+            this.from = from;
+            this.to = to;
+            this.distance = distance;
+        }
+
+        /** Returns the first flight of the pair (as first observed) */
+        public JetPackFlight getFirst() { return first; }
+        /** Returns the second flight of the pair (as first observed) */
+        public JetPackFlight getSecond() { return second; }
+        /** Returns the level before this sweep */
+        public AlertLevel getFrom() { return from; }
+        /** Returns the level after this sweep */
+        public AlertLevel getTo() { return to; }
+        /** Returns the separation observed this sweep, or NaN if the pair left the sweep window */
+        public double getDistance() { return distance; }
+
+        /**
+         * Classifies the change as enter, escalate, de-escalate or clear.
+         */
+        public TransitionKind getKind() {
+            if (to == AlertLevel.CLEAR) return TransitionKind.CLEAR;
+            if (from == AlertLevel.CLEAR) return TransitionKind.ENTER;
+            return to.compareTo(from) > 0 ? TransitionKind.ESCALATE : TransitionKind.DE_ESCALATE;
+        }
+    }
+
+    /**
+     * Id slot for a flight taking part in at least one active alert.
+     */
+    private static final class FlightSlot {
+        final int id;
+        int activePairs;
+
+        FlightSlot(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Alert record for one pair.
+     */
+    private static final class PairAlert {
+        final JetPackFlight first;
+        final JetPackFlight second;
+        final FlightSlot firstSlot;
+        final FlightSlot secondSlot;
+        AlertLevel level = AlertLevel.CLEAR;
+        int lastSweep;
+
+        PairAlert(JetPackFlight first, JetPackFlight second, FlightSlot firstSlot, FlightSlot secondSlot) {
+            this.first = first;
+            this.second = second;
+            this.firstSlot = firstSlot;
+            this.secondSlot = secondSlot;
+        }
+    }
+
+    private final double warningDistance;
+    private final double criticalDistance;
+    private final double accidentDistance;
+    private final double hysteresisMargin;
+
+    private final Map<JetPackFlight, FlightSlot> slots = new IdentityHashMap<>();
+    private final Map<Long, PairAlert> alerts = new HashMap<>();
+    private List<AlertTransition> pending = new ArrayList<>();
+    private int nextFlightId;
+    private int sweep;
+
+    /**
+     * Creates a tracker with the given thresholds.
+     *
+     * @param warningDistance Separation below which a pair enters WARNING
+     * @param criticalDistance Separation below which a pair escalates to CRITICAL
+     * @param accidentDistance Separation below which a pair escalates to ACCIDENT (zero disables)
+     * @param hysteresisMargin Extra separation required beyond a threshold before de-escalating
+     */
+    public ProximityAlertTracker(double warningDistance, double criticalDistance,
+                                 double accidentDistance, double hysteresisMargin) {
+        this.warningDistance = warningDistance;  // Entry threshold
+        this.criticalDistance = criticalDistance;  // Critical threshold
+        this.accidentDistance = accidentDistance;  // Collision threshold
+        this.hysteresisMargin = hysteresisMargin;  // De-escalation dead band
+    }
+
+    /**
+     * Starts a new sweep; pairs not observed before endSweep are cleared.
+     */
+    public void beginSweep() {
+        sweep++;
+        pending = new ArrayList<>();  // Previous batch stays with whoever holds it
+    }
+
+    /**
+     * Records one observed pair separation.
+     *
+     * @param first First flight
+     * @param second Second flight
+     * @param distance Current separation
+     */
+    public void observe(JetPackFlight first, JetPackFlight second, double distance) {
+        FlightSlot firstSlot = slots.get(first);
+        FlightSlot secondSlot = slots.get(second);
+        if ((firstSlot == null || secondSlot == null) && distance >= warningDistance) {
+            return;  // No record can exist and none is needed: the common case costs two lookups
+        }
+        if (firstSlot == null) firstSlot = acquireSlot(first);
+        if (secondSlot == null) secondSlot = acquireSlot(second);
+
+        long key = pairKey(firstSlot.id, secondSlot.id);
+        PairAlert alert = alerts.get(key);
+        AlertLevel current = (alert != null) ? alert.level : AlertLevel.CLEAR;
+        AlertLevel next = nextLevel(current, distance);
+        if (alert == null) {
+            if (next == AlertLevel.CLEAR) {
+                releaseIfIdle(first, firstSlot);
+                releaseIfIdle(second, secondSlot);
+                return;
+            }
+            alert = new PairAlert(first, second, firstSlot, secondSlot);
+            alerts.put(key, alert);
+            firstSlot.activePairs++;
+            secondSlot.activePairs++;
+        }
+        alert.lastSweep = sweep;
+        if (next != current) {
+            pending.add(new AlertTransition(alert.first, alert.second, current, next, distance));
+            alert.level = next;
+        }
+        if (next == AlertLevel.CLEAR) {
+            remove(key, alert);
+        }
+    }
+
+    /**
+     * Ends the sweep, clearing pairs that were not observed, and returns this sweep's transitions.
+     *
+     * @return Level changes since the previous sweep, in observation order
+     */
+    public List<AlertTransition> endSweep() {
+        Iterator<Map.Entry<Long, PairAlert>> it = alerts.entrySet().iterator();
+        while (it.hasNext()) {
+            PairAlert alert = it.next().getValue();
+            if (alert.lastSweep == sweep) continue;
+            pending.add(new AlertTransition(alert.first, alert.second, alert.level, AlertLevel.CLEAR, Double.NaN));
+            it.remove();  // Left the sweep window: parked, removed, or vertically/horizontally separated
+            release(alert);
+        }
+        return pending;
+    }
+
+    /**
+     * Returns the current level of a pair (CLEAR if untracked).
+     */
+    public AlertLevel getLevel(JetPackFlight first, JetPackFlight second) {
+        FlightSlot firstSlot = slots.get(first);
+        FlightSlot secondSlot = slots.get(second);
+        if (firstSlot == null || secondSlot == null) return AlertLevel.CLEAR;
+        PairAlert alert = alerts.get(pairKey(firstSlot.id, secondSlot.id));
+        return (alert != null) ? alert.level : AlertLevel.CLEAR;
+    }
+
+    /**
+     * Returns the number of pairs currently above CLEAR.
+     */
+    public int getActiveAlertCount() {
+        return alerts.size();
+    }
+
+    private AlertLevel nextLevel(AlertLevel current, double distance) {
+        int level = current.ordinal();
+        while (level < AlertLevel.ACCIDENT.ordinal() && distance < threshold(level + 1)) {
+            level++;  // Escalate immediately on crossing a threshold
+        }
+        while (level > AlertLevel.CLEAR.ordinal() && distance >= threshold(level) + hysteresisMargin) {
+            level--;  // De-escalate only once clear of the dead band
+        }
+        return AlertLevel.values()[level];
+    }
+
+    private double threshold(int level) {
+        switch (level) {
+            case 1: return warningDistance;
+            case 2: return criticalDistance;
+            default: return accidentDistance;
+        }
+    }
+
+    private static long pairKey(int a, int b) {
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        return ((long) low << 32) | (high & 0xFFFFFFFFL);  // Order-independent packed id
+    }
+
+    private FlightSlot acquireSlot(JetPackFlight flight) {
+        FlightSlot slot = new FlightSlot(nextFlightId++);
+        slots.put(flight, slot);
+        return slot;
+    }
+
+    private void remove(long key, PairAlert alert) {
+        alerts.remove(key);
+        release(alert);
+    }
+
+    private void release(PairAlert alert) {
+        alert.firstSlot.activePairs--;
+        alert.secondSlot.activePairs--;
+        releaseIfIdle(alert.first, alert.firstSlot);
+        releaseIfIdle(alert.second, alert.secondSlot);
+    }
+
+    private void releaseIfIdle(JetPackFlight flight, FlightSlot slot) {
+        if (slot.activePairs == 0) {
+            slots.remove(flight);  // Ids are only held while a flight has active alerts
+        }
+    }
+}
@@ -11,8 +11,11 @@
  * - Track jetpack positions with 3D coordinates (x, y, altitude)
  * - Maintain a registry of active aircraft within radar range
  * - Detect potential collisions based on configurable minimum separation distances
- * - Perform periodic radar sweeps to refresh contact data
+ * - Perform periodic radar sweeps that publish one shared, versioned snapshot per sweep
  * - Support aircraft identification and position queries
+ * - Answer radius, rectangle and k-nearest queries from a per-sweep k-d tree (RadarSpatialIndex)
+ * - Age contacts that stop reporting through COASTING, LOST and DROPPED, notifying TrackListeners
+ * - Derive each contact's velocity and climb rate so displays can dead-reckon between sweeps
  * - Enable/disable radar operations for maintenance or emergency scenarios
  * 
  * Interactions:
@@ -23,9 +26,13 @@
  * - Used in emergency procedures to identify aircraft near incidents
  * 
  * Patterns & Constraints:
- * - Uses Map<JetPack, RadarContact> for efficient position lookups
- * - Radar range and scan interval configurable per installation
- * - Thread-safe for concurrent position updates from multiple jetpacks
+ * - ConcurrentHashMap of per-jetpack slots; a position write replaces the slot's immutable
+ *   RadarContact with one volatile store, so concurrent writers never lock or copy
+ * - Every write bumps a version counter; getSnapshot rebuilds only when the version moved
+ * - Contact expiry runs on a HashedTimingWheel advanced by each sweep: a refresh is only a new
+ *   timestamp, and a wheel entry that comes due for a refreshed contact is moved forward in O(1)
+ * - Radar range, coverage radius and scan interval configurable per installation
+ * - Thread-safe for concurrent position updates and reads from multiple threads
  * - Active/inactive state supports operational control and testing
  * - Represents logical radar; no integration with actual RF hardware
  * 
@@ -38,66 +45,192 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.LongSupplier;
 
 import com.example.jetpack.JetPack;
+import com.example.utility.timing.HashedTimingWheel;
+import com.example.utility.timing.HashedTimingWheel.Timeout;
 
 /**
  * Radar provides positional awareness of every jetpack within the locale's airspace.
  * It tracks jetpack positions, updates them, and identifies aircraft for display.
  */
 public class Radar {
-    /** Map storing radar contacts keyed by jetpack for O(1) lookup performance */
-    private Map<JetPack, RadarContact> trackedJetpacks;
+    /** Default time without a fix before a contact starts coasting (ms) */
+    public static final long DEFAULT_COAST_TIMEOUT_MS = 3000;
+    /** Default time without a fix before a contact is lost (ms) */
+    public static final long DEFAULT_LOST_TIMEOUT_MS = 6000;
+    /** Default time without a fix before a contact is dropped from the store (ms) */
+    public static final long DEFAULT_DROP_TIMEOUT_MS = 10000;
+    /** Expiry wheel resolution (ms) */
+    private static final long EXPIRY_TICK_MS = 100;
+    /** Expiry wheel buckets; one rotation (25.6 s) covers the default drop timeout */
+    private static final int EXPIRY_WHEEL_SIZE = 256;
+
+    /**
+     * Tracking state of a contact, in order of increasing age since its last fix.
+     */
+    public enum TrackState { TRACKED, COASTING, LOST, DROPPED }
+
+    /**
+     * Notified whenever a contact changes tracking state.
+     */
+    public interface TrackListener {
+        /**
+         * Called on the thread that caused the change (a sweep for ageing, a writer for reacquisition).
+         *
+         * @param jetpack Jetpack whose contact changed
+         * @param previous State before the change
+         * @param current State after the change
+         */
+        void onTrackStateChanged(JetPack jetpack, TrackState previous, TrackState current);
+    }
+
+    /** Concurrent store of contact slots keyed by jetpack for O(1) lock-free lookup */
+    private final ConcurrentHashMap<JetPack, ContactSlot> trackedJetpacks;
+    /** Incremented on every add, update and removal */
+    private final AtomicLong version = new AtomicLong();
+    /** Most recent snapshot, reused while the version is unchanged */
+    private final AtomicReference<RadarSnapshot> cachedSnapshot = new AtomicReference<>(RadarSnapshot.EMPTY);
+    /** Snapshot published by the last radar sweep, shared by all readers until the next sweep */
+    private volatile RadarSnapshot sweepSnapshot;
     /** Maximum radar detection range in miles */
     private double radarRange; // in miles
     /** Time between radar sweeps in milliseconds */
-    private int scanInterval; // in milliseconds
+    private volatile int scanInterval; // in milliseconds
     /** Whether radar is currently operational (true) or offline (false) */
-    private boolean isActive;
+    private volatile boolean isActive;
     /** Unique identifier for this radar installation */
     private String radarID;
     /** X-coordinate of radar installation center point */
     private int centerX;
     /** Y-coordinate of radar installation center point */
     private int centerY;
+    /** Coverage radius around the center in map units; unbounded for a single whole-map radar */
+    private volatile double coverageRadius = Double.POSITIVE_INFINITY;
+    /** Time source for fixes and expiry (replaceable in tests) */
+    private volatile LongSupplier clock = System::currentTimeMillis;
+    /** Pending expiry deadline per contact slot */
+    private final HashedTimingWheel<ContactSlot> expiryWheel =
+        new HashedTimingWheel<>(EXPIRY_TICK_MS, EXPIRY_WHEEL_SIZE, System.currentTimeMillis());
+    /** Age at which a contact starts coasting (ms) */
+    private volatile long coastTimeout = DEFAULT_COAST_TIMEOUT_MS;
+    /** Age at which a contact is lost (ms) */
+    private volatile long lostTimeout = DEFAULT_LOST_TIMEOUT_MS;
+    /** Age at which a contact is dropped (ms) */
+    private volatile long dropTimeout = DEFAULT_DROP_TIMEOUT_MS;
+    /** Subscribers to contact state changes */
+    private final List<TrackListener> trackListeners = new CopyOnWriteArrayList<>();
 
     /**
      * Inner class to represent a radar contact.
-     * Stores position, altitude, tracking status, and timestamp for a single aircraft.
+     * Immutable record of position, altitude, tracking status, and timestamp for a single aircraft;
+     * a position update produces a new contact rather than mutating this one. Velocity and climb rate
+     * are derived from consecutive fixes so displays can dead-reckon between sweeps.
      */
     public static class RadarContact {
+        /** Fix interval at and above which velocity is taken straight from the last two fixes (ms) */
+        static final long FULL_VELOCITY_INTERVAL_MS = 200;
+        /** Longest time a contact is extrapolated past its last fix (ms) */
+        public static final long MAX_EXTRAPOLATION_MS = 5000;
+
         /** X-coordinate position of the tracked aircraft */
-        private int x;
+        private final int x;
         /** Y-coordinate position of the tracked aircraft */
-        private int y;
+        private final int y;
         /** Altitude in feet above ground level */
-        private int altitude;
+        private final int altitude;
         /** Timestamp of last position update (milliseconds since epoch) */
-        private long lastUpdated;
-        /** Whether this contact is actively tracked (true) or lost (false) */
-        private boolean isTracked;
+        private final long lastUpdated;
+        /** Tracking state derived from the age of the last fix */
+        private final TrackState trackState;
+        /** Ground velocity along X (map units per second) */
+        private final double velocityX;
+        /** Ground velocity along Y (map units per second) */
+        private final double velocityY;
+        /** Vertical speed (feet per second, positive climbing) */
+        private final double climbRate;
 
         /**
          * Creates a new radar contact at specified position and altitude.
          * Contact is marked as tracked and timestamped with current time.
          */
         public RadarContact(int x, int y, int altitude) {
-            this.x = x;  // Store initial x-coordinate
-            this.y = y;  // Store initial y-coordinate
-            this.altitude = altitude;  // Store initial altitude
-            this.lastUpdated = System.currentTimeMillis();  // Record creation time
-            this.isTracked = true;  // Mark as actively tracked
+            this(x, y, altitude, System.currentTimeMillis(), TrackState.TRACKED);  // Record creation time
         }
 
         /**
-         * Updates position and altitude of this contact.
-         * Automatically refreshes the timestamp to current time.
+         * Creates a radar contact with an explicit timestamp and tracking state.
          */
-        public void updatePosition(int x, int y, int altitude) {
-            this.x = x;  // Update to new x-coordinate
-            this.y = y;  // Update to new y-coordinate
-            this.altitude = altitude;  // Update to new altitude
-            this.lastUpdated = System.currentTimeMillis();  // Refresh timestamp
+        RadarContact(int x, int y, int altitude, long lastUpdated, TrackState trackState) {
+            this(x, y, altitude, lastUpdated, trackState, 0.0, 0.0, 0.0);  // No motion known yet
+        }
+
+        private RadarContact(int x, int y, int altitude, long lastUpdated, TrackState trackState,
+                             double velocityX, double velocityY, double climbRate) {
+            this.x = x;  // Store x-coordinate
+            this.y = y;  // Store y-coordinate
+            this.altitude = altitude;  // Store altitude
+            this.lastUpdated = lastUpdated;  // Store fix time
+            this.trackState = trackState;  // Store tracking state
+            this.velocityX = velocityX;  // Store ground velocity
+            this.velocityY = velocityY;
+            this.climbRate = climbRate;  // Store vertical speed
+        }
+
+        /**
+         * Returns a new tracked contact at the given position and altitude, timestamped now.
+         */
+        public RadarContact withPosition(int x, int y, int altitude) {
+            return withFix(x, y, altitude, System.currentTimeMillis());
+        }
+
+        /**
+         * Returns the contact that follows this one after a fix at the given time, with velocity
+         * and climb rate estimated from the displacement. Fixes closer together than
+         * FULL_VELOCITY_INTERVAL_MS are blended into the previous estimate so whole-unit position
+         * rounding does not turn into large velocity noise.
+         */
+        RadarContact withFix(int x, int y, int altitude, long time) {
+            long elapsed = time - lastUpdated;
+            if (elapsed <= 0) {
+                return new RadarContact(x, y, altitude, time, TrackState.TRACKED, velocityX, velocityY, climbRate);
+            }
+            double seconds = elapsed / 1000.0;
+            double weight = Math.min(1.0, (double) elapsed / FULL_VELOCITY_INTERVAL_MS);  // 1.0 at sweep rates
+            double vx = velocityX + weight * ((x - this.x) / seconds - velocityX);
+            double vy = velocityY + weight * ((y - this.y) / seconds - velocityY);
+            double climb = climbRate + weight * ((altitude - this.altitude) / seconds - climbRate);
+            return new RadarContact(x, y, altitude, time, TrackState.TRACKED, vx, vy, climb);
+        }
+
+        /**
+         * Returns this fix with a different tracking state; position, timestamp and motion are kept.
+         */
+        RadarContact withTrackState(TrackState state) {
+            return new RadarContact(x, y, altitude, lastUpdated, state, velocityX, velocityY, climbRate);
+        }
+
+        /**
+         * Dead-reckons the position at a time from the last fix, velocity and climb rate.
+         * Constant time and allocation-free: the result is written into the caller's array.
+         * Extrapolation stops MAX_EXTRAPOLATION_MS after the fix.
+         *
+         * @param nowMillis Time to predict for (ms since epoch)
+         * @param out Array of at least three elements receiving x, y and altitude
+         * @return The same array
+         */
+        public double[] extrapolate(long nowMillis, double[] out) {
+            double seconds = Math.max(0, Math.min(nowMillis - lastUpdated, MAX_EXTRAPOLATION_MS)) / 1000.0;
+            out[0] = x + velocityX * seconds;
+            out[1] = y + velocityY * seconds;
+            out[2] = altitude + climbRate * seconds;
+            return out;
         }
 
         /** Returns the x-coordinate of this contact */
@@ -108,8 +241,16 @@ public class Radar {
         public int getAltitude() { return altitude; }
         /** Returns timestamp of last update */
         public long getLastUpdated() { return lastUpdated; }
-        /** Returns whether this contact is actively tracked */
-        public boolean isTracked() { return isTracked; }
+        /** Returns whether this contact is actively tracked (has a recent fix) */
+        public boolean isTracked() { return trackState == TrackState.TRACKED; }
+        /** Returns the tracking state */
+        public TrackState getTrackState() { return trackState; }
+        /** Returns the ground velocity along X in map units per second */
+        public double getVelocityX() { return velocityX; }
+        /** Returns the ground velocity along Y in map units per second */
+        public double getVelocityY() { return velocityY; }
+        /** Returns the vertical speed in feet per second */
+        public double getClimbRate() { return climbRate; }
 
         /**
          * Returns a formatted string representation of this radar contact.
@@ -117,7 +258,25 @@ public class Radar {
          */
         @Override
         public String toString() {
-            return String.format("RadarContact[x=%d, y=%d, alt=%d]", x, y, altitude);  // Format as [x=X, y=Y, alt=A]
+            return String.format("RadarContact[x=%d, y=%d, alt=%d, %s]", x, y, altitude, trackState);  // Format as [x=X, y=Y, alt=A, STATE]
+        }
+    }
+
+    /**
+     * Mutable holder for a jetpack's current contact; writes are single atomic swaps.
+     */
+    private static final class ContactSlot {
+        static final AtomicReferenceFieldUpdater<ContactSlot, RadarContact> CONTACT =
+            AtomicReferenceFieldUpdater.newUpdater(ContactSlot.class, RadarContact.class, "contact");
+
+        final JetPack jetpack;
+        volatile RadarContact contact;
+        /** Expiry entry; written under the wheel's lock */
+        Timeout<ContactSlot> expiry;
+
+        ContactSlot(JetPack jetpack, RadarContact contact) {
+            this.jetpack = jetpack;
+            this.contact = contact;
         }
     }
 
@@ -126,7 +285,7 @@ public class Radar {
      * Creates radar at origin (0,0) with 50-mile range and 1-second scan interval.
      */
     public Radar() {
-        this.trackedJetpacks = new HashMap<>();  // Initialize empty contact map
+        this.trackedJetpacks = new ConcurrentHashMap<>();  // Initialize empty concurrent contact store
         this.radarRange = 50.0;  // Set default detection range to 50 miles
         this.scanInterval = 1000;  // Set scan frequency to 1 second (1000ms)
         this.isActive = true;  // Start radar in active operational state
@@ -140,7 +299,7 @@ public class Radar {
      * Allows specification of ID, range, and installation location.
      */
     public Radar(String radarID, double radarRange, int centerX, int centerY) {
-        this.trackedJetpacks = new HashMap<>();  // Initialize empty contact map
+        this.trackedJetpacks = new ConcurrentHashMap<>();  // Initialize empty concurrent contact store
         this.radarRange = radarRange;  // Set custom detection range
         this.scanInterval = 1000;  // Set scan frequency to 1 second (1000ms)
         this.isActive = true;  // Start radar in active operational state
@@ -152,24 +311,64 @@ public class Radar {
     /**
      * Returns a snapshot of all tracked jetpack positions.
      * Returns empty map if radar is inactive to prevent stale data usage.
+     * The map is unmodifiable and shared with other readers of the same version.
      */
     public Map<JetPack, RadarContact> getJetPackPositions() {
+        return getSnapshot().getContacts();  // Cached per version instead of copied per call
+    }
+
+    /**
+     * Returns an immutable snapshot of the current contacts.
+     * The snapshot is rebuilt only when a write happened since the last one was taken;
+     * otherwise every caller receives the same instance.
+     */
+    public RadarSnapshot getSnapshot() {
         if (!isActive) {  // Check if radar is operational
-            // ...removed debug output...
-            return new HashMap<>();  // Return empty map for inactive radar
+            return RadarSnapshot.EMPTY;  // Inactive radar reports no contacts
+        }
+        RadarSnapshot cached = cachedSnapshot.get();
+        long current = version.get();  // Read before copying: a racing write makes the next call rebuild
+        if (cached.getVersion() == current) {
+            return cached;  // Nothing changed since the last snapshot
+        }
+        Map<JetPack, RadarContact> contacts = new HashMap<>(trackedJetpacks.size() * 4 / 3 + 1);
+        for (Map.Entry<JetPack, ContactSlot> entry : trackedJetpacks.entrySet()) {  // Weakly consistent, never throws
+            contacts.put(entry.getKey(), entry.getValue().contact);
+        }
+        RadarSnapshot fresh = new RadarSnapshot(current, System.currentTimeMillis(), contacts);
+        while (cached.getVersion() < current && !cachedSnapshot.compareAndSet(cached, fresh)) {
+            cached = cachedSnapshot.get();  // Another reader published first; keep whichever is newer
         }
-        return new HashMap<>(trackedJetpacks);  // Return defensive copy to prevent external modification
+        return fresh;
     }
 
+    /**
+     * Returns the snapshot published by the most recent radar sweep.
+     * A new sweep is taken when none exists or the last one is older than the scan interval,
+     * so all readers within one scan interval share the same instance.
+     */
+    public RadarSnapshot getSweepSnapshot() {
+        if (!isActive) return RadarSnapshot.EMPTY;  // Inactive radar reports no contacts
+        RadarSnapshot snapshot = sweepSnapshot;
+        if (snapshot == null || System.currentTimeMillis() - snapshot.getTimestamp() >= scanInterval) {
+            snapshot = getSnapshot();  // Scan interval elapsed: sweep again
+            sweepSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    /** Returns the current store version (incremented by every write) */
+    public long getVersion() { return version.get(); }
+
     /**
      * Updates position of an existing jetpack or adds it if not yet tracked.
-     * Silently ignores updates when radar is inactive.
+     * Silently ignores updates when radar is inactive. Lock-free for tracked jetpacks.
      */
     public void updateJetPackPosition(JetPack jetpack, int x, int y, int altitude) {
         if (!isActive) return;  // Ignore updates when radar is offline
-        if (trackedJetpacks.containsKey(jetpack)) {  // Check if jetpack already tracked
-            RadarContact contact = trackedJetpacks.get(jetpack);  // Retrieve existing contact
-            contact.updatePosition(x, y, altitude);  // Update position and timestamp
+        ContactSlot slot = trackedJetpacks.get(jetpack);  // Lock-free read
+        if (slot != null) {  // Check if jetpack already tracked
+            refresh(slot, x, y, altitude);  // Publish new immutable contact; expiry catches up lazily
         } else {  // Jetpack not yet in system
             addJetpackToRadar(jetpack, x, y, altitude);  // Add as new contact
         }
@@ -181,8 +380,33 @@ public class Radar {
      */
     public void addJetpackToRadar(JetPack jetpack, int x, int y, int altitude) {
         if (!isActive) return;  // Ignore additions when radar is offline
-        RadarContact contact = new RadarContact(x, y, altitude);  // Create new contact with position
-        trackedJetpacks.put(jetpack, contact);  // Add to tracking map
+        long now = clock.getAsLong();
+        ContactSlot fresh = new ContactSlot(jetpack, new RadarContact(x, y, altitude, now, TrackState.TRACKED));
+        ContactSlot slot = trackedJetpacks.putIfAbsent(jetpack, fresh);  // Add to tracking store
+        if (slot != null) {
+            refresh(slot, x, y, altitude);  // Already tracked: treat as a position update
+            return;
+        }
+        synchronized (expiryWheel) {
+            fresh.expiry = expiryWheel.schedule(fresh, now + coastTimeout);  // First deadline: start coasting
+        }
+        version.incrementAndGet();  // Invalidate cached snapshot
+    }
+
+    /**
+     * Stores a new fix in a slot (CAS, so expiry cannot overwrite it) and reports reacquisition
+     * of a coasting or lost contact.
+     */
+    private void refresh(ContactSlot slot, int x, int y, int altitude) {
+        long now = clock.getAsLong();
+        RadarContact previous;
+        do {
+            previous = slot.contact;  // Velocity is derived from the fix being replaced
+        } while (!ContactSlot.CONTACT.compareAndSet(slot, previous, previous.withFix(x, y, altitude, now)));
+        version.incrementAndGet();  // Invalidate cached snapshot
+        if (previous.getTrackState() != TrackState.TRACKED) {
+            fireTrackStateChanged(slot.jetpack, previous.getTrackState(), TrackState.TRACKED);
+        }
     }
 
     /**
@@ -190,9 +414,122 @@ public class Radar {
      * Used when aircraft leaves airspace or lands.
      */
     public void removeJetpackFromRadar(JetPack jetpack) {
-        trackedJetpacks.remove(jetpack);  // Remove contact from tracking map
+        ContactSlot slot = trackedJetpacks.remove(jetpack);  // Remove contact from tracking store
+        if (slot != null) {
+            synchronized (expiryWheel) {
+                if (slot.expiry != null) expiryWheel.cancel(slot.expiry);  // Nothing left to age
+            }
+            version.incrementAndGet();  // Invalidate cached snapshot
+        }
+    }
+
+    /**
+     * Ages contacts whose expiry deadline has passed, moving them through COASTING, LOST and
+     * DROPPED and notifying listeners of every step. Only due wheel buckets are visited; contacts
+     * refreshed since their deadline was set are simply rescheduled.
+     * Called by performRadarSweep; may also be called directly.
+     *
+     * @return Number of state changes made
+     */
+    public int expireContacts() {
+        if (!isActive) return 0;  // A radar that is off does not age its picture
+        long now = clock.getAsLong();
+        int changes = 0;
+        for (Timeout<ContactSlot> due : expiryWheel.advance(now)) {
+            ContactSlot slot = due.getItem();
+            if (trackedJetpacks.get(slot.jetpack) != slot) continue;  // Removed (or replaced) meanwhile
+            while (true) {
+                RadarContact current = slot.contact;
+                TrackState target = stateForAge(now - current.getLastUpdated());
+                TrackState from = current.getTrackState();
+                if (target == TrackState.DROPPED) {
+                    if (trackedJetpacks.remove(slot.jetpack, slot)) {
+                        version.incrementAndGet();
+                        changes += fireSteps(slot.jetpack, from, target);
+                    }
+                    break;
+                }
+                if (target != from) {
+                    if (!ContactSlot.CONTACT.compareAndSet(slot, current, current.withTrackState(target))) {
+                        continue;  // A fix arrived meanwhile: re-evaluate against it
+                    }
+                    version.incrementAndGet();
+                    changes += fireSteps(slot.jetpack, from, target);
+                }
+                expiryWheel.reschedule(due, current.getLastUpdated() + timeoutAfter(target));  // Next stage, O(1)
+                break;
+            }
+        }
+        return changes;
+    }
+
+    /** Returns the state a contact should be in after going the given time without a fix */
+    private TrackState stateForAge(long age) {
+        if (age >= dropTimeout) return TrackState.DROPPED;
+        if (age >= lostTimeout) return TrackState.LOST;
+        if (age >= coastTimeout) return TrackState.COASTING;
+        return TrackState.TRACKED;
+    }
+
+    /** Returns the age at which a contact leaves the given state */
+    private long timeoutAfter(TrackState state) {
+        switch (state) {
+            case TRACKED: return coastTimeout;
+            case COASTING: return lostTimeout;
+            default: return dropTimeout;
+        }
+    }
+
+    /** Fires one event per state passed through (a late sweep may skip several stages at once) */
+    private int fireSteps(JetPack jetpack, TrackState from, TrackState to) {
+        int steps = 0;
+        TrackState[] states = TrackState.values();
+        for (int i = from.ordinal() + 1; i <= to.ordinal(); i++) {
+            fireTrackStateChanged(jetpack, states[i - 1], states[i]);
+            steps++;
+        }
+        return steps;
+    }
+
+    private void fireTrackStateChanged(JetPack jetpack, TrackState previous, TrackState current) {
+        for (TrackListener listener : trackListeners) {
+            try {
+                listener.onTrackStateChanged(jetpack, previous, current);
+            } catch (RuntimeException e) {
+                System.err.println("Radar track listener failed: " + e.getMessage());  // Keep ageing other contacts
+            }
+        }
     }
 
+    /**
+     * Sets how long a contact may go without a fix before it coasts, is lost and is dropped.
+     * New values apply as each contact's pending deadline comes due.
+     *
+     * @throws IllegalArgumentException unless 0 < coast < lost < drop
+     */
+    public void setTrackTimeouts(long coastMs, long lostMs, long dropMs) {
+        if (coastMs <= 0 || lostMs <= coastMs || dropMs <= lostMs) {
+            throw new IllegalArgumentException("Track timeouts must satisfy 0 < coast < lost < drop");
+        }
+        this.coastTimeout = coastMs;
+        this.lostTimeout = lostMs;
+        this.dropTimeout = dropMs;
+    }
+
+    /** Returns the age at which contacts start coasting (ms) */
+    public long getCoastTimeout() { return coastTimeout; }
+    /** Returns the age at which contacts are lost (ms) */
+    public long getLostTimeout() { return lostTimeout; }
+    /** Returns the age at which contacts are dropped (ms) */
+    public long getDropTimeout() { return dropTimeout; }
+    /** Registers a listener for contact state changes */
+    public void addTrackListener(TrackListener listener) { trackListeners.add(listener); }
+    /** Removes a previously registered track listener */
+    public void removeTrackListener(TrackListener listener) { trackListeners.remove(listener); }
+
+    /** Replaces the time source; for tests driving expiry without sleeping */
+    void setClock(LongSupplier clock) { this.clock = clock; }
+
     /**
      * Identifies aircraft by callsign and serial number.
      * Returns "UNKNOWN AIRCRAFT" message if not tracked.
@@ -201,28 +538,33 @@ public class Radar {
         if (!trackedJetpacks.containsKey(jetpack)) {  // Check if jetpack is tracked
             return "UNKNOWN AIRCRAFT - Not tracked on radar";  // Return unknown message for untracked aircraft
         }
-        RadarContact contact = trackedJetpacks.get(jetpack);  // Retrieve contact (unused but available)
         // Output must contain callsign and serial exactly as expected by test
         return jetpack.getCallsign() + " " + jetpack.getSerialNumber();  // Format: "CALLSIGN SERIAL"
     }
 
     /**
      * Finds all jetpacks within specified radius of a center point.
-     * Uses Euclidean distance calculation for circular search area.
+     * Answered from the version-current snapshot's k-d tree, so results include every write made
+     * before the call; repeated queries with no write in between share a single index build.
      */
     public List<JetPack> getJetpacksInRadius(int centerX, int centerY, double radius) {
-        List<JetPack> jetpacksInRadius = new ArrayList<>();  // Initialize result list
-        for (Map.Entry<JetPack, RadarContact> entry : trackedJetpacks.entrySet()) {  // Iterate all tracked contacts
-            RadarContact contact = entry.getValue();  // Get contact position data
-            double distance = Math.sqrt(  // Calculate straight-line distance
-                Math.pow(contact.getX() - centerX, 2) +  // Square of x-axis difference
-                Math.pow(contact.getY() - centerY, 2)   // Square of y-axis difference
-            );  // Pythagorean theorem for 2D distance
-            if (distance <= radius) {  // Check if within search radius
-                jetpacksInRadius.add(entry.getKey());  // Add jetpack to result list
-            }
-        }
-        return jetpacksInRadius;  // Return all jetpacks within radius
+        return getSnapshot().getSpatialIndex().findInRadius(centerX, centerY, radius);  // O(log n + k) per query
+    }
+
+    /**
+     * Finds all jetpacks inside an axis-aligned rectangle (bounds inclusive).
+     * Answered from the version-current snapshot's k-d tree.
+     */
+    public List<JetPack> getJetpacksInRectangle(int minX, int minY, int maxX, int maxY) {
+        return getSnapshot().getSpatialIndex().findInRectangle(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Finds the k jetpacks nearest a point, closest first.
+     * Answered from the version-current snapshot's k-d tree.
+     */
+    public List<JetPack> getNearestJetpacks(int x, int y, int k) {
+        return getSnapshot().getSpatialIndex().findNearest(x, y, k);
     }
 
     /**
@@ -230,7 +572,16 @@ public class Radar {
      * Returns warning messages for any pairs violating minimum separation (horizontal AND vertical).
      */
     public List<String> checkForCollisions(double minimumSeparation) {
+        return checkForCollisions(getSnapshot(), minimumSeparation);  // Consistent positions for every pair
+    }
+
+    /**
+     * Checks all jetpack pairs in a snapshot for collision risks.
+     * Returns warning messages for any pairs violating minimum separation (horizontal AND vertical).
+     */
+    public List<String> checkForCollisions(RadarSnapshot snapshot, double minimumSeparation) {
         List<String> warnings = new ArrayList<>();  // Initialize warning message list
+        Map<JetPack, RadarContact> trackedJetpacks = snapshot.getContacts();  // Immutable view shared by readers
         List<JetPack> jetpacks = new ArrayList<>(trackedJetpacks.keySet());  // Get list of all tracked jetpacks
         
         // Check each pair of jetpacks exactly once (i < j avoids duplicate checks)
@@ -264,11 +615,15 @@ public class Radar {
 
     /**
      * Performs a radar sweep and returns status summary.
+     * Ages contacts that have stopped reporting, then publishes the current snapshot as the sweep snapshot for shared readers.
      * Includes radar ID, range, and count of tracked aircraft.
      */
     public String performRadarSweep() {
         if (!isActive) return "Radar is inactive.";  // Return inactive message if radar offline
-        return String.format("Radar ID: %s, Range: %.1f miles, Tracked aircraft: %d", radarID, radarRange, trackedJetpacks.size());  // Format status summary
+        expireContacts();  // Age silent contacts before publishing
+        RadarSnapshot snapshot = getSnapshot();  // One snapshot shared by every reader until the next sweep
+        sweepSnapshot = snapshot;
+        return String.format("Radar ID: %s, Range: %.1f miles, Tracked aircraft: %d", radarID, radarRange, snapshot.size());  // Format status summary
     }
 
     /** Returns the radar detection range in miles */
@@ -291,6 +646,19 @@ public class Radar {
     public int getCenterX() { return centerX; }
     /** Returns radar installation center y-coordinate */
     public int getCenterY() { return centerY; }
+    /** Returns the coverage radius in map units */
+    public double getCoverageRadius() { return coverageRadius; }
+    /** Sets the coverage radius in map units (used when several radars share a map) */
+    public void setCoverageRadius(double coverageRadius) { this.coverageRadius = coverageRadius; }
+
+    /**
+     * Returns whether a map position lies within this installation's coverage circle.
+     */
+    public boolean covers(double x, double y) {
+        double dx = x - centerX;
+        double dy = y - centerY;
+        return dx * dx + dy * dy <= coverageRadius * coverageRadius;  // Infinite radius covers everything
+    }
     
     /**
      * Returns formatted string representation of radar status.
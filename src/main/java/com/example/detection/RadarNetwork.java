@@ -0,0 +1,462 @@
+/**
+ * Network of overlapping radar installations that sweep in parallel and fuse into one picture.
+ *
+ * Purpose:
+ * Large metro layouts are covered by several radars rather than one whole-map installation. Each
+ * radar keeps its own contacts for the jetpacks inside its coverage circle and runs its sweep and
+ * conflict check on a worker thread, so detection scales across cores by geography. A fusion stage
+ * then merges the duplicate tracks seen in overlap zones into one system track per jetpack and
+ * de-duplicates conflicts reported by more than one sector.
+ *
+ * Key Responsibilities:
+ * - Lay out a grid of overlapping installations over a map (addGridCoverage)
+ * - Route each SweepFrame sample to the radars covering it; drop it from radars it has left
+ * - Run every active sector's ingest, sweep and conflict check concurrently, one task per radar
+ * - Fuse sector contacts into SystemTracks, preferring tracked over coasting or lost contacts,
+ *   then the freshest fix, then the installation nearest the jetpack
+ * - Merge per-sector conflicts into one Conflict per pair; flights parked when sampled never conflict
+ * - Publish each fused sweep to registered NetworkListeners
+ * - Report the shortest member scan interval, the cadence a RadarSweepEngine feeding it should run at
+ *
+ * Interactions:
+ * - Subscribed to a RadarSweepEngine: engine.addListener(network::ingest)
+ * - Its conflicts drive the city map's proximity alerts (CityMapAnimationController), using the
+ *   same horizontal and vertical separation rule as CollisionDetector
+ * - Uses Radar coverage, expiry (performRadarSweep) and the per-sweep RadarSpatialIndex
+ * - Degraded coverage is simulated with Radar.setActive(false) on any member
+ *
+ * Patterns & Constraints:
+ * - Sector tasks share only the immutable frame and id table; fusion runs after all tasks join
+ * - Worker threads are daemons, created on first ingest and released by shutdown
+ * - ingest is synchronized: one network sweep at a time
+ * - Listeners run on the ingesting thread; listener exceptions are caught and logged
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.example.detection.Radar.RadarContact;
+import com.example.jetpack.JetPack;
+
+/**
+ * RadarNetwork sweeps several radar sectors in parallel and fuses their tracks.
+ */
+public class RadarNetwork {
+    /** Default horizontal separation below which a pair is reported (map units) */
+    public static final double DEFAULT_CONFLICT_SEPARATION = 100.0;
+    /** Default vertical separation below which a pair is reported (feet) */
+    public static final double DEFAULT_VERTICAL_SEPARATION = 100.0;
+    /** Scan interval (ms) reported while the network has no radars, matching a new Radar */
+    public static final int DEFAULT_SCAN_INTERVAL_MS = 1000;
+
+    /**
+     * Receives every fused network sweep.
+     */
+    public interface NetworkListener {
+        /**
+         * Called on the ingesting thread after each network sweep.
+         *
+         * @param sweep The fused result
+         */
+        void onNetworkSweep(NetworkSweep sweep);
+    }
+
+    /**
+     * One fused track per jetpack.
+     */
+    public static final class SystemTrack {
+        private final JetPack jetpack;
+        private final int trackId;
+        private final RadarContact contact;
+        private final String primaryRadarId;
+        private final int reportingRadars;
+
+        SystemTrack(JetPack jetpack, int trackId, RadarContact contact, String primaryRadarId, int reportingRadars) {
+            this.jetpack = jetpack;
+            this.trackId = trackId;
+            this.contact = contact;
+            this.primaryRadarId = primaryRadarId;
+            this.reportingRadars = reportingRadars;
+        }
+
+        /** Returns the tracked jetpack */
+        public JetPack getJetpack() { return jetpack; }
+        /** Returns the stable system track id */
+        public int getTrackId() { return trackId; }
+        /** Returns the contact chosen by fusion */
+        public RadarContact getContact() { return contact; }
+        /** Returns the radar whose contact was chosen */
+        public String getPrimaryRadarId() { return primaryRadarId; }
+        /** Returns how many sectors held a contact for this jetpack */
+        public int getReportingRadars() { return reportingRadars; }
+
+        @Override
+        public String toString() {
+            return String.format("SystemTrack[%s #%d via %s (%d radars), %s]",
+                jetpack.getCallsign(), trackId, primaryRadarId, reportingRadars, contact);
+        }
+    }
+
+    /**
+     * A separation conflict reported by one or more sectors.
+     */
+    public static final class Conflict {
+        private final JetPack first;
+        private final JetPack second;
+        private final double distance;
+        private final int reportingRadars;
+
+        Conflict(JetPack first, JetPack second, double distance, int reportingRadars) {
+            this.first = first;
+            this.second = second;
+            this.distance = distance;
+            this.reportingRadars = reportingRadars;
+        }
+
+        /** Returns the jetpack with the lower track id */
+        public JetPack getFirst() { return first; }
+        /** Returns the jetpack with the higher track id */
+        public JetPack getSecond() { return second; }
+        /** Returns the smallest horizontal separation any sector measured */
+        public double getDistance() { return distance; }
+        /** Returns how many sectors reported the pair */
+        public int getReportingRadars() { return reportingRadars; }
+
+        @Override
+        public String toString() {
+            return String.format("COLLISION WARNING: %s and %s are %.1f units apart",
+                first.getCallsign(), second.getCallsign(), distance);
+        }
+    }
+
+    /**
+     * Immutable result of one network sweep.
+     */
+    public static final class NetworkSweep {
+        private final SweepFrame frame;
+        private final List<SystemTrack> tracks;
+        private final List<Conflict> conflicts;
+        private final int activeRadars;
+
+        NetworkSweep(SweepFrame frame, List<SystemTrack> tracks, List<Conflict> conflicts, int activeRadars) {
+            this.frame = frame;
+            this.tracks = Collections.unmodifiableList(tracks);
+            this.conflicts = Collections.unmodifiableList(conflicts);
+            this.activeRadars = activeRadars;
+        }
+
+        /** Returns the sequence of the frame this sweep was built from */
+        public long getSequence() { return frame.getSequence(); }
+        /** Returns the frame this sweep was built from */
+        public SweepFrame getFrame() { return frame; }
+        /** Returns one fused track per jetpack seen by any active radar */
+        public List<SystemTrack> getTracks() { return tracks; }
+        /** Returns de-duplicated conflicts across all sectors */
+        public List<Conflict> getConflicts() { return conflicts; }
+        /** Returns the number of radars that took part */
+        public int getActiveRadars() { return activeRadars; }
+    }
+
+    /**
+     * What one sector produced in a sweep; built on a worker, read after the join.
+     */
+    private static final class SectorResult {
+        final Radar radar;
+        final RadarSnapshot snapshot;
+        final List<long[]> conflicts;  // {pairKey, distance bits}
+
+        SectorResult(Radar radar, RadarSnapshot snapshot, List<long[]> conflicts) {
+            this.radar = radar;
+            this.snapshot = snapshot;
+            this.conflicts = conflicts;
+        }
+    }
+
+    private final List<Radar> radars = new CopyOnWriteArrayList<>();
+    private final double conflictSeparation;
+    private final double verticalSeparation;
+    private final List<NetworkListener> listeners = new CopyOnWriteArrayList<>();
+    private ExecutorService workers;
+    private SweepFrame previousFrame;
+    private volatile NetworkSweep latestSweep;
+
+    /**
+     * Creates an empty network with default conflict thresholds.
+     */
+    public RadarNetwork() {
+        this(DEFAULT_CONFLICT_SEPARATION, DEFAULT_VERTICAL_SEPARATION);
+    }
+
+    /**
+     * Creates an empty network.
+     *
+     * @param conflictSeparation Horizontal separation below which a pair is reported (map units)
+     * @param verticalSeparation Vertical separation below which a pair is reported (feet)
+     */
+    public RadarNetwork(double conflictSeparation, double verticalSeparation) {
+        this.conflictSeparation = conflictSeparation;
+        this.verticalSeparation = verticalSeparation;
+    }
+
+    /** Adds an installation; takes effect from the next ingest */
+    public synchronized void addRadar(Radar radar) {
+        radars.add(radar);
+        releaseWorkers();  // Pool is resized on the next ingest
+    }
+
+    /** Registers a listener for future sweeps */
+    public void addListener(NetworkListener listener) { listeners.add(listener); }
+    /** Removes a previously registered listener */
+    public void removeListener(NetworkListener listener) { listeners.remove(listener); }
+    /** Returns the horizontal separation below which a pair is reported */
+    public double getConflictSeparation() { return conflictSeparation; }
+    /** Returns the vertical separation below which a pair is reported */
+    public double getVerticalSeparation() { return verticalSeparation; }
+
+    /**
+     * Returns the shortest scan interval among the member radars in ms, re-read on every call so
+     * Radar.setScanInterval takes effect on the next sweep; DEFAULT_SCAN_INTERVAL_MS without radars.
+     */
+    public int getScanInterval() {
+        int interval = Integer.MAX_VALUE;
+        for (Radar radar : radars) {
+            interval = Math.min(interval, radar.getScanInterval());
+        }
+        return (interval == Integer.MAX_VALUE) ? DEFAULT_SCAN_INTERVAL_MS : interval;
+    }
+
+    /** Returns the member radars */
+    public List<Radar> getRadars() { return Collections.unmodifiableList(radars); }
+    /** Returns the result of the last sweep, or null before the first */
+    public NetworkSweep getLatestSweep() { return latestSweep; }
+
+    /**
+     * Covers a map with a grid of overlapping radars, one per cell. Each radar reaches the conflict
+     * separation beyond its cell, so any conflicting pair lies wholly inside at least one sector.
+     *
+     * @param prefix Radar id prefix; ids are prefix-row-column
+     * @param width Map width in map units
+     * @param height Map height in map units
+     * @param columns Cells across
+     * @param rows Cells down
+     */
+    public synchronized void addGridCoverage(String prefix, int width, int height, int columns, int rows) {
+        double cellWidth = (double) width / columns;
+        double cellHeight = (double) height / rows;
+        double radius = Math.hypot(cellWidth, cellHeight) / 2 + conflictSeparation;  // Overlap: a close pair is whole in some sector
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int centerX = (int) Math.round((column + 0.5) * cellWidth);
+                int centerY = (int) Math.round((row + 0.5) * cellHeight);
+                Radar radar = new Radar(prefix + "-" + (row + 1) + "-" + (column + 1), 50.0, centerX, centerY);
+                radar.setCoverageRadius(radius);
+                radars.add(radar);
+            }
+        }
+        releaseWorkers();  // Pool is resized on the next ingest
+    }
+
+    /**
+     * Runs one network sweep for a frame: every active sector ingests the frame, sweeps and checks
+     * conflicts on its own worker, then the sector results are fused.
+     *
+     * @param frame Frame from a RadarSweepEngine
+     * @return The fused result, also available from getLatestSweep
+     */
+    public synchronized NetworkSweep ingest(SweepFrame frame) {
+        Map<JetPack, Integer> trackIds = new IdentityHashMap<>(frame.size() * 2);
+        Set<JetPack> parked = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < frame.size(); i++) {
+            JetPack jetpack = frame.getFlight(i).getJetpack();
+            trackIds.put(jetpack, frame.getId(i));  // Frame ids are stable per flight
+            if (frame.isParked(i)) {
+                parked.add(jetpack);
+            }
+        }
+        SweepFrame previous = previousFrame;
+        List<Callable<SectorResult>> tasks = new ArrayList<>(radars.size());
+        for (Radar radar : radars) {
+            if (radar.isActive()) {
+                tasks.add(() -> sweepSector(radar, frame, previous, trackIds, parked));
+            }
+        }
+        List<SectorResult> results = runAll(tasks);
+        previousFrame = frame;
+        NetworkSweep sweep = fuse(frame, results, trackIds);
+        latestSweep = sweep;
+        for (NetworkListener listener : listeners) {
+            try {
+                listener.onNetworkSweep(sweep);
+            } catch (RuntimeException e) {
+                System.err.println("Radar network listener failed: " + e.getMessage());  // Keep sweeping
+            }
+        }
+        return sweep;
+    }
+
+    /**
+     * Stops the worker threads; a later ingest starts new ones.
+     */
+    public synchronized void shutdown() {
+        releaseWorkers();
+    }
+
+    private SectorResult sweepSector(Radar radar, SweepFrame frame, SweepFrame previous, Map<JetPack, Integer> trackIds,
+                                     Set<JetPack> parked) {
+        for (int i = 0; i < frame.size(); i++) {
+            JetPack jetpack = frame.getFlight(i).getJetpack();
+            if (radar.covers(frame.getX(i), frame.getY(i))) {
+                radar.updateJetPackPosition(jetpack, (int) frame.getX(i), (int) frame.getY(i), (int) frame.getAltitude(i));
+            } else {
+                radar.removeJetpackFromRadar(jetpack);  // Handed over to a neighbouring sector
+            }
+        }
+        if (previous != null) {
+            for (int i = 0; i < previous.size(); i++) {
+                JetPack jetpack = previous.getFlight(i).getJetpack();
+                if (!trackIds.containsKey(jetpack)) {
+                    radar.removeJetpackFromRadar(jetpack);  // Left the fleet since last frame
+                }
+            }
+        }
+        radar.performRadarSweep();  // Ages silent contacts and publishes this sector's snapshot
+        RadarSnapshot snapshot = radar.getSweepSnapshot();
+        return new SectorResult(radar, snapshot, findConflicts(snapshot, trackIds, parked));
+    }
+
+    private List<long[]> findConflicts(RadarSnapshot snapshot, Map<JetPack, Integer> trackIds, Set<JetPack> parked) {
+        List<long[]> conflicts = new ArrayList<>();
+        RadarSpatialIndex index = snapshot.getSpatialIndex();
+        for (Map.Entry<JetPack, RadarContact> entry : snapshot.getContacts().entrySet()) {
+            RadarContact contact = entry.getValue();
+            Integer id = trackIds.get(entry.getKey());
+            if (id == null || !contact.isTracked()) continue;  // Coasting positions are not trusted for separation
+            if (parked.contains(entry.getKey())) continue;  // Parked flights never conflict
+            for (JetPack other : index.findInRadius(contact.getX(), contact.getY(), conflictSeparation)) {
+                Integer otherId = trackIds.get(other);
+                if (otherId == null || otherId <= id || parked.contains(other)) continue;  // Each pair once, from its lower id
+                RadarContact otherContact = snapshot.getContact(other);
+                if (!otherContact.isTracked()
+                    || Math.abs(contact.getAltitude() - otherContact.getAltitude()) >= verticalSeparation) continue;
+                double distance = Math.hypot(contact.getX() - otherContact.getX(), contact.getY() - otherContact.getY());
+                if (distance < conflictSeparation) {
+                    conflicts.add(new long[] { pairKey(id, otherId), Double.doubleToLongBits(distance) });
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private NetworkSweep fuse(SweepFrame frame, List<SectorResult> results, Map<JetPack, Integer> trackIds) {
+        Map<JetPack, RadarContact> best = new IdentityHashMap<>();
+        Map<JetPack, Radar> bestRadar = new IdentityHashMap<>();
+        Map<JetPack, Integer> reports = new IdentityHashMap<>();
+        Map<Long, double[]> conflictByPair = new LinkedHashMap<>();  // {min distance, reporting radars}
+        for (SectorResult result : results) {
+            for (Map.Entry<JetPack, RadarContact> entry : result.snapshot.getContacts().entrySet()) {
+                JetPack jetpack = entry.getKey();
+                reports.merge(jetpack, 1, Integer::sum);
+                RadarContact current = best.get(jetpack);
+                if (current == null || isBetter(entry.getValue(), result.radar, current, bestRadar.get(jetpack))) {
+                    best.put(jetpack, entry.getValue());
+                    bestRadar.put(jetpack, result.radar);
+                }
+            }
+            for (long[] conflict : result.conflicts) {
+                double distance = Double.longBitsToDouble(conflict[1]);
+                double[] merged = conflictByPair.get(conflict[0]);
+                if (merged == null) {
+                    conflictByPair.put(conflict[0], new double[] { distance, 1 });
+                } else {
+                    merged[0] = Math.min(merged[0], distance);  // Overlap zone: keep the closest measurement
+                    merged[1]++;
+                }
+            }
+        }
+        List<SystemTrack> tracks = new ArrayList<>(best.size());
+        Map<Integer, JetPack> jetpackById = new HashMap<>(trackIds.size() * 2);
+        for (Map.Entry<JetPack, Integer> entry : trackIds.entrySet()) {
+            jetpackById.put(entry.getValue(), entry.getKey());
+        }
+        for (Map.Entry<JetPack, RadarContact> entry : best.entrySet()) {
+            JetPack jetpack = entry.getKey();
+            Integer id = trackIds.get(jetpack);
+            tracks.add(new SystemTrack(jetpack, id != null ? id : -1, entry.getValue(),
+                bestRadar.get(jetpack).getRadarID(), reports.get(jetpack)));
+        }
+        tracks.sort((a, b) -> Integer.compare(a.getTrackId(), b.getTrackId()));
+        List<Conflict> conflicts = new ArrayList<>(conflictByPair.size());
+        for (Map.Entry<Long, double[]> entry : conflictByPair.entrySet()) {
+            long key = entry.getKey();
+            conflicts.add(new Conflict(jetpackById.get((int) (key >>> 32)), jetpackById.get((int) key),
+                entry.getValue()[0], (int) entry.getValue()[1]));
+        }
+        return new NetworkSweep(frame, tracks, conflicts, results.size());
+    }
+
+    /** Fusion order: tracking state first, then fix age, then distance from the installation */
+    private static boolean isBetter(RadarContact candidate, Radar candidateRadar, RadarContact current, Radar currentRadar) {
+        if (candidate.getTrackState() != current.getTrackState()) {
+            return candidate.getTrackState().ordinal() < current.getTrackState().ordinal();
+        }
+        if (candidate.getLastUpdated() != current.getLastUpdated()) {
+            return candidate.getLastUpdated() > current.getLastUpdated();
+        }
+        return rangeSq(candidate, candidateRadar) < rangeSq(current, currentRadar);  // Better geometry near the site
+    }
+
+    private static double rangeSq(RadarContact contact, Radar radar) {
+        double dx = contact.getX() - radar.getCenterX();
+        double dy = contact.getY() - radar.getCenterY();
+        return dx * dx + dy * dy;
+    }
+
+    private static long pairKey(int lowerId, int higherId) {
+        return ((long) lowerId << 32) | (higherId & 0xFFFFFFFFL);
+    }
+
+    private List<SectorResult> runAll(List<Callable<SectorResult>> tasks) {
+        if (workers == null) {
+            int threads = Math.max(1, Math.min(radars.size(), Runtime.getRuntime().availableProcessors()));
+            workers = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "radar-sector-worker");
+                thread.setDaemon(true);  // Never keeps the application alive
+                return thread;
+            });
+        }
+        List<SectorResult> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<SectorResult> future : workers.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();  // Shutting down: return what completed
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Radar sector sweep failed", e.getCause());
+        }
+        return results;
+    }
+
+    private void releaseWorkers() {
+        if (workers != null) {
+            workers.shutdown();  // Idle between sweeps, so nothing is cut short
+            workers = null;
+        }
+    }
+}
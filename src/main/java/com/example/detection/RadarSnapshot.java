@@ -0,0 +1,87 @@
+/**
+ * Immutable, versioned view of every radar contact at one instant.
+ *
+ * Purpose:
+ * Lets many readers (tracking windows, radar tape, system checks) share one picture of the airspace
+ * without each copying the radar's contact store. A snapshot is built at most once per store version
+ * and handed out unchanged until a position write bumps the version.
+ *
+ * Key Responsibilities:
+ * - Hold an unmodifiable map of jetpack to immutable RadarContact
+ * - Record the store version and wall-clock time it was taken at
+ * - Answer count and lookup queries without touching the live store
+ * - Own the spatial index for its contacts, built on first spatial query
+ *
+ * Interactions:
+ * - Built and cached by Radar.getSnapshot; published per sweep by Radar.performRadarSweep
+ * - Read by AirTrafficController system checks and collision queries
+ *
+ * Patterns & Constraints:
+ * - Deeply immutable: RadarContact values never change after construction
+ * - The lazily built index may be built twice under a race; both copies are identical
+ * - Safe to publish across threads and to hold for as long as a reader needs
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.example.detection.Radar.RadarContact;
+import com.example.jetpack.JetPack;
+
+/**
+ * RadarSnapshot is a read-only, versioned copy of the radar contact store.
+ */
+public final class RadarSnapshot {
+    /** Snapshot of an empty or inactive radar */
+    static final RadarSnapshot EMPTY = new RadarSnapshot(-1L, 0L, Collections.emptyMap());
+
+    private final long version;
+    private final long timestamp;
+    private final Map<JetPack, RadarContact> contacts;
+    private volatile RadarSpatialIndex spatialIndex;
+
+    /**
+     * Creates a snapshot; the map must not be modified afterwards.
+     *
+     * @param version Store version the snapshot reflects
+     * @param timestamp Wall-clock time the snapshot was taken (ms since epoch)
+     * @param contacts Contacts keyed by jetpack
+     */
+    RadarSnapshot(long version, long timestamp, Map<JetPack, RadarContact> contacts) {
+        this.version = version;  // Store write counter at capture
+        this.timestamp = timestamp;  // Store capture time
+        this.contacts = Collections.unmodifiableMap(contacts);  // Readers cannot alter shared state
+    }
+
+    /** Returns the store version this snapshot reflects */
+    public long getVersion() { return version; }
+    /** Returns when the snapshot was taken (ms since epoch) */
+    public long getTimestamp() { return timestamp; }
+    /** Returns the unmodifiable contact map */
+    public Map<JetPack, RadarContact> getContacts() { return contacts; }
+    /** Returns the number of contacts in the snapshot */
+    public int size() { return contacts.size(); }
+    /** Returns the contact for a jetpack, or null if it was not tracked */
+    public RadarContact getContact(JetPack jetpack) { return contacts.get(jetpack); }
+
+    /**
+     * Returns the k-d tree over this snapshot's contacts, building it on first use.
+     */
+    public RadarSpatialIndex getSpatialIndex() {
+        RadarSpatialIndex index = spatialIndex;
+        if (index == null) {
+            index = new RadarSpatialIndex(contacts);  // Built once per snapshot, shared by every query
+            spatialIndex = index;
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RadarSnapshot[version=%d, contacts=%d]", version, contacts.size());
+    }
+}
@@ -0,0 +1,287 @@
+/**
+ * Static 2D k-d tree over the contacts of one radar snapshot.
+ *
+ * Purpose:
+ * Answers radius, rectangle and k-nearest-neighbour queries over radar contacts in logarithmic
+ * rather than linear time. Built once per snapshot, so every query against the same sweep reuses
+ * the same tree.
+ *
+ * Key Responsibilities:
+ * - Build a balanced implicit k-d tree from contact positions (median split, alternating X/Y)
+ * - Report jetpacks within a circle or an axis-aligned rectangle
+ * - Report the k jetpacks nearest a point, closest first
+ *
+ * Interactions:
+ * - Built lazily by RadarSnapshot.getSpatialIndex
+ * - Queried by Radar.getJetpacksInRadius, getJetpacksInRectangle and getNearestJetpacks
+ *
+ * Patterns & Constraints:
+ * - Immutable after construction; safe to share across threads
+ * - Implicit layout: the node of range [lo, hi) is at its midpoint, children are the two halves,
+ *   so the tree needs no node objects and no pointers
+ * - Distances compared squared; no Math.pow or Math.sqrt on the query path
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.example.detection.Radar.RadarContact;
+import com.example.jetpack.JetPack;
+
+/**
+ * RadarSpatialIndex is an immutable k-d tree over jetpack positions.
+ */
+public final class RadarSpatialIndex {
+    private final JetPack[] jetpacks;
+    private final int[] xs;
+    private final int[] ys;
+    private final int size;
+
+    /**
+     * Builds the index from a contact map.
+     *
+     * @param contacts Contacts keyed by jetpack
+     */
+    public RadarSpatialIndex(Map<JetPack, RadarContact> contacts) {
+        this.size = contacts.size();
+        this.jetpacks = new JetPack[size];
+        this.xs = new int[size];
+        this.ys = new int[size];
+        int i = 0;
+        for (Map.Entry<JetPack, RadarContact> entry : contacts.entrySet()) {  // Flatten into parallel arrays
+            jetpacks[i] = entry.getKey();
+            xs[i] = entry.getValue().getX();
+            ys[i] = entry.getValue().getY();
+            i++;
+        }
+        build(0, size, 0);
+    }
+
+    /** Returns the number of indexed contacts */
+    public int size() { return size; }
+
+    /**
+     * Returns jetpacks within the given radius of a point (boundary inclusive).
+     */
+    public List<JetPack> findInRadius(int centerX, int centerY, double radius) {
+        List<JetPack> result = new ArrayList<>();
+        if (radius >= 0) {
+            radius(0, size, 0, centerX, centerY, radius * radius, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns jetpacks inside an axis-aligned rectangle (bounds inclusive).
+     */
+    public List<JetPack> findInRectangle(int minX, int minY, int maxX, int maxY) {
+        List<JetPack> result = new ArrayList<>();
+        rectangle(0, size, 0, minX, minY, maxX, maxY, result);
+        return result;
+    }
+
+    /**
+     * Returns up to k jetpacks nearest a point, closest first.
+     */
+    public List<JetPack> findNearest(int x, int y, int k) {
+        int limit = Math.min(k, size);
+        List<JetPack> result = new ArrayList<>(Math.max(limit, 0));
+        if (limit <= 0) return result;
+        NearestHeap heap = new NearestHeap(limit);
+        nearest(0, size, 0, x, y, heap);
+        for (int index : heap.drainClosestFirst()) {
+            result.add(jetpacks[index]);
+        }
+        return result;
+    }
+
+    private void build(int lo, int hi, int depth) {
+        if (hi - lo <= 1) return;
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, (depth & 1) == 0);  // Median on this level's axis
+        build(lo, mid, depth + 1);
+        build(mid + 1, hi, depth + 1);
+    }
+
+    private void radius(int lo, int hi, int depth, int cx, int cy, double radiusSq, List<JetPack> out) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            long dx = xs[mid] - cx;
+            long dy = ys[mid] - cy;
+            if (dx * dx + dy * dy <= radiusSq) {
+                out.add(jetpacks[mid]);
+            }
+            long delta = ((depth & 1) == 0) ? dx : dy;  // Node minus query on the split axis
+            boolean nearIsLeft = delta > 0;
+            if (delta * delta <= radiusSq) {  // Circle straddles the split: visit both sides
+                if (nearIsLeft) radius(mid + 1, hi, depth + 1, cx, cy, radiusSq, out);
+                else radius(lo, mid, depth + 1, cx, cy, radiusSq, out);
+            }
+            if (nearIsLeft) hi = mid; else lo = mid + 1;  // Continue down the near side iteratively
+            depth++;
+        }
+    }
+
+    private void rectangle(int lo, int hi, int depth, int minX, int minY, int maxX, int maxY, List<JetPack> out) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int x = xs[mid];
+            int y = ys[mid];
+            if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                out.add(jetpacks[mid]);
+            }
+            int value = ((depth & 1) == 0) ? x : y;
+            int low = ((depth & 1) == 0) ? minX : minY;
+            int high = ((depth & 1) == 0) ? maxX : maxY;
+            boolean left = low <= value;
+            boolean right = high >= value;
+            if (left && right) {
+                rectangle(lo, mid, depth + 1, minX, minY, maxX, maxY, out);
+                lo = mid + 1;
+            } else if (left) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+            depth++;
+        }
+    }
+
+    private void nearest(int lo, int hi, int depth, int x, int y, NearestHeap heap) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+        long dx = xs[mid] - x;
+        long dy = ys[mid] - y;
+        heap.offer(mid, dx * dx + dy * dy);
+        long delta = ((depth & 1) == 0) ? dx : dy;
+        if (delta > 0) {  // Query is left of the split: search left first
+            nearest(lo, mid, depth + 1, x, y, heap);
+            if (!heap.isFull() || delta * delta <= heap.worstDistance()) {
+                nearest(mid + 1, hi, depth + 1, x, y, heap);
+            }
+        } else {
+            nearest(mid + 1, hi, depth + 1, x, y, heap);
+            if (!heap.isFull() || delta * delta <= heap.worstDistance()) {
+                nearest(lo, mid, depth + 1, x, y, heap);
+            }
+        }
+    }
+
+    private void select(int lo, int hi, int k, boolean byX) {
+        int[] keys = byX ? xs : ys;
+        while (hi > lo) {  // Hoare quickselect with median-of-three pivot
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < keys[lo]) swap(lo, mid);
+            if (keys[hi] < keys[lo]) swap(lo, hi);
+            if (keys[hi] < keys[mid]) swap(mid, hi);
+            int pivot = keys[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (keys[i] < pivot) i++;
+                while (keys[j] > pivot) j--;
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        JetPack jetpack = jetpacks[a];
+        jetpacks[a] = jetpacks[b];
+        jetpacks[b] = jetpack;
+        int x = xs[a];
+        xs[a] = xs[b];
+        xs[b] = x;
+        int y = ys[a];
+        ys[a] = ys[b];
+        ys[b] = y;
+    }
+
+    /**
+     * Bounded max-heap of (index, squared distance) keeping the k closest candidates.
+     */
+    private static final class NearestHeap {
+        private final int[] indices;
+        private final long[] distances;
+        private int count;
+
+        NearestHeap(int capacity) {
+            indices = new int[capacity];
+            distances = new long[capacity];
+        }
+
+        boolean isFull() { return count == indices.length; }
+
+        long worstDistance() { return distances[0]; }
+
+        void offer(int index, long distance) {
+            if (count < indices.length) {
+                int i = count++;
+                indices[i] = index;
+                distances[i] = distance;
+                siftUp(i);
+            } else if (distance < distances[0]) {  // Replace current worst
+                indices[0] = index;
+                distances[0] = distance;
+                siftDown(0);
+            }
+        }
+
+        int[] drainClosestFirst() {
+            int[] ordered = new int[count];
+            for (int i = count - 1; i >= 0; i--) {  // Pop worst first into the back
+                ordered[i] = indices[0];
+                count--;
+                indices[0] = indices[count];
+                distances[0] = distances[count];
+                siftDown(0);
+            }
+            return ordered;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (distances[parent] >= distances[i]) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= count) break;
+                int largest = (left + 1 < count && distances[left + 1] > distances[left]) ? left + 1 : left;
+                if (distances[i] >= distances[largest]) break;
+                swap(i, largest);
+                i = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int index = indices[a];
+            indices[a] = indices[b];
+            indices[b] = index;
+            long distance = distances[a];
+            distances[a] = distances[b];
+            distances[b] = distance;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+/**
+ * Runs radar sweeps on a dedicated scheduled thread at the radar's scan interval.
+ *
+ * Purpose:
+ * Radar exposes a scan interval, but nothing used to schedule sweeps, so radar data was whatever the
+ * last caller wrote. RadarSweepEngine samples every flight once per scan interval into an immutable
+ * SweepFrame, pushes the sampled positions into the Radar contact store, publishes the radar's sweep
+ * snapshot, and hands the frame to subscribers.
+ *
+ * Key Responsibilities:
+ * - Schedule sweeps on a single daemon thread, re-reading the scan interval before each one, from
+ *   the radar or from an interval source such as RadarNetwork.getScanInterval
+ * - Sample flight positions and parked state into primitive arrays with stable per-flight ids
+ * - Keep Radar contacts in step with the fleet (update sampled flights, drop departed ones)
+ * - Publish each frame to registered SweepListeners and keep the latest frame available
+ *
+ * Interactions:
+ * - Reads the flight list and JetPackFlight positions on the thread that moves the flights
+ * - Writes to Radar via updateJetPackPosition, removeJetpackFromRadar and performRadarSweep
+ * - Subscribed to by CityMapAnimationController for collision checks at radar cadence
+ * - Subscribed to by RadarNetwork, which routes each frame to its sector radars
+ *
+ * Patterns & Constraints:
+ * - Flights are only sampled on the thread that owns them: the caller of sweepNow, or the sampler
+ *   executor for scheduled sweeps (CityRuntime passes its simulation engine, so frames are copied
+ *   between ticks). Without a sampler, scheduled sweeps sample on the sweep thread and the list
+ *   must not change while the engine runs
+ * - A scheduled sweep whose sample the owner has not taken within one scan interval is skipped
+ * - Listener exceptions are caught and logged so one faulty subscriber cannot stop the radar
+ * - Listeners run on the sweep thread; Swing consumers must hop to the EDT themselves
+ * - The radar may be null, in which case the engine only produces frames, at the interval source's
+ *   cadence (one second when none is set)
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntSupplier;
+
+import com.example.flight.JetPackFlight;
+import com.example.flight.JetPackFlightState;
+
+/**
+ * RadarSweepEngine samples the fleet on its own thread once per scan interval.
+ */
+public class RadarSweepEngine {
+
+    /**
+     * Receives every frame produced by the engine.
+     */
+    public interface SweepListener {
+        /**
+         * Called on the sweep thread (or the caller of sweepNow) for each new frame.
+         *
+         * @param frame The frame just sampled
+         */
+        void onSweep(SweepFrame frame);
+    }
+
+    /** Interval used when no radar supplies one */
+    private static final int DEFAULT_INTERVAL_MS = 1000;
+
+    private final Radar radar;
+    private final List<JetPackFlight> flights;
+    private final Map<JetPackFlight, JetPackFlightState> flightStates;
+    private final Executor sampler;
+    private final Object sampleLock = new Object();
+    private final List<SweepListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<JetPackFlight, Integer> idsByFlight = new IdentityHashMap<>();
+    private int nextId;
+    private long sequence;
+    private volatile boolean samplePending;
+    private volatile SweepFrame latestFrame;
+    private volatile IntSupplier intervalSource;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates an engine for a radar and a fleet that only changes on the threads calling sweepNow.
+     *
+     * @param radar Radar to feed and take the scan interval from (may be null)
+     * @param flights Flight list, sampled on the sweeping thread
+     */
+    public RadarSweepEngine(Radar radar, List<JetPackFlight> flights) {
+        this(radar, flights, null, null);
+    }
+
+    /**
+     * Creates an engine whose scheduled sweeps sample the fleet on the thread that moves it.
+     *
+     * @param radar Radar to feed and take the scan interval from (may be null)
+     * @param flights Flight list, only read by tasks run on the sampler
+     * @param flightStates Parking state sampled into each frame (may be null: nothing is parked)
+     * @param sampler Runs sampling on the owning thread, such as SimulationEngine::submit (null samples on the sweep thread)
+     */
+    public RadarSweepEngine(Radar radar, List<JetPackFlight> flights,
+                            Map<JetPackFlight, JetPackFlightState> flightStates, Executor sampler) {
+        this.radar = radar;  // Contact store fed by each sweep
+        this.flights = flights;  // Owned by the simulation thread
+        this.flightStates = flightStates;
+        this.sampler = sampler;
+        this.intervalSource = (radar != null) ? radar::getScanInterval : () -> DEFAULT_INTERVAL_MS;
+    }
+
+    /**
+     * Takes the scan interval from another source, read before every scheduled sweep; for an engine
+     * feeding a RadarNetwork rather than one radar, pass network::getScanInterval.
+     *
+     * @param intervalSource Supplies the interval in ms
+     */
+    public void setIntervalSource(IntSupplier intervalSource) {
+        this.intervalSource = intervalSource;
+    }
+
+    /** Returns the interval the next scheduled sweep will wait, in ms */
+    public int getScanInterval() {
+        return Math.max(1, intervalSource.getAsInt());
+    }
+
+    /**
+     * Starts scheduled sweeps; does nothing if already running.
+     */
+    public synchronized void start() {
+        if (scheduler != null) return;
+        String name = "radar-sweep-" + (radar != null ? radar.getRadarID() : "local");
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);  // Never keeps the application alive
+            return thread;
+        });
+        scheduler.schedule(this::runScheduledSweep, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops scheduled sweeps; the latest frame stays available.
+     */
+    public synchronized void stop() {
+        if (scheduler == null) return;
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    /** Returns whether scheduled sweeps are running */
+    public synchronized boolean isRunning() { return scheduler != null; }
+
+    /** Registers a listener for future frames */
+    public void addListener(SweepListener listener) { listeners.add(listener); }
+    /** Removes a previously registered listener */
+    public void removeListener(SweepListener listener) { listeners.remove(listener); }
+    /** Returns the most recent frame, or null before the first sweep */
+    public SweepFrame getLatestFrame() { return latestFrame; }
+
+    /**
+     * Performs one sweep immediately on the calling thread and publishes the frame. Call it from the
+     * thread that moves the flights.
+     *
+     * @return The new frame
+     */
+    public SweepFrame sweepNow() {
+        SweepFrame frame = sample();
+        publish(frame);
+        return frame;
+    }
+
+    private synchronized void publish(SweepFrame frame) {
+        SweepFrame previous = latestFrame;
+        if (radar != null) {
+            feedRadar(previous, frame);
+        }
+        latestFrame = frame;
+        for (SweepListener listener : listeners) {
+            try {
+                listener.onSweep(frame);
+            } catch (RuntimeException e) {
+                System.err.println("Radar sweep listener failed: " + e.getMessage());  // Keep sweeping
+            }
+        }
+    }
+
+    private void runScheduledSweep() {
+        long started = System.currentTimeMillis();
+        int interval = getScanInterval();  // Honour interval changes
+        try {
+            SweepFrame frame = (sampler != null) ? sampleOnOwner(interval) : sample();
+            if (frame != null) {
+                publish(frame);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Radar sweep failed: " + e.getMessage());
+        }
+        long delay = Math.max(0, interval - (System.currentTimeMillis() - started));
+        synchronized (this) {
+            if (scheduler != null && !scheduler.isShutdown()) {
+                scheduler.schedule(this::runScheduledSweep, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Asks the sampler to take this sweep's frame and waits up to one interval for it; returns null
+     * (skipping the sweep) when the owner is stopped or busy, or still has the previous request queued.
+     */
+    private SweepFrame sampleOnOwner(int interval) {
+        if (samplePending) return null;  // Never queue more than one request on a stalled owner
+        samplePending = true;
+        CompletableFuture<SweepFrame> request = new CompletableFuture<>();
+        sampler.execute(() -> {
+            try {
+                request.complete(sample());
+            } catch (RuntimeException e) {
+                request.completeExceptionally(e);
+            } finally {
+                samplePending = false;
+            }
+        });
+        try {
+            return request.get(Math.max(1, interval), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;  // Taken too late for this sweep; the next one asks again
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();  // Stopping
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Sampling failed", e.getCause());
+        }
+    }
+
+    private SweepFrame sample() {
+        synchronized (sampleLock) {
+            return sampleLocked();
+        }
+    }
+
+    private SweepFrame sampleLocked() {
+        JetPackFlight[] snapshot = flights.toArray(new JetPackFlight[0]);  // Called on the thread that owns the list
+        int count = snapshot.length;
+        JetPackFlight[] sampled = new JetPackFlight[count];
+        int[] ids = new int[count];
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        double[] altitudes = new double[count];
+        boolean[] parked = new boolean[count];
+        Map<JetPackFlight, Integer> seen = new IdentityHashMap<>(count * 2);
+        int i = 0;
+        for (JetPackFlight flight : snapshot) {
+            Integer id = idsByFlight.get(flight);
+            if (id == null) {
+                id = nextId++;  // First sighting: assign a stable id
+            }
+            seen.put(flight, id);
+            sampled[i] = flight;
+            ids[i] = id;
+            xs[i] = flight.getX();
+            ys[i] = flight.getY();
+            altitudes[i] = flight.getAltitude();
+            JetPackFlightState state = (flightStates != null) ? flightStates.get(flight) : null;
+            parked[i] = state != null && state.isParked();
+            i++;
+        }
+        idsByFlight.clear();
+        idsByFlight.putAll(seen);  // Departed flights release their ids
+        return new SweepFrame(++sequence, System.currentTimeMillis(), sampled, ids, xs, ys, altitudes, parked);
+    }
+
+    private void feedRadar(SweepFrame previous, SweepFrame frame) {
+        for (int i = 0; i < frame.size(); i++) {
+            radar.updateJetPackPosition(frame.getFlight(i).getJetpack(),
+                (int) frame.getX(i), (int) frame.getY(i), (int) frame.getAltitude(i));
+        }
+        if (previous != null) {
+            for (int i = 0; i < previous.size(); i++) {
+                JetPackFlight flight = previous.getFlight(i);
+                if (frame.indexOf(flight) < 0) {
+                    radar.removeJetpackFromRadar(flight.getJetpack());  // Left the fleet since last sweep
+                }
+            }
+        }
+        radar.performRadarSweep();  // Publish the sweep snapshot for radar readers
+    }
+}
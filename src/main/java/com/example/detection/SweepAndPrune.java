@@ -0,0 +1,333 @@
+/**
+ * Sort-and-sweep broad phase that narrows jetpack pairs down to those close enough to need an exact check.
+ *
+ * Purpose:
+ * Replaces the nested O(n²) pair loop used by collision detection with a sweep over flights kept sorted
+ * on their X coordinate. Only pairs whose X and Y separations both fall inside the prune distance are
+ * handed to the caller, so the exact distance test runs on a small candidate set even at thousands of
+ * flights per city. When an altitude band height is configured, flights are bucketed into horizontal
+ * slabs of that height and pairs in non-adjacent bands are never reported, so stacked traffic at
+ * different altitudes is pruned before any distance test.
+ *
+ * Key Responsibilities:
+ * - Maintain a persistent entry per flight across sweeps (no per-sweep rebuild)
+ * - Resolve parked state once per flight per sweep instead of once per pair
+ * - Keep entries sorted on (altitude band, X) with incremental insertion sort (near-linear for coherent motion)
+ * - Emit candidate pairs within the prune distance on both axes, in the same or adjacent altitude bands
+ *
+ * Interactions:
+ * - Used by CollisionDetector before exact distance tests
+ * - Reads positions and altitude from JetPackFlight and parked state from JetPackFlightState, or
+ *   all of them from a radar SweepFrame
+ *
+ * Patterns & Constraints:
+ * - Temporal coherence: flights move a few units per tick, so the previous order is nearly sorted
+ * - Bands are contiguous runs of the sorted array; adjacent bands are cross-swept with a moving window
+ * - A band height of zero disables banding (all flights share one band)
+ * - Pairs are reported in original list order (lower list index first) to match the brute-force loop
+ * - Not thread-safe; one instance per detector, driven from a single thread
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.flight.JetPackFlight;
+import com.example.flight.JetPackFlightState;
+
+/**
+ * SweepAndPrune keeps flights sorted on X between sweeps and reports nearby candidate pairs.
+ */
+public class SweepAndPrune {
+
+    /** Above this many new flights in one update, a full sort beats insertion sort */
+    private static final int BULK_INSERT_THRESHOLD = 32;
+    /** Orders entries by altitude band, then cached X coordinate */
+    private static final Comparator<Entry> BY_BAND_THEN_X = (a, b) -> {
+        if (a.band != b.band) return Integer.compare(a.band, b.band);
+        return Double.compare(a.x, b.x);
+    };
+
+    /**
+     * Callback receiving each candidate pair found by a sweep.
+     */
+    public interface PairHandler {
+        /**
+         * Called once per candidate pair.
+         *
+         * @param first Flight appearing earlier in the source list
+         * @param second Flight appearing later in the source list
+         */
+        void onCandidatePair(JetPackFlight first, JetPackFlight second);
+    }
+
+    /**
+     * Per-flight sweep entry; position and parked state are cached once per sweep.
+     */
+    private static final class Entry {
+        final JetPackFlight flight;
+        int listIndex;
+        int stamp;
+        double x;
+        double y;
+        int band;
+        boolean parked;
+
+        Entry(JetPackFlight flight) {
+            this.flight = flight;
+        }
+    }
+
+    private final double pruneDistance;
+    private final double bandHeight;
+    private final Map<JetPackFlight, Entry> entriesByFlight;
+    private Entry[] sorted;
+    private int size;
+    private int stamp;
+    // Start index of each band run in sorted, plus a sentinel at bandCount
+    private int[] bandStarts;
+    private int bandCount;
+    // Counters for the update in progress
+    private int added;
+    private int bandChanges;
+
+    /**
+     * Creates a broad phase that reports pairs closer than the given distance on both axes.
+     *
+     * @param pruneDistance Maximum X/Y separation for a pair to be reported
+     */
+    public SweepAndPrune(double pruneDistance) {
+        this(pruneDistance, 0.0);  // Single band: altitude is ignored
+    }
+
+    /**
+     * Creates a broad phase that additionally buckets flights into altitude bands.
+     * Pairs are only reported when their bands are equal or adjacent.
+     *
+     * @param pruneDistance Maximum X/Y separation for a pair to be reported
+     * @param bandHeight Altitude band height in feet (zero or less disables banding)
+     */
+    public SweepAndPrune(double pruneDistance, double bandHeight) {
+        this.pruneDistance = pruneDistance;  // Store pruning window
+        this.bandHeight = bandHeight;  // Store altitude slab height
+        this.bandStarts = new int[8];  // Grow on demand
+        this.entriesByFlight = new IdentityHashMap<>();  // Flights are tracked by identity
+        this.sorted = new Entry[16];  // Grow on demand
+        this.size = 0;
+        this.stamp = 0;
+    }
+
+    /**
+     * Synchronizes entries with the current flight list and re-sorts them on X.
+     * Flights no longer in the list are dropped; new flights are appended and sorted in.
+     *
+     * @param flights Current flights (list order defines pair ordering)
+     * @param flightStates Flight states used to skip parked flights (may be null)
+     */
+    public void update(List<JetPackFlight> flights, Map<JetPackFlight, JetPackFlightState> flightStates) {
+        beginUpdate();
+        for (int i = 0; i < flights.size(); i++) {  // Refresh every flight once
+            JetPackFlight flight = flights.get(i);
+            JetPackFlightState state = (flightStates != null) ? flightStates.get(flight) : null;
+            refresh(flight, i, flight.getX(), flight.getY(), flight.getAltitude(), state != null && state.isParked());
+        }
+        finishUpdate(flights.size());
+    }
+
+    /**
+     * Synchronizes entries with a radar sweep frame, using the sampled positions and parked flags
+     * rather than live flight state. Frame order defines pair ordering.
+     *
+     * @param frame Positions and parked state sampled by the radar sweep
+     */
+    public void update(SweepFrame frame) {
+        beginUpdate();
+        for (int i = 0; i < frame.size(); i++) {  // Refresh every sampled flight once
+            refresh(frame.getFlight(i), i, frame.getX(i), frame.getY(i), frame.getAltitude(i), frame.isParked(i));
+        }
+        finishUpdate(frame.size());
+    }
+
+    private void beginUpdate() {
+        stamp++;  // New generation marks entries still present
+        added = 0;
+        bandChanges = 0;
+    }
+
+    private void refresh(JetPackFlight flight, int listIndex, double x, double y, double altitude, boolean parked) {
+        Entry entry = entriesByFlight.get(flight);
+        if (entry == null) {  // First time this flight is seen
+            entry = new Entry(flight);
+            entriesByFlight.put(flight, entry);
+            append(entry);
+            added++;
+        }
+        entry.listIndex = listIndex;
+        entry.stamp = stamp;
+        entry.x = x;
+        entry.y = y;
+        int band = bandOf(altitude);
+        if (band != entry.band) {
+            bandChanges++;  // Crossing a band moves the entry across a whole run
+            entry.band = band;
+        }
+        entry.parked = parked;
+    }
+
+    private void finishUpdate(int expectedSize) {
+        if (size != expectedSize) {
+            removeStale();  // Drop flights that left the list
+        }
+        if (added + bandChanges > BULK_INSERT_THRESHOLD) {
+            Arrays.sort(sorted, 0, size, BY_BAND_THEN_X);  // Initial load, fleet change or mass band crossing
+        } else {
+            insertionSort();  // Steady state: order from the previous sweep is nearly correct
+        }
+        indexBands();
+    }
+
+    /**
+     * Reports every pair of unparked flights within the prune distance on both X and Y whose
+     * altitude bands are equal or adjacent.
+     *
+     * @param handler Receiver for candidate pairs
+     */
+    public void forEachCandidatePair(PairHandler handler) {
+        for (int b = 0; b < bandCount; b++) {
+            int start = bandStarts[b];
+            int end = bandStarts[b + 1];
+            sweepBand(start, end, handler);  // Pairs inside one band
+            if (b + 1 < bandCount && sorted[end].band == sorted[start].band + 1) {
+                sweepAdjacentBands(start, end, bandStarts[b + 2], handler);  // Pairs straddling a band boundary
+            }
+        }
+    }
+    /**
+     * Returns the number of flights currently tracked by the sweep.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the prune distance used for candidate pairs.
+     */
+    public double getPruneDistance() {
+        return pruneDistance;
+    }
+
+    /**
+     * Returns the altitude band height in feet (zero when banding is disabled).
+     */
+    public double getBandHeight() {
+        return bandHeight;
+    }
+
+    /**
+     * Returns the number of occupied altitude bands after the last update.
+     */
+    public int getBandCount() {
+        return bandCount;
+    }
+
+    private int bandOf(double altitude) {
+        return bandHeight > 0 ? (int) Math.floor(altitude / bandHeight) : 0;
+    }
+
+    private void sweepBand(int start, int end, PairHandler handler) {
+        for (int i = start; i < end; i++) {  // Sweep left to right
+            Entry a = sorted[i];
+            if (a.parked) continue;  // Parked flights never conflict
+            double maxX = a.x + pruneDistance;
+            for (int j = i + 1; j < end; j++) {  // Only entries to the right inside the window
+                Entry b = sorted[j];
+                if (b.x > maxX) break;  // Sorted on X: nothing further can overlap
+                report(a, b, handler);
+            }
+        }
+    }
+
+    private void sweepAdjacentBands(int lowerStart, int upperStart, int upperEnd, PairHandler handler) {
+        int windowStart = upperStart;
+        for (int i = lowerStart; i < upperStart; i++) {  // Lower band in X order
+            Entry a = sorted[i];
+            if (a.parked) continue;
+            double minX = a.x - pruneDistance;
+            double maxX = a.x + pruneDistance;
+            while (windowStart < upperEnd && sorted[windowStart].x < minX) {
+                windowStart++;  // Window only moves right as a.x grows
+            }
+            for (int j = windowStart; j < upperEnd; j++) {
+                Entry b = sorted[j];
+                if (b.x > maxX) break;
+                report(a, b, handler);
+            }
+        }
+    }
+
+    private void report(Entry a, Entry b, PairHandler handler) {
+        if (b.parked) return;
+        if (Math.abs(a.y - b.y) > pruneDistance) return;  // Y axis rejects most remaining pairs
+        if (a.listIndex < b.listIndex) {  // Preserve source list ordering
+            handler.onCandidatePair(a.flight, b.flight);
+        } else {
+            handler.onCandidatePair(b.flight, a.flight);
+        }
+    }
+
+    private void indexBands() {
+        bandCount = 0;
+        for (int i = 0; i < size; i++) {  // Record where each band run begins
+            if (i == 0 || sorted[i].band != sorted[i - 1].band) {
+                if (bandCount + 2 > bandStarts.length) {
+                    bandStarts = Arrays.copyOf(bandStarts, bandStarts.length * 2);
+                }
+                bandStarts[bandCount++] = i;
+            }
+        }
+        bandStarts[bandCount] = size;  // Sentinel end of the last run
+    }
+
+    private void append(Entry entry) {
+        if (size == sorted.length) {  // Grow backing array
+            Entry[] grown = new Entry[sorted.length * 2];
+            System.arraycopy(sorted, 0, grown, 0, size);
+            sorted = grown;
+        }
+        sorted[size++] = entry;
+    }
+
+    private void removeStale() {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {  // Compact in place, preserving order
+            Entry entry = sorted[i];
+            if (entry.stamp == stamp) {
+                sorted[kept++] = entry;
+            } else {
+                entriesByFlight.remove(entry.flight);
+            }
+        }
+        for (int i = kept; i < size; i++) {
+            sorted[i] = null;  // Release references
+        }
+        size = kept;
+    }
+
+    private void insertionSort() {
+        for (int i = 1; i < size; i++) {  // Nearly sorted input: each entry moves a few slots at most
+            Entry entry = sorted[i];
+            int j = i - 1;
+            while (j >= 0 && BY_BAND_THEN_X.compare(sorted[j], entry) > 0) {
+                sorted[j + 1] = sorted[j];
+                j--;
+            }
+            sorted[j + 1] = entry;
+        }
+    }
+}
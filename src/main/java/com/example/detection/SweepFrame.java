@@ -0,0 +1,127 @@
+/**
+ * Immutable sample of every flight's position taken by one radar sweep.
+ *
+ * Purpose:
+ * Gives collision checks, displays and logs one consistent picture of the airspace per radar sweep.
+ * Positions are copied into primitive arrays at sample time, so readers never touch live, mutable
+ * JetPackFlight state that the animation loop keeps changing every 40 ms.
+ *
+ * Key Responsibilities:
+ * - Hold flight ids, X, Y, altitude and parked state in parallel primitive arrays
+ * - Record the sweep sequence number and sample timestamp
+ * - Map between frame indices and flights for consumers that report by callsign
+ *
+ * Interactions:
+ * - Produced by RadarSweepEngine once per scan interval
+ * - Consumed by RadarNetwork, CollisionDetector and SweepAndPrune
+ *
+ * Patterns & Constraints:
+ * - Immutable; arrays are never exposed, only per-index accessors
+ * - Ids are stable per engine: a flight keeps its id for as long as it stays in the fleet
+ * - Safe to hand to any thread
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import com.example.flight.JetPackFlight;
+
+/**
+ * SweepFrame is a read-only, per-sweep copy of flight positions.
+ */
+public final class SweepFrame {
+    private final long sequence;
+    private final long timestamp;
+    private final JetPackFlight[] flights;
+    private final int[] ids;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] altitudes;
+    private final boolean[] parked;
+    private volatile Map<JetPackFlight, Integer> indexByFlight;
+
+    /**
+     * Creates a frame that takes ownership of the given arrays.
+     *
+     * @param sequence Sweep number, increasing per engine
+     * @param timestamp Sample time (ms since epoch)
+     * @param flights Sampled flights, in sample order
+     * @param ids Stable flight ids
+     * @param xs X positions
+     * @param ys Y positions
+     * @param altitudes Altitudes in feet
+     * @param parked Whether each flight was parked when sampled
+     */
+    SweepFrame(long sequence, long timestamp, JetPackFlight[] flights, int[] ids,
+               double[] xs, double[] ys, double[] altitudes, boolean[] parked) {
+        this.sequence = sequence;  // Sweep counter
+        this.timestamp = timestamp;  // Sample time
+        this.flights = flights;  // Arrays are owned by the frame from here on
+        this.ids = ids;
+        this.xs = xs;
+        this.ys = ys;
+        this.altitudes = altitudes;
+        this.parked = parked;
+    }
+
+    /** Returns the sweep sequence number */
+    public long getSequence() { return sequence; }
+    /** Returns the sample time in ms since epoch */
+    public long getTimestamp() { return timestamp; }
+    /** Returns the number of sampled flights */
+    public int size() { return flights.length; }
+    /** Returns the flight at an index */
+    public JetPackFlight getFlight(int index) { return flights[index]; }
+    /** Returns the stable id of the flight at an index */
+    public int getId(int index) { return ids[index]; }
+    /** Returns the sampled X position at an index */
+    public double getX(int index) { return xs[index]; }
+    /** Returns the sampled Y position at an index */
+    public double getY(int index) { return ys[index]; }
+    /** Returns the sampled altitude at an index */
+    public double getAltitude(int index) { return altitudes[index]; }
+    /** Returns whether the flight at an index was parked when sampled */
+    public boolean isParked(int index) { return parked[index]; }
+
+    /**
+     * Returns the index of a flight in this frame, or -1 if it was not sampled.
+     * The lookup table is built on first use.
+     */
+    public int indexOf(JetPackFlight flight) {
+        Map<JetPackFlight, Integer> index = indexByFlight;
+        if (index == null) {
+            index = new IdentityHashMap<>(flights.length * 2);
+            for (int i = 0; i < flights.length; i++) {
+                index.put(flights[i], i);
+            }
+            indexByFlight = index;  // Benign race: every builder produces the same table
+        }
+        Integer position = index.get(flight);
+        return (position != null) ? position : -1;
+    }
+
+    /**
+     * Returns the horizontal distance between two sampled flights.
+     */
+    public double horizontalDistance(int first, int second) {
+        double dx = xs[first] - xs[second];
+        double dy = ys[first] - ys[second];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Returns the altitude difference between two sampled flights, in feet.
+     */
+    public double altitudeSeparation(int first, int second) {
+        return Math.abs(altitudes[first] - altitudes[second]);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SweepFrame[seq=%d, flights=%d]", sequence, flights.length);
+    }
+}
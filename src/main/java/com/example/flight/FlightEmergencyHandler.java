@@ -9,8 +9,10 @@
  * 
  * Key Responsibilities:
  * - Receive and execute ATC radio instructions (coordinate changes, altitude adjustments, landings)
- * - Identify nearest safe parking spaces for emergency landing scenarios
- * - Generate detour routes that avoid water bodies using map imagery analysis
+ * - Identify nearest safe parking spaces for emergency landing scenarios, claiming them for the
+ *   landing flight at selection time
+ * - Generate detour routes that avoid water bodies using map imagery analysis, planned by a
+ *   RoutePlanner when one is set
  * - Monitor instruction completion and clear directives upon arrival
  * - Log emergency events via EmergencyLogger for compliance and review
  * - Support RadioInstructionListener callbacks for UI synchronization
@@ -19,7 +21,7 @@
  * Interactions:
  * - Consumes radio instructions from RadioInstructionManager
  * - Queries ParkingSpace collections for available landing zones
- * - Uses BufferedImage map data to detect water pixels during route planning
+ * - Uses the map's TerrainMask to detect water during landings and route planning
  * - Notifies RadioInstructionListener of instruction receipt and completion
  * - Integrated into JetPackFlight for emergency procedure execution
  * - Logs actions via EmergencyLogger for audit trail
@@ -27,6 +29,8 @@
  * Patterns & Constraints:
  * - Stateful: tracks active radio instructions and completion status
  * - Water avoidance algorithm samples map pixels to ensure safe routes
+ * - Water tests read the map's shared TerrainMask; closest land comes from its LandDistanceMap,
+ *   computed once per map image rather than searched per query
  * - Prioritizes nearest parking spaces during emergency landing searches
  * - Thread-safe instruction updates via synchronized access patterns
  * - Callsign-based identification for logging and communication
@@ -40,9 +44,14 @@ import java.awt.Point;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
+import com.example.navigation.RoutePlanner;
+import com.example.parking.ParkingPool;
 import com.example.parking.ParkingSpace;
+import com.example.simulation.SimulationRandom;
 import com.example.utility.geometry.GeometryUtils;
+import com.example.utility.water.TerrainMask;
 
 /**
  * FlightEmergencyHandler handles radio instructions and emergency procedures for jetpack flights.
@@ -54,6 +63,8 @@ public class FlightEmergencyHandler {
     private boolean followingRadioInstruction;
     private String callsign;
     private BufferedImage mapImage;
+    private TerrainMask terrain;  // Classified once per map image, shared by every flight
+    private RoutePlanner routePlanner;  // Optional; emergency detours fly planned routes when set
 
     public interface EmergencyLogger {
         void logEmergency(String message);
@@ -66,13 +77,19 @@ public class FlightEmergencyHandler {
 
     private EmergencyLogger logger;
     private RadioInstructionListener radioListener;
+    private final SplittableRandom random;  // Detour offsets; shared with the owning flight
 
     public FlightEmergencyHandler() {
-        this.callsign = "";
+        this("");
     }
 
     public FlightEmergencyHandler(String callsign) {
+        this(callsign, SimulationRandom.split());
+    }
+
+    public FlightEmergencyHandler(String callsign, SplittableRandom random) {
         this.callsign = callsign;
+        this.random = random;
     }
 
     public void setEmergencyLogger(EmergencyLogger logger) {
@@ -88,6 +105,14 @@ public class FlightEmergencyHandler {
      */
     public void setMapImage(BufferedImage mapImage) {
         this.mapImage = mapImage;
+        this.terrain = mapImage != null ? TerrainMask.forImage(mapImage) : null;
+    }
+
+    /**
+     * Sets the planner used to route emergency detours around water and obstacles
+     */
+    public void setRoutePlanner(RoutePlanner routePlanner) {
+        this.routePlanner = routePlanner;
     }
 
     /**
@@ -125,11 +150,23 @@ public class FlightEmergencyHandler {
      */
     public Point receiveEmergencyLandingInstruction(double currentX, double currentY,
                                                    List<ParkingSpace> parkingSpaces, String reason) {
-        Point emergencyDest = findEmergencyLandingSpot(currentX, currentY, parkingSpaces, reason);
+        ParkingSpace space = receiveEmergencyLandingInstruction(currentX, currentY, parkingSpaces, reason, null);
+        return space == null ? null : GeometryUtils.createPoint(space.getX(), space.getY());
+    }
+
+    /**
+     * Receives emergency landing instruction and claims the landing space for a holder
+     *
+     * @param holder Reservation holder (the flight's JetPackFlightState), or null to pick without claiming
+     * @return The chosen space, reserved for the holder when one is given, or null if none could be had
+     */
+    public ParkingSpace receiveEmergencyLandingInstruction(double currentX, double currentY,
+                                                          List<ParkingSpace> parkingSpaces, String reason, Object holder) {
+        ParkingSpace space = findEmergencyLandingSpace(currentX, currentY, parkingSpaces, reason, holder);
         if (radioListener != null) {
             radioListener.onInstructionReceived("EMERGENCY_LANDING: " + reason);
         }
-        return emergencyDest;
+        return space;
     }
 
     /**
@@ -137,6 +174,19 @@ public class FlightEmergencyHandler {
      */
     public Point findEmergencyLandingSpot(double currentX, double currentY,
                                          List<ParkingSpace> parkingSpaces, String reason) {
+        ParkingSpace space = findEmergencyLandingSpace(currentX, currentY, parkingSpaces, reason, null);
+        return space == null ? null : GeometryUtils.createPoint(space.getX(), space.getY());
+    }
+
+    /**
+     * Finds the nearest available parking space for emergency landing and, given a holder, reserves
+     * it at selection time so flights landing together are sent to different spaces
+     *
+     * @param holder Reservation holder, or null to pick without claiming
+     * @return The chosen space, or null if none is free or every claim attempt lost its race
+     */
+    public ParkingSpace findEmergencyLandingSpace(double currentX, double currentY,
+                                                 List<ParkingSpace> parkingSpaces, String reason, Object holder) {
         if (parkingSpaces == null || parkingSpaces.isEmpty()) {
             if (logger != null) {
                 logger.logEmergency(callsign + " ⛔ EMERGENCY HALT: " + reason);
@@ -153,14 +203,18 @@ public class FlightEmergencyHandler {
             }
         }
         ParkingSpace nearestParking = null;
-        double minDistance = Double.MAX_VALUE;
-        for (ParkingSpace ps : parkingSpaces) {
-            if (!ps.isOccupied()) {
-                double distance = GeometryUtils.calculateDistance(targetPosition.x, targetPosition.y, ps.getX(), ps.getY());
-                if (distance < minDistance) {
-                    minDistance = distance;
-                    nearestParking = ps;
-                }
+        ParkingPool pool = ParkingPool.forSpaces(parkingSpaces);
+        if (pool != null) {
+            nearestParking = holder != null
+                ? pool.reserveNearest(targetPosition.x, targetPosition.y, holder)  // Claimed, next nearest on a lost race
+                : pool.nearestFree(targetPosition.x, targetPosition.y);  // Grid search, skips full cells
+        } else {
+            for (int attempt = 0; attempt < ParkingPool.MAX_RESERVE_ATTEMPTS; attempt++) {
+                ParkingSpace candidate = nearestAvailable(targetPosition, parkingSpaces);
+                if (candidate == null || holder == null || candidate.tryReserve(holder)) {
+                    nearestParking = candidate;
+                    break;
+                }  // Claimed by another flight since the scan; it is no longer available, so rescan
             }
         }
         if (nearestParking != null) {
@@ -170,7 +224,7 @@ public class FlightEmergencyHandler {
                     " - Heading to parking at (" + (int)nearestParking.getX() +
                     "," + (int)nearestParking.getY() + ")");
             }
-            return GeometryUtils.createPoint(nearestParking.getX(), nearestParking.getY());
+            return nearestParking;
         } else {
             if (logger != null) {
                 logger.logEmergency(callsign + " ⛔ EMERGENCY LANDING - NO PARKING AVAILABLE - " + reason);
@@ -180,43 +234,39 @@ public class FlightEmergencyHandler {
     }
 
     /**
-     * Checks if a position is over water
+     * Scans the list for the available space nearest to a point
      */
-    private boolean isOverWater(int x, int y) {
-        if (mapImage == null) {
-            return false;
-        }
-        if (x < 0 || x >= mapImage.getWidth() || y < 0 || y >= mapImage.getHeight()) {
-            return true;
+    private static ParkingSpace nearestAvailable(Point target, List<ParkingSpace> parkingSpaces) {
+        ParkingSpace nearest = null;
+        double minDistance = Double.MAX_VALUE;
+        for (ParkingSpace ps : parkingSpaces) {
+            if (ps.isAvailable()) {  // Skip occupied and reserved spaces
+                double distance = GeometryUtils.calculateDistance(target.x, target.y, ps.getX(), ps.getY());
+                if (distance < minDistance) {
+                    minDistance = distance;
+                    nearest = ps;
+                }
+            }
         }
-        int rgb = mapImage.getRGB(x, y);
-        int r = (rgb >> 16) & 0xFF;
-        int g = (rgb >> 8) & 0xFF;
-        int b = rgb & 0xFF;
-        return (b > r + 20 && b > g + 20) || (r < 100 && g < 150 && b > 100 && b - r > 30);
+        return nearest;
+    }
+
+    /**
+     * Checks if a position is over water; off-map positions count as water
+     */
+    private boolean isOverWater(int x, int y) {
+        return terrain != null && terrain.isWater(x, y);
     }
 
     /**
-     * Finds the closest land point using spiral search
+     * Finds the closest land point from the map's precomputed distance transform
      */
     private Point findClosestLand(int x, int y) {
-        if (mapImage == null) {
+        if (terrain == null) {
             return new Point(x, y);
         }
-        int maxRadius = Math.max(mapImage.getWidth(), mapImage.getHeight());
-        for (int radius = 10; radius < maxRadius; radius += 10) {
-            int numPoints = radius * 4;
-            for (int i = 0; i < numPoints; i++) {
-                double angle = (2 * Math.PI * i) / numPoints;
-                int testX = x + (int)(radius * Math.cos(angle));
-                int testY = y + (int)(radius * Math.sin(angle));
-                if (testX >= 0 && testX < mapImage.getWidth() &&
-                    testY >= 0 && testY < mapImage.getHeight() && !isOverWater(testX, testY)) {
-                    return new Point(testX, testY);
-                }
-            }
-        }
-        return new Point(mapImage.getWidth() / 2, mapImage.getHeight() / 2);
+        Point land = terrain.getLandDistanceMap().closestLand(x, y);  // Built once per map
+        return land != null ? land : new Point(mapImage.getWidth() / 2, mapImage.getHeight() / 2);
     }
 
     /**
@@ -224,9 +274,23 @@ public class FlightEmergencyHandler {
      */
     public List<Point> generateEmergencyDetour(double currentX, double currentY, Point destination) {
         List<Point> emergencyWaypoints = new ArrayList<>();
-        int offsetX = (int)(Math.random() * 200 - 100);
-        int offsetY = (int)(Math.random() * 200 - 100);
-        emergencyWaypoints.add(new Point((int)currentX + offsetX, (int)currentY + offsetY));
+        int offsetX = (int)(random.nextDouble() * 200 - 100);
+        int offsetY = (int)(random.nextDouble() * 200 - 100);
+        Point divert = new Point((int)currentX + offsetX, (int)currentY + offsetY);
+        if (routePlanner != null) {
+            // Divert to the nearest free spot, then fly planned legs there and on to the destination
+            Point safe = routePlanner.nearestFreePoint(divert.x, divert.y);
+            if (safe != null) {
+                List<Point> toDivert = routePlanner.plan(currentX, currentY, safe);
+                List<Point> onward = routePlanner.plan(safe.x, safe.y, destination);
+                if (!toDivert.isEmpty() && !onward.isEmpty()) {
+                    emergencyWaypoints.addAll(toDivert);
+                    emergencyWaypoints.addAll(onward);
+                    return emergencyWaypoints;
+                }
+            }
+        }
+        emergencyWaypoints.add(divert);
         emergencyWaypoints.add(new Point(destination.x, destination.y));
         return emergencyWaypoints;
     }
@@ -8,7 +8,7 @@
  * response to changing environmental conditions and operational restrictions.
  * 
  * Key Responsibilities:
- * - Track boolean flags for each hazard category (weather, structural, accident, law enforcement)
+ * - Track one bit per hazard category (weather, structural, accident, law enforcement, halt)
  * - Calculate effective flight speed reductions when hazards are present
  * - Support emergency halt state for immediate flight suspension
  * - Provide aggregate hazard status queries (hasActiveHazards)
@@ -23,7 +23,9 @@
  * - Displayed in UI panels for operator situational awareness
  * 
  * Patterns & Constraints:
- * - Simple boolean flags for each hazard type; no complex state machine
+ * - One bitmask for all hazard types, kept in the low bits of the flight's FlightStore flag word so
+ *   the batch kernel sees it; per-tick queries are single bit tests and never allocate
+ * - getActiveHazards builds a list of names for display only, not for the update loop
  * - Speed reduction applied multiplicatively when multiple hazards overlap
  * - Emergency halt takes precedence over other hazard-based speed adjustments
  * - Thread-safe for concurrent reads; synchronized writes required at higher layers
@@ -38,22 +40,43 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class FlightHazardMonitor {
-    /** Flag indicating severe weather conditions affecting flight operations */
-    private boolean inclementWeather;
-    /** Flag indicating structural collapse creating dangerous debris field */
-    private boolean buildingCollapse;
-    /** Flag indicating active aircraft accident requiring airspace clearance */
-    private boolean airAccident;
-    /** Flag indicating law enforcement activity restricting airspace */
-    private boolean policeActivity;
-    /** Flag indicating immediate emergency halt of all flight operations */
-    private boolean emergencyHalt;
+    /** Severe weather conditions affecting flight operations */
+    public static final int WEATHER = 1;
+    /** Structural collapse creating dangerous debris field */
+    public static final int BUILDING_COLLAPSE = 1 << 1;
+    /** Active aircraft accident requiring airspace clearance */
+    public static final int AIR_ACCIDENT = 1 << 2;
+    /** Law enforcement activity restricting airspace */
+    public static final int POLICE_ACTIVITY = 1 << 3;
+    /** Immediate emergency halt of all flight operations */
+    public static final int EMERGENCY_HALT = 1 << 4;
+
+    /** Hazard names in bit order, for getActiveHazards */
+    private static final String[] HAZARD_NAMES = {
+        "WEATHER", "BUILDING_COLLAPSE", "AIR_ACCIDENT", "POLICE_ACTIVITY", "EMERGENCY_HALT"
+    };
+
+    /** Low 32 bits of a store's flag word: the hazard bits */
+    private static final long HAZARD_BITS = 0xFFFFFFFFL;
+
+    /** Slot whose flag word holds the active hazards, one bit per hazard type */
+    private final FlightStore store;
+    private final int id;
 
     /**
      * Default constructor initializing all hazard flags to inactive state.
      * Creates monitor ready for normal flight operations.
      */
     public FlightHazardMonitor() {
+        this(new FlightStore(1), -1);
+    }
+
+    /**
+     * Creates a monitor over one slot of a store; a negative id adds a new slot.
+     */
+    FlightHazardMonitor(FlightStore store, int id) {
+        this.store = store;
+        this.id = id >= 0 ? id : store.add(0, 0, 0, 0, 0, 0, null);
         initializeHazardFlags();  // Set all hazards to false (clear)
     }
 
@@ -62,11 +85,7 @@ public class FlightHazardMonitor {
      * Used by constructor and clearAllHazards() for consistent initialization.
      */
     private void initializeHazardFlags() {
-        this.inclementWeather = false;  // Clear weather hazard flag
-        this.buildingCollapse = false;  // Clear structural hazard flag
-        this.airAccident = false;  // Clear accident hazard flag
-        this.policeActivity = false;  // Clear law enforcement hazard flag
-        this.emergencyHalt = false;  // Clear emergency halt flag
+        store.hazardFlags[id] &= ~HAZARD_BITS;  // Clear every hazard bit, keep the store's status bits
     }
 
     /**
@@ -75,20 +94,34 @@ public class FlightHazardMonitor {
      */
     public List<String> getActiveHazards() {
         List<String> hazards = new ArrayList<>();  // Initialize empty list for active hazards
-        if (inclementWeather) hazards.add("WEATHER");  // Add weather if active
-        if (buildingCollapse) hazards.add("BUILDING_COLLAPSE");  // Add structural if active
-        if (airAccident) hazards.add("AIR_ACCIDENT");  // Add accident if active
-        if (policeActivity) hazards.add("POLICE_ACTIVITY");  // Add law enforcement if active
-        if (emergencyHalt) hazards.add("EMERGENCY_HALT");  // Add emergency halt if active
+        int hazardMask = getHazardMask();
+        for (int bit = 0; bit < HAZARD_NAMES.length; bit++) {
+            if ((hazardMask & (1 << bit)) != 0) hazards.add(HAZARD_NAMES[bit]);  // Add each flagged hazard in bit order
+        }
         return hazards;  // Return list of active hazard identifiers
     }
 
+    /**
+     * Returns the active hazards as a bitmask of WEATHER, BUILDING_COLLAPSE, AIR_ACCIDENT,
+     * POLICE_ACTIVITY and EMERGENCY_HALT.
+     */
+    public int getHazardMask() {
+        return (int) (store.hazardFlags[id] & HAZARD_BITS);
+    }
+
+    /**
+     * Checks if any of the given hazard bits are active.
+     */
+    public boolean hasHazard(int hazards) {
+        return (store.hazardFlags[id] & hazards) != 0;
+    }
+
     /**
      * Checks if any hazards are currently active.
      * Returns true if at least one hazard flag is set.
      */
     public boolean hasActiveHazards() {
-        return inclementWeather || buildingCollapse || airAccident || policeActivity || emergencyHalt;  // OR all hazard flags
+        return getHazardMask() != 0;  // Any bit set
     }
 
     /**
@@ -97,7 +130,7 @@ public class FlightHazardMonitor {
      */
     public double calculateEffectiveSpeed(double baseSpeed) {
         double effectiveSpeed = baseSpeed;  // Start with base speed
-        if (inclementWeather) {  // Check if weather hazard is active
+        if (hasHazard(WEATHER)) {  // Check if weather hazard is active
             effectiveSpeed *= 0.5; // Reduce speed to 50% in bad weather for safety
         }
         return effectiveSpeed;  // Return adjusted speed
@@ -108,11 +141,11 @@ public class FlightHazardMonitor {
      * Returns "ACTIVE" if no hazards present.
      */
     public String getHazardStatus() {
-        if (emergencyHalt) return "EMERGENCY HALT";  // Highest priority - immediate stop
-        if (inclementWeather) return "WEATHER WARNING";  // Severe weather condition
-        if (buildingCollapse) return "BUILDING HAZARD";  // Structural collapse danger
-        if (airAccident) return "ACCIDENT ZONE";  // Aircraft accident in progress
-        if (policeActivity) return "POLICE AREA";  // Law enforcement restriction
+        if (hasHazard(EMERGENCY_HALT)) return "EMERGENCY HALT";  // Highest priority - immediate stop
+        if (hasHazard(WEATHER)) return "WEATHER WARNING";  // Severe weather condition
+        if (hasHazard(BUILDING_COLLAPSE)) return "BUILDING HAZARD";  // Structural collapse danger
+        if (hasHazard(AIR_ACCIDENT)) return "ACCIDENT ZONE";  // Aircraft accident in progress
+        if (hasHazard(POLICE_ACTIVITY)) return "POLICE AREA";  // Law enforcement restriction
         return "ACTIVE";  // No hazards - normal operations
     }
 
@@ -129,42 +162,46 @@ public class FlightHazardMonitor {
      * Other hazard flags remain unchanged.
      */
     public void clearEmergencyHalt() {
-        emergencyHalt = false;  // Clear emergency halt state
+        setHazard(EMERGENCY_HALT, false);  // Clear emergency halt state
     }
 
     /** Sets inclement weather hazard state (true=active, false=clear) */
     public void setInclementWeather(boolean active) {
-        this.inclementWeather = active;  // Update weather hazard flag
+        setHazard(WEATHER, active);  // Update weather hazard flag
     }
 
     /** Sets building collapse hazard state (true=active, false=clear) */
     public void setBuildingCollapse(boolean active) {
-        this.buildingCollapse = active;  // Update structural hazard flag
+        setHazard(BUILDING_COLLAPSE, active);  // Update structural hazard flag
     }
 
     /** Sets air accident hazard state (true=active, false=clear) */
     public void setAirAccident(boolean active) {
-        this.airAccident = active;  // Update accident hazard flag
+        setHazard(AIR_ACCIDENT, active);  // Update accident hazard flag
     }
 
     /** Sets police activity hazard state (true=active, false=clear) */
     public void setPoliceActivity(boolean active) {
-        this.policeActivity = active;  // Update law enforcement hazard flag
+        setHazard(POLICE_ACTIVITY, active);  // Update law enforcement hazard flag
     }
 
     /** Sets emergency halt state (true=halt all operations, false=normal) */
     public void setEmergencyHalt(boolean active) {
-        this.emergencyHalt = active;  // Update emergency halt flag
+        setHazard(EMERGENCY_HALT, active);  // Update emergency halt flag
+    }
+
+    private void setHazard(int bit, boolean active) {
+        store.setFlags(id, bit, active);
     }
 
     /** Returns true if inclement weather hazard is active */
-    public boolean isInclementWeather() { return inclementWeather; }
+    public boolean isInclementWeather() { return hasHazard(WEATHER); }
     /** Returns true if building collapse hazard is active */
-    public boolean isBuildingCollapse() { return buildingCollapse; }
+    public boolean isBuildingCollapse() { return hasHazard(BUILDING_COLLAPSE); }
     /** Returns true if air accident hazard is active */
-    public boolean isAirAccident() { return airAccident; }
+    public boolean isAirAccident() { return hasHazard(AIR_ACCIDENT); }
     /** Returns true if police activity hazard is active */
-    public boolean isPoliceActivity() { return policeActivity; }
+    public boolean isPoliceActivity() { return hasHazard(POLICE_ACTIVITY); }
     /** Returns true if emergency halt is active */
-    public boolean isEmergencyHalt() { return emergencyHalt; }
+    public boolean isEmergencyHalt() { return hasHazard(EMERGENCY_HALT); }
 }
@@ -21,6 +21,8 @@
  * - Consumes waypoint data from FlightPath for route guidance
  * - Provides current position to FlightStateProvider for external queries
  * - Supports detour instructions from FlightEmergencyHandler
+ * - Plans building detours with the city model's RoutePlanner when a model is set; the live
+ *   simulation sets none, so flights there are not stopped by buildings
  * - Referenced by JetPackFlightRenderer for trail visualization
  * - Used in collision detection for real-time position comparisons
  * 
@@ -30,6 +32,11 @@
  * - Waypoint arrival detected via Euclidean distance threshold
  * - Detour mode replaces normal waypoints; original route restored on resumption
  * - Thread-safe for position reads; synchronized writes required for updates
+ * - Steady-state updates allocate nothing: the trail is a fixed ring of int coordinates and arrival
+ *   checks compare squared distances; only detours and explicit trail copies allocate
+ * - A view onto one FlightStore slot: position, speed, altitude, waypoint index and trail live in the
+ *   store's arrays; route objects (destination, waypoint lists, city model) stay here
+ * - Keeps the store's ROUTED bit current so the batch kernel only moves straight-line flights
  * - Altitude transitions smoothed over multiple update cycles
  * 
  * @author Haisam Elkewidy
@@ -40,9 +47,11 @@ package com.example.flight;
 import java.awt.Point;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import com.example.model.Building3D;
 import com.example.model.CityModel3D;
+import com.example.simulation.SimulationRandom;
 import com.example.utility.geometry.GeometryUtils;
 
 /**
@@ -50,22 +59,16 @@ import com.example.utility.geometry.GeometryUtils;
  * It integrates collision avoidance, altitude management, and pathfinding with city/building models.
  */
 public class FlightMovementController {
-    // Current position
-    private double x;
-    private double y;
+    // Slot holding position, speed, altitude, climb rate, waypoint index and trail
+    private final FlightStore store;
+    private final int id;
     // Navigation
     private Point destination;
-    private double speed;
-    private double altitude;
-    // Trail of previous positions (for rendering path)
-    private final List<Point> trail;
-    private static final int TRAIL_LENGTH = 15;
 
     // Waypoint and detour management
     private List<Point> waypoints;
     private List<Point> detourWaypoints;
     private boolean isDetourActive;
-    private int currentWaypointIndex;
 
     // Reference to city/building model for collision avoidance
     private CityModel3D cityModel;
@@ -74,16 +77,27 @@ public class FlightMovementController {
      * Constructs a FlightMovementController with initial position, destination, speed, and altitude.
      */
     public FlightMovementController(Point start, Point destination, double speed, double altitude) {
-        this.x = start.x;
-        this.y = start.y;
+        this(start, destination, speed, altitude, SimulationRandom.split());
+    }
+
+    /**
+     * Constructs a FlightMovementController drawing its altitude variation from the given stream.
+     */
+    public FlightMovementController(Point start, Point destination, double speed, double altitude, SplittableRandom random) {
+        this(new FlightStore(1), start, destination, speed, altitude, random);
+    }
+
+    /**
+     * Constructs a FlightMovementController in a new slot of a shared store.
+     */
+    public FlightMovementController(FlightStore store, Point start, Point destination, double speed, double altitude,
+                                    SplittableRandom random) {
+        this.store = store;
+        this.id = store.add(start.x, start.y, destination.x, destination.y, speed, altitude, random);
         this.destination = destination;
-        this.speed = speed;
-        this.altitude = altitude;
-        this.trail = new ArrayList<>();
         this.waypoints = new ArrayList<>();
         this.detourWaypoints = new ArrayList<>();
         this.isDetourActive = false;
-        this.currentWaypointIndex = 0;
     }
 
     /**
@@ -98,14 +112,13 @@ public class FlightMovementController {
             return false;
         }
 
-        // Add current position to trail
-        trail.add(0, new Point((int)x, (int)y));
-        if (trail.size() > TRAIL_LENGTH) {
-            trail.remove(trail.size() - 1);
-        }
+        // Add current position to trail, overwriting the oldest entry once full
+        store.pushTrail(id);
 
         // Determine target
         Point target = getActiveTarget();
+        double x = store.x[id];
+        double y = store.y[id];
 
         // Calculate direction to target
         double dx = target.x - x;
@@ -124,26 +137,25 @@ public class FlightMovementController {
 
         // Collision detection with buildings
         if (cityModel != null) {
-            for (Building3D b : cityModel.getBuildings()) {
-                // Check if next position is inside any building's footprint
-                if (b.containsPoint(nextX, nextY)) {
-                    // Generate a detour waypoint to go around the building
-                    // Simple logic: pick a point to the right of the building
-                    double detourX = b.getX() + b.getWidth() + 10;
-                    double detourY = b.getY() + b.getLength() + 10;
-                    List<Point> detour = new ArrayList<>();
-                    detour.add(new Point((int)detourX, (int)detourY));
+            // Check if next position is inside any building's footprint (indexed: one grid cell)
+            Building3D b = cityModel.getBuildingAt(nextX, nextY);
+            if (b != null) {
+                // Plan a route around buildings and water to the current target
+                List<Point> detour = cityModel.getRoutePlanner().plan(x, y, target);
+                if (detour.isEmpty()) {
+                    // Target unreachable on the grid: fall back to a point past the building's corner
+                    detour.add(new Point((int) (b.getX() + b.getWidth() + 10), (int) (b.getY() + b.getLength() + 10)));
                     detour.add(target);
-                    detour(detour);
-                    return true; // Skip movement this tick, will move to detour next tick
                 }
+                detour(detour);
+                return true; // Skip movement this tick, will move to detour next tick
             }
         }
 
         // Move if no collision
         if (distance > effectiveSpeed) {
-            x = nextX;
-            y = nextY;
+            store.x[id] = nextX;
+            store.y[id] = nextY;
         } else {
             // Reached current target
             if (isDetourActive && !detourWaypoints.isEmpty()) {
@@ -151,8 +163,9 @@ public class FlightMovementController {
                 if (detourWaypoints.isEmpty()) {
                     resumeNormalPath();
                 }
-            } else if (!waypoints.isEmpty() && currentWaypointIndex < waypoints.size()) {
-                currentWaypointIndex++;
+            } else if (!waypoints.isEmpty() && store.targetIdx[id] < waypoints.size()) {
+                store.targetIdx[id]++;
+                refreshRouted();
             }
         }
 
@@ -167,8 +180,8 @@ public class FlightMovementController {
         // Priority: detour waypoints > regular waypoints > destination
         if (isDetourActive && !detourWaypoints.isEmpty()) {
             return detourWaypoints.get(0);
-        } else if (currentWaypointIndex < waypoints.size()) {
-            return waypoints.get(currentWaypointIndex);
+        } else if (store.targetIdx[id] < waypoints.size()) {
+            return waypoints.get(store.targetIdx[id]);
         } else {
             return destination;
         }
@@ -183,17 +196,19 @@ public class FlightMovementController {
         }
         
         Point target = getActiveTarget();
-        double dx = target.x - x;
-        double dy = target.y - y;
-        return Math.sqrt(dx * dx + dy * dy) < speed;
+        double dx = target.x - store.x[id];
+        double dy = target.y - store.y[id];
+        double speed = store.speed[id];
+        return dx * dx + dy * dy < speed * speed;  // Same test as distance < speed, without the sqrt
     }
     
     /**
      * Sets a new destination and resets waypoint navigation.
      */
     public void setNewDestination(Point newDest) {
-        this.destination = newDest;
-        this.currentWaypointIndex = 0;
+        setDestinationSlot(newDest);
+        store.targetIdx[id] = 0;
+        refreshRouted();
     }
     
     /**
@@ -201,6 +216,7 @@ public class FlightMovementController {
      */
     public void addWaypoint(Point waypoint) {
         waypoints.add(waypoint);
+        refreshRouted();
     }
     
     /**
@@ -208,7 +224,8 @@ public class FlightMovementController {
      */
     public void setWaypoints(List<Point> waypoints) {
         this.waypoints = new ArrayList<>(waypoints);
-        this.currentWaypointIndex = 0;
+        store.targetIdx[id] = 0;
+        refreshRouted();
     }
     
     /**
@@ -221,6 +238,7 @@ public class FlightMovementController {
         
         this.detourWaypoints = new ArrayList<>(detourPoints);
         this.isDetourActive = true;
+        refreshRouted();
     }
     
     /**
@@ -230,6 +248,7 @@ public class FlightMovementController {
         if (isDetourActive) {
             isDetourActive = false;
             detourWaypoints.clear();
+            refreshRouted();
         }
     }
     
@@ -240,32 +259,36 @@ public class FlightMovementController {
         waypoints.clear();
         detourWaypoints.clear();
         isDetourActive = false;
-        this.destination = emergencyDest;
-        this.speed = Math.min(newSpeed, 5.0);
+        setDestinationSlot(emergencyDest);
+        store.speed[id] = Math.min(newSpeed, 5.0);
+        refreshRouted();
     }
     
     /**
      * Updates altitude gradually toward target, or varies slightly if no target.
      */
     public void updateAltitude(Double targetAltitude) {
-        if (targetAltitude != null) {
-            double altDiff = targetAltitude - altitude;
-            if (Math.abs(altDiff) > 1.0) {
-                altitude += Math.signum(altDiff) * Math.min(Math.abs(altDiff), 3.0);
-            }
-        } else {
-            // Vary altitude slightly (realistic flying)
-            altitude += (Math.random() - 0.5) * 2;
+        if (targetAltitude == null) {
+            store.walkAltitude(id);  // Vary altitude slightly (realistic flying), same as the batch kernel
+            return;
+        }
+        double previousAltitude = store.altitude[id];
+        double altitude = previousAltitude;
+        double altDiff = targetAltitude - altitude;
+        if (Math.abs(altDiff) > 1.0) {
+            altitude += Math.signum(altDiff) * Math.min(Math.abs(altDiff), 3.0);
         }
         altitude = Math.max(50, Math.min(200, altitude));
+        store.altitude[id] = altitude;
+        store.altitudeRate[id] = altitude - previousAltitude;
     }
     
     /**
      * Calculates direction angle (radians) from current position to destination.
      */
     public double getDirectionAngle() {
-        double dx = destination.x - x;
-        double dy = destination.y - y;
+        double dx = destination.x - store.x[id];
+        double dy = destination.y - store.y[id];
         return Math.atan2(dy, dx);
     }
     
@@ -273,7 +296,7 @@ public class FlightMovementController {
      * Gets distance to destination (current position to destination).
      */
     public double getDistanceToDestination() {
-        return GeometryUtils.calculateDistance(x, y, destination.x, destination.y);
+        return GeometryUtils.calculateDistance(store.x[id], store.y[id], destination.x, destination.y);
     }
     
     /**
@@ -303,17 +326,54 @@ public class FlightMovementController {
     }
     
     // Getters
-    public double getX() { return x; }
-    public double getY() { return y; }
+    public double getX() { return store.x[id]; }
+    public double getY() { return store.y[id]; }
     public Point getDestination() { return destination; }
-    public double getSpeed() { return speed; }
-    public double getAltitude() { return altitude; }
-    public List<Point> getTrail() { return trail; }
+    public double getSpeed() { return store.speed[id]; }
+    public double getAltitude() { return store.altitude[id]; }
+    public double getAltitudeRate() { return store.altitudeRate[id]; }
+    /** Returns the store holding this flight's state */
+    public FlightStore getStore() { return store; }
+    /** Returns this flight's dense id in the store */
+    public int getId() { return id; }
+    /** Returns the number of trail positions held (at most 15) */
+    public int getTrailSize() { return store.trailSize[id]; }
+    /** Returns the x of the i-th trail position, 0 being the newest */
+    public int getTrailX(int i) { return store.trailX[store.trailIndex(id, i)]; }
+    /** Returns the y of the i-th trail position, 0 being the newest */
+    public int getTrailY(int i) { return store.trailY[store.trailIndex(id, i)]; }
+
+    /**
+     * Returns a copy of the trail as points, newest first. Allocates; meant for rendering and
+     * inspection, not for the update loop.
+     */
+    public List<Point> getTrail() {
+        int size = getTrailSize();
+        List<Point> copy = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            copy.add(new Point(getTrailX(i), getTrailY(i)));
+        }
+        return copy;
+    }
+
+    // Mirrors the destination into the store for the batch kernel
+    private void setDestinationSlot(Point newDest) {
+        this.destination = newDest;
+        store.destX[id] = newDest.x;
+        store.destY[id] = newDest.y;
+    }
+
+    // Flights steering by anything but the destination alone are moved by updatePosition, not the kernel
+    private void refreshRouted() {
+        boolean routed = isDetourActive || store.targetIdx[id] < waypoints.size() || cityModel != null;
+        store.setFlags(id, FlightStore.ROUTED, routed);
+    }
     public List<Point> getWaypoints() { return waypoints; }
-    public int getCurrentWaypointIndex() { return currentWaypointIndex; }
+    public int getCurrentWaypointIndex() { return store.targetIdx[id]; }
     public boolean isDetourActive() { return isDetourActive; }
     
     // Setters
-    public void setSpeed(double speed) { this.speed = speed; }
-    public void setAltitude(double altitude) { this.altitude = altitude; }
+    public void setSpeed(double speed) { store.speed[id] = speed; }
+    public void setAltitude(double altitude) { store.altitude[id] = altitude; }
+    public void setCityModel(CityModel3D cityModel) { this.cityModel = cityModel; refreshRouted(); }  // Enables building obstacle checks; no production caller, flights in CityRuntime fly over buildings
 }
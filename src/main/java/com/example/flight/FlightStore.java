@@ -0,0 +1,246 @@
+/**
+ * Structure-of-arrays store for the per-tick state of many flights, indexed by dense flight id.
+ *
+ * Purpose:
+ * Each flight used to keep its position, speed, altitude, trail and hazard flags in its own small
+ * objects (FlightMovementController, FlightHazardMonitor), so a tick over a large fleet chased
+ * pointers through tens of thousands of scattered objects. The store keeps those fields in parallel
+ * primitive arrays; the per-flight classes become views onto one slot, and advance() moves every
+ * flight that is simply flying to its destination in one sequential pass over the arrays.
+ *
+ * Key Responsibilities:
+ * - Hand out dense flight ids and grow the arrays as flights are added
+ * - Hold position, altitude, climb rate, base speed, destination, waypoint index, hazard and status
+ *   flags, speed color band and the 15-point trail ring for every flight
+ * - Advance all straight-line flights in a range with one kernel loop (movement, trail, altitude
+ *   walk, color band), skipping flights that need the full per-flight update
+ *
+ * Interactions:
+ * - FlightMovementController and FlightHazardMonitor read and write one slot each
+ * - JetPackFlight allocates its slot, sets the status bits and falls back to its own update for
+ *   flights the kernel skips
+ * - CityMapFlightInitializer gives all of a city's flights one shared store; CitySimulation runs the
+ *   kernel over it each tick
+ *
+ * Patterns & Constraints:
+ * - hazardFlags low bits are FlightHazardMonitor's hazard bits; the high bits (ROUTED, RADIO,
+ *   INACTIVE, PARKED) mark flights that must not be moved by the kernel
+ * - The kernel performs exactly the arithmetic of the per-flight path, drawing from each flight's
+ *   own random stream, so a flight ends up in the same place whichever path moved it
+ * - Disjoint id ranges may be advanced on different threads; adding flights is single-threaded
+ * - Flights created on their own get a private one-slot store, so every flight has a slot
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.flight;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * FlightStore keeps flight state in parallel arrays and advances straight-line flights in bulk.
+ */
+public final class FlightStore {
+    /** Positions kept in each flight's trail */
+    public static final int TRAIL_LENGTH = 15;
+
+    /** Following detour waypoints, regular waypoints or avoiding buildings */
+    public static final long ROUTED = 1L << 32;
+    /** Following a radio coordinate or altitude instruction */
+    public static final long RADIO = 1L << 33;
+    /** Halted or otherwise not moving */
+    public static final long INACTIVE = 1L << 34;
+    /** Parked; the simulation does not move parked flights */
+    public static final long PARKED = 1L << 35;
+    /** Any of these bits keeps a flight out of the kernel */
+    public static final long KERNEL_SKIP = ROUTED | RADIO | INACTIVE | PARKED | FlightHazardMonitor.EMERGENCY_HALT;
+
+    /** Speed color bands, as chosen by JetPackFlight's palette */
+    public static final byte NO_BAND = -1;
+
+    private int size;
+    double[] x;
+    double[] y;
+    double[] altitude;
+    double[] altitudeRate;
+    double[] speed;
+    int[] destX;
+    int[] destY;
+    int[] targetIdx;
+    long[] hazardFlags;
+    byte[] colorBand;
+    int[] trailX;
+    int[] trailY;
+    byte[] trailHead;
+    byte[] trailSize;
+    SplittableRandom[] random;
+
+    /**
+     * Creates an empty store.
+     *
+     * @param capacity Expected number of flights; the arrays grow past it as needed
+     */
+    public FlightStore(int capacity) {
+        int n = Math.max(1, capacity);
+        x = new double[n];
+        y = new double[n];
+        altitude = new double[n];
+        altitudeRate = new double[n];
+        speed = new double[n];
+        destX = new int[n];
+        destY = new int[n];
+        targetIdx = new int[n];
+        hazardFlags = new long[n];
+        colorBand = new byte[n];
+        trailX = new int[n * TRAIL_LENGTH];
+        trailY = new int[n * TRAIL_LENGTH];
+        trailHead = new byte[n];
+        trailSize = new byte[n];
+        random = new SplittableRandom[n];
+    }
+
+    /**
+     * Adds a flight and returns its dense id.
+     */
+    public int add(double startX, double startY, int toX, int toY, double baseSpeed, double startAltitude,
+                   SplittableRandom stream) {
+        if (size == x.length) {
+            grow(size * 2);
+        }
+        int id = size++;
+        x[id] = startX;
+        y[id] = startY;
+        destX[id] = toX;
+        destY[id] = toY;
+        speed[id] = baseSpeed;
+        altitude[id] = startAltitude;
+        colorBand[id] = NO_BAND;
+        trailHead[id] = -1;
+        random[id] = stream;
+        return id;
+    }
+
+    /** Returns the number of flights in the store */
+    public int size() { return size; }
+
+    /** Returns the x coordinate of a flight */
+    public double getX(int id) { return x[id]; }
+    /** Returns the y coordinate of a flight */
+    public double getY(int id) { return y[id]; }
+    /** Returns the altitude of a flight */
+    public double getAltitude(int id) { return altitude[id]; }
+    /** Returns the hazard and status bits of a flight */
+    public long getFlags(int id) { return hazardFlags[id]; }
+
+    /** Sets or clears flag bits for one flight */
+    void setFlags(int id, long bits, boolean on) {
+        hazardFlags[id] = on ? (hazardFlags[id] | bits) : (hazardFlags[id] & ~bits);
+    }
+
+    /**
+     * Returns true if the kernel skips this flight but it still has to move: it is routed or following
+     * a radio instruction, and not parked.
+     */
+    public boolean needsFullUpdate(int id) {
+        long flags = hazardFlags[id];
+        return (flags & (ROUTED | RADIO)) != 0 && (flags & PARKED) == 0;
+    }
+
+    /**
+     * Sets or clears a hazard bit on every flight in the store.
+     */
+    public void setHazardAll(long bits, boolean on) {
+        for (int id = 0; id < size; id++) {
+            hazardFlags[id] = on ? (hazardFlags[id] | bits) : (hazardFlags[id] & ~bits);
+        }
+    }
+
+    /**
+     * Moves every flight in [from, to) that is flying straight to its destination: pushes the trail,
+     * steps toward the destination, varies the altitude and picks the speed color band. Flights with
+     * any KERNEL_SKIP bit are left for their own update (or not moved at all when halted or parked).
+     *
+     * @return Number of flights moved
+     */
+    public int advance(int from, int to) {
+        int moved = 0;
+        int end = Math.min(to, size);
+        for (int id = from; id < end; id++) {
+            long flags = hazardFlags[id];
+            if ((flags & KERNEL_SKIP) != 0) continue;
+            double effectiveSpeed = (flags & FlightHazardMonitor.WEATHER) != 0 ? speed[id] * 0.5 : speed[id];
+            pushTrail(id);
+            double px = x[id], py = y[id];
+            double dx = destX[id] - px;
+            double dy = destY[id] - py;
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            if (distance > effectiveSpeed) {
+                x[id] = px + (dx / distance) * effectiveSpeed;
+                y[id] = py + (dy / distance) * effectiveSpeed;
+            }
+            walkAltitude(id);
+            colorBand[id] = bandOf(effectiveSpeed);
+            moved++;
+        }
+        return moved;
+    }
+
+    /** Records the current position as the newest trail point */
+    void pushTrail(int id) {
+        int head = (trailHead[id] + 1) % TRAIL_LENGTH;
+        trailHead[id] = (byte) head;
+        trailX[id * TRAIL_LENGTH + head] = (int) x[id];
+        trailY[id * TRAIL_LENGTH + head] = (int) y[id];
+        if (trailSize[id] < TRAIL_LENGTH) {
+            trailSize[id]++;
+        }
+    }
+
+    /** Returns the flat index of a flight's i-th trail point, 0 being the newest */
+    int trailIndex(int id, int i) {
+        return id * TRAIL_LENGTH + (trailHead[id] - i + TRAIL_LENGTH) % TRAIL_LENGTH;
+    }
+
+    /** Random altitude walk with no radio target, clamped to 50-200 */
+    void walkAltitude(int id) {
+        double previous = altitude[id];
+        double next = previous + (random[id].nextDouble() - 0.5) * 2;
+        altitude[id] = Math.max(50, Math.min(200, next));
+        altitudeRate[id] = altitude[id] - previous;
+    }
+
+    /** Speed band: 0 slow, 1 cruise, 2 fast, 3 urgent */
+    static byte bandOf(double effectiveSpeed) {
+        if (effectiveSpeed < 1.0) return 0;
+        if (effectiveSpeed < 2.0) return 1;
+        if (effectiveSpeed < 3.0) return 2;
+        return 3;
+    }
+
+    /**
+     * Returns the approximate heap used by the arrays, in bytes.
+     */
+    public long estimateBytes() {
+        int n = x.length;
+        return (long) n * (5 * 8 + 3 * 4 + 8 + 1 + 2 + 2 * TRAIL_LENGTH * 4 + 4) + 16L * 16;
+    }
+
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        altitude = Arrays.copyOf(altitude, capacity);
+        altitudeRate = Arrays.copyOf(altitudeRate, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        destX = Arrays.copyOf(destX, capacity);
+        destY = Arrays.copyOf(destY, capacity);
+        targetIdx = Arrays.copyOf(targetIdx, capacity);
+        hazardFlags = Arrays.copyOf(hazardFlags, capacity);
+        colorBand = Arrays.copyOf(colorBand, capacity);
+        trailX = Arrays.copyOf(trailX, capacity * TRAIL_LENGTH);
+        trailY = Arrays.copyOf(trailY, capacity * TRAIL_LENGTH);
+        trailHead = Arrays.copyOf(trailHead, capacity);
+        trailSize = Arrays.copyOf(trailSize, capacity);
+        random = Arrays.copyOf(random, capacity);
+    }
+}
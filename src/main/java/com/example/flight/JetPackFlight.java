@@ -25,6 +25,7 @@
  * - FlightStateProvider: Supplies current position/altitude for external queries
  * - CityMapPanel: Receives position updates for animation rendering
  * - RadioInstructionManager: Sources instructions from ATC communications
+ * - RadioCommandExecutor: Delivers radio commands through the RadioReceiver interface
  * 
  * Patterns & Constraints:
  * - Composition pattern: delegates specialized logic to controller/monitor/handler components
@@ -42,15 +43,20 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import com.example.jetpack.JetPack;
 import com.example.parking.ParkingSpace;
+import com.example.navigation.RoutePlanner;
+import com.example.radio.RadioReceiver;
+import com.example.simulation.SideEffects;
+import com.example.simulation.SimulationRandom;
 
 /**
  * JetPackFlight manages animated jetpack flight with trails, destinations, and FlightPath logic.
  * It integrates movement, hazard monitoring, and emergency handling for each jetpack.
  */
-public class JetPackFlight {
+public class JetPackFlight implements RadioReceiver {
     /**
      * Returns the current direction angle (radians) of flight, for rendering orientation.
      */
@@ -67,8 +73,17 @@ public class JetPackFlight {
     private FlightHazardMonitor hazardMonitor;
     private FlightEmergencyHandler emergencyHandler;
     private static final JetPackFlightRenderer renderer = new JetPackFlightRenderer();
+    // Speed palette, shared by all flights so the per-tick color update never allocates
+    private static final Color SLOW_COLOR = new Color(0, 100, 255);
+    private static final Color CRUISE_COLOR = new Color(0, 200, 100);
+    private static final Color FAST_COLOR = new Color(255, 200, 0);
+    private static final Color URGENT_COLOR = new Color(255, 50, 0);
+    // Indexed by FlightStore color band
+    private static final Color[] PALETTE = { SLOW_COLOR, CRUISE_COLOR, FAST_COLOR, URGENT_COLOR };
+    // Slot shared by the movement controller and hazard monitor; holds the active/parked/radio bits
+    private final FlightStore store;
+    private final int storeId;
     // FlightPath integration - status
-    private boolean isActive;
     private String currentStatus;
     private String pathID;
 
@@ -86,29 +101,46 @@ public class JetPackFlight {
     }
 
     public JetPackFlight(JetPack jetpack, Point start, Point destination, Color color) {
+        this(jetpack, start, destination, color, new FlightStore(1));
+    }
+
+    /**
+     * Creates a flight whose tick state lives in a slot of the given store, so the simulation can
+     * advance it with the store's batch kernel.
+     */
+    public JetPackFlight(JetPack jetpack, Point start, Point destination, Color color, FlightStore store) {
         this.jetpack = jetpack;  // Store jetpack reference for callsign, identification, and properties
         this.color = color;  // Set current display color for rendering
         this.baseColor = color;  // Preserve original color to restore after temporary color changes (emergencies, hazards)
 
         // Initialize components - delegate movement, hazard, and emergency logic to specialized controllers
-        double initialAltitude = 80 + Math.random() * 80;  // Random altitude 80-160 for realistic separation and variety
-        this.movementController = new FlightMovementController(start, destination, 2.0, initialAltitude);  // Create controller with initial position, target, speed 2.0, and altitude
-        this.hazardMonitor = new FlightHazardMonitor();  // Create hazard monitor to track and respond to flight hazards
-        this.emergencyHandler = new FlightEmergencyHandler(jetpack.getCallsign());  // Create emergency handler with jetpack identifier for logging
+        SplittableRandom random = SimulationRandom.split();  // One stream per flight, shared by its components
+        double initialAltitude = 80 + random.nextDouble() * 80;  // Random altitude 80-160 for realistic separation and variety
+        this.movementController = new FlightMovementController(store, start, destination, 2.0, initialAltitude, random);  // Create controller with initial position, target, speed 2.0, and altitude
+        this.store = store;
+        this.storeId = movementController.getId();  // Slot allocated by the controller
+        this.hazardMonitor = new FlightHazardMonitor(store, storeId);  // Hazard bits live in the same slot
+        this.emergencyHandler = new FlightEmergencyHandler(jetpack.getCallsign(), random);  // Create emergency handler with jetpack identifier for logging
 
         // Setup emergency handler callbacks - wire emergency messages to movement logger if available
         this.emergencyHandler.setEmergencyLogger(message -> {  // Lambda callback for emergency log messages
             if (movementLogger != null) {  // Check if movement logger has been set
-                movementLogger.appendJetpackMovement(message);  // Forward emergency message to movement log
+                logMovement(message);  // Forward emergency message to movement log
             }
         });
 
         // Initialize FlightPath attributes - set up active flight tracking state
-        this.isActive = true;  // Flight starts in active state (not halted or completed)
         this.currentStatus = "ACTIVE";  // Set initial status text for UI display
         this.pathID = jetpack.getCallsign() + "-PATH";  // Generate unique path identifier from callsign for tracking
     }
     
+    /**
+     * Sets the planner used for emergency reroutes around water and obstacles
+     */
+    public void setRoutePlanner(RoutePlanner routePlanner) {
+        emergencyHandler.setRoutePlanner(routePlanner);  // Collision reroutes fly planned legs instead of a random offset
+    }
+    
     public void setMovementLogger(MovementLogger logger) {
         this.movementLogger = logger;  // Set logger for recording all flight movement and status changes
     }
@@ -136,7 +168,7 @@ public class JetPackFlight {
             @Override
             public void onInstructionCompleted(String instruction) {
                 if (listener != null) {  // Check if listener has been provided
-                    listener.onInstructionCompleted(JetPackFlight.this, instruction);  // Notify listener that this flight completed an instruction, passing flight reference
+                    SideEffects.run(() -> listener.onInstructionCompleted(JetPackFlight.this, instruction));  // Notify listener that this flight completed an instruction; deferred during parallel updates
                 }
             }
         });
@@ -145,30 +177,35 @@ public class JetPackFlight {
     /**
      * Receives and executes a radio instruction to change coordinates
      */
+    @Override
     public void receiveCoordinateInstruction(int newX, int newY, String reason) {
         Point newDest = emergencyHandler.receiveCoordinateInstruction(newX, newY, reason);  // Process coordinate instruction through emergency handler (logs and creates new Point)
         movementController.setNewDestination(newDest);  // Update movement controller to fly to new coordinates
+        store.setFlags(storeId, FlightStore.RADIO, true);  // Checked for completion by updatePosition, not the kernel
         this.currentStatus = "RADIO: " + reason;  // Update status text to reflect radio instruction and reason
     }
     
     /**
      * Receives and executes a radio instruction to change altitude
      */
+    @Override
     public void receiveAltitudeInstruction(double newAltitude, String reason) {
         emergencyHandler.receiveAltitudeInstruction(movementController.getAltitude(), newAltitude, reason);  // Process altitude instruction through emergency handler (logs current and target altitude)
+        store.setFlags(storeId, FlightStore.RADIO, true);  // Climb toward the target in updatePosition, not the kernel
         this.currentStatus = "RADIO: " + reason;  // Update status text to reflect radio instruction and reason
     }
     
     /**
      * Receives emergency landing instruction
      */
+    @Override
     public void receiveEmergencyLandingInstruction(List<ParkingSpace> parkingSpaces, String reason) {
         emergencyLanding(parkingSpaces, "RADIO ORDER: " + reason);  // Delegate to emergency landing method with radio order prefix for logging
     }
     
     public void updatePosition() {
         // Don't move if emergency halt is active or flight is inactive
-        if (hazardMonitor.isEmergencyHalt() || !isActive) {  // Check both emergency halt flag and active status
+        if (hazardMonitor.isEmergencyHalt() || !isActive()) {  // Check both emergency halt flag and active status
             return;  // Skip position update to keep jetpack stationary during halt
         }
         
@@ -203,12 +240,35 @@ public class JetPackFlight {
         
         // Update color based on speed - visual feedback for speed changes
         updateColorBySpeed(effectiveSpeed);  // Adjust jetpack display color based on current effective speed
+
+        boolean followingRadio = emergencyHandler.getRadioDestination() != null || emergencyHandler.getRadioAltitude() != null;
+        store.setFlags(storeId, FlightStore.RADIO, followingRadio);  // Hand the flight back to the kernel once instructions complete
     }
     
-    private Point getActiveTarget() {
+    /**
+     * Returns the waypoint or destination the flight is currently steering toward
+     */
+    public Point getActiveTarget() {
         return movementController.getActiveTarget();  // Retrieve current active waypoint or final destination from movement controller
     }
     
+    /**
+     * Returns the speed the flight will move at on its next update (0 when halted or inactive)
+     */
+    public double getEffectiveSpeed() {
+        if (hazardMonitor.isEmergencyHalt() || !isActive()) {  // Halted flights hold position
+            return 0.0;
+        }
+        return hazardMonitor.calculateEffectiveSpeed(movementController.getSpeed());  // Same hazard adjustment as updatePosition
+    }
+    
+    /**
+     * Returns the altitude change applied on the last update, in feet per tick
+     */
+    public double getAltitudeRate() {
+        return movementController.getAltitudeRate();  // Delegate climb/descent rate to movement controller
+    }
+    
     public boolean hasReachedDestination() {
         return movementController.hasReachedDestination(hazardMonitor.isEmergencyHalt());  // Check if jetpack has reached its destination, considering halt status
     }
@@ -241,19 +301,20 @@ public class JetPackFlight {
         this.currentStatus = "DETOUR";  // Update status to indicate active detour
         
         if (movementLogger != null) {  // Check if movement logger is available
-            movementLogger.appendJetpackMovement(jetpack.getCallsign() +  // Log detour event with callsign
+            logMovement(jetpack.getCallsign() +  // Log detour event with callsign
                 " DETOUR: Avoiding " + hazardType);  // Include hazard type being avoided
         }
     }
     
     public void halt(String reason) {
         hazardMonitor.setEmergencyHalt(true);  // Set emergency halt flag in hazard monitor to freeze movement
-        this.isActive = false;  // Mark flight as inactive to prevent position updates
+        store.setFlags(storeId, FlightStore.INACTIVE, true);  // Mark flight as inactive to prevent position updates
         this.currentStatus = "EMERGENCY HALT";  // Update status text for UI display
         this.color = Color.RED;  // Change color to red to visually indicate emergency halt state
+        store.colorBand[storeId] = FlightStore.NO_BAND;  // Show the halt color, not the last speed band
         
         if (movementLogger != null) {  // Check if movement logger is available
-            movementLogger.appendJetpackMovement(jetpack.getCallsign() +  // Log halt event with callsign
+            logMovement(jetpack.getCallsign() +  // Log halt event with callsign
                 " ⛔ EMERGENCY HALT: " + reason);  // Include stop sign emoji and reason for halt
         }
     }
@@ -263,12 +324,16 @@ public class JetPackFlight {
      * Finds nearest parking space and navigates there immediately
      */
     public void emergencyLanding(List<ParkingSpace> parkingSpaces, String reason) {
-        Point emergencyDest = emergencyHandler.receiveEmergencyLandingInstruction(  // Find nearest available parking space for emergency landing
+        JetPackFlightState state = (flightStateProvider != null) ? flightStateProvider.getFlightState(this) : null;  // Parking state that will hold the claim
+        Object holder = (state != null && !state.isParked()) ? state : null;  // Parked flights are already on the ground
+        ParkingSpace landingSpace = emergencyHandler.receiveEmergencyLandingInstruction(  // Find and claim the nearest available parking space for emergency landing
             movementController.getX(),  // Current X position for distance calculations
             movementController.getY(),  // Current Y position for distance calculations
             parkingSpaces,  // List of all parking spaces to search
-            reason  // Reason for emergency landing (logged by handler)
+            reason,  // Reason for emergency landing (logged by handler)
+            holder  // Reserved for this flight so simultaneous landings pick different spaces
         );
+        Point emergencyDest = (landingSpace != null) ? new Point(landingSpace.getX(), landingSpace.getY()) : null;
         
         if (emergencyDest == null) {  // Check if emergency handler found a parking space
             // No parking available, just halt in place - safety fallback
@@ -278,8 +343,20 @@ public class JetPackFlight {
             movementController.setEmergencyDestination(emergencyDest, movementController.getSpeed() * 1.5);  // Set emergency destination with 50% speed boost for urgency
             this.currentStatus = "EMERGENCY LANDING";  // Update status to indicate emergency landing in progress
             this.color = Color.MAGENTA;  // Change color to magenta to visually distinguish emergency landing from other states
+            store.colorBand[storeId] = FlightStore.NO_BAND;  // Until the next update picks a speed band
+            if (holder != null) {
+                state.takeEmergencyParking(landingSpace);  // Lands, times out or releases like any other reservation
+            }
         }
     }
+
+    /**
+     * Returns true while the flight is flying to a radio-instructed point or to an emergency landing spot
+     */
+    public boolean isFollowingInstruction() {
+        return emergencyHandler.getRadioDestination() != null
+            || ("EMERGENCY LANDING".equals(currentStatus) && !hasReachedDestination());
+    }
     
     public void resumeNormalPath() {
         if (movementController.isDetourActive()) {  // Check if jetpack is currently following a detour route
@@ -287,7 +364,7 @@ public class JetPackFlight {
             currentStatus = "ACTIVE";  // Reset status to normal active flight
             
             if (movementLogger != null) {  // Check if movement logger is available
-                movementLogger.appendJetpackMovement(jetpack.getCallsign() +  // Log path resumption with callsign
+                logMovement(jetpack.getCallsign() +  // Log path resumption with callsign
                     " Resuming normal flight path");  // Indicate return to original route
             }
         }
@@ -296,12 +373,12 @@ public class JetPackFlight {
     public void clearEmergencyHalt() {
         if (hazardMonitor.isEmergencyHalt()) {  // Check if emergency halt flag is set
             hazardMonitor.clearEmergencyHalt();  // Clear emergency halt flag to allow movement
-            isActive = true;  // Reactivate flight to enable position updates
+            store.setFlags(storeId, FlightStore.INACTIVE, false);  // Reactivate flight to enable position updates
             currentStatus = "ACTIVE";  // Reset status to normal active flight
             color = new Color(color.getRed(), color.getGreen(), color.getBlue());  // Restore original color (creates new Color instance to ensure fresh state)
             
             if (movementLogger != null) {  // Check if movement logger is available
-                movementLogger.appendJetpackMovement(jetpack.getCallsign() +  // Log emergency clearance with callsign
+                logMovement(jetpack.getCallsign() +  // Log emergency clearance with callsign
                     " ✓ Emergency cleared, resuming flight");  // Include checkmark to indicate successful clearance
             }
         }
@@ -368,11 +445,21 @@ public class JetPackFlight {
         return hazardMonitor.isEmergencyHalt();  // Check if emergency halt flag is active
     }
     
+    /**
+     * Sends a message to the movement logger; deferred while the simulation updates flights in parallel
+     */
+    private void logMovement(String message) {
+        MovementLogger logger = movementLogger;
+        if (logger != null) {
+            SideEffects.run(() -> logger.appendJetpackMovement(message));  // Keeps log order deterministic
+        }
+    }
+    
     private void logMovementDirection() {
         if (movementLogger != null) {  // Check if movement logger is available
             String direction = movementController.getDirectionString();  // Get compass direction string (e.g., "N", "NE", "E", etc.)
             double distance = movementController.getDistanceToDestination();  // Calculate remaining distance to destination
-            movementLogger.appendJetpackMovement(jetpack.getCallsign() +  // Log movement with callsign
+            logMovement(jetpack.getCallsign() +  // Log movement with callsign
                 " moving " + direction + " (" + String.format("%.0f", distance) + " units)");  // Include direction and formatted distance
         }
     }
@@ -389,7 +476,7 @@ public class JetPackFlight {
             movementController.getAltitude(),  // Current altitude for shadow/size scaling
             movementController.getDestination(),  // Final destination for line drawing
             getActiveTarget(),  // Current active waypoint or destination
-            color,  // Current display color (may be modified for hazards/emergencies)
+            getColor(),  // Current display color (may be modified for hazards/emergencies)
             jetpack.getCallsign(),  // Callsign text for label
             isParked,  // Parking status affects rendering (static vs animated)
             hazardMonitor.isEmergencyHalt(),  // Emergency halt affects color/icon
@@ -409,15 +496,29 @@ public class JetPackFlight {
      */
     private void updateColorBySpeed(double effectiveSpeed) {
         // Speed-based color gradient: Blue (slow) -> Green (normal) -> Yellow (fast) -> Red (very fast) - provides visual feedback for speed changes
-        if (effectiveSpeed < 1.0) {  // Check if speed is below normal (hazard-reduced)
-            color = new Color(0, 100, 255);  // Blue - indicates slow/cautious movement
-        } else if (effectiveSpeed < 2.0) {  // Check if speed is at normal cruise (2.0 is base speed)
-            color = new Color(0, 200, 100);  // Green - indicates normal flight speed
-        } else if (effectiveSpeed < 3.0) {  // Check if speed is above normal but not extreme
-            color = new Color(255, 200, 0);  // Yellow - indicates fast movement (emergency landing boost)
-        } else {  // Speed is 3.0 or higher (extreme)
-            color = new Color(255, 50, 0);  // Red - indicates very fast/urgent movement
-        }
+        // Same thresholds the store's batch kernel uses: <1 slow, <2 cruise, <3 fast, otherwise urgent
+        store.colorBand[storeId] = FlightStore.bandOf(effectiveSpeed);  // Index into PALETTE, read by getColor
+    }
+
+    private boolean isActive() {
+        return (store.getFlags(storeId) & FlightStore.INACTIVE) == 0;
+    }
+
+    /**
+     * Marks the flight parked or airborne; the batch kernel does not move parked flights.
+     */
+    void markParked(boolean parked) {
+        store.setFlags(storeId, FlightStore.PARKED, parked);
+    }
+
+    /** Returns the store holding this flight's tick state */
+    public FlightStore getStore() {
+        return store;
+    }
+
+    /** Returns this flight's dense id in its store */
+    public int getStoreId() {
+        return storeId;
     }
     
     // Getters - provide read access to internal state via delegation
@@ -438,7 +539,8 @@ public class JetPackFlight {
     }
     
     public Color getColor() {
-        return color;  // Return current display color (may be modified from base color)
+        int band = store.colorBand[storeId];
+        return band >= 0 ? PALETTE[band] : color;  // Speed palette once moving, otherwise the assigned/emergency color
     }
 
     public double getAltitude() {
@@ -7,8 +7,10 @@
  * parked states. Integrates with radar communications and movement logging to broadcast parking events.
  * 
  * Key Responsibilities:
- * - Select target parking space from available spaces
- * - Manage parking countdown timer (duration until departure)
+ * - Reserve a target parking space at selection time, so no other flight heads for it
+ * - Release the reservation if the flight is diverted or takes too long to arrive
+ * - Hold the space an emergency landing claimed, and leave instructed destinations alone
+ * - Manage parking duration: hand the departure to a DepartureScheduler, or count it down
  * - Track parked vs. flying state
  * - Find nearest available parking during emergencies
  * - Communicate parking events via radar and movement logs
@@ -16,7 +18,7 @@
  * 
  * Interactions:
  * - Wraps and manages JetPackFlight for parking operations
- * - Queries and occupies ParkingSpace objects
+ * - Reserves, occupies, releases and vacates ParkingSpace objects, holding each claim as itself
  * - Broadcasts parking events through RadarTapeWindow
  * - Logs parking actions via MovementLogger callback interface
  * - Triggers UI updates via repaint callback
@@ -25,9 +27,12 @@
  * Patterns & Constraints:
  * - State pattern: manages parked/flying state transitions
  * - Callback pattern: MovementLogger interface for loose coupling
- * - Timer-based parking duration (countdown to departure)
- * - Parking space selection: random from available or nearest for emergency
- * - Parking space occupation/vacation management
+ * - Event-driven departure when a DepartureScheduler is set: a parked flight does no work per tick
+ *   until its scheduler calls depart; without one, the dwell is counted down one update at a time
+ * - Parking space selection: O(1) random reservation from the city's ParkingPool when the space list
+ *   has one; the reservation becomes occupancy on arrival
+ * - Reservations are lock-free claims, so flights updated on different threads cannot both land in
+ *   the same space
  * - Thread-safety depends on caller synchronization
  * 
  * @author Haisam Elkewidy
@@ -40,7 +45,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
+import com.example.parking.ParkingPool;
 import com.example.parking.ParkingSpace;
+import com.example.simulation.SimulationRandom;
 import com.example.ui.frames.RadarTapeWindow;
 
 /**
@@ -75,6 +82,13 @@ public class JetPackFlightState {
     private MovementLogger movementLogger;
     // Callback to trigger UI repaint after parking state changes
     private Runnable repaintCallback;
+    // Schedules departures as events; null falls back to the per-update countdown
+    private DepartureScheduler departureScheduler;
+    // Updates spent flying toward the reserved space
+    private int reservationAge;
+
+    /** Updates a reservation is held before it is released for other flights (about a minute) */
+    public static final int RESERVATION_TIMEOUT_TICKS = 1500;
 
     /**
      * Callback interface for logging jetpack movement events to UI.
@@ -88,6 +102,19 @@ public class JetPackFlightState {
         void appendJetpackMovement(String message);
     }
 
+    /**
+     * Schedules a parked flight's departure instead of counting it down every update.
+     */
+    public interface DepartureScheduler {
+        /**
+         * Arranges for state.depart() to be called dwellTicks updates from now.
+         * 
+         * @param state Flight state that just parked
+         * @param dwellTicks Parking duration in update cycles
+         */
+        void scheduleDeparture(JetPackFlightState state, int dwellTicks);
+    }
+
     /**
      * Constructs a new JetPackFlightState for managing parking lifecycle.
      * 
@@ -97,7 +124,7 @@ public class JetPackFlightState {
     public JetPackFlightState(JetPackFlight flight, List<ParkingSpace> parkingSpaces) {
         this.flight = flight;  // Store flight reference
         this.availableParkingSpaces = parkingSpaces;  // Store parking space list
-        this.random = new Random();  // Initialize random generator
+        this.random = SimulationRandom.newRandom();  // Initialize random generator
         this.isParked = false;  // Start in flying state
         this.parkingTimeRemaining = 0;  // No parking time initially
         this.repaintCallback = null;  // No callback initially
@@ -121,19 +148,48 @@ public class JetPackFlightState {
         this.movementLogger = logger;  // Store logger callback
     }
 
+    /**
+     * Sets the scheduler that owns departures; parked flights then skip their updates entirely.
+     * 
+     * @param scheduler DepartureScheduler, or null to count down each update
+     */
+    public void setDepartureScheduler(DepartureScheduler scheduler) {
+        this.departureScheduler = scheduler;  // Applies from the next arrival
+    }
+
+    /**
+     * Departs from parking now; called by the DepartureScheduler when the dwell is over.
+     */
+    public void depart() {
+        if (isParked) {
+            departFromParking();
+        }
+    }
+
     /**
      * Updates the parking state each cycle:
-     * - If parked: decrements timer and departs when timer reaches zero
+     * - If parked: nothing while a scheduler owns the departure, otherwise decrements the timer
+     *   and departs when it reaches zero
      * - If approaching parking: checks distance and parks if close enough
-     * - If flying free: randomly selects new parking destination
+     * - If flying free: randomly selects new parking destination, unless a radio instruction or
+     *   emergency landing is taking the flight somewhere else
      */
     public void updateParkingState() {
         if (isParked) {  // Check if currently parked
+            if (departureScheduler != null) return;  // Departure is already scheduled
             parkingTimeRemaining--;  // Decrement parking timer
             if (parkingTimeRemaining <= 0) {  // Check if parking time expired
                 departFromParking();  // Trigger departure sequence
             }
         } else if (targetParking != null) {  // Check if heading to parking
+            if (++reservationAge > RESERVATION_TIMEOUT_TICKS) {  // Took too long to get there
+                releaseReservation("reservation expired");
+                return;
+            }
+            if (!isHeadingToTarget()) {  // Radio instruction or emergency sent the flight elsewhere
+                releaseReservation("diverted");
+                return;
+            }
             // Calculate distance to target parking space
             double distance = Math.sqrt(
                 Math.pow(flight.getX() - targetParking.getX(), 2) +  // Calculate x distance squared
@@ -142,24 +198,20 @@ public class JetPackFlightState {
             if (distance < 30 && random.nextDouble() < 0.95) {  // Check if close enough with high probability
                 arriveAtParking();  // Trigger arrival sequence
             }
-        } else if (random.nextDouble() < 0.95) {  // Randomly decide to select parking (95% chance)
+        } else if (!flight.isFollowingInstruction() && random.nextDouble() < 0.95) {  // Randomly decide to select parking (95% chance), never over an instruction
             selectRandomParking();  // Choose new parking destination
         }
     }
 
     /**
-     * Selects a random available parking space and sets it as the flight destination.
+     * Reserves a random available parking space and sets it as the flight destination.
      * Broadcasts parking selection via radar and movement logger.
      */
     private void selectRandomParking() {
-        List<ParkingSpace> available = new ArrayList<>();  // Create list for available spaces
-        for (ParkingSpace ps : availableParkingSpaces) {  // Iterate through all parking spaces
-            if (!ps.isOccupied()) {  // Check if space is not occupied
-                available.add(ps);  // Add to available list
-            }
-        }
-        if (!available.isEmpty()) {  // Check if any parking spaces available
-            targetParking = available.get(random.nextInt(available.size()));  // Randomly select from available
+        ParkingSpace choice = reserveFreeSpace();  // Uniformly random free space, now ours, or null
+        if (choice != null) {  // Check if any parking spaces available
+            targetParking = choice;  // Head for the chosen space
+            reservationAge = 0;
             flight.setNewDestination(new Point((int)targetParking.getX(), (int)targetParking.getY()));  // Set as flight destination
             if (radarTapeWindow != null && radarTapeWindow.isVisible()) {  // Check if radar window active
                 radarTapeWindow.addMessage(flight.getJetpack().getCallsign() +  // Broadcast parking selection
@@ -172,6 +224,70 @@ public class JetPackFlightState {
         }
     }
 
+    /**
+     * Reserves a random free space: O(1) from the city's ParkingPool, or by collecting the free spaces
+     * when the list has no pool. Either way a space claimed by another flight in the meantime is
+     * skipped and another one tried.
+     */
+    private ParkingSpace reserveFreeSpace() {
+        if (availableParkingSpaces.isEmpty()) {
+            return null;  // Nothing to pick from; skip the allocation below
+        }
+        ParkingPool pool = ParkingPool.forSpaces(availableParkingSpaces);
+        if (pool != null) {
+            return pool.reserveRandom(random, this);
+        }
+        List<ParkingSpace> available = new ArrayList<>();  // Create list for available spaces
+        for (ParkingSpace ps : availableParkingSpaces) {  // Iterate through all parking spaces
+            if (ps.isAvailable()) {  // Check if space is neither occupied nor reserved
+                available.add(ps);  // Add to available list
+            }
+        }
+        for (int attempt = 0; attempt < ParkingPool.MAX_RESERVE_ATTEMPTS && !available.isEmpty(); attempt++) {
+            ParkingSpace candidate = available.remove(random.nextInt(available.size()));  // Randomly select from available
+            if (candidate.tryReserve(this)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes over the space the flight reserved for this state during an emergency landing, so it is
+     * occupied on arrival, or released on timeout or diversion, like a space picked here.
+     * 
+     * @param space Space reserved with this state as holder
+     */
+    void takeEmergencyParking(ParkingSpace space) {
+        if (targetParking != null && targetParking != space) {
+            releaseReservation("emergency landing");  // Give back the space it was heading to
+        }
+        targetParking = space;
+        reservationAge = 0;
+    }
+
+    /**
+     * Checks whether the flight is still flying to the reserved space.
+     */
+    private boolean isHeadingToTarget() {
+        Point destination = flight.getDestination();
+        return destination != null && destination.x == targetParking.getX() && destination.y == targetParking.getY();
+    }
+
+    /**
+     * Gives the reserved space back to other flights without landing.
+     * 
+     * @param reason Why the reservation is dropped, for the movement log
+     */
+    private void releaseReservation(String reason) {
+        targetParking.release(this);
+        if (movementLogger != null) {  // Check if logger available
+            movementLogger.appendJetpackMovement(flight.getJetpack().getCallsign() +  // Log the release
+                " released parking " + targetParking.getId() + " (" + reason + ")");
+        }
+        targetParking = null;  // Free to pick again
+    }
+
     /**
      * Handles jetpack arrival at parking space:
      * - Sets parked state
@@ -180,9 +296,16 @@ public class JetPackFlightState {
      * - Broadcasts arrival via radar and movement logger
      */
     private void arriveAtParking() {
+        if (!targetParking.occupy(this)) {  // Reservation no longer ours; pick another space
+            targetParking = null;
+            return;
+        }
         isParked = true;  // Set parked state
-        targetParking.occupy();  // Mark parking space as occupied
+        flight.markParked(true);  // Keeps the batch kernel from moving it
         parkingTimeRemaining = 15 + random.nextInt(31);  // Random duration 15-45 cycles
+        if (departureScheduler != null) {
+            departureScheduler.scheduleDeparture(this, parkingTimeRemaining);  // Fires once, at the due tick
+        }
         if (radarTapeWindow != null && radarTapeWindow.isVisible()) {  // Check if radar window active
             radarTapeWindow.addMessage(flight.getJetpack().getCallsign() +  // Broadcast landing
                 " landed at parking " + targetParking.getId());
@@ -204,8 +327,9 @@ public class JetPackFlightState {
      */
     private void departFromParking() {
         isParked = false;  // Clear parked state
+        flight.markParked(false);
         if (targetParking != null) {  // Check if parking space reference exists
-            targetParking.vacate();  // Mark parking space as available
+            targetParking.vacate(this);  // Mark parking space as available
             if (radarTapeWindow != null && radarTapeWindow.isVisible()) {  // Check if radar window active
                 radarTapeWindow.addMessage(flight.getJetpack().getCallsign() +  // Broadcast departure
                     " departing from parking " + targetParking.getId());
@@ -228,6 +352,24 @@ public class JetPackFlightState {
         return isParked;  // Return parked state
     }
 
+    /**
+     * Checks if the jetpack is on its way to a reserved space but has not landed yet.
+     * 
+     * @return true while heading to parking
+     */
+    public boolean isParkingInProgress() {
+        return targetParking != null && !isParked;
+    }
+
+    /**
+     * Returns the space this flight has reserved or occupies.
+     * 
+     * @return Target parking space, or null when flying free
+     */
+    public ParkingSpace getTargetParking() {
+        return targetParking;
+    }
+
     /**
      * Gets the available parking spaces for this flight.
      * 
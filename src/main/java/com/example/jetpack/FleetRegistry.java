@@ -0,0 +1,390 @@
+/**
+ * Compact column store for city fleets of tens of thousands to millions of jetpacks.
+ *
+ * Purpose:
+ * A JetPack object carries seven String fields, a Point and a LocalDateTime, roughly half a kilobyte
+ * per jetpack once the strings are counted. That is fine for the 100 jetpacks a city flies on screen
+ * but not for capacity planning with 10k-1M jetpacks per city. The registry keeps the same seven
+ * identification fields in parallel primitive columns instead, with all repeated text interned.
+ *
+ * Key Responsibilities:
+ * - Store id, serial, callsign, owner, year, model and manufacturer per jetpack in int/byte columns
+ * - Intern every field as a text stem plus an optional trailing number ("ALPHA-" + 12 width 2,
+ *   "John #" + 7, "HeatSeeker " + 3000), so models, manufacturers and owner names are stored once
+ * - Map callsigns to dense integer ids 0..size-1 (indexOf) and reject duplicate callsigns
+ * - Stream fleets in from CSV one line at a time (importCsv) and back out (exportCsv)
+ * - Materialize JetPack objects on demand for the jetpacks that actually fly (toJetPack)
+ * - Estimate bytes per jetpack for heap sizing
+ *
+ * Interactions:
+ * - Filled by JetpackFactory.generateFleet or importCsv
+ * - Produces JetPack instances for CityJetpackManager-style fleets and flight initialization
+ *
+ * Patterns & Constraints:
+ * - Field values round-trip exactly, including leading zeros and null, except serial numbers, which
+ *   are stored as JetPack formats them ("HOU-001" becomes "BOS-001"); serials without digits are
+ *   rejected when added rather than when a JetPack is made
+ * - Columns grow by half again when full; trimToSize drops the slack after loading
+ * - Not thread-safe while loading; read-only use after loading is safe to share
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.jetpack;
+
+import java.awt.Point;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * FleetRegistry holds a fleet's identification data in interned primitive columns.
+ */
+public class FleetRegistry {
+
+    /** CSV header written by exportCsv and skipped by importCsv */
+    public static final String CSV_HEADER = "id,serialNumber,callsign,ownerName,year,model,manufacturer";
+
+    // Column order, matching CSV_HEADER
+    private static final int ID = 0;
+    private static final int SERIAL = 1;
+    private static final int CALLSIGN = 2;
+    private static final int OWNER = 3;
+    private static final int YEAR = 4;
+    private static final int MODEL = 5;
+    private static final int MANUFACTURER = 6;
+    private static final int FIELDS = 7;
+
+    /** Number column value for a field with no trailing number */
+    private static final int NO_NUMBER = -1;
+    /** Number column value for a null field */
+    private static final int NULL_FIELD = -2;
+    /** Longest trailing number kept apart from its stem; longer digit runs stay in the stem */
+    private static final int MAX_DIGITS = 9;
+    private static final int EMPTY = -1;
+
+    private final StringPool stems = new StringPool();
+    private final int[][] stemCodes = new int[FIELDS][];
+    private final int[][] numbers = new int[FIELDS][];
+    private final byte[][] widths = new byte[FIELDS][];
+    private int[] callsignTable = newTable(32);  // Dense ids by callsign hash slot, at most half full
+    private int size;
+
+    /**
+     * Creates an empty registry.
+     */
+    public FleetRegistry() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty registry sized for an expected fleet.
+     *
+     * @param expectedSize Number of jetpacks to reserve room for
+     */
+    public FleetRegistry(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        for (int f = 0; f < FIELDS; f++) {
+            stemCodes[f] = new int[capacity];
+            numbers[f] = new int[capacity];
+            widths[f] = new byte[capacity];
+        }
+        callsignTable = newTable(tableCapacityFor(capacity));
+    }
+
+    /**
+     * Adds a jetpack and returns its dense id. The serial number is stored formatted as
+     * JetPack.formatSerialNumber gives it, so getSerialNumber and toJetPack agree.
+     *
+     * @throws IllegalArgumentException if the callsign is null or already registered, or the serial
+     *         number cannot be formatted
+     */
+    public int add(String id, String serialNumber, String callsign, String ownerName,
+                   String year, String model, String manufacturer) {
+        if (callsign == null) {
+            throw new IllegalArgumentException("Callsign is required");
+        }
+        if (indexOf(callsign) >= 0) {
+            throw new IllegalArgumentException("Duplicate callsign " + callsign);
+        }
+        String serial = JetPack.formatSerialNumber(serialNumber);  // Stored as a JetPack would hold it; rejects serials it cannot hold
+        if (size == numbers[0].length) {
+            grow(Math.max(size + 1, size + (size >> 1)));  // Trimmed columns of 0 or 1 must still grow
+        }
+        int index = size;
+        set(ID, index, id);
+        set(SERIAL, index, serial);
+        set(CALLSIGN, index, callsign);
+        set(OWNER, index, ownerName);
+        set(YEAR, index, year);
+        set(MODEL, index, model);
+        set(MANUFACTURER, index, manufacturer);
+        size++;
+        insertCallsign(index);
+        if (size * 2 > callsignTable.length) {
+            rehashCallsigns(callsignTable.length * 2);
+        }
+        return index;
+    }
+
+    /**
+     * Adds an existing jetpack's identification fields and returns its dense id.
+     */
+    public int add(JetPack jetpack) {
+        return add(jetpack.getId(), jetpack.getSerialNumber(), jetpack.getCallsign(), jetpack.getOwnerName(),
+            jetpack.getYear(), jetpack.getModel(), jetpack.getManufacturer());
+    }
+
+    /**
+     * Returns the dense id registered for a callsign, or -1 if there is none.
+     */
+    public int indexOf(String callsign) {
+        if (callsign == null) return -1;
+        int end = trailingNumberStart(callsign);
+        int stem = stems.find(callsign.substring(0, end));
+        if (stem < 0) return -1;  // Stem never seen, so neither was the callsign
+        int number = (end == callsign.length()) ? NO_NUMBER : Integer.parseInt(callsign.substring(end));
+        int width = callsign.length() - end;
+        int mask = callsignTable.length - 1;
+        for (int slot = hash(stem, number, width) & mask; callsignTable[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int i = callsignTable[slot];
+            if (stemCodes[CALLSIGN][i] == stem && numbers[CALLSIGN][i] == number && widths[CALLSIGN][i] == width) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Returns the number of registered jetpacks */
+    public int size() { return size; }
+    /** Returns the number of distinct interned stems across all fields */
+    public int getDistinctStems() { return stems.size(); }
+
+    public String getId(int index) { return get(ID, index); }
+    public String getSerialNumber(int index) { return get(SERIAL, index); }
+    public String getCallsign(int index) { return get(CALLSIGN, index); }
+    public String getOwnerName(int index) { return get(OWNER, index); }
+    public String getYear(int index) { return get(YEAR, index); }
+    public String getModel(int index) { return get(MODEL, index); }
+    public String getManufacturer(int index) { return get(MANUFACTURER, index); }
+
+    /**
+     * Creates a JetPack for one registered jetpack, parked at the origin like JetpackFactory's.
+     */
+    public JetPack toJetPack(int index) {
+        checkIndex(index);
+        return new JetPack(getId(index), getSerialNumber(index), getCallsign(index), getOwnerName(index),
+            getYear(index), getModel(index), getManufacturer(index), new Point(0, 0), 0.0, 0.0);
+    }
+
+    /**
+     * Creates JetPacks for the dense ids from (inclusive) to (exclusive).
+     */
+    public ArrayList<JetPack> toJetPacks(int from, int to) {
+        ArrayList<JetPack> jetpacks = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            jetpacks.add(toJetPack(i));
+        }
+        return jetpacks;
+    }
+
+    /**
+     * Reads jetpacks from CSV one line at a time, in CSV_HEADER column order; the header line and
+     * blank lines are skipped, and fields may be double-quoted.
+     *
+     * @return Number of jetpacks added
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException for a malformed line or duplicate callsign, naming the line
+     */
+    public int importCsv(Reader in) throws IOException {
+        BufferedReader reader = (in instanceof BufferedReader) ? (BufferedReader) in : new BufferedReader(in);
+        String[] fields = new String[FIELDS];
+        int added = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty() || (lineNumber == 1 && line.startsWith("id,"))) continue;
+            try {
+                parseCsvLine(line, fields);
+                add(fields[ID], fields[SERIAL], fields[CALLSIGN], fields[OWNER], fields[YEAR], fields[MODEL], fields[MANUFACTURER]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+            added++;
+        }
+        return added;
+    }
+
+    /**
+     * Writes every jetpack as CSV, header first, in dense id order.
+     *
+     * @throws IOException if writing fails
+     */
+    public void exportCsv(Writer out) throws IOException {
+        out.write(CSV_HEADER);
+        out.write('\n');
+        for (int i = 0; i < size; i++) {
+            for (int f = 0; f < FIELDS; f++) {
+                if (f > 0) out.write(',');
+                writeCsvField(out, get(f, i));
+            }
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Releases unused column capacity once loading is finished.
+     */
+    public void trimToSize() {
+        if (size < numbers[0].length) {
+            grow(Math.max(1, size));
+            rehashCallsigns(tableCapacityFor(size));
+        }
+    }
+
+    /**
+     * Estimates retained heap: columns, callsign table and the interned stems.
+     */
+    public long estimateBytes() {
+        long bytes = 16L * 3 * FIELDS + (long) numbers[0].length * FIELDS * (4 + 4 + 1)  // Column arrays
+            + 16L + 4L * callsignTable.length;
+        return bytes + stems.estimateBytes();
+    }
+
+    /**
+     * Returns estimateBytes spread over the registered jetpacks.
+     */
+    public double getBytesPerJetpack() {
+        return size == 0 ? 0 : (double) estimateBytes() / size;
+    }
+
+    // Splits a value into interned stem, trailing number and digit count
+    private void set(int field, int index, String value) {
+        if (value == null) {
+            stemCodes[field][index] = 0;
+            numbers[field][index] = NULL_FIELD;
+            widths[field][index] = 0;
+            return;
+        }
+        int end = trailingNumberStart(value);
+        stemCodes[field][index] = stems.intern(value.substring(0, end));
+        numbers[field][index] = (end == value.length()) ? NO_NUMBER : Integer.parseInt(value.substring(end));
+        widths[field][index] = (byte) (value.length() - end);
+    }
+
+    private String get(int field, int index) {
+        checkIndex(index);
+        int number = numbers[field][index];
+        if (number == NULL_FIELD) return null;
+        String stem = stems.get(stemCodes[field][index]);
+        if (number == NO_NUMBER) return stem;
+        StringBuilder sb = new StringBuilder(stem.length() + widths[field][index]).append(stem);
+        String digits = Integer.toString(number);
+        for (int pad = widths[field][index] - digits.length(); pad > 0; pad--) {
+            sb.append('0');  // Leading zeros, e.g. ALPHA-01
+        }
+        return sb.append(digits).toString();
+    }
+
+    // Start of the trailing digit run kept as a number, or the length when there is none
+    private static int trailingNumberStart(String value) {
+        int end = value.length();
+        while (end > 0 && value.charAt(end - 1) >= '0' && value.charAt(end - 1) <= '9') {
+            end--;
+        }
+        return (value.length() - end > MAX_DIGITS) ? value.length() : end;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Jetpack " + index + " of " + size);
+        }
+    }
+
+    private void grow(int capacity) {
+        for (int f = 0; f < FIELDS; f++) {
+            stemCodes[f] = Arrays.copyOf(stemCodes[f], capacity);
+            numbers[f] = Arrays.copyOf(numbers[f], capacity);
+            widths[f] = Arrays.copyOf(widths[f], capacity);
+        }
+    }
+
+    private void insertCallsign(int index) {
+        int mask = callsignTable.length - 1;
+        int slot = hash(stemCodes[CALLSIGN][index], numbers[CALLSIGN][index], widths[CALLSIGN][index]) & mask;
+        while (callsignTable[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        callsignTable[slot] = index;
+    }
+
+    private void rehashCallsigns(int capacity) {
+        callsignTable = newTable(capacity);
+        for (int i = 0; i < size; i++) {
+            insertCallsign(i);
+        }
+    }
+
+    private static int hash(int stem, int number, int width) {
+        return StringPool.mix((stem * 31 + number) * 31 + width);
+    }
+
+    private static int tableCapacityFor(int entries) {
+        return Math.max(32, Integer.highestOneBit(Math.max(1, entries) * 2 - 1) << 1);
+    }
+
+    private static int[] newTable(int capacity) {
+        int[] t = new int[capacity];
+        Arrays.fill(t, EMPTY);
+        return t;
+    }
+
+    // Splits one CSV line into exactly FIELDS values; "" inside quotes is a literal quote
+    private static void parseCsvLine(String line, String[] fields) {
+        int field = 0;
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                if (field == FIELDS - 1) {
+                    throw new IllegalArgumentException("Expected " + FIELDS + " fields");
+                }
+                fields[field++] = value.toString();
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted || field != FIELDS - 1) {
+            throw new IllegalArgumentException(quoted ? "Unterminated quote" : "Expected " + FIELDS + " fields");
+        }
+        fields[field] = value.toString();
+    }
+
+    private static void writeCsvField(Writer out, String value) throws IOException {
+        if (value == null) return;  // Read back as an empty field
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -81,15 +81,7 @@ public class JetPack {
     public JetPack(String id, String serialNumber, String callsign, String ownerName, String year, String model, String manufacturer, Point position, double altitude, double speed) {
         this.id = id;  // Store jetpack ID
         
-        // Format serial number with city prefix if needed
-        if (serialNumber != null && (serialNumber.startsWith("BOS-") || serialNumber.startsWith("TEST-"))) {
-            this.serialNumber = serialNumber;  // Already formatted
-        } else if (serialNumber != null) {
-            String digits = serialNumber.replaceAll("\\D", "");  // Extract digits
-            this.serialNumber = "BOS-" + String.format("%03d", Integer.parseInt(digits));  // Format with prefix
-        } else {
-            this.serialNumber = serialNumber;  // Use as-is if null
-        }
+        this.serialNumber = formatSerialNumber(serialNumber);  // Format serial number with city prefix if needed
         
         this.callsign = callsign;            // Store callsign
         this.ownerName = ownerName;          // Store owner name
@@ -103,6 +95,25 @@ public class JetPack {
         this.lastUpdate = LocalDateTime.now(); // Record creation time
     }
 
+    /**
+     * Formats a serial number the way the constructor stores it: "BOS-" and "TEST-" serials and null
+     * are kept, any other serial becomes "BOS-" followed by its digits, at least three of them.
+     * 
+     * @param serialNumber manufacturer serial
+     * @return the serial a JetPack built with it reports
+     * @throws IllegalArgumentException if the serial needs formatting but has no digits
+     */
+    public static String formatSerialNumber(String serialNumber) {
+        if (serialNumber == null || serialNumber.startsWith("BOS-") || serialNumber.startsWith("TEST-")) {
+            return serialNumber;  // Already formatted, or nothing to format
+        }
+        String digits = serialNumber.replaceAll("\\D", "").replaceFirst("^0+(?=\\d)", "");  // Extract digits, drop leading zeros
+        if (digits.isEmpty()) {
+            throw new IllegalArgumentException("Serial number " + serialNumber + " has no digits");
+        }
+        return "BOS-" + (digits.length() < 3 ? "000".substring(digits.length()) + digits : digits);  // Format with prefix
+    }
+
     /**
      * Simplified constructor with default operational values.
      * Sets manufacturer to "Unknown" and position/altitude/speed to zero.
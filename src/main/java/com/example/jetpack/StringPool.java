@@ -0,0 +1,114 @@
+/**
+ * Interning pool that maps repeated strings to dense integer codes.
+ *
+ * Purpose:
+ * Large fleets repeat the same handful of models, manufacturers, owner names and callsign stems
+ * hundreds of thousands of times. The pool stores each distinct string once and hands out its code,
+ * so columns can hold a 4-byte int instead of a reference to yet another copy of the same text.
+ *
+ * Key Responsibilities:
+ * - Assign codes 0, 1, 2, ... to distinct strings in first-seen order (intern)
+ * - Look up a string's code without adding it (find) and a code's string (get)
+ * - Estimate its own heap footprint for fleet sizing
+ *
+ * Interactions:
+ * - Used by FleetRegistry for every text column
+ *
+ * Patterns & Constraints:
+ * - Open addressing with linear probing over an int table; no boxed keys or entry objects
+ * - Not thread-safe; the owning registry is built on one thread
+ * - Codes are never reused or removed
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.jetpack;
+
+import java.util.Arrays;
+
+/**
+ * StringPool stores each distinct string once under a dense int code.
+ */
+public class StringPool {
+    private static final int EMPTY = -1;
+
+    private String[] values = new String[16];
+    private int[] table = newTable(32);  // Codes by hash slot, at most half full
+    private int size;
+
+    /**
+     * Returns the code for a string, adding it if it is new.
+     */
+    public int intern(String value) {
+        int slot = slotOf(value);
+        if (table[slot] != EMPTY) {
+            return table[slot];
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        table[slot] = size;
+        if (++size * 2 > table.length) {
+            rehash();
+        }
+        return size - 1;
+    }
+
+    /**
+     * Returns the code for a string, or -1 if it has never been interned.
+     */
+    public int find(String value) {
+        return table[slotOf(value)];
+    }
+
+    /** Returns the string for a code */
+    public String get(int code) { return values[code]; }
+    /** Returns the number of distinct strings */
+    public int size() { return size; }
+
+    /**
+     * Estimates retained heap: the two arrays plus each string (compact Latin-1 layout).
+     */
+    public long estimateBytes() {
+        long bytes = 16L + 4L * values.length + 16L + 4L * table.length;
+        for (int i = 0; i < size; i++) {
+            bytes += 24 + 16 + values[i].length();  // String header + backing byte[]
+        }
+        return bytes;
+    }
+
+    // Slot holding the string's code, or the empty slot where it would go
+    private int slotOf(String value) {
+        int mask = table.length - 1;
+        int slot = mix(value.hashCode()) & mask;
+        while (table[slot] != EMPTY && !values[table[slot]].equals(value)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        table = newTable(table.length * 2);
+        int mask = table.length - 1;
+        for (int code = 0; code < size; code++) {
+            int slot = mix(values[code].hashCode()) & mask;
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = code;
+        }
+    }
+
+    private static int[] newTable(int capacity) {
+        int[] t = new int[capacity];
+        Arrays.fill(t, EMPTY);
+        return t;
+    }
+
+    // Spreads the high bits so that similar strings do not cluster in the table
+    static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
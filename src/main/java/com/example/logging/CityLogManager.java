@@ -52,6 +52,7 @@ public class CityLogManager {
     private Map<String, String> cityRadarLogFiles;
     private Map<String, String> cityWeatherLogFiles;
     private Map<String, String> cityAccidentLogFiles;
+    private Map<String, Object> cityLocks;  // One lock per city: cities running concurrently never wait on each other
     
     /**
      * Constructor - initializes log file mappings for all cities
@@ -69,6 +70,7 @@ public class CityLogManager {
         cityRadarLogFiles = new HashMap<>();
         cityWeatherLogFiles = new HashMap<>();
         cityAccidentLogFiles = new HashMap<>();
+        cityLocks = new HashMap<>();
         
         String[] cities = {"New York", "Boston", "Houston", "Dallas"};
         for (String city : cities) {
@@ -77,6 +79,7 @@ public class CityLogManager {
             cityRadarLogFiles.put(city, cityCode + "_radar_communications_log.txt");
             cityWeatherLogFiles.put(city, cityCode + "_weather_broadcast_log.txt");
             cityAccidentLogFiles.put(city, cityCode + "_accident_reports_log.txt");
+            cityLocks.put(city, new Object());
         }
     }
     
@@ -136,10 +139,12 @@ public class CityLogManager {
         String logFile = cityJetpackLogFiles.get(city);
         if (logFile == null) return;
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(logFile, true))) {
-            writer.println(message);
-        } catch (IOException e) {
-            System.err.println("Error writing to jetpack log for " + city + ": " + e.getMessage());
+        synchronized (cityLocks.get(city)) {  // Whole lines, in order, per city
+            try (PrintWriter writer = new PrintWriter(new FileWriter(logFile, true))) {
+                writer.println(message);
+            } catch (IOException e) {
+                System.err.println("Error writing to jetpack log for " + city + ": " + e.getMessage());
+            }
         }
     }
     
@@ -150,10 +155,12 @@ public class CityLogManager {
         String logFile = cityRadarLogFiles.get(city);
         if (logFile == null) return;
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(logFile, true))) {
-            writer.println(message);
-        } catch (IOException e) {
-            System.err.println("Error writing to radar log for " + city + ": " + e.getMessage());
+        synchronized (cityLocks.get(city)) {  // Whole lines, in order, per city
+            try (PrintWriter writer = new PrintWriter(new FileWriter(logFile, true))) {
+                writer.println(message);
+            } catch (IOException e) {
+                System.err.println("Error writing to radar log for " + city + ": " + e.getMessage());
+            }
         }
     }
     
@@ -164,10 +171,12 @@ public class CityLogManager {
         String logFile = cityWeatherLogFiles.get(city);
         if (logFile == null) return;
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(logFile, true))) {
-            writer.println(message);
-        } catch (IOException e) {
-            System.err.println("Error writing to weather log for " + city + ": " + e.getMessage());
+        synchronized (cityLocks.get(city)) {  // Whole lines, in order, per city
+            try (PrintWriter writer = new PrintWriter(new FileWriter(logFile, true))) {
+                writer.println(message);
+            } catch (IOException e) {
+                System.err.println("Error writing to weather log for " + city + ": " + e.getMessage());
+            }
         }
     }
     
@@ -178,10 +187,12 @@ public class CityLogManager {
         String logFile = cityAccidentLogFiles.get(city);
         if (logFile == null) return;
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(logFile, true))) {
-            writer.println(message);
-        } catch (IOException e) {
-            System.err.println("Error writing to accident log for " + city + ": " + e.getMessage());
+        synchronized (cityLocks.get(city)) {  // Whole lines, in order, per city
+            try (PrintWriter writer = new PrintWriter(new FileWriter(logFile, true))) {
+                writer.println(message);
+            } catch (IOException e) {
+                System.err.println("Error writing to accident log for " + city + ": " + e.getMessage());
+            }
         }
     }
     
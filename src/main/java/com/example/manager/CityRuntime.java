@@ -0,0 +1,397 @@
+/**
+ * One city's complete air traffic world, running continuously whether or not it is on screen.
+ *
+ * Purpose:
+ * The city map used to build its own flights, parking, radio, weather and simulation engine, and
+ * threw all of it away when the operator switched cities. A CityRuntime owns that world instead: it
+ * runs on its own simulation thread and radar sweep thread from start to stop, while CityMapPanel
+ * views attach to watch it and detach again without pausing it.
+ *
+ * Key Responsibilities:
+ * - Build the city's parking spaces, flights, flight states, radio and weather
+ * - Run CitySimulation on a dedicated SimulationEngine and sweep a 2x2 sector RadarNetwork, whose
+ *   fused conflicts are the city's proximity alerts
+ * - Change the weather every 30 simulated seconds and respond to severe weather (WeatherResponse)
+ * - Route movement log messages and radar tape messages to attached views, or straight to the
+ *   city's log files while no view is attached
+ * - Move large fleets on the city's own bounded update pool, so a busy city cannot occupy the
+ *   workers another city's ticks are waiting for
+ * - Account CPU time (simulation thread and update workers) and tick latency so that cities can be
+ *   compared (getLoad)
+ *
+ * Interactions:
+ * - Created and started for every city by CityRuntimeManager
+ * - Viewed by CityMapPanel through the CityView callbacks
+ * - Writes only to its own city's files in CityLogManager
+ *
+ * Patterns & Constraints:
+ * - The world is only mutated on the city's simulation thread; other threads use submit
+ * - Radar frames are copied on the simulation thread between ticks; the radar thread only sees frames
+ * - CityView callbacks arrive on the simulation thread; views hop to the EDT themselves
+ * - Load counters are written by the simulation thread only and are safe to read anywhere
+ * - The update pool's workers are created on demand and retire when idle; stop shuts the pool down
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.manager;
+
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import com.example.detection.CollisionDetector;
+import com.example.detection.RadarNetwork;
+import com.example.detection.RadarSweepEngine;
+import com.example.flight.JetPackFlight;
+import com.example.flight.JetPackFlightState;
+import com.example.jetpack.JetPack;
+import com.example.logging.CityLogManager;
+import com.example.parking.ParkingSpace;
+import com.example.parking.ParkingSpaceManager;
+import com.example.radio.Radio;
+import com.example.simulation.CitySimulation;
+import com.example.simulation.SimulationEngine;
+import com.example.simulation.SimulationRandom;
+import com.example.ui.citymap.CityMapFlightInitializer;
+import com.example.weather.Weather;
+
+/**
+ * CityRuntime runs one city's simulation, radar and weather on its own threads.
+ */
+public class CityRuntime implements CitySimulation.WeatherResponse {
+
+    /**
+     * A display attached to a running city.
+     */
+    public interface CityView {
+        /** Called on the simulation thread after each published batch of ticks */
+        void onTick(long tick);
+        /** Called with each movement log message while attached */
+        void onMovement(String message);
+        /** Called with each radar tape message while attached */
+        void onRadarMessage(String message);
+        /** Called on the simulation thread after the weather changes */
+        void onWeatherChanged(int oldSeverity, int newSeverity);
+    }
+
+    /** Simulated time per tick (ms); 25 ticks per second */
+    public static final long TICK_MILLIS = 40;
+    /** Ticks between random weather changes (30 simulated seconds) */
+    public static final int WEATHER_CHANGE_TICKS = 750;
+    /** Most worker threads one city moves its flights on */
+    public static final int MAX_UPDATE_THREADS = 4;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final DateTimeFormatter LOG_TIME = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final String city;
+    private final List<JetPack> jetpacks;
+    private final BufferedImage mapImage;
+    private final int mapWidth;
+    private final int mapHeight;
+    private final CityLogManager logManager;
+    private final Weather weather;
+    private final Radio radio;
+    private final ParkingSpaceManager parkingManager;
+    private final List<ParkingSpace> parkingSpaces;
+    private final List<JetPackFlight> flights = new ArrayList<>();
+    private final Map<JetPackFlight, JetPackFlightState> flightStates = new HashMap<>();
+    private final CitySimulation simulation;
+    private final ForkJoinPool updatePool;
+    private final List<Thread> updateWorkers = new CopyOnWriteArrayList<>();
+    private final SimulationEngine engine;
+    private final RadarNetwork radarNetwork;
+    private final RadarSweepEngine radarSweepEngine;
+    private final List<CityView> views = new CopyOnWriteArrayList<>();
+
+    // Load accounting, written by the simulation thread only
+    private volatile long measuredTicks;
+    private volatile long cpuNanos;
+    private volatile long wallNanos;
+    private volatile long maxTickNanos;
+
+    /**
+     * Builds a city's world; nothing runs until start.
+     *
+     * @param city City name, also the log file key
+     * @param jetpacks Fleet to fly
+     * @param mapImage Road map used for parking placement and landing checks
+     * @param logManager Log files shared by all cities; null runs the city without log files
+     */
+    public CityRuntime(String city, List<JetPack> jetpacks, BufferedImage mapImage, CityLogManager logManager) {
+        this.city = city;
+        this.jetpacks = Collections.unmodifiableList(new ArrayList<>(jetpacks));
+        this.mapImage = mapImage;
+        this.mapWidth = mapImage.getWidth();
+        this.mapHeight = mapImage.getHeight();
+        this.logManager = logManager;
+        this.weather = new Weather();
+        this.radio = new Radio("122.8", "ATC-" + city.toUpperCase().substring(0, 3));
+        this.parkingManager = new ParkingSpaceManager(city);
+        parkingManager.initializeParkingSpaces(mapWidth, mapHeight, mapImage);
+        this.parkingSpaces = parkingManager.getParkingSpaces();
+        CityMapFlightInitializer.initializeFlights(new ArrayList<>(jetpacks), flights, flightStates, parkingSpaces, radio,
+            mapWidth, mapHeight, mapImage, this::logMovement, flightStates::get);
+
+        simulation = new CitySimulation(flights, flightStates, weather, this, mapWidth, mapHeight,
+            SimulationRandom.newRandom());
+        int parallelism = Math.max(1, Math.min(MAX_UPDATE_THREADS, Runtime.getRuntime().availableProcessors()));
+        updatePool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            worker.setName("update-" + city + "-" + worker.getPoolIndex());
+            updateWorkers.add(worker);  // CPU time is charged to this city
+            return worker;
+        }, null, false);
+        simulation.setUpdatePool(updatePool);  // Only used once the city outgrows one chunk
+        simulation.setLocalSweepsEnabled(false);  // Frames come from the radar sweep engine
+        engine = new SimulationEngine("simulation-" + city, TICK_MILLIS, this::step);
+        engine.addListener(tick -> {
+            for (CityView view : views) {
+                view.onTick(tick);
+            }
+        });
+
+        // Overlapping sector radars sweep in parallel on each frame; their conflicts are the city's proximity
+        // alerts, so pairs are reported out to the distance at which an alert clears
+        radarNetwork = new RadarNetwork(CollisionDetector.getWarningDistance() + CollisionDetector.getHysteresisMargin(),
+            CollisionDetector.getVerticalSeparation());
+        radarNetwork.addGridCoverage("RADAR-" + city.toUpperCase(), mapWidth, mapHeight, 2, 2);
+        radarSweepEngine = new RadarSweepEngine(null, flights, flightStates, engine::submit);  // Sampled between ticks
+        radarSweepEngine.setIntervalSource(radarNetwork::getScanInterval);  // Sweeps at the sector radars' scan interval
+        radarSweepEngine.addListener(radarNetwork::ingest);
+    }
+
+    /**
+     * Starts the simulation and radar threads; does nothing if already running.
+     */
+    public synchronized void start() {
+        engine.start();
+        radarSweepEngine.start();
+    }
+
+    /**
+     * Stops the city; attached views simply stop receiving ticks.
+     */
+    public synchronized void stop() {
+        radarSweepEngine.stop();
+        engine.stop();
+        radarNetwork.shutdown();
+        updatePool.shutdown();
+    }
+
+    /** Attaches a view; it receives callbacks from the next tick on */
+    public void attach(CityView view) { views.add(view); }
+    /** Detaches a view; the city keeps running */
+    public void detach(CityView view) { views.remove(view); }
+
+    /**
+     * Queues a change to the world to run on the simulation thread before the next tick.
+     */
+    public void submit(Runnable command) {
+        engine.submit(command);
+    }
+
+    /**
+     * Sends a radar tape message to attached views; dropped while nobody watches, as with a closed tape.
+     */
+    public void postRadarMessage(String message) {
+        for (CityView view : views) {
+            view.onRadarMessage(message);
+        }
+    }
+
+    private void step(long tick) {
+        long cpuStart = THREADS.getCurrentThreadCpuTime();  // -1 where unsupported
+        long workerStart = workerCpuNanos();
+        long wallStart = System.nanoTime();
+        simulation.step(tick);
+        if (tick % WEATHER_CHANGE_TICKS == 0) {
+            changeWeather();
+        }
+        long elapsed = System.nanoTime() - wallStart;
+        long cpu = (cpuStart >= 0) ? THREADS.getCurrentThreadCpuTime() - cpuStart : elapsed;
+        cpu += Math.max(0, workerCpuNanos() - workerStart);  // A worker retiring mid-tick takes its time with it
+        measuredTicks++;
+        cpuNanos += cpu;
+        wallNanos += elapsed;
+        if (elapsed > maxTickNanos) {
+            maxTickNanos = elapsed;
+        }
+    }
+
+    /**
+     * Returns the CPU time of this city's live update workers, dropping retired ones.
+     */
+    private long workerCpuNanos() {
+        if (updateWorkers.isEmpty()) return 0;  // Small fleets never start a worker
+        long total = 0;
+        for (Thread worker : updateWorkers) {
+            long cpu = THREADS.getThreadCpuTime(worker.getId());  // -1 once the thread has exited
+            if (cpu >= 0) {
+                total += cpu;
+            } else if (worker.getState() == Thread.State.TERMINATED) {
+                updateWorkers.remove(worker);
+            }
+        }
+        return total;
+    }
+
+    private void changeWeather() {
+        int oldSeverity = weather.getCurrentSeverity();
+        weather.changeWeatherRandomly();
+        int newSeverity = weather.getCurrentSeverity();
+        if (oldSeverity >= 4 && newSeverity < 4) {
+            resumeFlightsAfterWeather();
+        }
+        if (views.isEmpty() && logManager != null) {  // Attached views log the broadcast themselves
+            logManager.writeToWeatherLog(city, "[" + LocalDateTime.now().format(LOG_TIME) + "] " + city + ": "
+                + weather.getCurrentWeather() + " (" + newSeverity + "/5)");
+        }
+        for (CityView view : views) {
+            view.onWeatherChanged(oldSeverity, newSeverity);
+        }
+    }
+
+    private void logMovement(String message) {
+        if (views.isEmpty()) {
+            if (logManager == null) return;
+            logManager.writeToJetpackLog(city, "[" + LocalDateTime.now().format(LOG_TIME) + "] " + message);
+            return;
+        }
+        for (CityView view : views) {
+            view.onMovement(message);  // The view displays and logs it
+        }
+    }
+
+    /**
+     * Grounds all active flights immediately
+     */
+    @Override
+    public void groundAllFlights(String reason) {
+        for (JetPackFlight flight : flights) {
+            JetPackFlightState state = flightStates.get(flight);
+            if (state != null && !state.isParked() && !flight.isEmergencyHalt()) {
+                flight.halt(reason);
+            }
+        }
+        postRadarMessage("🚨 ALL FLIGHTS GROUNDED - " + reason);
+        radio.broadcastToAll("EMERGENCY GROUNDING ORDER: " + reason +
+            " - ALL AIRCRAFT CEASE OPERATIONS IMMEDIATELY");
+    }
+
+    /**
+     * Initiates emergency landing procedures for all active flights
+     */
+    @Override
+    public void initiateEmergencyLandings(String reason) {
+        int landingCount = 0;
+        for (JetPackFlight flight : flights) {
+            JetPackFlightState state = flightStates.get(flight);
+            if (state != null && !state.isParked() && !flight.isEmergencyHalt() &&
+                !"EMERGENCY LANDING".equals(flight.getCurrentStatus())) {
+                flight.emergencyLanding(parkingSpaces, reason);
+                landingCount++;
+            }
+        }
+        if (landingCount > 0) {
+            postRadarMessage("⚠️ EMERGENCY LANDING INITIATED FOR " + landingCount + " FLIGHTS - " + reason);
+            radio.broadcastToAll("EMERGENCY LANDING ORDER: " + reason +
+                " - ALL AIRCRAFT PROCEED TO NEAREST PARKING IMMEDIATELY");
+        }
+    }
+
+    /**
+     * Resumes flights after severe weather has cleared
+     */
+    private void resumeFlightsAfterWeather() {
+        int resumedCount = 0;
+        for (JetPackFlight flight : flights) {
+            if (flight.isEmergencyHalt() && flight.getCurrentStatus().contains("WEATHER")) {
+                flight.clearEmergencyHalt();
+                resumedCount++;
+            }
+        }
+        if (resumedCount > 0) {
+            postRadarMessage("✅ WEATHER CLEARED - " + resumedCount + " FLIGHTS RESUMING OPERATIONS");
+            radio.broadcastToAll("WEATHER CONDITIONS IMPROVED - FLIGHT OPERATIONS MAY RESUME WITH CAUTION");
+        }
+    }
+
+    /**
+     * Returns this city's load since start: CPU and wall time spent in ticks, and ticks skipped.
+     */
+    public CityLoad getLoad() {
+        return new CityLoad(city, measuredTicks, cpuNanos, wallNanos, maxTickNanos, engine.getSkippedTicks());
+    }
+
+    public String getCity() { return city; }
+    /** Returns the fleet flown by this city */
+    public List<JetPack> getJetpacks() { return jetpacks; }
+    public BufferedImage getMapImage() { return mapImage; }
+    public int getMapWidth() { return mapWidth; }
+    public int getMapHeight() { return mapHeight; }
+    public Weather getWeather() { return weather; }
+    public Radio getRadio() { return radio; }
+    public ParkingSpaceManager getParkingManager() { return parkingManager; }
+    public List<ParkingSpace> getParkingSpaces() { return parkingSpaces; }
+    /** Returns the live flight list; only mutate it through submit */
+    public List<JetPackFlight> getFlights() { return flights; }
+    /** Returns the live flight states; only mutate them through submit */
+    public Map<JetPackFlight, JetPackFlightState> getFlightStates() { return flightStates; }
+    public CitySimulation getSimulation() { return simulation; }
+    public SimulationEngine getEngine() { return engine; }
+    /** Returns the pool this city, and only this city, moves large fleets on */
+    public ForkJoinPool getUpdatePool() { return updatePool; }
+    public RadarNetwork getRadarNetwork() { return radarNetwork; }
+    public RadarSweepEngine getRadarSweepEngine() { return radarSweepEngine; }
+    public boolean isRunning() { return engine.isRunning(); }
+
+    /**
+     * Immutable load figures for one city.
+     */
+    public static final class CityLoad {
+        private final String city;
+        private final long ticks;
+        private final long cpuNanos;
+        private final long wallNanos;
+        private final long maxTickNanos;
+        private final long skippedTicks;
+
+        CityLoad(String city, long ticks, long cpuNanos, long wallNanos, long maxTickNanos, long skippedTicks) {
+            this.city = city;
+            this.ticks = ticks;
+            this.cpuNanos = cpuNanos;
+            this.wallNanos = wallNanos;
+            this.maxTickNanos = maxTickNanos;
+            this.skippedTicks = skippedTicks;
+        }
+
+        public String getCity() { return city; }
+        public long getTicks() { return ticks; }
+        /** Returns CPU time spent in ticks by the simulation thread and the city's update workers, in ms */
+        public double getCpuMillis() { return cpuNanos / 1e6; }
+        /** Returns the mean wall-clock tick latency in ms */
+        public double getMeanTickMillis() { return ticks == 0 ? 0 : wallNanos / 1e6 / ticks; }
+        /** Returns the slowest tick so far in ms */
+        public double getMaxTickMillis() { return maxTickNanos / 1e6; }
+        /** Returns ticks dropped because the city fell too far behind */
+        public long getSkippedTicks() { return skippedTicks; }
+
+        @Override
+        public String toString() {
+            return String.format("%-9s %8d ticks  cpu %9.1f ms  mean %6.3f ms  max %7.3f ms  skipped %d",
+                city, ticks, getCpuMillis(), getMeanTickMillis(), getMaxTickMillis(), skippedTicks);
+        }
+    }
+}
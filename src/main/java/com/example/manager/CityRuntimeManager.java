@@ -0,0 +1,146 @@
+/**
+ * Centralized management for the per-city runtimes that keep every region flying.
+ *
+ * Purpose:
+ * Operates all cities at once. Every city gets its own CityRuntime, running on its own simulation
+ * and radar threads for the lifetime of the application, so selecting a city on screen only
+ * attaches a view to a world that is already running.
+ *
+ * Key Responsibilities:
+ * - Create a runtime per city from CityJetpackManager's fleets and the city road maps
+ * - Start and stop all cities together
+ * - Report per-city CPU time, tick latency and skipped ticks, with each city's share of CPU
+ *
+ * Interactions:
+ * - Owned by AirTrafficControllerFrame; CityMapPanel attaches to getRuntime(city)
+ * - Reads fleets from CityJetpackManager; shares CityLogManager across cities
+ *
+ * Patterns & Constraints:
+ * - Manager pattern centralizes runtime lifecycle
+ * - Runtimes are created up front; the registry never changes afterwards
+ * - A city whose map cannot be loaded is skipped and reported, the others still run
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.manager;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.example.logging.CityLogManager;
+import com.example.parking.ParkingPool;
+import com.example.utility.water.LandDistanceMap;
+import com.example.utility.water.TerrainMask;
+
+/**
+ * CityRuntimeManager runs every city concurrently and reports their load.
+ */
+public class CityRuntimeManager {
+
+    /** Map of city names to runtimes, in creation order */
+    private final Map<String, CityRuntime> runtimes = new LinkedHashMap<>();
+
+    /**
+     * Creates a runtime for every city with a fleet.
+     *
+     * @param jetpackManager Fleets per city
+     * @param logManager Log files shared by all cities
+     * @param mapLoader Loads a city's road map by name
+     */
+    public CityRuntimeManager(CityJetpackManager jetpackManager, CityLogManager logManager,
+                              Function<String, BufferedImage> mapLoader) {
+        for (String city : new String[] {"New York", "Boston", "Houston", "Dallas"}) {
+            if (jetpackManager.getJetpacksForCity(city) == null) continue;
+            try {
+                runtimes.put(city, new CityRuntime(city, jetpackManager.getJetpacksForCity(city),
+                    mapLoader.apply(city), logManager));
+            } catch (RuntimeException e) {
+                System.err.println("City " + city + " not started: " + e.getMessage());  // Others still run
+            }
+        }
+    }
+
+    /**
+     * Starts every city.
+     */
+    public void startAll() {
+        for (CityRuntime runtime : runtimes.values()) {
+            runtime.start();
+        }
+    }
+
+    /**
+     * Stops every city.
+     */
+    public void stopAll() {
+        for (CityRuntime runtime : runtimes.values()) {
+            runtime.stop();
+        }
+    }
+
+    /**
+     * Gets the runtime for a city, or null if the city is not running.
+     */
+    public CityRuntime getRuntime(String city) {
+        return runtimes.get(city);
+    }
+
+    /**
+     * Gets all runtimes in creation order.
+     */
+    public List<CityRuntime> getRuntimes() {
+        return Collections.unmodifiableList(new ArrayList<>(runtimes.values()));
+    }
+
+    /**
+     * Returns the current load of every city.
+     */
+    public List<CityRuntime.CityLoad> getLoads() {
+        List<CityRuntime.CityLoad> loads = new ArrayList<>();
+        for (CityRuntime runtime : runtimes.values()) {
+            loads.add(runtime.getLoad());
+        }
+        return loads;
+    }
+
+    /**
+     * Formats a per-city CPU and latency breakdown, one line per city plus each city's CPU share,
+     * followed by each city's parking reservation conflicts and retries, and its terrain mask
+     * and nearest-land map build times and memory (the latter once a landing over water has built it).
+     */
+    public String formatLoadReport() {
+        List<CityRuntime.CityLoad> loads = getLoads();
+        double totalCpu = 0;
+        for (CityRuntime.CityLoad load : loads) {
+            totalCpu += load.getCpuMillis();
+        }
+        StringBuilder sb = new StringBuilder("City load (simulation threads)\n");
+        for (CityRuntime.CityLoad load : loads) {
+            double share = (totalCpu > 0) ? 100.0 * load.getCpuMillis() / totalCpu : 0;
+            sb.append(load).append(String.format("  share %5.1f%%", share)).append('\n');
+        }
+        sb.append("Parking contention\n");
+        for (CityRuntime runtime : runtimes.values()) {
+            ParkingPool pool = runtime.getParkingManager().getParkingPool();
+            if (pool != null) {
+                sb.append(String.format("%-9s ", runtime.getCity())).append(pool.formatContention()).append('\n');
+            }
+        }
+        sb.append("Terrain\n");
+        for (CityRuntime runtime : runtimes.values()) {
+            TerrainMask terrain = TerrainMask.cached(runtime.getMapImage());
+            if (terrain == null) continue;
+            LandDistanceMap land = terrain.getLandDistanceMapIfBuilt();
+            sb.append(String.format("%-9s mask ", runtime.getCity())).append(terrain.formatFootprint()).append('\n');
+            sb.append(String.format("%-9s nearest-land ", ""))
+              .append(land != null ? land.formatFootprint() : "not built yet (no landing over water)").append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -38,6 +38,7 @@ import com.example.flight.JetPackFlight;
 import com.example.flight.JetPackFlightState;
 import com.example.logging.CityLogManager;
 import com.example.radio.Radio;
+import com.example.simulation.SimulationRandom;
 import com.example.weather.Weather;
 
 /**
@@ -67,7 +68,7 @@ public class RadioInstructionManager {
         this.cityRadio = cityRadio;  // Store radio communication system
         this.city = city;  // Store city name for logging context
         this.logManager = logManager;  // Store log manager for instruction logging
-        this.random = new Random();  // Initialize random number generator for probabilistic events
+        this.random = SimulationRandom.newRandom();  // Initialize random number generator for probabilistic events
     }
     
     /**
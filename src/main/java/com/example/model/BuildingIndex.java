@@ -0,0 +1,194 @@
+/**
+ * Static uniform grid over building footprints for obstacle and proximity queries.
+ *
+ * Purpose:
+ * Obstacle checks used to test every building in the city for every flight on every tick. The grid
+ * buckets each footprint into the cells it overlaps once, when the city model is built, so a point
+ * query reads one cell and a radius query reads only the cells the circle's bounding box covers.
+ *
+ * Key Responsibilities:
+ * - Bucket building footprints into fixed-size cells over the buildings' bounding box
+ * - Find the first building (in list order) whose footprint contains a point
+ * - Find all buildings within a distance of a point, in list order
+ *
+ * Interactions:
+ * - Built by CityModel3D after building generation
+ * - Backs CityModel3D.getBuildingAt, getTerrainType and getBuildingsNear; in the running app only
+ *   getTerrainType is called, by the 3D tracking views
+ * - Would back the obstacle check in FlightMovementController, but the live simulation never gives
+ *   its flights a city model, so that check is only exercised by tests
+ *
+ * Patterns & Constraints:
+ * - Immutable after construction; safe to share across threads
+ * - Compressed layout: cellStart holds offsets into one flat array of building indices, so the grid
+ *   needs no per-cell lists
+ * - Results match a linear scan of the building list exactly, including order
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BuildingIndex is an immutable uniform grid over Building3D footprints.
+ */
+public final class BuildingIndex {
+    /** Default cell edge in map units, a few typical footprints wide */
+    public static final double DEFAULT_CELL_SIZE = 64;
+
+    private final Building3D[] buildings;
+    private final double cellSize;
+    private final double minX;
+    private final double minY;
+    private final int cols;
+    private final int rows;
+    private final int[] cellStart;  // cellStart[c]..cellStart[c + 1] index into cellItems
+    private final int[] cellItems;  // Building indices, ascending within each cell
+
+    /**
+     * Builds the index with the default cell size.
+     */
+    public BuildingIndex(List<Building3D> buildings) {
+        this(buildings, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Builds the index.
+     *
+     * @param buildings Buildings to index; later changes to the list are not seen
+     * @param cellSize Cell edge in map units
+     */
+    public BuildingIndex(List<Building3D> buildings, double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.buildings = buildings.toArray(new Building3D[0]);
+        this.cellSize = cellSize;
+        double loX = Double.POSITIVE_INFINITY, loY = Double.POSITIVE_INFINITY;
+        double hiX = Double.NEGATIVE_INFINITY, hiY = Double.NEGATIVE_INFINITY;
+        for (Building3D b : this.buildings) {  // Grid spans the union of all footprints
+            loX = Math.min(loX, b.getX());
+            loY = Math.min(loY, b.getY());
+            hiX = Math.max(hiX, b.getX() + b.getWidth());
+            hiY = Math.max(hiY, b.getY() + b.getLength());
+        }
+        if (this.buildings.length == 0) {
+            loX = loY = hiX = hiY = 0;
+        }
+        this.minX = loX;
+        this.minY = loY;
+        this.cols = Math.max(1, (int) Math.floor((hiX - loX) / cellSize) + 1);
+        this.rows = Math.max(1, (int) Math.floor((hiY - loY) / cellSize) + 1);
+
+        // Two passes: count per cell, then fill, giving a compact prefix-sum layout
+        int[] counts = new int[cols * rows + 1];
+        for (Building3D b : this.buildings) {
+            forEachCell(b, cell -> counts[cell + 1]++);
+        }
+        for (int c = 0; c < cols * rows; c++) {
+            counts[c + 1] += counts[c];
+        }
+        this.cellStart = counts;
+        this.cellItems = new int[counts[cols * rows]];
+        int[] fill = Arrays.copyOf(counts, cols * rows);
+        for (int i = 0; i < this.buildings.length; i++) {
+            final int index = i;
+            forEachCell(this.buildings[i], cell -> cellItems[fill[cell]++] = index);  // Ascending: i grows
+        }
+    }
+
+    /** Returns the number of indexed buildings */
+    public int size() { return buildings.length; }
+    /** Returns the number of grid cells */
+    public int getCellCount() { return cols * rows; }
+
+    /**
+     * Returns the first building, in list order, whose footprint contains the point, or null.
+     */
+    public Building3D findContaining(double x, double y) {
+        int col = column(x);
+        int row = row(y);
+        if (col < 0 || row < 0) return null;  // Outside every footprint
+        int cell = row * cols + col;
+        for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+            Building3D b = buildings[cellItems[k]];
+            if (b.containsPoint(x, y)) {
+                return b;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns buildings within radius of the point (0 inside the footprint), in list order.
+     */
+    public List<Building3D> findNear(double x, double y, double radius) {
+        List<Building3D> result = new ArrayList<>();
+        if (radius < 0 || buildings.length == 0) return result;
+        int colLo = clampColumn(x - radius);
+        int colHi = clampColumn(x + radius);
+        int rowLo = clampRow(y - radius);
+        int rowHi = clampRow(y + radius);
+        int[] candidates = new int[16];
+        int count = 0;
+        for (int row = rowLo; row <= rowHi; row++) {
+            for (int col = colLo; col <= colHi; col++) {
+                int cell = row * cols + col;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int index = cellItems[k];
+                    if (buildings[index].distanceTo(x, y) <= radius) {
+                        if (count == candidates.length) candidates = Arrays.copyOf(candidates, count * 2);
+                        candidates[count++] = index;
+                    }
+                }
+            }
+        }
+        Arrays.sort(candidates, 0, count);  // Back to list order; spanning footprints appear once per cell
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || candidates[i] != candidates[i - 1]) {
+                result.add(buildings[candidates[i]]);
+            }
+        }
+        return result;
+    }
+
+    private interface CellVisitor {
+        void visit(int cell);
+    }
+
+    private void forEachCell(Building3D b, CellVisitor visitor) {
+        int colLo = clampColumn(b.getX());
+        int colHi = clampColumn(b.getX() + b.getWidth());
+        int rowLo = clampRow(b.getY());
+        int rowHi = clampRow(b.getY() + b.getLength());
+        for (int row = rowLo; row <= rowHi; row++) {
+            for (int col = colLo; col <= colHi; col++) {
+                visitor.visit(row * cols + col);
+            }
+        }
+    }
+
+    /** Column of x, or -1 when outside the grid */
+    private int column(double x) {
+        double c = Math.floor((x - minX) / cellSize);
+        return (c < 0 || c >= cols) ? -1 : (int) c;
+    }
+
+    /** Row of y, or -1 when outside the grid */
+    private int row(double y) {
+        double r = Math.floor((y - minY) / cellSize);
+        return (r < 0 || r >= rows) ? -1 : (int) r;
+    }
+
+    private int clampColumn(double x) {
+        return (int) Math.max(0, Math.min(cols - 1, Math.floor((x - minX) / cellSize)));
+    }
+
+    private int clampRow(double y) {
+        return (int) Math.max(0, Math.min(rows - 1, Math.floor((y - minY) / cellSize)));
+    }
+}
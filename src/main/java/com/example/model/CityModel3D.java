@@ -29,9 +29,15 @@ package com.example.model;
 
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 
+import com.example.navigation.OccupancyGrid;
+import com.example.navigation.RoutePlanner;
+import com.example.simulation.SimulationRandom;
+import com.example.utility.water.TerrainMask;
+
 /**
  * CityModel3D - Main 3D city model class for rendering and simulation.
  * Handles feature extraction, procedural building generation, and terrain queries.
@@ -50,6 +56,9 @@ public class CityModel3D {
     private final int mapWidth;  // Cached map width for performance
     private final int mapHeight;  // Cached map height for performance
     private final Random random;  // RNG for procedural generation variance
+    private final BuildingIndex buildingIndex;  // Grid over building footprints, built once after generation
+    private TerrainMask terrain;  // Own copy, not the shared cache: generation paints rivers onto the map
+    private final RoutePlanner routePlanner;  // Detour planning around buildings and water, built once after generation
 
     public CityModel3D(String cityName, BufferedImage cityMap) {
         this.cityName = cityName;  // Store city identifier
@@ -60,38 +69,39 @@ public class CityModel3D {
         this.roads = new ArrayList<>();  // Initialize empty road list
         this.bridges = new ArrayList<>();  // Initialize empty bridge list
         this.houses = new ArrayList<>();  // Initialize empty house list
-        this.random = new Random();  // Create RNG for procedural generation
+        this.random = SimulationRandom.newRandom();  // Create RNG for procedural generation
+        this.terrain = new TerrainMask(cityMap);  // Classify every pixel once
         extractMapFeatures();  // Extract roads, bridges, houses from map colors
         generateCityBuildings();  // Generate city-specific building layout
+        this.terrain = new TerrainMask(cityMap);  // Reclassify with the rivers painted during generation
+        this.buildingIndex = new BuildingIndex(buildings);  // Buildings never change after this point
+        this.routePlanner = new RoutePlanner(new OccupancyGrid(mapWidth, mapHeight, buildings, this::isWater));
     }
 
     /**
      * Extract roads, bridges, and houses from the city map image using color/style conventions
      */
     private void extractMapFeatures() {
-        // Example color conventions (adjust as needed to match your map style):
-        // Roads: gray (RGB close to 128,128,128)
-        // Bridges: orange/yellow (RGB high red+green, low blue)
-        // Houses: brown (RGB high red, medium green, low blue)
-        // Water: already handled
+        // Roads and bridges come from the terrain mask (gray pavement, yellow/orange decks);
+        // houses are brown land pixels, so only land needs its color checked
+        byte[] classes = new byte[mapWidth];  // Terrain classes of the current row
+        int[] rgbRow = new int[mapWidth];  // Colors of the current row, read in one call
         for (int y = 0; y < mapHeight; y += 2) {  // Iterate through rows, step by 2 for performance
+            terrain.getRow(y, 0, mapWidth, classes, 0);  // Bulk read of the row's classes
+            cityMap.getRGB(0, y, mapWidth, 1, rgbRow, 0, mapWidth);  // Bulk read of the row's colors
             for (int x = 0; x < mapWidth; x += 2) {  // Iterate through columns, step by 2 for performance
-                int rgb = cityMap.getRGB(x, y);  // Get pixel color at current position
-                int r = (rgb >> 16) & 0xFF;  // Extract red component (bits 16-23)
-                int g = (rgb >> 8) & 0xFF;  // Extract green component (bits 8-15)
-                int b = rgb & 0xFF;  // Extract blue component (bits 0-7)
-
-                // Detect road (gray)
-                if (Math.abs(r - g) < 15 && Math.abs(r - b) < 15 && r > 80 && r < 200) {  // Check if RGB values are similar and in gray range
+                if (classes[x] == TerrainMask.ROAD) {  // Gray pixel
                     roads.add(new Road3D(x, y, 20, 6, 0));  // Create road segment at this position
-                }
-                // Detect bridge (yellow/orange)
-                else if (r > 180 && g > 120 && b < 100) {  // Check for warm colors (high red/green, low blue)
+                } else if (classes[x] == TerrainMask.BRIDGE) {  // Warm colors (high red/green, low blue)
                     bridges.add(new Bridge3D(x, y, 30, 8, 0));  // Create bridge structure at this position
-                }
-                // Detect house (brown)
-                else if (r > 120 && g > 60 && g < 120 && b < 80) {  // Check for brown tones
-                    houses.add(new House3D(x, y, 10, 10, 18));  // Create house model at this position
+                } else if (classes[x] == TerrainMask.LAND) {
+                    int rgb = rgbRow[x];
+                    int r = (rgb >> 16) & 0xFF;  // Extract red component (bits 16-23)
+                    int g = (rgb >> 8) & 0xFF;  // Extract green component (bits 8-15)
+                    int b = rgb & 0xFF;  // Extract blue component (bits 0-7)
+                    if (r > 120 && g > 60 && g < 120 && b < 80) {  // Check for brown tones
+                        houses.add(new House3D(x, y, 10, 10, 18));  // Create house model at this position
+                    }
                 }
             }
         }
@@ -292,30 +302,20 @@ public class CityModel3D {
     }
     
     /**
-     * Check if a position is over water based on map pixel color
+     * Check if a position is over water, from the terrain mask
      */
     public boolean isWater(double x, double y) {
         if (x < 0 || x >= mapWidth || y < 0 || y >= mapHeight) {  // Check if position is outside map bounds
             return false;  // Out of bounds is not water
         }
-        
-        int px = (int)x;  // Convert double X to pixel coordinate
-        int py = (int)y;  // Convert double Y to pixel coordinate
-        
-        if (px < 0) px = 0;  // Clamp X to minimum bound
-        if (px >= mapWidth) px = mapWidth - 1;  // Clamp X to maximum bound
-        if (py < 0) py = 0;  // Clamp Y to minimum bound
-        if (py >= mapHeight) py = mapHeight - 1;  // Clamp Y to maximum bound
-        
-        int rgb = cityMap.getRGB(px, py);  // Get pixel color at clamped position
-        int red = (rgb >> 16) & 0xFF;  // Extract red component
-        int green = (rgb >> 8) & 0xFF;  // Extract green component
-        int blue = rgb & 0xFF;  // Extract blue component
-        
-        // Water detection: blue dominant color
-        // Water typically has: blue > red and blue > green
-        return (blue > red + 15 && blue > green + 10) ||  // Blue dominates by threshold (rivers, oceans)
-               (blue > 120 && red < 100 && green < 130);  // Strong blue with low red/green (deep water)
+        return terrain.isWater((int) x, (int) y);  // Packed two-bit lookup instead of getRGB
+    }
+    
+    /**
+     * Get the terrain mask (water, land, road, bridge) for bulk queries by renderers
+     */
+    public TerrainMask getTerrainMask() {
+        return terrain;
     }
     
     /**
@@ -326,11 +326,8 @@ public class CityModel3D {
             return "water";  // Return water terrain type
         }
         
-        // Check if in a building
-        for (Building3D building : buildings) {  // Iterate through all buildings
-            if (building.containsPoint(x, y)) {  // Check if point is within building bounds
-                return "building";  // Return building terrain type
-            }
+        if (buildingIndex.findContaining(x, y) != null) {  // Check if point is within any building footprint
+            return "building";  // Return building terrain type
         }
         
         return "land";  // Default to land terrain type
@@ -340,13 +337,21 @@ public class CityModel3D {
      * Get buildings near a position (for rendering)
      */
     public List<Building3D> getBuildingsNear(double x, double y, double radius) {
-        List<Building3D> nearBuildings = new ArrayList<>();  // Initialize result collection
-        for (Building3D building : buildings) {  // Iterate through all buildings
-            if (building.distanceTo(x, y) <= radius) {  // Check if building is within search radius
-                nearBuildings.add(building);  // Add building to result collection
-            }
-        }
-        return nearBuildings;  // Return nearby buildings
+        return buildingIndex.findNear(x, y, radius);  // Only cells the search circle can reach
+    }
+    
+    /**
+     * Get the first building whose footprint contains a position, or null (for obstacle checks)
+     */
+    public Building3D getBuildingAt(double x, double y) {
+        return buildingIndex.findContaining(x, y);  // One grid cell instead of every building
+    }
+    
+    /**
+     * Get the planner for obstacle-free routes around this city's buildings and water
+     */
+    public RoutePlanner getRoutePlanner() {
+        return routePlanner;  // Shared by every flight in the city; thread-safe
     }
     
     /**
@@ -366,7 +371,7 @@ public class CityModel3D {
     
     // Getters
     public List<Building3D> getBuildings() {
-        return buildings;  // Return all buildings in the city model
+        return Collections.unmodifiableList(buildings);  // Read-only so the building index stays valid
     }
     
 }
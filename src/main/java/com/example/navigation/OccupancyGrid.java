@@ -0,0 +1,249 @@
+/**
+ * Coarse blocked/free grid over a city map, built once for route planning.
+ *
+ * Purpose:
+ * Route planning needs to ask "can a jetpack fly through here?" thousands of times per search.
+ * The grid answers that with one array read per cell: each cell is blocked when a building
+ * footprint (grown by a clearance margin) overlaps it or when its center is over water.
+ *
+ * Key Responsibilities:
+ * - Rasterize building footprints, plus clearance, into blocked cells
+ * - Mark cells whose center is over water as blocked
+ * - Convert between map coordinates and cell indices
+ * - Test straight segments for a clear line of sight across cells
+ * - Find the nearest free cell to a blocked one
+ * - Label connected free areas, so unreachable goals are known without searching
+ *
+ * Interactions:
+ * - Built by CityModel3D from its buildings and water test, and by CityMapFlightInitializer from
+ *   the 2D map's water alone
+ * - Searched by RoutePlanner
+ *
+ * Patterns & Constraints:
+ * - Immutable after construction; safe to share across threads
+ * - Cells are indexed row-major (row * cols + col); coordinates outside the map are blocked
+ * - Water is sampled at each cell center, so water narrower than a cell may be missed
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.navigation;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.example.model.Building3D;
+
+/**
+ * OccupancyGrid marks which cells of a map are blocked by buildings or water.
+ */
+public final class OccupancyGrid {
+    /** Default cell edge in map units */
+    public static final double DEFAULT_CELL_SIZE = 12;
+    /** Default free space kept around building footprints, in map units */
+    public static final double DEFAULT_CLEARANCE = 8;
+
+    /**
+     * Classifies map positions as water.
+     */
+    public interface WaterMask {
+        boolean isWater(double x, double y);
+    }
+
+    private final double cellSize;
+    private final int cols;
+    private final int rows;
+    private final boolean[] blocked;
+    private final int blockedCount;
+    private final int[] component;  // Connected free area of each cell, -1 when blocked
+    private final int componentCount;
+
+    /**
+     * Builds the grid with the default cell size and clearance.
+     */
+    public OccupancyGrid(int mapWidth, int mapHeight, List<Building3D> buildings, WaterMask water) {
+        this(mapWidth, mapHeight, DEFAULT_CELL_SIZE, buildings, DEFAULT_CLEARANCE, water);
+    }
+
+    /**
+     * Builds the grid.
+     *
+     * @param mapWidth Map width in map units
+     * @param mapHeight Map height in map units
+     * @param cellSize Cell edge in map units
+     * @param buildings Building footprints to block; may be empty
+     * @param clearance Margin added around every footprint
+     * @param water Water test sampled at cell centers, or null for no water
+     */
+    public OccupancyGrid(int mapWidth, int mapHeight, double cellSize, List<Building3D> buildings, double clearance,
+                         WaterMask water) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (int) Math.ceil(mapWidth / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(mapHeight / cellSize));
+        this.blocked = new boolean[cols * rows];
+        for (Building3D b : buildings) {
+            int colLo = clampColumn(b.getX() - clearance);
+            int colHi = clampColumn(b.getX() + b.getWidth() + clearance);
+            int rowLo = clampRow(b.getY() - clearance);
+            int rowHi = clampRow(b.getY() + b.getLength() + clearance);
+            for (int row = rowLo; row <= rowHi; row++) {
+                Arrays.fill(blocked, row * cols + colLo, row * cols + colHi + 1, true);
+            }
+        }
+        if (water != null) {
+            for (int cell = 0; cell < blocked.length; cell++) {
+                if (!blocked[cell] && water.isWater(centerX(cell), centerY(cell))) {
+                    blocked[cell] = true;
+                }
+            }
+        }
+        int count = 0;
+        for (boolean b : blocked) {
+            if (b) count++;
+        }
+        this.blockedCount = count;
+        this.component = new int[blocked.length];
+        this.componentCount = labelComponents();
+    }
+
+    /** Returns the cell edge in map units */
+    public double getCellSize() { return cellSize; }
+    /** Returns the number of columns */
+    public int getColumns() { return cols; }
+    /** Returns the number of rows */
+    public int getRows() { return rows; }
+    /** Returns the number of cells */
+    public int getCellCount() { return blocked.length; }
+    /** Returns the number of blocked cells */
+    public int getBlockedCount() { return blockedCount; }
+
+    /** Returns the number of connected free areas */
+    public int getComponentCount() { return componentCount; }
+
+    /**
+     * Returns the connected free area of a cell (0 to getComponentCount() - 1), or -1 when blocked.
+     * Two free cells are connected exactly when RoutePlanner can find a path between them.
+     */
+    public int getComponent(int cell) { return component[cell]; }
+
+    /** Returns true if the cell is blocked */
+    public boolean isBlocked(int cell) { return blocked[cell]; }
+
+    /**
+     * Returns true if the map position is blocked or outside the map.
+     */
+    public boolean isBlocked(double x, double y) {
+        int cell = cellAt(x, y);
+        return cell < 0 || blocked[cell];
+    }
+
+    /**
+     * Returns the cell containing the position, or -1 when outside the map.
+     */
+    public int cellAt(double x, double y) {
+        double col = Math.floor(x / cellSize);
+        double row = Math.floor(y / cellSize);
+        if (col < 0 || col >= cols || row < 0 || row >= rows) return -1;
+        return (int) row * cols + (int) col;
+    }
+
+    /** Returns the cell containing the position, clamped onto the map */
+    public int clampedCellAt(double x, double y) {
+        return clampRow(y) * cols + clampColumn(x);
+    }
+
+    /** Returns the map x of a cell's center */
+    public double centerX(int cell) { return (cell % cols + 0.5) * cellSize; }
+    /** Returns the map y of a cell's center */
+    public double centerY(int cell) { return (cell / cols + 0.5) * cellSize; }
+
+    /**
+     * Returns true if every cell the segment passes through is free. Samples at most half a cell
+     * apart, so a segment cannot skip a blocked cell except by clipping a corner.
+     */
+    public boolean hasLineOfSight(double x1, double y1, double x2, double y2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        int steps = (int) Math.ceil(Math.sqrt(dx * dx + dy * dy) / (cellSize * 0.5));
+        for (int i = 0; i <= steps; i++) {
+            double t = steps == 0 ? 0 : (double) i / steps;
+            if (isBlocked(x1 + dx * t, y1 + dy * t)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the free cell nearest to the given cell (by rings of increasing Chebyshev distance,
+     * lowest index first within a ring), the cell itself when free, or -1 when every cell is blocked.
+     */
+    public int nearestFree(int cell) {
+        if (!blocked[cell]) return cell;
+        int col = cell % cols;
+        int row = cell / cols;
+        int maxRing = Math.max(cols, rows);
+        for (int ring = 1; ring <= maxRing; ring++) {
+            int best = -1;
+            double bestDist = Double.MAX_VALUE;
+            for (int r = Math.max(0, row - ring); r <= Math.min(rows - 1, row + ring); r++) {
+                for (int c = Math.max(0, col - ring); c <= Math.min(cols - 1, col + ring); c++) {
+                    if (Math.max(Math.abs(r - row), Math.abs(c - col)) != ring) continue;  // Ring border only
+                    int candidate = r * cols + c;
+                    double dist = (r - row) * (r - row) + (c - col) * (c - col);
+                    if (!blocked[candidate] && dist < bestDist) {
+                        best = candidate;
+                        bestDist = dist;
+                    }
+                }
+            }
+            if (best >= 0) return best;
+        }
+        return -1;
+    }
+
+    /**
+     * Flood-fills free cells with 4-connectivity, which matches 8-connected moves without corner
+     * cutting; returns the number of areas.
+     */
+    private int labelComponents() {
+        Arrays.fill(component, -1);
+        int[] queue = new int[blocked.length];
+        int labels = 0;
+        for (int seed = 0; seed < blocked.length; seed++) {
+            if (blocked[seed] || component[seed] >= 0) continue;
+            int head = 0, tail = 0;
+            queue[tail++] = seed;
+            component[seed] = labels;
+            while (head < tail) {
+                int cell = queue[head++];
+                int col = cell % cols;
+                if (col > 0) tail = visit(cell - 1, labels, queue, tail);
+                if (col < cols - 1) tail = visit(cell + 1, labels, queue, tail);
+                if (cell >= cols) tail = visit(cell - cols, labels, queue, tail);
+                if (cell + cols < blocked.length) tail = visit(cell + cols, labels, queue, tail);
+            }
+            labels++;
+        }
+        return labels;
+    }
+
+    private int visit(int cell, int label, int[] queue, int tail) {
+        if (!blocked[cell] && component[cell] < 0) {
+            component[cell] = label;
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+
+    private int clampColumn(double x) {
+        return (int) Math.max(0, Math.min(cols - 1, Math.floor(x / cellSize)));
+    }
+
+    private int clampRow(double y) {
+        return (int) Math.max(0, Math.min(rows - 1, Math.floor(y / cellSize)));
+    }
+}
@@ -0,0 +1,427 @@
+/**
+ * A* route planner over an OccupancyGrid with an LRU cache of routes between coarse map regions.
+ *
+ * Purpose:
+ * Detours used to be improvised (a point just past the building's corner, or a random offset),
+ * which regularly led flights into the next building or out over water. The planner searches the
+ * occupancy grid for a path around every blocked cell and smooths it into a short list of
+ * waypoints that FlightMovementController can follow with detour() or setWaypoints().
+ *
+ * Key Responsibilities:
+ * - Return the target alone when the straight line to it is clear
+ * - Otherwise run 8-connected A* (octile heuristic, no corner cutting) and pull the path taut so
+ *   only the turning points remain
+ * - Answer goals walled off from the start at once, from the grid's connected areas
+ * - Cache routes between coarse regions (blocks of COARSE_FACTOR x COARSE_FACTOR cells, per
+ *   connected area) in an LRU map; a query reuses the cached route, joining its own start and goal to the route's ends with
+ *   a straight line or a short local search
+ * - Count direct answers, cache hits, misses and full searches
+ *
+ * Interactions:
+ * - Owned by CityModel3D (buildings and water) and by CityMapFlightInitializer (water only)
+ * - Used by FlightEmergencyHandler for emergency reroutes (the city map's water-only planner), and
+ *   by FlightMovementController for building detours when a flight has a city model, which only
+ *   tests give it
+ *
+ * Patterns & Constraints:
+ * - Thread-safe: the grid is immutable, the cache is synchronized and each thread has its own
+ *   search buffers, so flights moved in parallel may plan at the same time
+ * - A cached route depends only on its key, never on which query filled the cache, so results are
+ *   the same whatever order flights plan in
+ * - Returned lists are new and owned by the caller; positions over blocked cells are only returned
+ *   as the final target (or the snap from a blocked start) when the caller asked for one
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.navigation;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RoutePlanner finds smoothed obstacle-free waypoint routes across a city.
+ */
+public final class RoutePlanner {
+    /** Grid cells per coarse region edge; routes are cached per pair of regions */
+    public static final int COARSE_FACTOR = 4;
+    /** Default number of cached routes */
+    public static final int DEFAULT_CACHE_SIZE = 4096;
+
+    private static final double DIAGONAL = Math.sqrt(2);
+    private static final Point[] UNREACHABLE = new Point[0];
+    private static final int[] NEIGHBOR_DC = { 1, -1, 0, 0, 1, 1, -1, -1 };
+    private static final int[] NEIGHBOR_DR = { 0, 0, 1, -1, 1, -1, 1, -1 };
+
+    private final OccupancyGrid grid;
+    private final int coarseCols;
+    private final int coarseCount;
+    private final Map<Long, Point[]> cache;
+    private final ThreadLocal<Search> searches;
+
+    private final LongAdder directRoutes = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder searchCount = new LongAdder();
+
+    /**
+     * Creates a planner with the default cache size.
+     */
+    public RoutePlanner(OccupancyGrid grid) {
+        this(grid, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a planner.
+     *
+     * @param grid Grid to search
+     * @param cacheSize Maximum number of cached region-to-region routes
+     */
+    public RoutePlanner(OccupancyGrid grid, int cacheSize) {
+        this.grid = grid;
+        this.coarseCols = (grid.getColumns() + COARSE_FACTOR - 1) / COARSE_FACTOR;
+        this.coarseCount = coarseCols * ((grid.getRows() + COARSE_FACTOR - 1) / COARSE_FACTOR);
+        this.cache = new LinkedHashMap<Long, Point[]>(64, 0.75f, true) {  // Access order: eldest is least recent
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Point[]> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.searches = ThreadLocal.withInitial(() -> new Search(grid.getCellCount()));
+    }
+
+    /**
+     * Plans a route from a position to a target.
+     *
+     * @return Waypoints to fly through in order, ending with the target itself; empty when the
+     *         target cannot be reached
+     */
+    public List<Point> plan(double fromX, double fromY, Point target) {
+        List<Point> route = new ArrayList<>();
+        if (grid.hasLineOfSight(fromX, fromY, target.x, target.y)) {
+            directRoutes.increment();
+            route.add(new Point(target));
+            return route;
+        }
+        int startCell = grid.nearestFree(grid.clampedCellAt(fromX, fromY));
+        int goalCell = grid.nearestFree(grid.clampedCellAt(target.x, target.y));
+        if (startCell < 0 || goalCell < 0 || grid.getComponent(startCell) != grid.getComponent(goalCell)) {
+            return route;  // Nothing on the map is free, or the goal is walled off from the start
+        }
+        // Search anchors: the positions themselves when free, else the nearest free cell centers
+        Point startAnchor = grid.isBlocked(fromX, fromY) ? centerOf(startCell) : null;
+        Point goalAnchor = grid.isBlocked(target.x, target.y) ? centerOf(goalCell) : null;
+        double sx = startAnchor != null ? startAnchor.x : fromX;
+        double sy = startAnchor != null ? startAnchor.y : fromY;
+        double gx = goalAnchor != null ? goalAnchor.x : target.x;
+        double gy = goalAnchor != null ? goalAnchor.y : target.y;
+
+        List<Point> middle = fromCache(startCell, goalCell, sx, sy, gx, gy);
+        if (middle == null) {
+            return route;  // Not expected: both cells are in one connected area
+        }
+        if (startAnchor != null) route.add(startAnchor);
+        route.addAll(taut(sx, sy, middle, gx, gy));
+        if (goalAnchor != null && (route.isEmpty() || !route.get(route.size() - 1).equals(goalAnchor))) {
+            route.add(goalAnchor);
+        }
+        route.add(new Point(target));
+        return route;
+    }
+
+    /**
+     * Returns the center of the free cell nearest to a position (the position's own cell when free),
+     * or null when every cell is blocked.
+     */
+    public Point nearestFreePoint(double x, double y) {
+        int cell = grid.nearestFree(grid.clampedCellAt(x, y));
+        return cell < 0 ? null : centerOf(cell);
+    }
+
+    /** Returns the grid this planner searches */
+    public OccupancyGrid getGrid() { return grid; }
+    /** Returns the number of queries answered with a straight line */
+    public long getDirectRoutes() { return directRoutes.sum(); }
+    /** Returns the number of queries answered from the route cache */
+    public long getCacheHits() { return cacheHits.sum(); }
+    /** Returns the number of queries whose region pair was not cached */
+    public long getCacheMisses() { return cacheMisses.sum(); }
+    /** Returns the number of full A* searches run (local joins to a cached route are not counted) */
+    public long getSearchCount() { return searchCount.sum(); }
+
+    /** Returns the number of cached routes */
+    public int getCachedRoutes() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Returns the cached route between the regions of the start and goal cells, filling the cache on
+     * a miss. Ends the anchors cannot see are joined with short local searches; null if a search fails.
+     */
+    private List<Point> fromCache(int startCell, int goalCell, double sx, double sy, double gx, double gy) {
+        int area = grid.getComponent(startCell);  // Same as the goal's
+        long key = (long) coarseOf(startCell) * coarseCount + coarseOf(goalCell);
+        key = key * grid.getComponentCount() + area;
+        Point[] cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached != null) {
+            cacheHits.increment();
+        } else {
+            cacheMisses.increment();
+            int from = representative(coarseOf(startCell), area);
+            int to = representative(coarseOf(goalCell), area);
+            if (from < 0 || to < 0) {
+                cached = UNREACHABLE;
+            } else if (from == to) {
+                cached = new Point[] { centerOf(from) };
+            } else {
+                searchCount.increment();
+                Point[] path = search(from, to);
+                if (path != UNREACHABLE) {
+                    // Stored taut, from one region's center to the other's, so hits only smooth a few points
+                    Point origin = centerOf(from);
+                    Point end = centerOf(to);
+                    List<Point> turns = taut(origin.x, origin.y, Arrays.asList(path).subList(0, path.length - 1), end.x, end.y);
+                    cached = new Point[turns.size() + 2];
+                    cached[0] = origin;
+                    for (int i = 0; i < turns.size(); i++) {
+                        cached[i + 1] = turns.get(i);
+                    }
+                    cached[cached.length - 1] = end;
+                } else {
+                    cached = UNREACHABLE;
+                }
+            }
+            synchronized (cache) {
+                cache.put(key, cached);
+            }
+        }
+        if (cached == UNREACHABLE || cached.length == 0) {
+            return null;
+        }
+        List<Point> route = new ArrayList<>(cached.length + 8);
+        Point first = cached[0];
+        if (!grid.hasLineOfSight(sx, sy, first.x, first.y)) {
+            int firstCell = grid.cellAt(first.x, first.y);
+            if (firstCell != startCell) {
+                Point[] head = search(startCell, firstCell);  // Short: both lie in the same region
+                if (head == UNREACHABLE) return null;
+                route.addAll(Arrays.asList(head).subList(0, head.length - 1));  // Last one is first itself
+            }
+        }
+        route.addAll(Arrays.asList(cached));
+        Point last = cached[cached.length - 1];
+        if (!grid.hasLineOfSight(last.x, last.y, gx, gy)) {
+            int lastCell = grid.cellAt(last.x, last.y);
+            if (lastCell != goalCell) {
+                Point[] tail = search(lastCell, goalCell);
+                if (tail == UNREACHABLE) return null;
+                route.addAll(Arrays.asList(tail));
+            }
+        }
+        return route;
+    }
+
+    /** Coarse region index of a cell */
+    private int coarseOf(int cell) {
+        int col = cell % grid.getColumns();
+        int row = cell / grid.getColumns();
+        return (row / COARSE_FACTOR) * coarseCols + col / COARSE_FACTOR;
+    }
+
+    /** Cell of the given connected area nearest the center of a coarse region (lowest index on ties), or -1 */
+    private int representative(int coarse, int area) {
+        int cols = grid.getColumns();
+        int colLo = (coarse % coarseCols) * COARSE_FACTOR;
+        int rowLo = (coarse / coarseCols) * COARSE_FACTOR;
+        double center = (COARSE_FACTOR - 1) / 2.0;
+        int best = -1;
+        double bestDist = Double.MAX_VALUE;
+        for (int row = rowLo; row < Math.min(rowLo + COARSE_FACTOR, grid.getRows()); row++) {
+            for (int col = colLo; col < Math.min(colLo + COARSE_FACTOR, cols); col++) {
+                int cell = row * cols + col;
+                double dist = (row - rowLo - center) * (row - rowLo - center) + (col - colLo - center) * (col - colLo - center);
+                if (grid.getComponent(cell) == area && dist < bestDist) {
+                    best = cell;
+                    bestDist = dist;
+                }
+            }
+        }
+        return best;
+    }
+
+    private Point centerOf(int cell) {
+        return new Point((int) grid.centerX(cell), (int) grid.centerY(cell));
+    }
+
+    /**
+     * Drops every waypoint the route can skip with a clear straight line, from start to goal.
+     * The start is not included in the result; the goal anchor is not either.
+     */
+    private List<Point> taut(double sx, double sy, List<Point> middle, double gx, double gy) {
+        int n = middle.size();
+        double[] xs = new double[n + 2];
+        double[] ys = new double[n + 2];
+        xs[0] = sx;
+        ys[0] = sy;
+        for (int i = 0; i < n; i++) {
+            xs[i + 1] = middle.get(i).x;
+            ys[i + 1] = middle.get(i).y;
+        }
+        xs[n + 1] = gx;
+        ys[n + 1] = gy;
+        List<Point> result = new ArrayList<>();
+        int anchor = 0;
+        while (anchor < n + 1) {
+            int next = anchor + 1;
+            while (next + 1 <= n + 1 && grid.hasLineOfSight(xs[anchor], ys[anchor], xs[next + 1], ys[next + 1])) {
+                next++;
+            }
+            if (next <= n) {
+                result.add(middle.get(next - 1));  // A turning point
+            }
+            anchor = next;
+        }
+        return result;
+    }
+
+    /**
+     * A* from one free cell to another; returns the cell centers after the start up to and including
+     * the goal, or UNREACHABLE.
+     */
+    private Point[] search(int startCell, int goalCell) {
+        if (startCell == goalCell) {
+            return new Point[] { centerOf(goalCell) };
+        }
+        Search s = searches.get();
+        s.begin();
+        int cols = grid.getColumns();
+        int rows = grid.getRows();
+        int goalCol = goalCell % cols;
+        int goalRow = goalCell / cols;
+        s.open(startCell, 0, heuristic(startCell % cols, startCell / cols, goalCol, goalRow), -1);
+        while (s.heapSize > 0) {
+            int cell = s.pop();
+            if (s.closed[cell] == s.stamp) continue;  // Stale heap entry
+            s.closed[cell] = s.stamp;
+            if (cell == goalCell) {
+                return s.path(goalCell, this);
+            }
+            int col = cell % cols;
+            int row = cell / cols;
+            for (int k = 0; k < 8; k++) {
+                int c = col + NEIGHBOR_DC[k];
+                int r = row + NEIGHBOR_DR[k];
+                if (c < 0 || c >= cols || r < 0 || r >= rows) continue;
+                int next = r * cols + c;
+                if (grid.isBlocked(next) || s.closed[next] == s.stamp) continue;
+                boolean diagonal = k >= 4;
+                if (diagonal && (grid.isBlocked(row * cols + c) || grid.isBlocked(r * cols + col))) {
+                    continue;  // No squeezing between two blocked corners
+                }
+                float g = s.cost[cell] + (float) (diagonal ? DIAGONAL : 1.0);
+                if (s.seen[next] != s.stamp || g < s.cost[next]) {
+                    s.open(next, g, g + heuristic(c, r, goalCol, goalRow), cell);
+                }
+            }
+        }
+        return UNREACHABLE;
+    }
+
+    /** Octile distance in cells */
+    private static float heuristic(int col, int row, int goalCol, int goalRow) {
+        int dx = Math.abs(col - goalCol);
+        int dy = Math.abs(row - goalRow);
+        return (float) (Math.max(dx, dy) + (DIAGONAL - 1) * Math.min(dx, dy));
+    }
+
+    /**
+     * Per-thread A* buffers; generation stamps avoid clearing them between searches.
+     */
+    private static final class Search {
+        final float[] cost;
+        final int[] parent;
+        final int[] seen;
+        final int[] closed;
+        int stamp;
+        int[] heapCell = new int[256];
+        float[] heapKey = new float[256];
+        int heapSize;
+
+        Search(int cells) {
+            cost = new float[cells];
+            parent = new int[cells];
+            seen = new int[cells];
+            closed = new int[cells];
+        }
+
+        void begin() {
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                Arrays.fill(closed, 0);
+                stamp = 1;
+            }
+            heapSize = 0;
+        }
+
+        void open(int cell, float g, float f, int from) {
+            seen[cell] = stamp;
+            cost[cell] = g;
+            parent[cell] = from;
+            if (heapSize == heapCell.length) {
+                heapCell = Arrays.copyOf(heapCell, heapSize * 2);
+                heapKey = Arrays.copyOf(heapKey, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0) {  // Sift up
+                int up = (i - 1) >>> 1;
+                if (heapKey[up] <= f) break;
+                heapCell[i] = heapCell[up];
+                heapKey[i] = heapKey[up];
+                i = up;
+            }
+            heapCell[i] = cell;
+            heapKey[i] = f;
+        }
+
+        int pop() {
+            int top = heapCell[0];
+            int lastCell = heapCell[--heapSize];
+            float lastKey = heapKey[heapSize];
+            int i = 0;
+            while (true) {  // Sift down
+                int child = 2 * i + 1;
+                if (child >= heapSize) break;
+                if (child + 1 < heapSize && heapKey[child + 1] < heapKey[child]) child++;
+                if (heapKey[child] >= lastKey) break;
+                heapCell[i] = heapCell[child];
+                heapKey[i] = heapKey[child];
+                i = child;
+            }
+            heapCell[i] = lastCell;
+            heapKey[i] = lastKey;
+            return top;
+        }
+
+        Point[] path(int goalCell, RoutePlanner planner) {
+            List<Point> reversed = new ArrayList<>();
+            for (int cell = goalCell; parent[cell] >= 0; cell = parent[cell]) {
+                reversed.add(planner.centerOf(cell));
+            }
+            Collections.reverse(reversed);
+            return reversed.toArray(new Point[0]);
+        }
+    }
+}
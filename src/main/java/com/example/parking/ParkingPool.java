@@ -0,0 +1,322 @@
+/**
+ * Live index of a city's free parking spaces for random picks and nearest-free queries.
+ *
+ * Purpose:
+ * Choosing parking used to copy every unoccupied space into a new list for each flight, and emergency
+ * landings scanned every space for the nearest free one. During a weather emergency every airborne
+ * flight does this at once. The pool keeps the free set up to date as spaces are occupied and
+ * vacated, so a random pick is O(1) and a nearest-free query reads only the grid cells around the
+ * flight that still have a free space. Flights reserve through the pool so that two of them never
+ * head for the same space, and the pool counts how often reservations collide.
+ *
+ * Key Responsibilities:
+ * - Keep free spaces in a dense array with swap-remove, plus each space's slot in it
+ * - Pick a uniformly random free space in O(1)
+ * - Bucket all spaces into a uniform grid once, with a free count per cell
+ * - Find the nearest free space by searching rings of cells outward, skipping full cells
+ * - Reserve a random or nearest free space, retrying when another flight claims it first
+ * - Count reservations, conflicts, retries and releases, and report the most contested spaces
+ *
+ * Interactions:
+ * - Built by ParkingSpaceManager over its space list; each ParkingSpace reports claims, releases,
+ *   occupy and vacate here
+ * - Used by JetPackFlightState to choose parking and by FlightEmergencyHandler for emergency landings
+ *
+ * Patterns & Constraints:
+ * - Locations are fixed, so the grid layout is built once (offsets into one flat array, as in
+ *   BuildingIndex); only the free set and per-cell counts change
+ * - nearestFree matches a linear scan of the space list exactly, including ties (first in list order)
+ * - "Free" means unclaimed: reserved spaces leave the free set at once, not on arrival
+ * - Claims are decided by ParkingSpace's compare-and-set, never under the pool's monitor; the
+ *   monitor only guards the index, which each update re-reads from the space's current claim
+ * - A flight can still lose the race between picking and claiming; the loser retries a few times
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.parking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ParkingPool tracks free parking spaces for O(1) random selection and grid nearest-free search.
+ */
+public final class ParkingPool {
+    /** Aim for about this many spaces per grid cell */
+    private static final double SPACES_PER_CELL = 2.0;
+    /** Picks tried before a reservation gives up for this update */
+    public static final int MAX_RESERVE_ATTEMPTS = 4;
+
+    private final List<ParkingSpace> source;
+    private final ParkingSpace[] spaces;
+    private final int[] free;          // Dense ids of free spaces in [0, freeCount)
+    private final int[] freeSlot;      // Dense id -> index in free, or -1 when occupied
+    private int freeCount;
+
+    private final double cellSize;
+    private final double minX;
+    private final double minY;
+    private final int cols;
+    private final int rows;
+    private final int[] cellOf;        // Dense id -> cell
+    private final int[] cellStart;     // cellStart[c]..cellStart[c + 1] index into cellItems
+    private final int[] cellItems;     // Dense ids, ascending within each cell
+    private final int[] cellFree;      // Free spaces per cell
+
+    private final LongAdder reservations = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();   // Claims lost to another holder
+    private final LongAdder retries = new LongAdder();     // Re-picks after a lost claim
+    private final LongAdder releases = new LongAdder();    // Reservations given up before arrival
+
+    /**
+     * Builds a pool over a list of spaces and registers it with each of them.
+     *
+     * @param spaces Spaces to track; the list must not change afterwards
+     */
+    public ParkingPool(List<ParkingSpace> spaces) {
+        this.source = spaces;
+        this.spaces = spaces.toArray(new ParkingSpace[0]);
+        int n = this.spaces.length;
+        this.free = new int[n];
+        this.freeSlot = new int[n];
+
+        double loX = Double.POSITIVE_INFINITY, loY = Double.POSITIVE_INFINITY;
+        double hiX = Double.NEGATIVE_INFINITY, hiY = Double.NEGATIVE_INFINITY;
+        for (ParkingSpace space : this.spaces) {
+            loX = Math.min(loX, space.getX());
+            loY = Math.min(loY, space.getY());
+            hiX = Math.max(hiX, space.getX());
+            hiY = Math.max(hiY, space.getY());
+        }
+        if (n == 0) {
+            loX = loY = hiX = hiY = 0;
+        }
+        double area = Math.max(1.0, (hiX - loX) * (hiY - loY));
+        this.cellSize = Math.max(1.0, Math.sqrt(area * SPACES_PER_CELL / Math.max(1, n)));
+        this.minX = loX;
+        this.minY = loY;
+        this.cols = (int) ((hiX - loX) / cellSize) + 1;
+        this.rows = (int) ((hiY - loY) / cellSize) + 1;
+
+        int cells = cols * rows;
+        this.cellOf = new int[n];
+        this.cellStart = new int[cells + 1];
+        this.cellItems = new int[n];
+        this.cellFree = new int[cells];
+        for (int i = 0; i < n; i++) {
+            cellOf[i] = cellIndex(colOf(this.spaces[i].getX()), rowOf(this.spaces[i].getY()));
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] fill = Arrays.copyOf(cellStart, cells);
+        for (int i = 0; i < n; i++) {
+            cellItems[fill[cellOf[i]]++] = i;  // Ascending ids keep list order within a cell
+        }
+
+        for (int i = 0; i < n; i++) {
+            ParkingSpace space = this.spaces[i];
+            space.attachPool(this, i);
+            freeSlot[i] = -1;
+            if (space.isAvailable()) {
+                markFree(i);
+            }
+        }
+    }
+
+    /**
+     * Returns the pool built over exactly this list, or null if there is none.
+     */
+    public static ParkingPool forSpaces(List<ParkingSpace> spaces) {
+        if (spaces == null || spaces.isEmpty()) return null;
+        ParkingPool pool = spaces.get(0).getPool();
+        return (pool != null && pool.source == spaces && pool.spaces.length == spaces.size()) ? pool : null;
+    }
+
+    /**
+     * Returns a uniformly random free space, or null if every space is taken.
+     */
+    public synchronized ParkingSpace randomFree(Random random) {
+        if (freeCount == 0) return null;
+        return spaces[free[random.nextInt(freeCount)]];
+    }
+
+    /**
+     * Returns the free space nearest to a point, or null if every space is taken. Ties go to the
+     * space earliest in the list, as with a linear scan.
+     */
+    public synchronized ParkingSpace nearestFree(double x, double y) {
+        if (freeCount == 0) return null;
+        int qc = clamp(colOf(x), cols);
+        int qr = clamp(rowOf(y), rows);
+        int best = -1;
+        double bestDistSq = Double.POSITIVE_INFINITY;
+        int maxRing = Math.max(Math.max(qc, cols - 1 - qc), Math.max(qr, rows - 1 - qr));
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (best >= 0) {
+                double bound = ringLowerBound(x, y, qc, qr, ring);
+                if (bound * bound > bestDistSq) break;  // Nothing further out can be as close
+            }
+            int c0 = qc - ring, c1 = qc + ring, r0 = qr - ring, r1 = qr + ring;
+            for (int r = Math.max(0, r0); r <= Math.min(rows - 1, r1); r++) {
+                boolean edgeRow = (r == r0 || r == r1);
+                int step = edgeRow ? 1 : (c1 - c0);  // Interior rows only touch the ring's two sides
+                for (int c = c0; c <= c1; c += Math.max(1, step)) {
+                    if (c < 0 || c >= cols) continue;
+                    int cell = cellIndex(c, r);
+                    if (cellFree[cell] == 0) continue;  // Whole cell occupied
+                    for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                        int i = cellItems[k];
+                        if (freeSlot[i] < 0) continue;
+                        double dx = spaces[i].getX() - x, dy = spaces[i].getY() - y;
+                        double distSq = dx * dx + dy * dy;
+                        if (distSq < bestDistSq || (distSq == bestDistSq && i < best)) {
+                            bestDistSq = distSq;
+                            best = i;
+                        }
+                    }
+                }
+            }
+        }
+        return best < 0 ? null : spaces[best];
+    }
+
+    /**
+     * Reserves a uniformly random free space for a holder, re-picking if another holder claims the
+     * pick first.
+     *
+     * @return The reserved space, or null if none is free or every attempt lost its race
+     */
+    public ParkingSpace reserveRandom(Random random, Object holder) {
+        for (int attempt = 0; attempt < MAX_RESERVE_ATTEMPTS; attempt++) {
+            ParkingSpace space = randomFree(random);
+            if (space == null) return null;
+            if (space.tryReserve(holder)) return space;
+            retries.increment();
+        }
+        return null;
+    }
+
+    /**
+     * Reserves the free space nearest to a point for a holder, moving on to the next nearest if
+     * another holder claims it first.
+     *
+     * @return The reserved space, or null if none is free or every attempt lost its race
+     */
+    public ParkingSpace reserveNearest(double x, double y, Object holder) {
+        for (int attempt = 0; attempt < MAX_RESERVE_ATTEMPTS; attempt++) {
+            ParkingSpace space = nearestFree(x, y);
+            if (space == null) return null;
+            if (space.tryReserve(holder)) return space;
+            retries.increment();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the spaces that lost the most reservation races, most contested first.
+     *
+     * @param limit Maximum number of spaces to return
+     */
+    public List<ParkingSpace> getMostContested(int limit) {
+        List<ParkingSpace> contested = new ArrayList<>();
+        for (ParkingSpace space : spaces) {
+            if (space.getReservationConflicts() > 0) contested.add(space);
+        }
+        contested.sort((a, b) -> Integer.compare(b.getReservationConflicts(), a.getReservationConflicts()));
+        return contested.size() > limit ? new ArrayList<>(contested.subList(0, limit)) : contested;
+    }
+
+    /**
+     * Returns a one-line summary of reservation activity.
+     */
+    public String formatContention() {
+        return String.format("parking %d/%d free, %d reservations, %d conflicts, %d retries, %d released",
+            getFreeCount(), spaces.length, getReservations(), getConflicts(), getRetries(), getReleases());
+    }
+
+    /** Returns the number of free spaces */
+    public synchronized int getFreeCount() { return freeCount; }
+    /** Returns successful reservations so far */
+    public long getReservations() { return reservations.sum(); }
+    /** Returns reservation attempts that found their space already claimed */
+    public long getConflicts() { return conflicts.sum(); }
+    /** Returns re-picks made after losing a reservation race */
+    public long getRetries() { return retries.sum(); }
+    /** Returns reservations released before arrival */
+    public long getReleases() { return releases.sum(); }
+    /** Returns the number of spaces tracked */
+    public int size() { return spaces.length; }
+    /** Returns the grid cell edge in map units */
+    public double getCellSize() { return cellSize; }
+
+    /** Called by ParkingSpace after a successful claim */
+    void onReserved(int id) {
+        reservations.increment();
+        sync(id);
+    }
+
+    /** Called by ParkingSpace after a reservation is released */
+    void onReleased(int id) {
+        releases.increment();
+        sync(id);
+    }
+
+    /** Called by ParkingSpace when a claim attempt loses to another holder */
+    void onConflict() {
+        conflicts.increment();
+    }
+
+    /**
+     * Called by ParkingSpace when its occupancy changes.
+     */
+    void onOccupancyChanged(int id) {
+        sync(id);
+    }
+
+    // Brings one space's free-set membership in line with its current claim. Reading the claim under
+    // the monitor means whichever update runs last leaves the index right, whatever the order.
+    private synchronized void sync(int id) {
+        boolean available = spaces[id].isAvailable();
+        if (!available && freeSlot[id] >= 0) {
+            int slot = freeSlot[id];
+            int last = free[--freeCount];
+            free[slot] = last;  // Swap-remove: move the last free space into the hole
+            freeSlot[last] = slot;
+            freeSlot[id] = -1;
+            cellFree[cellOf[id]]--;
+        } else if (available && freeSlot[id] < 0) {
+            markFree(id);
+        }
+    }
+
+    private void markFree(int id) {
+        free[freeCount] = id;
+        freeSlot[id] = freeCount++;
+        cellFree[cellOf[id]]++;
+    }
+
+    // Distance from the point to the nearest cell of the given ring, or 0 if the point is outside
+    // the box of cells inside that ring
+    private double ringLowerBound(double x, double y, int qc, int qr, int ring) {
+        double left = minX + (qc - ring + 1) * cellSize;
+        double right = minX + (qc + ring) * cellSize;
+        double top = minY + (qr - ring + 1) * cellSize;
+        double bottom = minY + (qr + ring) * cellSize;
+        if (x < left || x > right || y < top || y > bottom) return 0;
+        return Math.min(Math.min(x - left, right - x), Math.min(y - top, bottom - y));
+    }
+
+    private int colOf(double x) { return (int) Math.floor((x - minX) / cellSize); }
+    private int rowOf(double y) { return (int) Math.floor((y - minY) / cellSize); }
+    private int cellIndex(int col, int row) { return row * cols + col; }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+}
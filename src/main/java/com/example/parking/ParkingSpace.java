@@ -10,12 +10,15 @@
  * - Store unique parking space identifier (city-prefix + number)
  * - Maintain fixed geographic location coordinates
  * - Track occupation state (occupied vs. vacant)
+ * - Hand out reservations: one holder claims a free space, then occupies it on arrival
  * - Provide occupy/vacate operations for parking management
+ * - Count reservation attempts that lost a race for this space
  * - Support proximity queries for nearest available space searches
  * 
  * Interactions:
  * - Created by ParkingSpaceGenerator during city initialization
  * - Managed by ParkingSpaceManager for availability tracking
+ * - Reports occupancy changes to its ParkingPool, if one has been built over it
  * - Referenced by JetPackFlightState when jetpacks park
  * - Used by FlightEmergencyHandler to find nearest parking during emergencies
  * - Queried by City for parking infrastructure reporting
@@ -23,10 +26,11 @@
  * 
  * Patterns & Constraints:
  * - Immutable identifier and location (set at construction)
- * - Single mutable field (isOccupied) for lifecycle management
- * - Simple occupy/vacate operations (no reservation or locking)
- * - No time-based parking limits or expiration
- * - Thread-safety not guaranteed - caller must synchronize access
+ * - Claims are a compare-and-set on the holder, so exactly one of several racing flights wins;
+ *   no locks are taken
+ * - A space is available only while unclaimed; occupying requires holding the claim
+ * - occupy()/vacate() without a holder remain for callers outside the reservation protocol
+ * - Reservation timeouts are enforced by the holder (JetPackFlightState), not by the space
  * 
  * @author Haisam Elkewidy
  */
@@ -34,8 +38,13 @@
 package com.example.parking;
 
 import java.awt.Point;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class ParkingSpace {
+    /** Holder used by occupy() for callers outside the reservation protocol */
+    private static final Object UNNAMED_HOLDER = new Object();
+
     /** Unique identifier for this parking space (e.g., "NYC-P001", "BOS-P042") */
     private final String id;
     
@@ -43,7 +52,19 @@ public class ParkingSpace {
     private final Point location;
     
     /** Whether this parking space is currently occupied by a jetpack */
-    private boolean isOccupied;
+    private volatile boolean isOccupied;
+    
+    /** Holder of the reservation or occupancy, or null while the space is free */
+    private final AtomicReference<Object> claimedBy = new AtomicReference<>();
+    
+    /** Reservation attempts that found this space already claimed */
+    private final AtomicInteger reservationConflicts = new AtomicInteger();
+    
+    /** Free-space index tracking this space, or null */
+    private ParkingPool pool;
+    
+    /** This space's dense id within its pool */
+    private int poolId;
 
     /**
      * Constructs a new ParkingSpace at the specified coordinates.
@@ -83,6 +104,39 @@ public class ParkingSpace {
         return isOccupied;  // Return the occupation status
     }
     
+    /**
+     * Checks if this parking space is reserved or occupied by anyone.
+     * @return true while a holder has claimed the space
+     */
+    public boolean isReserved() {
+        return claimedBy.get() != null;
+    }
+    
+    /**
+     * Checks if this parking space can be reserved right now.
+     * @return true if nobody has claimed the space
+     */
+    public boolean isAvailable() {
+        return claimedBy.get() == null;
+    }
+    
+    /**
+     * Checks if the given holder has claimed this space.
+     * @param holder reservation holder
+     * @return true if the holder reserved or occupies the space
+     */
+    public boolean isClaimedBy(Object holder) {
+        return holder != null && claimedBy.get() == holder;
+    }
+    
+    /**
+     * Returns how many reservation attempts lost the race for this space.
+     * @return conflict count since construction
+     */
+    public int getReservationConflicts() {
+        return reservationConflicts.get();
+    }
+    
     /**
      * Returns the x-coordinate of this parking space.
      * @return the x-coordinate value
@@ -100,19 +154,102 @@ public class ParkingSpace {
     }
     
     /**
-     * Marks this parking space as occupied.
-     * Called when a jetpack lands in this space.
+     * Claims this space for a holder if nobody else has. Safe to call from any thread; when several
+     * holders race for the same space exactly one succeeds and the others are counted as conflicts.
+     * 
+     * @param holder reservation holder (typically the flight's JetPackFlightState)
+     * @return true if the holder now has the claim (including if it already had it)
+     */
+    public boolean tryReserve(Object holder) {
+        if (holder == null) throw new IllegalArgumentException("Reservation holder must not be null");
+        if (claimedBy.compareAndSet(null, holder)) {  // Free -> claimed, atomically
+            if (pool != null) pool.onReserved(poolId);  // Leave the free set
+            return true;
+        }
+        if (claimedBy.get() == holder) return true;  // Already ours
+        reservationConflicts.incrementAndGet();  // Someone else got here first
+        if (pool != null) pool.onConflict();
+        return false;
+    }
+    
+    /**
+     * Converts the holder's reservation into occupancy when its jetpack lands.
+     * 
+     * @param holder reservation holder
+     * @return false if the holder does not hold this space (never reserved, released or lost)
+     */
+    public boolean occupy(Object holder) {
+        if (holder == null || claimedBy.get() != holder) return false;
+        this.isOccupied = true;  // The claim already keeps everyone else out
+        return true;
+    }
+    
+    /**
+     * Gives up a reservation that was never converted to occupancy (timeout or diversion).
+     * 
+     * @param holder reservation holder
+     * @return true if the holder's reservation was released
+     */
+    public boolean release(Object holder) {
+        if (holder == null || isOccupied) return false;  // Occupied spaces are vacated, not released
+        if (claimedBy.compareAndSet(holder, null)) {
+            if (pool != null) pool.onReleased(poolId);  // Rejoin the free set
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Ends the holder's occupancy when its jetpack departs.
+     * 
+     * @param holder reservation holder
+     * @return true if the holder occupied the space and it is now free
+     */
+    public boolean vacate(Object holder) {
+        if (holder == null || claimedBy.get() != holder) return false;
+        this.isOccupied = false;  // Clear before the claim so a new holder never sees it occupied
+        if (claimedBy.compareAndSet(holder, null) && pool != null) {
+            pool.onOccupancyChanged(poolId);  // Rejoin the free set
+        }
+        return true;
+    }
+    
+    /**
+     * Marks this parking space as occupied without a reservation.
+     * Claims the space first if nobody has, so reservations skip it.
      */
     public void occupy() { 
+        if (isOccupied) return;  // Already taken, nothing changes
+        claimedBy.compareAndSet(null, UNNAMED_HOLDER);  // Keep the existing holder, if any
         this.isOccupied = true;  // Set occupied flag to true
+        if (pool != null) pool.onOccupancyChanged(poolId);  // Leave the free set
     }
     
     /**
-     * Marks this parking space as vacant.
-     * Called when a jetpack departs from this space.
+     * Marks this parking space as vacant and drops any claim on it.
+     * Called when a jetpack departs from this space outside the reservation protocol.
      */
     public void vacate() { 
+        if (!isOccupied && claimedBy.get() == null) return;  // Already free, nothing changes
         this.isOccupied = false;  // Set occupied flag to false
+        claimedBy.set(null);  // Free for the next reservation
+        if (pool != null) pool.onOccupancyChanged(poolId);  // Rejoin the free set
+    }
+    
+    /**
+     * Returns the pool tracking this space, or null.
+     * @return the ParkingPool built over this space
+     */
+    public ParkingPool getPool() {
+        return pool;
+    }
+    
+    /**
+     * Registers the pool that tracks this space; called by ParkingPool.
+     */
+    void attachPool(ParkingPool pool, int poolId) {
+        this.pool = pool;
+        this.poolId = poolId;
     }
 
     /**
@@ -123,6 +260,6 @@ public class ParkingSpace {
     @Override
     public String toString() {
         // Format and return parking space details
-        return String.format("ParkingSpace[%s]: Location=%s Occupied=%b", id, location, isOccupied);
+        return String.format("ParkingSpace[%s]: Location=%s Occupied=%b Reserved=%b", id, location, isOccupied, isReserved());
     }
 }
@@ -16,7 +16,7 @@
  * - Ensure even distribution across the available land area
  * 
  * Interactions:
- * - Uses WaterDetector to identify valid land locations
+ * - Uses the map's shared TerrainMask to identify valid land locations
  * - Creates ParkingSpace objects with unique IDs
  * - Called by CityMapPanel during city initialization
  * - Provides parking infrastructure to City model
@@ -40,6 +40,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
+import com.example.simulation.SimulationRandom;
+import com.example.utility.water.TerrainMask;
+
 /**
  * ParkingSpaceGenerator.java
  * 
@@ -65,7 +68,8 @@ public class ParkingSpaceGenerator {
     public List<ParkingSpace> generateParkingSpaces(int mapWidth, int mapHeight, 
                                                     BufferedImage mapImage, String cityCode) {
         List<ParkingSpace> spaces = new ArrayList<>();  // Create empty list to store parking spaces
-        Random rand = new Random();  // Create random number generator for random placement
+        Random rand = SimulationRandom.newRandom();  // Create random number generator for random placement
+        TerrainMask terrain = TerrainMask.forImage(mapImage);  // Classified once per map, shared with flights
 
         // Generating parking spaces by randomly sampling map locations
         int attempts = 0;  // Track total placement attempts
@@ -79,7 +83,7 @@ public class ParkingSpaceGenerator {
             int x = 10 + rand.nextInt(mapWidth - 20);   // Random X between 10 and (width - 10)
             int y = 10 + rand.nextInt(mapHeight - 20);  // Random Y between 10 and (height - 10)
 
-            if (isLandPixel(mapImage, x, y)) {  // Check if this location is valid land (not water)
+            if (terrain.isLand(x, y)) {  // Check if this location is valid land (not water)
                 // Create new parking space with city-specific ID (e.g., "BOS-P1", "NYC-P42")
                 spaces.add(new ParkingSpace(cityCode + "-P" + (spaces.size() + 1), x, y));
                 
@@ -95,37 +99,6 @@ public class ParkingSpaceGenerator {
         return spaces;  // Return the generated list of parking spaces
     }
     
-    /**
-     * Determines if a pixel represents land (not water)
-     * 
-     * @param image The map image
-     * @param x The x coordinate
-     * @param y The y coordinate
-     * @return true if the pixel is land, false if water
-     */
-    private boolean isLandPixel(BufferedImage image, int x, int y) {
-        if (x < 0 || x >= image.getWidth() || y < 0 || y >= image.getHeight()) {  // Check bounds
-            return false;  // Out of bounds - treat as invalid (not land)
-        }
-
-        int rgb = image.getRGB(x, y);  // Get pixel color value at coordinates
-        int red = (rgb >> 16) & 0xFF;    // Extract red channel (shift right 16 bits, mask to 8 bits)
-        int green = (rgb >> 8) & 0xFF;   // Extract green channel (shift right 8 bits, mask to 8 bits)
-        int blue = rgb & 0xFF;           // Extract blue channel (mask to lower 8 bits)
-
-        // Detect water characteristics - water typically has high blue values
-        boolean isBlueish = blue > red + 20 && blue > green + 20;  // Blue significantly higher than other channels
-        boolean isDarkWater = blue > red && blue > green && (red + green + blue) < 200;  // Dark blue water
-        boolean isLightBlue = blue > 150 && blue > red && blue > green;  // Light blue water (lakes, harbors)
-        
-        // Land characteristics - land is typically non-blue
-        boolean isBright = (red + green + blue) > 600;  // Very bright pixels (white buildings, roads)
-        boolean isDark = (red + green + blue) < 150;    // Very dark pixels (buildings, shadows)
-
-        // Return true if NOT water (none of water conditions) OR definitely land (bright/dark)
-        return !isBlueish && !isDarkWater && !isLightBlue || isBright || isDark;
-    }
-    
     /**
      * Gets the target number of parking spaces to generate.
      * Static method for external reference to generation parameters.
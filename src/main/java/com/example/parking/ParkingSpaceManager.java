@@ -35,6 +35,9 @@ import java.util.Random;
 
 import javax.swing.JLabel;
 
+import com.example.simulation.SimulationRandom;
+import com.example.utility.water.TerrainMask;
+
 /**
  * ParkingSpaceManager.java
  * 
@@ -45,6 +48,8 @@ public class ParkingSpaceManager {
     
     /** List of all parking spaces managed by this manager */
     private final List<ParkingSpace> parkingSpaces;
+    /** Free-space index over parkingSpaces, rebuilt whenever the spaces are generated */
+    private ParkingPool parkingPool;
     /** Name of the city this manager is responsible for (e.g., "New York", "Boston") */
     private final String city;
     
@@ -75,7 +80,8 @@ public class ParkingSpaceManager {
         // Generate 3-letter city code from city name (e.g., "New York" -> "NEW")
         String cityCode = city.replaceAll("\\s+", "").toUpperCase().substring(0, 3);
         List<ParkingSpace> spaces = new ArrayList<>();  // Temporary list for new spaces
-        Random rand = new Random();  // Random number generator for placement
+        Random rand = SimulationRandom.newRandom();  // Random number generator for placement
+        TerrainMask terrain = TerrainMask.forImage(mapImage);  // Classified once per map, shared with flights
 
         // Generating parking spaces by randomly sampling map locations
         int attempts = 0;  // Track total placement attempts
@@ -89,7 +95,7 @@ public class ParkingSpaceManager {
             int x = 10 + rand.nextInt(mapWidth - 20);   // Random X between 10 and (width - 10)
             int y = 10 + rand.nextInt(mapHeight - 20);  // Random Y between 10 and (height - 10)
 
-            if (isLandPixel(mapImage, x, y)) {  // Check if location is valid land
+            if (terrain.isLand(x, y)) {  // Check if location is valid land
                 // Create parking space with city-specific ID (e.g., "NEW-P1", "BOS-P42")
                 spaces.add(new ParkingSpace(cityCode + "-P" + (spaces.size() + 1), x, y));
             } else {  // Location is water
@@ -98,34 +104,10 @@ public class ParkingSpaceManager {
         }
 
         parkingSpaces.addAll(spaces);  // Add all generated spaces to managed list
+        parkingPool = new ParkingPool(parkingSpaces);  // Index the free set for parking and emergency landings
         // Parking spaces generated successfully - ready for use
     }
     
-    /**
-     * Determines if a pixel represents land (not water)
-     */
-    private boolean isLandPixel(BufferedImage image, int x, int y) {
-        if (x < 0 || x >= image.getWidth() || y < 0 || y >= image.getHeight()) {
-            return false;
-        }
-
-        int rgb = image.getRGB(x, y);  // Get pixel color value at coordinates
-        int red = (rgb >> 16) & 0xFF;    // Extract red channel (shift right 16 bits, mask)
-        int green = (rgb >> 8) & 0xFF;   // Extract green channel (shift right 8 bits, mask)
-        int blue = rgb & 0xFF;           // Extract blue channel (mask lower 8 bits)
-
-        // Water detection - water typically has high blue values
-        boolean isBlueish = blue > red + 20 && blue > green + 20;  // Blue significantly higher
-        boolean isDarkWater = blue > red && blue > green && (red + green + blue) < 200;  // Dark blue water
-        boolean isLightBlue = blue > 150 && blue > red && blue > green;  // Light blue water
-        // Land characteristics
-        boolean isBright = (red + green + blue) > 600;  // Very bright (buildings, roads)
-        boolean isDark = (red + green + blue) < 150;    // Very dark (buildings, shadows)
-
-        // Return true if NOT water OR definitely land
-        return !isBlueish && !isDarkWater && !isLightBlue || isBright || isDark;
-    }
-    
     /**
      * Updates parking availability display label with current status.
      * Calculates occupancy percentage and updates label text and color based on availability.
@@ -137,9 +119,14 @@ public class ParkingSpaceManager {
         if (parkingSpaces == null || parkingAvailabilityLabel == null) return;  // Guard against null
         
         int occupied = 0;  // Counter for occupied spaces
-        for (ParkingSpace space : parkingSpaces) {  // Iterate through all parking spaces
-            if (space.isOccupied()) {  // Check if space is occupied
-                occupied++;  // Increment occupied counter
+        ParkingPool pool = ParkingPool.forSpaces(parkingSpaces);
+        if (pool != null) {
+            occupied = parkingSpaces.size() - pool.getFreeCount();  // Pool already keeps count
+        } else {
+            for (ParkingSpace space : parkingSpaces) {  // Iterate through all parking spaces
+                if (space.isOccupied()) {  // Check if space is occupied
+                    occupied++;  // Increment occupied counter
+                }
             }
         }
         
@@ -179,4 +166,13 @@ public class ParkingSpaceManager {
     public List<ParkingSpace> getParkingSpaces() {
         return parkingSpaces;  // Return the parking spaces list
     }
+    
+    /**
+     * Gets the free-space index over the parking spaces.
+     * 
+     * @return ParkingPool, or null before initializeParkingSpaces
+     */
+    public ParkingPool getParkingPool() {
+        return parkingPool;
+    }
 }
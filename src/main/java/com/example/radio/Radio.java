@@ -4,7 +4,7 @@
  * Purpose:
  * Serves as the primary communication hub between air traffic control and all jetpacks in the airspace.
  * Transmits coordinate changes, altitude instructions, emergency directives, weather broadcasts, and
- * accident alerts. Uses reflection to execute commands on registered flight objects without tight coupling.
+ * accident alerts. Executes commands on registered flights through the RadioReceiver interface.
  * 
  * Key Responsibilities:
  * - Broadcast messages to all jetpacks or specific callsigns
@@ -15,7 +15,7 @@
  * - Log all radio transmissions for auditing and replay
  * 
  * Interactions:
- * - Uses RadioCommandExecutor to invoke commands on flight objects via reflection
+ * - Uses RadioCommandExecutor to apply RadioCommand objects to registered RadioReceivers
  * - Formats messages through RadioMessageFormatter for consistent presentation
  * - Logs transmissions via RadioTransmissionLogger for record keeping
  * - Creates RadioMessage objects for each communication
@@ -27,7 +27,7 @@
  * - Delegation pattern: delegates to specialized components (executor, formatter, logger)
  * - Command pattern: encapsulates instructions as executable commands
  * - Observer pattern: broadcasts to multiple registered listeners (jetpacks)
- * - Uses reflection via ReflectionHelper for loose coupling
+ * - Loose coupling through the RadioReceiver interface rather than concrete flight classes
  * - Emergency frequency 121.5 MHz as default
  * - Thread-safety not guaranteed - external synchronization required
  * 
@@ -40,7 +40,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
+import com.example.flight.JetPackFlightState;
 import com.example.jetpack.JetPack;
+import com.example.simulation.SimulationRandom;
 
 /**
  * Radio.java
@@ -85,7 +87,7 @@ public class Radio {
     public Radio() {
         this.frequency = "121.5"; // Set to emergency frequency 121.5 MHz
         this.messageQueue = new ArrayList<>();  // Initialize empty message queue
-        this.random = new Random();  // Create random number generator for acknowledgments
+        this.random = SimulationRandom.newRandom();  // Create random number generator for acknowledgments
         this.commandExecutor = new RadioCommandExecutor();  // Create command executor for flight commands
         this.messageFormatter = new RadioMessageFormatter("ATC-CONTROL");  // Create formatter with default ATC callsign
         this.transmissionLogger = new RadioTransmissionLogger();  // Create logger for transmission history
@@ -100,7 +102,7 @@ public class Radio {
     public Radio(String frequency, String controllerCallSign) {
         this.frequency = frequency;  // Set specified radio frequency
         this.messageQueue = new ArrayList<>();  // Initialize empty message queue
-        this.random = new Random();  // Create random number generator for acknowledgments
+        this.random = SimulationRandom.newRandom();  // Create random number generator for acknowledgments
         this.commandExecutor = new RadioCommandExecutor();  // Create command executor for flight commands
         this.messageFormatter = new RadioMessageFormatter(controllerCallSign);  // Create formatter with specified callsign
         this.transmissionLogger = new RadioTransmissionLogger();  // Create logger for transmission history
@@ -109,14 +111,14 @@ public class Radio {
     /**
      * Registers a flight for radio command execution
      */
-    public void registerFlight(String callsign, Object flight) {
+    public void registerFlight(String callsign, RadioReceiver flight) {
         commandExecutor.registerFlight(callsign, flight);  // Delegate registration to command executor
     }
     
     /**
      * Registers a flight state for radio command execution
      */
-    public void registerFlightState(String callsign, Object flightState) {
+    public void registerFlightState(String callsign, JetPackFlightState flightState) {
         commandExecutor.registerFlightState(callsign, flightState);  // Delegate flight state registration to executor
     }
     
@@ -127,6 +129,18 @@ public class Radio {
         commandExecutor.unregisterFlight(callsign);  // Delegate unregistration to command executor
     }
     
+    /**
+     * Executes a prebuilt command on the flight registered under a callsign, without transmitting
+     * or logging it
+     * 
+     * @param callsign Target callsign
+     * @param command Command to execute
+     * @return true if a flight was registered under the callsign
+     */
+    public boolean execute(String callsign, RadioCommand command) {
+        return commandExecutor.execute(callsign, command);  // Typed dispatch to the flight
+    }
+    
     /**
      * Communicates to a jetpack new coordinates to take to ensure safe flight
      * 
@@ -0,0 +1,128 @@
+/**
+ * Immutable radio instruction addressed to one flight, dispatched through RadioReceiver.
+ *
+ * Purpose:
+ * Represents each kind of ATC instruction as its own small command object. Executing a command is a
+ * virtual call on the command followed by an interface call on the flight, replacing the by-name
+ * reflective invocation the executor used to perform for every instruction.
+ *
+ * Key Responsibilities:
+ * - Carry the arguments of a coordinate, altitude or emergency landing instruction
+ * - Apply itself to a RadioReceiver
+ * - Provide factory methods for each command kind
+ *
+ * Interactions:
+ * - Created by RadioCommandExecutor (and callers that queue commands ahead of time)
+ * - Applied to RadioReceiver implementations such as JetPackFlight
+ * - Emergency landings receive the flight's parking spaces from JetPackFlightState
+ *
+ * Patterns & Constraints:
+ * - Command pattern with a closed set of subclasses: the constructor is private, so only the
+ *   nested CoordinateChange, AltitudeChange and EmergencyLanding classes exist (a sealed hierarchy
+ *   in Java 11 terms)
+ * - Immutable and thread-safe; a command may be built once and executed many times
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.radio;
+
+import java.util.List;
+
+import com.example.parking.ParkingSpace;
+
+/**
+ * RadioCommand - typed radio instruction
+ */
+public abstract class RadioCommand {
+    /** Reason or directive text sent with the instruction */
+    private final String reason;
+
+    private RadioCommand(String reason) {
+        this.reason = reason;
+    }
+
+    /**
+     * Applies this instruction to a flight.
+     *
+     * @param receiver Flight receiving the instruction
+     * @param parkingSpaces Flight's parking spaces (used by emergency landings), or null
+     */
+    public abstract void applyTo(RadioReceiver receiver, List<ParkingSpace> parkingSpaces);
+
+    /** Returns the reason or directive text */
+    public String getReason() { return reason; }
+
+    /** Creates a coordinate change instruction */
+    public static CoordinateChange coordinates(int newX, int newY, String reason) {
+        return new CoordinateChange(newX, newY, reason);
+    }
+
+    /** Creates an altitude change instruction */
+    public static AltitudeChange altitude(double newAltitude, String reason) {
+        return new AltitudeChange(newAltitude, reason);
+    }
+
+    /** Creates an emergency landing instruction */
+    public static EmergencyLanding emergencyLanding(String directive) {
+        return new EmergencyLanding(directive);
+    }
+
+    /**
+     * Instruction to fly to new coordinates.
+     */
+    public static final class CoordinateChange extends RadioCommand {
+        private final int newX;
+        private final int newY;
+
+        private CoordinateChange(int newX, int newY, String reason) {
+            super(reason);
+            this.newX = newX;
+            this.newY = newY;
+        }
+
+        @Override
+        public void applyTo(RadioReceiver receiver, List<ParkingSpace> parkingSpaces) {
+            receiver.receiveCoordinateInstruction(newX, newY, getReason());
+        }
+
+        /** Returns the new X coordinate */
+        public int getNewX() { return newX; }
+        /** Returns the new Y coordinate */
+        public int getNewY() { return newY; }
+    }
+
+    /**
+     * Instruction to change altitude.
+     */
+    public static final class AltitudeChange extends RadioCommand {
+        private final double newAltitude;
+
+        private AltitudeChange(double newAltitude, String reason) {
+            super(reason);
+            this.newAltitude = newAltitude;
+        }
+
+        @Override
+        public void applyTo(RadioReceiver receiver, List<ParkingSpace> parkingSpaces) {
+            receiver.receiveAltitudeInstruction(newAltitude, getReason());
+        }
+
+        /** Returns the target altitude */
+        public double getNewAltitude() { return newAltitude; }
+    }
+
+    /**
+     * Order to land at the nearest available parking; without parking spaces the flight halts in place.
+     */
+    public static final class EmergencyLanding extends RadioCommand {
+        private EmergencyLanding(String directive) {
+            super(directive);
+        }
+
+        @Override
+        public void applyTo(RadioReceiver receiver, List<ParkingSpace> parkingSpaces) {
+            receiver.receiveEmergencyLandingInstruction(parkingSpaces, getReason());
+        }
+    }
+}
@@ -1,33 +1,30 @@
 /**
- * Executes radio commands on registered flight objects using reflection for loose coupling.
+ * Executes radio commands on registered flights through the typed RadioReceiver interface.
  * 
  * Purpose:
  * Maintains a registry of active flights and their states, executing radio instructions (coordinate changes,
- * altitude adjustments, emergency landings) by dynamically invoking methods on flight objects via reflection.
- * This allows the radio system to send commands without direct dependencies on specific flight implementations.
+ * altitude adjustments, emergency landings) as RadioCommand objects applied to each flight's RadioReceiver.
+ * The radio system depends only on that interface, not on a specific flight implementation.
  * 
  * Key Responsibilities:
  * - Maintain registries of flights and flight states indexed by callsign
  * - Execute coordinate instruction commands on flight objects
  * - Execute altitude instruction commands on flight objects
- * - Execute emergency landing directives on flight states
- * - Use reflection to invoke methods without compile-time dependencies
+ * - Execute emergency landing directives with the flight's parking spaces
  * - Handle registration/unregistration of flights entering/leaving airspace
  * 
  * Interactions:
  * - Used by Radio to execute commands on target flights
- * - Invokes methods on JetPackFlight via ReflectionHelper
- * - Invokes methods on JetPackFlightState for parking operations
+ * - Applies RadioCommand objects to RadioReceiver implementations (JetPackFlight)
+ * - Reads parking spaces from JetPackFlightState for emergency landings
  * - Registers flights when they enter airspace
  * - Unregisters flights when they land or leave airspace
- * - Provides parking space information for emergency landings
  * 
  * Patterns & Constraints:
- * - Command pattern: encapsulates instructions as executable operations
+ * - Command pattern: each instruction is an immutable RadioCommand
  * - Registry pattern: maintains flight lookup by callsign
- * - Reflection-based invocation via ReflectionHelper for flexibility
- * - No type safety - relies on duck typing (method name matching)
- * - Graceful handling of reflection errors (logs warning, continues)
+ * - Compile-time typed dispatch: one map lookup and two virtual calls per command, no reflection
+ * - Commands for unregistered callsigns are ignored
  * - Thread-safety not guaranteed - external synchronization required
  * 
  * @author Haisam Elkewidy
@@ -41,16 +38,15 @@ import java.util.Map;
 
 import com.example.flight.JetPackFlightState;
 import com.example.parking.ParkingSpace;
-import com.example.utility.reflection.ReflectionHelper;
 
 /**
- * RadioCommandExecutor - executes radio commands on registered flights using reflection
+ * RadioCommandExecutor - executes radio commands on registered flights
  */
 public class RadioCommandExecutor {
     /** flightRegistry field */
-    private Map<String, Object> flightRegistry;
+    private Map<String, RadioReceiver> flightRegistry;
     /** flightStateRegistry field */
-    private Map<String, Object> flightStateRegistry;
+    private Map<String, JetPackFlightState> flightStateRegistry;
     
     public RadioCommandExecutor() {
         this.flightRegistry = new HashMap<>();
@@ -60,14 +56,14 @@ public class RadioCommandExecutor {
     /**
      * Registers a flight for radio command execution
      */
-    public void registerFlight(String callsign, Object flight) {
+    public void registerFlight(String callsign, RadioReceiver flight) {
         flightRegistry.put(callsign, flight);
     }
     
     /**
      * Registers a flight state for radio command execution
      */
-    public void registerFlightState(String callsign, Object flightState) {
+    public void registerFlightState(String callsign, JetPackFlightState flightState) {
         flightStateRegistry.put(callsign, flightState);
     }
     
@@ -79,51 +75,42 @@ public class RadioCommandExecutor {
         flightStateRegistry.remove(callsign);
     }
     
+    /**
+     * Executes a command on the flight registered under a callsign
+     * 
+     * @return true if a flight was registered and received the command
+     */
+    public boolean execute(String callsign, RadioCommand command) {
+        RadioReceiver flight = flightRegistry.get(callsign);
+        if (flight == null) {
+            return false;
+        }
+        JetPackFlightState flightState = flightStateRegistry.get(callsign);
+        // Without a registered state, emergency landings get no parking spaces and halt in place
+        List<ParkingSpace> parkingSpaces = (flightState != null) ? flightState.getAvailableParkingSpaces() : null;
+        command.applyTo(flight, parkingSpaces);
+        return true;
+    }
+    
     /**
      * Executes coordinate change instruction on a flight
      */
     public void executeCoordinateInstruction(String callsign, int newX, int newY, String reason) {
-        Object flight = flightRegistry.get(callsign);
-        if (flight != null) {
-            ReflectionHelper.invokeThreeArgMethod(flight, "receiveCoordinateInstruction",
-                newX, int.class,
-                newY, int.class,
-                reason, String.class);
-        }
+        execute(callsign, RadioCommand.coordinates(newX, newY, reason));
     }
     
     /**
      * Executes altitude change instruction on a flight
      */
     public void executeAltitudeInstruction(String callsign, double newAltitude, String reason) {
-        Object flight = flightRegistry.get(callsign);
-        if (flight != null) {
-            ReflectionHelper.invokeTwoArgMethod(flight, "receiveAltitudeInstruction",
-                newAltitude, double.class,
-                reason, String.class);
-        }
+        execute(callsign, RadioCommand.altitude(newAltitude, reason));
     }
     
     /**
      * Executes emergency landing instruction on a flight
      */
     public void executeEmergencyLandingInstruction(String callsign, String directive) {
-        Object flight = flightRegistry.get(callsign);
-        Object flightState = flightStateRegistry.get(callsign);
-        
-        if (flight != null && flightState != null && flightState instanceof JetPackFlightState) {
-            // Get parking spaces from flight state
-            List<ParkingSpace> parkingSpaces = ((JetPackFlightState) flightState).getAvailableParkingSpaces();
-            
-            ReflectionHelper.invokeTwoArgMethod(flight, "receiveEmergencyLandingInstruction",
-                parkingSpaces, java.util.List.class,
-                directive, String.class);
-        } else if (flight != null) {
-            // Fallback: if no state registered, pass null (will cause halt in place)
-            ReflectionHelper.invokeTwoArgMethod(flight, "receiveEmergencyLandingInstruction",
-                null, java.util.List.class,
-                directive, String.class);
-        }
+        execute(callsign, RadioCommand.emergencyLanding(directive));
     }
     
     /**
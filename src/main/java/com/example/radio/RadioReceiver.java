@@ -0,0 +1,60 @@
+/**
+ * Receiving end of radio instructions, implemented by anything that can fly under ATC control.
+ *
+ * Purpose:
+ * Gives RadioCommandExecutor a compile-time contract for the instructions it delivers, so commands
+ * are dispatched with ordinary interface calls instead of looking methods up by name at runtime.
+ *
+ * Key Responsibilities:
+ * - Accept coordinate change instructions
+ * - Accept altitude change instructions
+ * - Accept emergency landing instructions with the city's parking spaces
+ *
+ * Interactions:
+ * - Implemented by JetPackFlight
+ * - Registered with Radio / RadioCommandExecutor by callsign
+ * - Called by RadioCommand subclasses when a command is executed
+ *
+ * Patterns & Constraints:
+ * - Visitor-style target: each RadioCommand calls exactly one of these methods
+ * - Called on whichever thread executes the radio command; implementations follow their own
+ *   threading rules
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.radio;
+
+import java.util.List;
+
+import com.example.parking.ParkingSpace;
+
+/**
+ * RadioReceiver - typed target for radio commands
+ */
+public interface RadioReceiver {
+    /**
+     * Receives an instruction to fly to new coordinates.
+     *
+     * @param newX New X coordinate
+     * @param newY New Y coordinate
+     * @param reason Reason given by ATC
+     */
+    void receiveCoordinateInstruction(int newX, int newY, String reason);
+
+    /**
+     * Receives an instruction to climb or descend to a new altitude.
+     *
+     * @param newAltitude Target altitude
+     * @param reason Reason given by ATC
+     */
+    void receiveAltitudeInstruction(double newAltitude, String reason);
+
+    /**
+     * Receives an order to land at the nearest available parking.
+     *
+     * @param parkingSpaces City parking spaces, or null to halt in place
+     * @param reason Emergency directive given by ATC
+     */
+    void receiveEmergencyLandingInstruction(List<ParkingSpace> parkingSpaces, String reason);
+}
@@ -32,6 +32,7 @@ import com.example.model.Building3D;
 import com.example.model.CityModel3D;
 import com.example.model.House3D;
 import com.example.model.Road3D;
+import com.example.utility.water.TerrainMask;
 import com.jogamp.opengl.GL2;
 import com.jogamp.opengl.GLAutoDrawable;
 import com.jogamp.opengl.util.gl2.GLUT;
@@ -54,10 +55,12 @@ public class JOGLRenderer3D {
 
     private void renderCityFeatures(GL2 gl) {
         // Draw water areas
-        for (int x = 0; x < cityModel.getMapWidth(); x += 8) {
-            for (int y = 0; y < cityModel.getMapHeight(); y += 8) {
-                int rgb = cityModel.getMapImage().getRGB(x, y);
-                if ((rgb & 0xFFFFFF) == 0x2040E0 || (rgb & 0xFFFFFF) == 0x2080E0 || (rgb & 0xFFFFFF) == 0x2090E0 || (rgb & 0xFFFFFF) == 0x2070E0) {
+        TerrainMask terrain = cityModel.getTerrainMask();
+        byte[] row = new byte[cityModel.getMapWidth()];  // Terrain classes of one sampled row
+        for (int y = 0; y < cityModel.getMapHeight(); y += 8) {
+            terrain.getRow(y, 0, row.length, row, 0);  // One bulk read per row of tiles
+            for (int x = 0; x < cityModel.getMapWidth(); x += 8) {
+                if (row[x] == TerrainMask.WATER) {
                     gl.glColor3f(0.13f, 0.25f, 0.88f);
                     gl.glBegin(GL2.GL_QUADS);
                     gl.glVertex3f(x, 0, y);
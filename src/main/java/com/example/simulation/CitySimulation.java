@@ -0,0 +1,305 @@
+/**
+ * One city's air traffic world, advanced one fixed tick at a time without any UI.
+ *
+ * Purpose:
+ * Holds the per-tick rules that used to live inside the city map's Swing timer: weather grounding,
+ * flight movement, parking state, new destinations and the lookahead conflict probe. Driven by a
+ * SimulationEngine, it runs the same way with or without a display, and publishes the state that
+ * displays consume (predicted conflicts, sweep frames) as immutable values.
+ *
+ * Key Responsibilities:
+ * - Respond to severe and critical weather through a WeatherResponse
+ * - Move unparked flights, advance parking state machines and hand out new destinations
+ * - Fire parking departures from a hashed timing wheel keyed by tick, so parked flights cost
+ *   nothing per tick until their departure is due
+ * - Optionally move flights on a ForkJoinPool in fixed-size chunks, then commit cross-flight effects
+ *   (parking occupancy, destinations, log messages) serially in flight-list order
+ * - When the flights share one FlightStore in list order, move straight-line flights with the store's
+ *   batch kernel and give only routed or radio-directed flights the full per-flight update
+ * - Advance the ConflictProbe every tick and publish its ranking
+ * - Optionally sample a SweepFrame every ticksPerSweep ticks when no radar engine is running
+ *
+ * Interactions:
+ * - Owned by CityRuntime and stepped by its SimulationEngine; consumed by CityMapAnimationController
+ * - Reads Weather; mutates JetPackFlight and JetPackFlightState
+ * - CityRuntime implements WeatherResponse for the city's grounding and landing orders
+ *
+ * Patterns & Constraints:
+ * - Mutates flights only on the stepping thread; published values are safe to read anywhere
+ * - Random destinations come from a seedable Random, so headless runs can be repeated
+ * - The parallel phase only touches each flight's own movement; anything shared waits for the
+ *   commit phase, so results and log order match a serial run exactly
+ * - Flights and their states are indexed into dense arrays, rebuilt when the flight count changes,
+ *   so the tick does no per-flight map lookups
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.simulation;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.example.detection.ConflictProbe;
+import com.example.detection.PredictedConflict;
+import com.example.detection.RadarSweepEngine;
+import com.example.flight.FlightHazardMonitor;
+import com.example.flight.FlightStore;
+import com.example.flight.JetPackFlight;
+import com.example.flight.JetPackFlightState;
+import com.example.utility.timing.HashedTimingWheel;
+import com.example.weather.Weather;
+
+/**
+ * CitySimulation advances every flight in a city by one tick per step.
+ */
+public class CitySimulation implements SimulationEngine.SimulationStep {
+
+    /**
+     * Reacts to weather that is unsafe for flight.
+     */
+    public interface WeatherResponse {
+        /** Severity 5: halt every airborne flight */
+        void groundAllFlights(String reason);
+        /** Severity 4: send airborne flights to the nearest parking */
+        void initiateEmergencyLandings(String reason);
+    }
+
+    /** Departure wheel buckets; one rotation covers the longest parking dwell */
+    private static final int DEPARTURE_WHEEL_SIZE = 64;
+    /** Ticks between locally sampled sweep frames (one second at 40 ms) */
+    public static final int DEFAULT_TICKS_PER_SWEEP = 25;
+    /** Margin kept between random destinations and the map edge */
+    private static final int DESTINATION_MARGIN = 50;
+    /** Default number of flights moved by one parallel task */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private final List<JetPackFlight> flights;
+    private final Map<JetPackFlight, JetPackFlightState> flightStates;
+    private final Weather weather;
+    private final WeatherResponse weatherResponse;
+    private final int mapWidth;
+    private final int mapHeight;
+    private final Random random;
+    private final ConflictProbe conflictProbe = new ConflictProbe();
+    private final RadarSweepEngine localSweeps;
+    private volatile boolean localSweepsEnabled = true;
+    private ForkJoinPool updatePool;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private final HashedTimingWheel<JetPackFlightState> departures =
+        new HashedTimingWheel<>(1, DEPARTURE_WHEEL_SIZE, 0);  // "Milliseconds" are ticks here
+    private long currentTick;
+    private int sweepCounter;
+    private volatile List<PredictedConflict> predictedConflicts = Collections.emptyList();
+    // Dense views of flights and their states, aligned by index; rebuilt when the flight count changes
+    private JetPackFlight[] flightArray = new JetPackFlight[0];
+    private JetPackFlightState[] stateArray = new JetPackFlightState[0];
+    // Store shared by every flight with ids matching list positions, or null to move flights one by one
+    private FlightStore kernelStore;
+
+    /**
+     * Creates a city simulation.
+     *
+     * @param flights Flights to advance (shared with displays, never resized here)
+     * @param flightStates Parking state per flight; their departures are scheduled on this simulation
+     * @param weather City weather, may be null
+     * @param weatherResponse Handler for unsafe weather, may be null
+     * @param mapWidth Map width for random destinations
+     * @param mapHeight Map height for random destinations
+     * @param random Source for new destinations
+     */
+    public CitySimulation(List<JetPackFlight> flights, Map<JetPackFlight, JetPackFlightState> flightStates,
+                          Weather weather, WeatherResponse weatherResponse, int mapWidth, int mapHeight, Random random) {
+        this.flights = flights;
+        this.flightStates = flightStates;
+        this.weather = weather;
+        this.weatherResponse = weatherResponse;
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        this.random = random;
+        this.localSweeps = new RadarSweepEngine(null, flights, flightStates, null);  // Frames only, sampled on the stepping thread
+        for (JetPackFlightState state : flightStates.values()) {
+            state.setDepartureScheduler(this::scheduleDeparture);
+        }
+    }
+
+    @Override
+    public void step(long tick) {
+        currentTick = tick;
+        for (HashedTimingWheel.Timeout<JetPackFlightState> due : departures.advance(tick)) {
+            due.getItem().depart();  // Only flights whose dwell ends this tick
+        }
+        if (weather != null && weatherResponse != null) {
+            if (weather.getCurrentSeverity() >= 5) {
+                weatherResponse.groundAllFlights("CRITICAL WEATHER - " + weather.getCurrentWeather());  // Ground everything
+            } else if (weather.getCurrentSeverity() == 4) {
+                weatherResponse.initiateEmergencyLandings("SEVERE WEATHER - " + weather.getCurrentWeather());
+            }
+        }
+        boolean inclement = weather != null && !weather.isSafeToFly();
+        if (flightArray.length != flights.size()) {
+            index();
+        }
+        if (kernelStore != null && weather != null) {
+            kernelStore.setHazardAll(FlightHazardMonitor.WEATHER, inclement);  // What move() does flight by flight
+        }
+        ForkJoinPool pool = updatePool;
+        if (pool != null && flightArray.length > chunkSize) {
+            moveInParallel(pool, inclement);
+        } else {
+            moveRange(0, flightArray.length, inclement);
+        }
+        for (int i = 0; i < flightArray.length; i++) {
+            JetPackFlight flight = flightArray[i];
+            JetPackFlightState state = stateArray[i];
+            if (state != null && state.isParked()) {
+                continue;  // Waiting for its departure event
+            }
+            if (state != null) {
+                state.update();  // Parking state machine
+            }
+            // Only assign a new random destination if not parked and not in the process of parking
+            if (flight.hasReachedDestination() && (state == null || (!state.isParked() && !state.isParkingInProgress()))) {
+                flight.setNewDestination(new Point(
+                    DESTINATION_MARGIN + random.nextInt(mapWidth - 2 * DESTINATION_MARGIN),
+                    DESTINATION_MARGIN + random.nextInt(mapHeight - 2 * DESTINATION_MARGIN)));
+            }
+        }
+        predictedConflicts = Collections.unmodifiableList(conflictProbe.update(flights, flightStates));
+        if (localSweepsEnabled && ++sweepCounter >= DEFAULT_TICKS_PER_SWEEP) {
+            localSweeps.sweepNow();  // Consistent frame for collision checks, taken between ticks
+            sweepCounter = 0;
+        }
+    }
+
+    /**
+     * Rebuilds the dense flight and state arrays and decides whether the batch kernel can be used.
+     */
+    private void index() {
+        int n = flights.size();
+        flightArray = flights.toArray(new JetPackFlight[n]);
+        stateArray = new JetPackFlightState[n];
+        FlightStore shared = n > 0 ? flightArray[0].getStore() : null;
+        for (int i = 0; i < n; i++) {
+            stateArray[i] = flightStates.get(flightArray[i]);
+            if (flightArray[i].getStore() != shared || flightArray[i].getStoreId() != i) {
+                shared = null;  // Not one store in list order: move flights one by one
+            }
+        }
+        kernelStore = (shared != null && shared.size() == n) ? shared : null;
+    }
+
+    /**
+     * Movement phase for flights [from, to): touches nothing but those flights
+     */
+    private void moveRange(int from, int to, boolean inclement) {
+        FlightStore store = kernelStore;
+        if (store == null) {
+            for (int i = from; i < to; i++) {
+                move(flightArray[i], stateArray[i], inclement);
+            }
+            return;
+        }
+        store.advance(from, to);  // Straight-line flights in one pass over the arrays
+        for (int i = from; i < to; i++) {
+            if (store.needsFullUpdate(i)) {
+                move(flightArray[i], stateArray[i], inclement);  // Waypoints, detours, buildings or radio
+            }
+        }
+    }
+
+    /**
+     * Movement phase for one flight: touches nothing but the flight itself
+     */
+    private void move(JetPackFlight flight, JetPackFlightState state, boolean inclement) {
+        if (weather != null) {
+            flight.setInclementWeather(inclement);
+        }
+        if (state == null || !state.isParked()) {
+            flight.updatePosition();
+        }
+    }
+
+    /**
+     * Runs the movement phase on the pool in chunks, each buffering its side effects, then replays
+     * the buffers in chunk order so messages come out as a serial run would emit them.
+     */
+    private void moveInParallel(ForkJoinPool pool, boolean inclement) {
+        int chunks = (flightArray.length + chunkSize - 1) / chunkSize;
+        @SuppressWarnings("unchecked")
+        List<Runnable>[] effects = (List<Runnable>[]) new List<?>[chunks];
+        pool.invoke(new MoveTask(effects, inclement, 0, chunks));
+        for (List<Runnable> chunkEffects : effects) {
+            for (Runnable effect : chunkEffects) {
+                effect.run();  // Commit on the stepping thread, in flight-list order
+            }
+        }
+    }
+
+    /**
+     * Splits a range of chunks in half until one chunk is left, then moves its flights.
+     */
+    private final class MoveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final List<Runnable>[] effects;
+        private final boolean inclement;
+        private final int fromChunk;
+        private final int toChunk;
+
+        MoveTask(List<Runnable>[] effects, boolean inclement, int fromChunk, int toChunk) {
+            this.effects = effects;
+            this.inclement = inclement;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                int mid = (fromChunk + toChunk) >>> 1;
+                invokeAll(new MoveTask(effects, inclement, fromChunk, mid),
+                          new MoveTask(effects, inclement, mid, toChunk));
+                return;
+            }
+            List<Runnable> buffer = new ArrayList<>();
+            int end = Math.min(flightArray.length, (fromChunk + 1) * chunkSize);
+            SideEffects.open(buffer);
+            try {
+                moveRange(fromChunk * chunkSize, end, inclement);
+            } finally {
+                SideEffects.close();
+            }
+            effects[fromChunk] = buffer;  // Published to the caller by invoke's happens-before
+        }
+    }
+
+    /**
+     * Schedules a departure dwellTicks ticks after the current one.
+     */
+    private void scheduleDeparture(JetPackFlightState state, int dwellTicks) {
+        departures.schedule(state, currentTick + dwellTicks);
+    }
+
+    /** Returns the predicted conflicts ranked by the last tick (immutable) */
+    public List<PredictedConflict> getPredictedConflicts() { return predictedConflicts; }
+    /** Returns the lookahead probe; only touch it from the stepping thread */
+    public ConflictProbe getConflictProbe() { return conflictProbe; }
+    /** Returns the frame source sampled every DEFAULT_TICKS_PER_SWEEP ticks */
+    public RadarSweepEngine getLocalSweeps() { return localSweeps; }
+    /** Turns local frame sampling off when a radar engine supplies frames instead */
+    public void setLocalSweepsEnabled(boolean enabled) { this.localSweepsEnabled = enabled; }
+    /** Moves flights on the given pool when there are more than one chunk's worth; null moves them serially */
+    public void setUpdatePool(ForkJoinPool updatePool) { this.updatePool = updatePool; }
+    /** Sets how many flights one parallel task moves */
+    public void setChunkSize(int chunkSize) { this.chunkSize = Math.max(1, chunkSize); }
+    /** Returns the number of parked flights waiting for their departure tick */
+    public int getScheduledDepartures() { return departures.size(); }
+    /** Returns the simulated flights */
+    public List<JetPackFlight> getFlights() { return flights; }
+}
@@ -0,0 +1,61 @@
+/**
+ * Per-thread buffer for side effects raised while flights update in parallel.
+ *
+ * Purpose:
+ * Flight updates report to movement logs through callbacks that end in UI and log files. When the
+ * update phase runs on several worker threads those callbacks would fire concurrently and in an
+ * arbitrary order. Code that raises such an effect hands it to SideEffects.run instead: on a thread
+ * with an open buffer the effect is queued, otherwise it runs at once as before.
+ *
+ * Key Responsibilities:
+ * - Queue effects on threads inside a buffered section
+ * - Run effects immediately everywhere else, so serial callers see no change
+ *
+ * Interactions:
+ * - Opened per chunk by CitySimulation's parallel movement phase, which replays the buffers in
+ *   flight-list order during its serial commit phase
+ * - Used by JetPackFlight for movement log messages
+ *
+ * Patterns & Constraints:
+ * - ThreadLocal buffer; a section must be closed on the thread that opened it
+ * - Effects are replayed on the committing thread, never on the worker
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.simulation;
+
+import java.util.List;
+
+/**
+ * SideEffects defers effects raised inside a buffered section on the current thread.
+ */
+public final class SideEffects {
+    private static final ThreadLocal<List<Runnable>> BUFFER = new ThreadLocal<>();
+
+    private SideEffects() {
+        // Static helper
+    }
+
+    /**
+     * Runs an effect now, or queues it if the current thread is inside a buffered section.
+     */
+    public static void run(Runnable effect) {
+        List<Runnable> buffer = BUFFER.get();
+        if (buffer != null) {
+            buffer.add(effect);  // Replayed in order by the commit phase
+        } else {
+            effect.run();
+        }
+    }
+
+    /** Opens a buffered section on the current thread */
+    static void open(List<Runnable> buffer) {
+        BUFFER.set(buffer);
+    }
+
+    /** Closes the current thread's buffered section */
+    static void close() {
+        BUFFER.remove();
+    }
+}
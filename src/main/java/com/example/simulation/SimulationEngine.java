@@ -0,0 +1,269 @@
+/**
+ * Fixed-timestep simulation loop running on its own thread, independent of Swing.
+ *
+ * Purpose:
+ * The simulation used to advance inside a javax.swing.Timer callback on the event dispatch thread, so
+ * every repaint or text update slowed it down and nothing could run without a display. The engine
+ * owns the tick loop instead: it advances the world in fixed steps on a dedicated thread, catches up
+ * after short stalls, skips ticks after long ones, and publishes after each batch of steps so that
+ * displays can consume the new state at their own pace.
+ *
+ * Key Responsibilities:
+ * - Run a SimulationStep every timestep on a daemon thread (start/stop)
+ * - Catch up with back-to-back steps after a stall, up to maxCatchUpSteps, and skip the rest
+ * - Step synchronously on the caller's thread when not running (step/step(n)) for headless use
+ * - Apply commands submitted from other threads between ticks
+ * - Notify SimulationListeners once per batch of steps
+ *
+ * Interactions:
+ * - Drives one CitySimulation per city inside CityRuntime; CityMapAnimationController only listens and repaints
+ * - Usable without any UI, e.g. from tests, benchmarks or a server process
+ *
+ * Patterns & Constraints:
+ * - The world is only mutated on the stepping thread; other threads use submit
+ * - Step and listener exceptions are logged and the loop carries on, as the Swing timer did
+ * - Tick counters are volatile and safe to read from any thread
+ * - Each loop runs only while it is still the engine's current thread, so a loop that outlives
+ *   stop() never resumes; start and step wait for such a loop to finish its tick before stepping
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.simulation;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SimulationEngine advances a simulation in fixed time steps on a dedicated thread.
+ */
+public class SimulationEngine {
+
+    /**
+     * Advances the simulated world by one timestep.
+     */
+    public interface SimulationStep {
+        /**
+         * @param tick Number of the tick being run, starting at 1
+         */
+        void step(long tick);
+    }
+
+    /**
+     * Notified after each batch of steps, on the stepping thread.
+     */
+    public interface SimulationListener {
+        /**
+         * @param tick Number of the last tick run
+         */
+        void onPublished(long tick);
+    }
+
+    /** Default number of ticks run back to back after a stall before ticks are skipped */
+    public static final int DEFAULT_MAX_CATCH_UP_STEPS = 5;
+    /** How long stop, start and step wait for a loop thread to finish its tick */
+    private static final long STOP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(2);
+
+    private final String name;
+    private final long timestepMillis;
+    private final SimulationStep simulation;
+    private final List<SimulationListener> listeners = new CopyOnWriteArrayList<>();
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private volatile int maxCatchUpSteps = DEFAULT_MAX_CATCH_UP_STEPS;
+    private volatile long tickCount;
+    private volatile long skippedTicks;
+    private volatile boolean running;
+    private volatile Thread thread;  // Current loop; a loop exits as soon as it is replaced or cleared
+    private Thread exiting;          // Stopped loop that had not finished its tick when stop returned
+
+    /**
+     * Creates an engine.
+     *
+     * @param timestepMillis Simulated time per tick in ms
+     * @param simulation World logic run once per tick
+     */
+    public SimulationEngine(long timestepMillis, SimulationStep simulation) {
+        this("simulation-engine", timestepMillis, simulation);
+    }
+
+    /**
+     * Creates an engine whose loop thread carries the given name, e.g. one engine per city.
+     *
+     * @param name Loop thread name
+     * @param timestepMillis Simulated time per tick in ms
+     * @param simulation World logic run once per tick
+     */
+    public SimulationEngine(String name, long timestepMillis, SimulationStep simulation) {
+        if (timestepMillis <= 0) {
+            throw new IllegalArgumentException("Timestep must be positive");
+        }
+        this.name = name;
+        this.timestepMillis = timestepMillis;
+        this.simulation = simulation;
+    }
+
+    /**
+     * Starts the tick loop on a new daemon thread; does nothing if already running.
+     *
+     * @throws IllegalStateException if a stopped loop has not finished its tick
+     */
+    public synchronized void start() {
+        if (running) return;
+        awaitExit();
+        running = true;
+        thread = new Thread(this::runLoop, name);
+        thread.setDaemon(true);  // Never keeps the application alive
+        thread.start();
+    }
+
+    /**
+     * Stops the tick loop and waits for the current batch to finish, up to a timeout. A loop still
+     * ticking after that stops at the end of its tick and is waited for by the next start or step.
+     */
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        Thread loop = thread;
+        thread = null;
+        LockSupport.unpark(loop);
+        if (loop != Thread.currentThread()) {  // A listener may stop the engine from the loop itself
+            try {
+                loop.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (loop.isAlive()) {
+            exiting = loop;  // Still inside a tick; start and step wait for it
+        }
+    }
+
+    /**
+     * Runs one tick on the calling thread and publishes it.
+     *
+     * @throws IllegalStateException if the loop is running
+     */
+    public void step() {
+        step(1);
+    }
+
+    /**
+     * Runs several ticks on the calling thread, then publishes once.
+     *
+     * @throws IllegalStateException if the loop is running, or a stopped loop has not exited
+     */
+    public synchronized void step(int ticks) {
+        if (running) {
+            throw new IllegalStateException("Cannot step manually while the engine is running");
+        }
+        awaitExit();
+        for (int i = 0; i < ticks; i++) {
+            runTick();
+        }
+        publish();
+    }
+
+    /**
+     * Queues a command to run on the stepping thread before the next tick.
+     */
+    public void submit(Runnable command) {
+        commands.add(command);
+    }
+
+    /** Registers a listener for published ticks */
+    public void addListener(SimulationListener listener) { listeners.add(listener); }
+    /** Removes a previously registered listener */
+    public void removeListener(SimulationListener listener) { listeners.remove(listener); }
+    /** Returns whether the tick loop is running */
+    public boolean isRunning() { return running; }
+    /** Returns the number of ticks run so far */
+    public long getTickCount() { return tickCount; }
+    /** Returns the number of ticks dropped because the loop fell too far behind */
+    public long getSkippedTicks() { return skippedTicks; }
+    /** Returns the simulated time per tick in ms */
+    public long getTimestepMillis() { return timestepMillis; }
+    /** Returns the simulated time so far in ms */
+    public long getSimulatedMillis() { return tickCount * timestepMillis; }
+    /** Returns the catch-up limit */
+    public int getMaxCatchUpSteps() { return maxCatchUpSteps; }
+    /** Sets how many ticks may run back to back after a stall before the rest are skipped */
+    public void setMaxCatchUpSteps(int maxCatchUpSteps) { this.maxCatchUpSteps = Math.max(1, maxCatchUpSteps); }
+
+    /**
+     * Waits for a stopped loop that was still ticking when stop returned, so the world never has two
+     * stepping threads.
+     *
+     * @throws IllegalStateException if it has not exited within the stop timeout
+     */
+    private void awaitExit() {
+        Thread loop = exiting;
+        if (loop == null) return;
+        if (loop != Thread.currentThread()) {
+            try {
+                loop.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (loop.isAlive()) {
+            throw new IllegalStateException("Previous loop thread " + loop.getName() + " is still running a tick");
+        }
+        exiting = null;
+    }
+
+    private void runLoop() {
+        Thread self = Thread.currentThread();
+        long timestepNanos = TimeUnit.MILLISECONDS.toNanos(timestepMillis);
+        long nextTick = System.nanoTime() + timestepNanos;
+        while (thread == self) {
+            long now = System.nanoTime();
+            if (now < nextTick) {
+                LockSupport.parkNanos(nextTick - now);  // Early wake-ups just loop round
+                continue;
+            }
+            long due = (now - nextTick) / timestepNanos + 1;
+            long run = Math.min(due, maxCatchUpSteps);
+            for (long i = 0; i < run && thread == self; i++) {
+                runTick();
+            }
+            if (due > run) {
+                skippedTicks += due - run;  // Too far behind: drop the backlog rather than spiral
+            }
+            nextTick += due * timestepNanos;
+            publish();
+        }
+    }
+
+    private void runTick() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                System.err.println("Simulation command failed: " + e.getMessage());
+            }
+        }
+        long tick = tickCount + 1;
+        try {
+            simulation.step(tick);
+        } catch (RuntimeException e) {
+            System.err.println("Simulation tick " + tick + " failed: " + e.getMessage());  // Keep the world running
+        }
+        tickCount = tick;
+    }
+
+    private void publish() {
+        long tick = tickCount;
+        for (SimulationListener listener : listeners) {
+            try {
+                listener.onPublished(tick);
+            } catch (RuntimeException e) {
+                System.err.println("Simulation listener failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Simulation-wide source of randomness with an optional fixed seed.
+ *
+ * Purpose:
+ * Random choices used to come from Math.random and from unseeded Random instances scattered across
+ * flights, parking and radio code, so no two runs matched and performance changes could not be
+ * compared tick for tick. Every simulation component now draws its generator from here. In
+ * deterministic mode all generators descend from one seed, so a run is reproducible; otherwise
+ * they are seeded unpredictably as before.
+ *
+ * Key Responsibilities:
+ * - Hold the root SplittableRandom and the deterministic mode flag
+ * - Hand out independent per-flight streams (split) and java.util.Random instances (newRandom)
+ * - Enable deterministic mode from the jetpack.simulation.seed system property at start-up
+ *
+ * Interactions:
+ * - JetPackFlight takes one split stream per flight and shares it with its movement and emergency
+ *   components, so parallel updates stay deterministic whatever the thread count
+ * - JetPackFlightState, parking, radio and map initialisation take newRandom instances
+ * - TrajectoryHash verifies that seeded runs produce identical output
+ *
+ * Patterns & Constraints:
+ * - Static service; the root is guarded by the class lock
+ * - Streams must be taken in a deterministic order (construction order), never from worker threads
+ * - A stream is owned by one component and is not thread-safe
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.simulation;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * SimulationRandom hands out seeded or unseeded random streams for simulation components.
+ */
+public final class SimulationRandom {
+    /** System property holding a seed; when present the simulation starts in deterministic mode */
+    public static final String SEED_PROPERTY = "jetpack.simulation.seed";
+
+    private static SplittableRandom root;
+    private static boolean deterministic;
+
+    static {
+        String seed = System.getProperty(SEED_PROPERTY);
+        if (seed != null) {
+            setSeed(Long.parseLong(seed.trim()));
+        } else {
+            clearSeed();
+        }
+    }
+
+    private SimulationRandom() {
+        // Static service
+    }
+
+    /**
+     * Enables deterministic mode; streams handed out from now on descend from this seed.
+     */
+    public static synchronized void setSeed(long seed) {
+        root = new SplittableRandom(seed);
+        deterministic = true;
+    }
+
+    /**
+     * Returns to unseeded mode, as when no seed property is set.
+     */
+    public static synchronized void clearSeed() {
+        root = new SplittableRandom();  // Seeded from the system default generator
+        deterministic = false;
+    }
+
+    /** Returns whether streams currently descend from a fixed seed */
+    public static synchronized boolean isDeterministic() { return deterministic; }
+
+    /**
+     * Returns a new independent stream, e.g. one per flight.
+     */
+    public static synchronized SplittableRandom split() {
+        return root.split();
+    }
+
+    /**
+     * Returns a new java.util.Random seeded from the root, for components that need that type.
+     */
+    public static synchronized Random newRandom() {
+        return new Random(root.nextLong());
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Running 64-bit fingerprint of every flight's trajectory, for comparing simulation runs.
+ *
+ * Purpose:
+ * Proves that two runs produced exactly the same output: the same seed must give the same hash
+ * whatever the thread count or chunk size, and an optimisation that changes behaviour shows up as a
+ * different hash before any timings are compared.
+ *
+ * Key Responsibilities:
+ * - Fold each flight's position and altitude into the hash once per recorded tick
+ * - Wrap a SimulationStep so that every tick is recorded automatically
+ *
+ * Interactions:
+ * - Used with SimulationRandom's deterministic mode by tests and benchmarks
+ * - Reads JetPackFlight positions only; never changes the simulation
+ *
+ * Patterns & Constraints:
+ * - Exact: folds the raw double bits, so any difference in any tick changes the result
+ * - Order-sensitive: flights are folded in list order
+ * - Not thread-safe; record on the stepping thread
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.simulation;
+
+import java.util.List;
+
+import com.example.flight.JetPackFlight;
+
+/**
+ * TrajectoryHash accumulates a fingerprint of flight positions over a run.
+ */
+public class TrajectoryHash {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long hash = 17;
+    private long recordedTicks;
+
+    /**
+     * Returns a step that runs the given step and then records the flights.
+     */
+    public SimulationEngine.SimulationStep wrap(SimulationEngine.SimulationStep step, List<JetPackFlight> flights) {
+        return tick -> {
+            step.step(tick);
+            record(flights);
+        };
+    }
+
+    /**
+     * Folds the current position and altitude of every flight into the hash.
+     */
+    public void record(List<JetPackFlight> flights) {
+        for (JetPackFlight flight : flights) {
+            mix(Double.doubleToLongBits(flight.getX()));
+            mix(Double.doubleToLongBits(flight.getY()));
+            mix(Double.doubleToLongBits(flight.getAltitude()));
+        }
+        mix(flights.size());  // Separates ticks, so a flight missing in one tick cannot line up later
+        recordedTicks++;
+    }
+
+    /** Returns the fingerprint so far */
+    public long getValue() { return hash; }
+    /** Returns the number of ticks recorded */
+    public long getRecordedTicks() { return recordedTicks; }
+
+    @Override
+    public String toString() {
+        return String.format("%016x (%d ticks)", hash, recordedTicks);
+    }
+
+    private void mix(long value) {
+        long z = (hash ^ value) * GOLDEN_GAMMA;  // SplitMix64 finaliser
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        hash = z ^ (z >>> 31);
+    }
+}
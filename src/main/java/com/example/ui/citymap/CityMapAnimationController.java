@@ -3,200 +3,167 @@
  * 
  * Purpose:
  * Manages animation loop timing, frame rate control, and coordinates updates to all animated elements
- * in the city map display. Ensures smooth 20 FPS animation of jetpack movements.
+ * in the city map display. The simulation itself runs headless in the city's CityRuntime, which
+ * keeps going while no map is shown; this controller only repaints after each published tick and
+ * turns the city's fused radar network conflicts into radar tape alerts on the EDT while the map is
+ * attached. The network is the city's only live separation check, so disabling one of its radars
+ * (Radar.setActive(false)) degrades the alerts exactly as it degrades coverage.
  * 
  * @author Haisam Elkewidy
  */
 
 package com.example.ui.citymap;
 
-import java.awt.Point;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
+import com.example.detection.CollisionDetector;
+import com.example.detection.ConflictProbe;
+import com.example.detection.PredictedConflict;
+import com.example.detection.ProximityAlertTracker;
+import com.example.detection.ProximityAlertTracker.AlertTransition;
+import com.example.detection.RadarNetwork;
+import com.example.detection.RadarNetwork.Conflict;
+import com.example.detection.RadarNetwork.NetworkListener;
+import com.example.detection.RadarNetwork.NetworkSweep;
+import com.example.detection.SweepFrame;
 import com.example.flight.JetPackFlight;
-import com.example.flight.JetPackFlightState;
+import com.example.jetpack.JetPack;
+import com.example.simulation.CitySimulation;
 import com.example.ui.frames.RadarTapeWindow;
-import com.example.utility.geometry.GeometryUtils;
 import com.example.utility.performance.PerformanceMonitor;
-import com.example.weather.Weather;
 
 /**
  * CityMapAnimationController - Manages the animation loop and collision detection
  */
 public class CityMapAnimationController {
-        // Helper to check if a jetpack is in the process of parking (has a target parking assigned)
-        private boolean isParkingInProgress(JetPackFlightState state) {
-            if (state == null) return false;
-            try {
-                java.lang.reflect.Field targetParkingField = state.getClass().getDeclaredField("targetParking");
-                targetParkingField.setAccessible(true);
-                Object targetParking = targetParkingField.get(state);
-                return targetParking != null && !state.isParked();
-            } catch (Exception e) {
-                return false;
-            }
-        }
-    /** Field for animationTimer */
-    private javax.swing.Timer animationTimer;
-    /** Field for jetpackFlights */
-    private final List<JetPackFlight> jetpackFlights;
-    /** Field for flightStates */
-    private final Map<JetPackFlight, JetPackFlightState> flightStates;
-    /** Field for currentWeather */
-    private final Weather currentWeather;
+    /** Horizontal distance below which a pair is reported as a warning */
+    private static final double WARNING_DISTANCE = CollisionDetector.getWarningDistance();
+    /** Horizontal distance below which a pair is reported as critical */
+    private static final double CRITICAL_DISTANCE = CollisionDetector.getCriticalDistance();
+    /** Extra separation required before an alert de-escalates */
+    private static final double HYSTERESIS_MARGIN = CollisionDetector.getHysteresisMargin();
+    /** Number of predicted conflicts announced per collision check */
+    private static final int PREDICTED_CONFLICTS_REPORTED = 3;
+    /** The running city's world rules, read for predicted conflicts */
+    private volatile CitySimulation simulation;
+    /** Radar network followed while attached */
+    private RadarNetwork radarNetwork;
+    /** Map repainted after each tick while attached */
+    private volatile JPanel mapPanel;
     /** Field for performanceMonitor */
     private final PerformanceMonitor performanceMonitor;
     /** Field for radarTapeWindow */
     private final RadarTapeWindow radarTapeWindow;
-    /** Field for weatherManager */
-    private final CityMapWeatherManager weatherManager;
+    /** Hands each fused network sweep to the EDT for alerts */
+    private final NetworkListener networkListener = sweep -> SwingUtilities.invokeLater(() -> checkCollisions(sweep));
+    /** Per-pair alert levels; only level changes reach the radar tape */
+    private final ProximityAlertTracker alertTracker =
+        new ProximityAlertTracker(WARNING_DISTANCE, CRITICAL_DISTANCE, 0.0, HYSTERESIS_MARGIN);
+    /** Predicted conflicts announced by the previous collision check */
+    private List<PredictedConflict> lastAnnouncedConflicts = new ArrayList<>();
     
-    public CityMapAnimationController(List<JetPackFlight> jetpackFlights,
-                                     Map<JetPackFlight, JetPackFlightState> flightStates,
-                                     Weather currentWeather,
-                                     PerformanceMonitor performanceMonitor,
-                                     RadarTapeWindow radarTapeWindow,
-                                     CityMapWeatherManager weatherManager) {
-        this.jetpackFlights = jetpackFlights;
-        this.flightStates = flightStates;
-        this.currentWeather = currentWeather;
+    public CityMapAnimationController(PerformanceMonitor performanceMonitor, RadarTapeWindow radarTapeWindow) {
         this.performanceMonitor = performanceMonitor;
         this.radarTapeWindow = radarTapeWindow;
-        this.weatherManager = weatherManager;
     }
     
     /**
-     * Starts the animation timer
+     * Starts following a running city: repaints on its ticks and raises alerts from its radar network sweeps
      */
-    public void startAnimation(JPanel mapPanel, int mapWidth, int mapHeight) {
-        if (animationTimer != null) {
-            animationTimer.stop();
-        }
-        
-        animationTimer = new javax.swing.Timer(40, new ActionListener() {
-            /** Field for Random() */
-            private Random rand = new Random();
-            /** Field for 0 */
-            private int updateCounter = 0;
-            /** Field for 0 */
-            private int collisionCheckCounter = 0;
-            
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                // Check for severe weather grounding
-                if (currentWeather != null && currentWeather.getCurrentSeverity() >= 5) {
-                    // Critical weather - ground all active flights
-                    weatherManager.groundAllFlights("CRITICAL WEATHER - " + currentWeather.getCurrentWeather());
-                } else if (currentWeather != null && currentWeather.getCurrentSeverity() == 4) {
-                    // Severe weather - initiate emergency landings for active flights
-                    weatherManager.initiateEmergencyLandings("SEVERE WEATHER - " + currentWeather.getCurrentWeather());
-                }
-                
-                for (JetPackFlight flight : jetpackFlights) {
-                    JetPackFlightState state = flightStates.get(flight);
-                    
-                    if (currentWeather != null) {
-                        flight.setInclementWeather(!currentWeather.isSafeToFly());
-                    }
-                    
-                    if (state == null || !state.isParked()) {
-                        flight.updatePosition();
-                    }
-                    
-                    // Ensure parking logic is executed for each flight
-                    if (state != null) {
-                        // ...removed debug output...
-                        state.update();
-                    }
-
-                    updateCounter++;
-                    if (updateCounter >= 18) {
-                        if (state != null) {
-                            // ...removed debug output...
-                            state.update();
-                        }
-                    }
-                    
-                    // Only assign a new random destination if not parked and not in the process of parking
-                    if (flight.hasReachedDestination() && (state == null || (!state.isParked() && !CityMapAnimationController.this.isParkingInProgress(state)))) {
-                        Point newDest = new Point(50 + rand.nextInt(mapWidth - 100), 50 + rand.nextInt(mapHeight - 100));
-                        flight.setNewDestination(newDest);
-                    }
-                }
-                
-                if (updateCounter >= 18) {
-                    updateCounter = 0;
-                }
-                
-                collisionCheckCounter++;
-                if (collisionCheckCounter >= 25) {
-                    checkCollisions();
-                    collisionCheckCounter = 0;
-                }
-                
-                // Update performance monitor
-                if (performanceMonitor != null) {
-                    performanceMonitor.tick();
-                }
-                
-                mapPanel.repaint();
-            }
-        });
-        animationTimer.start();
+    public void startAnimation(JPanel mapPanel, CitySimulation simulation, RadarNetwork radarNetwork) {
+        stopAnimation();
+        this.simulation = simulation;
+        this.radarNetwork = radarNetwork;
+        radarNetwork.addListener(networkListener);  // Sweeps arrive on the radar sweep thread
+        this.mapPanel = mapPanel;
     }
     
     /**
-     * Stops the animation timer
+     * Stops following the city; the city itself keeps running
      */
     public void stopAnimation() {
-        if (animationTimer != null) {
-            animationTimer.stop();
+        mapPanel = null;
+        if (radarNetwork != null) {
+            radarNetwork.removeListener(networkListener);
+            radarNetwork = null;
         }
     }
     
     /**
-     * Checks for collisions between jetpack flights
+     * Called after each published batch of ticks, on the city's simulation thread
      */
-    private void checkCollisions() {
-        final double WARNING_DISTANCE = 100.0;
-        final double CRITICAL_DISTANCE = 50.0;
+    public void onTick(long tick) {
+        JPanel panel = mapPanel;
+        if (panel == null) return;  // Detached
+        if (performanceMonitor != null) {
+            performanceMonitor.tick();
+        }
+        panel.repaint();  // Thread-safe: schedules a paint on the EDT
+    }
+    
+    /**
+     * Turns one network sweep's conflicts into alert levels and posts the changes as one batch
+     */
+    private void checkCollisions(NetworkSweep sweep) {
+        SweepFrame frame = sweep.getFrame();
+        Map<JetPack, JetPackFlight> flightsByJetpack = new IdentityHashMap<>(frame.size() * 2);
+        for (int i = 0; i < frame.size(); i++) {
+            flightsByJetpack.put(frame.getFlight(i).getJetpack(), frame.getFlight(i));
+        }
+        alertTracker.beginSweep();
+        for (Conflict conflict : sweep.getConflicts()) {  // Reported out to the clear distance, so hysteresis holds
+            alertTracker.observe(flightsByJetpack.get(conflict.getFirst()), flightsByJetpack.get(conflict.getSecond()),
+                conflict.getDistance());
+        }
+        List<AlertTransition> transitions = alertTracker.endSweep();
         
-        for (int i = 0; i < jetpackFlights.size(); i++) {
-            JetPackFlight flight1 = jetpackFlights.get(i);
-            JetPackFlightState state1 = flightStates.get(flight1);
-            
-            if (state1 != null && state1.isParked()) continue;
-            
-            for (int j = i + 1; j < jetpackFlights.size(); j++) {
-                JetPackFlight flight2 = jetpackFlights.get(j);
-                JetPackFlightState state2 = flightStates.get(flight2);
-                
-                if (state2 != null && state2.isParked()) continue;
-                
-                double distance = GeometryUtils.calculateDistance(
-                    flight1.getX(), flight1.getY(),
-                    flight2.getX(), flight2.getY());
-                
-                if (distance < CRITICAL_DISTANCE) {
-                    if (radarTapeWindow != null && radarTapeWindow.isVisible()) {
-                        radarTapeWindow.addMessage("⚠️ CRITICAL: " + flight1.getJetpack().getCallsign() + 
-                            " and " + flight2.getJetpack().getCallsign() + 
-                            " are " + String.format("%.1f", distance) + " units apart - COLLISION RISK!");
-                    }
-                } else if (distance < WARNING_DISTANCE) {
-                    if (radarTapeWindow != null && radarTapeWindow.isVisible()) {
-                        radarTapeWindow.addMessage("⚠️ Warning: " + flight1.getJetpack().getCallsign() + 
-                            " and " + flight2.getJetpack().getCallsign() + 
-                            " are " + String.format("%.1f", distance) + " units apart");
-                    }
-                }
+        if (radarTapeWindow == null || !radarTapeWindow.isVisible()) return;
+        List<String> batch = new ArrayList<>();
+        for (AlertTransition transition : transitions) {
+            batch.add(CollisionDetector.formatTransition(transition));
+        }
+        addPredictedConflicts(batch);
+        radarTapeWindow.addMessages(batch);
+    }
+    
+    /**
+     * Adds the most urgent predicted conflicts from the lookahead probe that were not announced last sweep
+     */
+    private void addPredictedConflicts(List<String> batch) {
+        CitySimulation current = simulation;
+        if (current == null) return;
+        List<PredictedConflict> conflicts = current.getPredictedConflicts();  // Immutable, published per tick
+        List<PredictedConflict> announced = new ArrayList<>(PREDICTED_CONFLICTS_REPORTED);
+        for (int i = 0; i < conflicts.size() && i < PREDICTED_CONFLICTS_REPORTED; i++) {
+            PredictedConflict conflict = conflicts.get(i);
+            if (!containsPair(lastAnnouncedConflicts, conflict)) {
+                batch.add("🔮 PREDICTED: " + conflict);
             }
+            announced.add(conflict);
         }
+        lastAnnouncedConflicts = announced;
+    }
+    
+    private static boolean containsPair(List<PredictedConflict> conflicts, PredictedConflict conflict) {
+        for (PredictedConflict other : conflicts) {
+            if (other.getFirst() == conflict.getFirst() && other.getSecond() == conflict.getSecond()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Returns the lookahead conflict probe of the followed city, or null before start
+     */
+    public ConflictProbe getConflictProbe() {
+        CitySimulation current = simulation;
+        return (current != null) ? current.getConflictProbe() : null;
     }
 }
@@ -13,15 +13,21 @@ package com.example.ui.citymap;
 import java.awt.Color;
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
+import com.example.flight.FlightStore;
 import com.example.flight.JetPackFlight;
 import com.example.flight.JetPackFlightState;
 import com.example.jetpack.JetPack;
+import com.example.navigation.OccupancyGrid;
+import com.example.navigation.RoutePlanner;
 import com.example.parking.ParkingSpace;
 import com.example.radio.Radio;
+import com.example.simulation.SimulationRandom;
+import com.example.utility.water.TerrainMask;
 
 /**
  * CityMapFlightInitializer - Handles initialization of jetpack flights
@@ -41,7 +47,11 @@ public class CityMapFlightInitializer {
                                         java.awt.image.BufferedImage mapImage,
                                         MovementLogger movementLogger,
                                         FlightStateProvider flightStateProvider) {
-        Random rand = new Random();
+        Random rand = SimulationRandom.newRandom();
+        FlightStore store = new FlightStore(jetpacks.size());  // One slot per flight, advanced in bulk by CitySimulation
+        TerrainMask terrain = TerrainMask.forImage(mapImage);  // Shared with every flight's emergency handler
+        RoutePlanner planner = new RoutePlanner(new OccupancyGrid(mapWidth, mapHeight, Collections.emptyList(),
+            (x, y) -> terrain.isWater((int) x, (int) y)));  // Water only: the 2D map has no buildings
         
         for (JetPack jp : jetpacks) {
             Point start = new Point(
@@ -54,11 +64,12 @@ public class CityMapFlightInitializer {
             );
             Color color = new Color(rand.nextInt(256), rand.nextInt(256), rand.nextInt(256));
             
-            JetPackFlight flight = new JetPackFlight(jp, start, destination, color);
+            JetPackFlight flight = new JetPackFlight(jp, start, destination, color, store);
             
             flight.setMovementLogger(message -> movementLogger.logMovement(message));
             flight.setFlightStateProvider(f -> flightStateProvider.getFlightState(f));
             flight.setMapImage(mapImage);
+            flight.setRoutePlanner(planner);
             
             // Register flight with radio for command execution
             cityRadio.registerFlight(jp.getCallsign(), flight);
@@ -28,6 +28,7 @@
 package com.example.ui.citymap;
 
 
+import com.example.simulation.SimulationRandom;
 import com.example.ui.frames.RadarTapeWindow;
 import com.example.ui.frames.JetpackTrackingWindow;
 import com.example.jetpack.JetPack;
@@ -38,6 +39,7 @@ import com.example.parking.ParkingSpace;
 import com.example.flight.JetPackFlight;
 import com.example.flight.JetPackFlightState;
 import com.example.radio.Radio;
+import com.example.manager.CityRuntime;
 import com.example.weather.Weather;
 import com.example.weather.DayTime;
 import com.example.utility.performance.PerformanceMonitor;
@@ -50,7 +52,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.HashMap;
 
 /**
  * CityMapPanel - Main panel for displaying city map with animated jetpacks
@@ -89,7 +90,7 @@ public class CityMapPanel extends JPanel {
     private JTextArea jetpackMovementArea;
     private JTextArea radioInstructionsArea;
     private Radio cityRadio;
-    private final Random random = new Random();
+    private final Random random = SimulationRandom.newRandom();
     
     // Performance and visualization tools
     private PerformanceMonitor performanceMonitor;
@@ -103,6 +104,45 @@ public class CityMapPanel extends JPanel {
     private CityMapRadioInstructionHandler radioHandler;
     private CityMapAnimationController animationController;
     private CityMapWeatherManager weatherManager;
+    private javax.swing.Timer radioTimer;
+    
+    // The running city shown by this panel, and the callbacks it sends us while attached
+    private final CityRuntime runtime;
+    private final CityRuntime.CityView cityView = new CityRuntime.CityView() {
+        @Override
+        public void onTick(long tick) {
+            if (animationController != null) {
+                animationController.onTick(tick);
+            }
+        }
+        
+        @Override
+        public void onMovement(String message) {
+            appendJetpackMovement(message);
+            if (radarTapeWindow != null) {
+                radarTapeWindow.addMessage(message);
+            }
+        }
+        
+        @Override
+        public void onRadarMessage(String message) {
+            if (radarTapeWindow != null && radarTapeWindow.isVisible()) {
+                radarTapeWindow.addMessage(message);
+            }
+        }
+        
+        @Override
+        public void onWeatherChanged(int oldSeverity, int newSeverity) {
+            SwingUtilities.invokeLater(() -> {
+                if (weatherManager != null) {
+                    weatherManager.onWeatherChanged(oldSeverity, newSeverity, () -> {
+                        updateWeatherDisplay();
+                        updateWeatherBroadcast();
+                    });
+                }
+            });
+        }
+    };
     private JPanel jetpackListPanel;
     
     // Zoom functionality
@@ -117,17 +157,21 @@ public class CityMapPanel extends JPanel {
     private Runnable showCitySelectionCallback;
     private Runnable openRadarTapeCallback;
 
-    public CityMapPanel(String city, ArrayList<JetPack> jetpacks, Weather weather, DayTime dayTime, 
-                        CityLogManager logManager, RadarTapeWindow radarWindow) {
-        this.city = city;
-        this.jetpacks = jetpacks;
-        this.currentWeather = weather;
+    /**
+     * Creates a view of a running city; the city keeps running when the view is closed
+     */
+    public CityMapPanel(CityRuntime runtime, DayTime dayTime, CityLogManager logManager, RadarTapeWindow radarWindow) {
+        this.runtime = runtime;
+        this.city = runtime.getCity();
+        this.jetpacks = new ArrayList<>(runtime.getJetpacks());
+        this.currentWeather = runtime.getWeather();
         this.currentDayTime = dayTime;
-        this.jetpackFlights = new ArrayList<>();
-        this.flightStates = new HashMap<>();
-        this.parkingSpaces = new ArrayList<>();
-        this.parkingManager = new ParkingSpaceManager(city);
-        this.cityRadio = new Radio("122.8", "ATC-" + city.toUpperCase().substring(0, 3));
+        this.jetpackFlights = runtime.getFlights();
+        this.flightStates = runtime.getFlightStates();
+        this.parkingManager = runtime.getParkingManager();
+        this.parkingSpaces = runtime.getParkingSpaces();
+        this.cityRadio = runtime.getRadio();
+        this.radarTapeWindow = radarWindow;
         this.logManager = logManager;
         setLayout(new BorderLayout(10, 10));
         setBackground(Color.WHITE);
@@ -166,11 +210,13 @@ public class CityMapPanel extends JPanel {
     public void setRadarTapeWindow(RadarTapeWindow window) {
         this.radarTape = window;
         this.radarTapeWindow = window;
-        // Update all flight states with the new radar window
+        // Update all flight states with the new radar window, on the city's simulation thread
         if (flightStates != null) {
-            for (JetPackFlightState state : flightStates.values()) {
-                state.setRadarTapeWindow(window);
-            }
+            runtime.submit(() -> {
+                for (JetPackFlightState state : flightStates.values()) {
+                    state.setRadarTapeWindow(window);
+                }
+            });
         }
     }
 
@@ -179,9 +225,12 @@ public class CityMapPanel extends JPanel {
      */
     public void updateAllFlightStatesRadarWindow() {
         if (radarTapeWindow != null && flightStates != null) {
-            for (JetPackFlightState state : flightStates.values()) {
-                state.setRadarTapeWindow(radarTapeWindow);
-            }
+            RadarTapeWindow window = radarTapeWindow;
+            runtime.submit(() -> {
+                for (JetPackFlightState state : flightStates.values()) {
+                    state.setRadarTapeWindow(window);
+                }
+            });
         }
     }
     
@@ -265,35 +314,13 @@ public class CityMapPanel extends JPanel {
         mapPanel = UIComponentFactory.createBorderLayoutPanel();
         UIComponentFactory.setPreferredSize(mapPanel, 800, 600);
         try {
-            // Load map using helper class
-            CityMapLoader.MapLoadResult mapResult = CityMapLoader.loadCityMap(city, this);
-            ImageIcon mapIcon = mapResult.getMapIcon();
-            java.awt.image.BufferedImage mapImage = mapResult.getMapImage();
-            int mapWidth = mapResult.getMapWidth();
-            int mapHeight = mapResult.getMapHeight();
-            
-            parkingManager.initializeParkingSpaces(mapWidth, mapHeight, mapImage);
-            parkingSpaces = parkingManager.getParkingSpaces();
+            // The running city already holds the map; wrap it for display
+            java.awt.image.BufferedImage mapImage = runtime.getMapImage();
+            ImageIcon mapIcon = new ImageIcon(mapImage);
             
             // Initialize renderer with map components
             renderer = new CityMapRenderer(city, mapIcon, gridRenderer, performanceMonitor);
             
-            // Parking spaces initialized
-            
-            // Initialize flights using helper class
-
-            CityMapFlightInitializer.initializeFlights(
-                jetpacks, jetpackFlights, flightStates, parkingSpaces, cityRadio,
-                mapWidth, mapHeight, mapImage,
-                message -> {
-                    appendJetpackMovement(message);
-                    if (radarTapeWindow != null) {
-                        radarTapeWindow.addMessage(message);
-                    }
-                },
-                f -> flightStates.get(f)
-            );
-            
             // Initialize mapWithJetpacks panel
             mapWithJetpacks = new JPanel() {
                 @Override
@@ -314,11 +341,15 @@ public class CityMapPanel extends JPanel {
                 }
             };
 
-            // Set radar tape window and repaint callback for all states
-            for (JetPackFlightState state : flightStates.values()) {
-                state.setRadarTapeWindow(radarTapeWindow);
-                state.setRepaintCallback(() -> mapWithJetpacks.repaint());
-            }
+            // Set radar tape window and repaint callback for all states, on the city's simulation thread
+            RadarTapeWindow window = radarTapeWindow;
+            JPanel map = mapWithJetpacks;
+            runtime.submit(() -> {
+                for (JetPackFlightState state : flightStates.values()) {
+                    state.setRadarTapeWindow(window);
+                    state.setRepaintCallback(map::repaint);
+                }
+            });
             
             // Add keyboard shortcuts
             mapWithJetpacks.setFocusable(true);
@@ -366,14 +397,9 @@ public class CityMapPanel extends JPanel {
             JScrollPane mapScrollPane = new JScrollPane(mapWithJetpacks);
             mapPanel.add(mapScrollPane, BorderLayout.CENTER);
             
-            // Initialize weather and animation controllers
-            weatherManager = new CityMapWeatherManager(city, currentWeather, jetpackFlights,
-                flightStates, parkingSpaces, cityRadio, radarTapeWindow, this, null);
-            weatherManager.setWeatherLabel(weatherLabel);
-            
-            animationController = new CityMapAnimationController(jetpackFlights, flightStates,
-                currentWeather, performanceMonitor, radarTapeWindow, weatherManager);
-            animationController.startAnimation(mapWithJetpacks, mapWidth, mapHeight);
+            // Follow the running city: repaint on its ticks, raise alerts from its radar network
+            animationController = new CityMapAnimationController(performanceMonitor, radarTapeWindow);
+            animationController.startAnimation(mapWithJetpacks, runtime.getSimulation(), runtime.getRadarNetwork());
             
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, "Error loading map: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
@@ -421,14 +447,11 @@ public class CityMapPanel extends JPanel {
         // Now that updater is initialized, update the weather broadcast
         updateWeatherBroadcast();
         
-        // Recreate weather manager with updater now that it's initialized
-        weatherManager = new CityMapWeatherManager(city, currentWeather, jetpackFlights,
-            flightStates, parkingSpaces, cityRadio, radarTapeWindow, this, updater);
+        // Weather changes come from the running city; this panel only shows them
+        weatherManager = new CityMapWeatherManager(currentWeather, radarTapeWindow, this, updater);
         weatherManager.setWeatherLabel(weatherLabel);
-        weatherManager.startWeatherTimer(() -> {
-            updateWeatherDisplay();
-            updateWeatherBroadcast();
-        });
+        updateWeatherDisplay();
+        runtime.attach(cityView);  // Everything the callbacks touch now exists
         
         // Start parking availability updates
         parkingTimer = new javax.swing.Timer(2000, e -> parkingManager.updateParkingAvailability(parkingAvailabilityLabel));
@@ -453,17 +476,22 @@ public class CityMapPanel extends JPanel {
     }
     
     public void appendJetpackMovement(String message) {
+        if (!SwingUtilities.isEventDispatchThread()) {  // Flights are moved on the simulation thread
+            SwingUtilities.invokeLater(() -> appendJetpackMovement(message));
+            return;
+        }
         if (updater != null) {
             updater.appendJetpackMovement(message);
         }
     }
     
     private void startRadioInstructions() {
-        javax.swing.Timer radioTimer = new javax.swing.Timer(8000 + random.nextInt(7000), new ActionListener() {
+        radioTimer = new javax.swing.Timer(8000 + random.nextInt(7000), new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
                 if (radioHandler != null) {
-                    radioHandler.issueRandomRadioInstruction(jetpackFlights, flightStates);
+                    // Instructions change flights, so they are issued on the city's simulation thread
+                    runtime.submit(() -> radioHandler.issueRandomRadioInstruction(jetpackFlights, flightStates));
                 }
             }
         });
@@ -518,12 +546,22 @@ public class CityMapPanel extends JPanel {
         }
     }
     
+    /**
+     * Detaches this view from its city and stops the view's own timers; the city keeps running
+     */
     public void stopAnimation() {
+        runtime.detach(cityView);
         if (animationController != null) {
             animationController.stopAnimation();
         }
-        if (weatherManager != null) {
-            weatherManager.stopWeatherTimer();
+        runtime.submit(() -> {
+            for (JetPackFlightState state : flightStates.values()) {
+                state.setRadarTapeWindow(null);  // The city outlives this view
+                state.setRepaintCallback(null);
+            }
+        });
+        if (radioTimer != null) {
+            radioTimer.stop();
         }
         if (dateTimeTimer != null) {
             dateTimeTimer.stop();
@@ -20,6 +20,7 @@ import com.example.flight.JetPackFlight;
 import com.example.flight.JetPackFlightState;
 import com.example.logging.CityLogManager;
 import com.example.radio.Radio;
+import com.example.simulation.SimulationRandom;
 import com.example.weather.Weather;
 
 /**
@@ -46,7 +47,7 @@ public class CityMapRadioInstructionHandler {
         this.currentWeather = currentWeather;
         this.logManager = logManager;
         this.updater = updater;
-        this.random = new Random();
+        this.random = SimulationRandom.newRandom();
     }
     
     /**
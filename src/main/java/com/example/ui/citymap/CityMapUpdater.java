@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
 
 import com.example.logging.CityLogManager;
 import com.example.weather.Weather;
@@ -76,6 +77,10 @@ public class CityMapUpdater {
      */
     @SuppressWarnings("unchecked")
     public void appendJetpackMovement(String message) {
+        if (!SwingUtilities.isEventDispatchThread()) {  // Radio instructions run on the simulation thread
+            SwingUtilities.invokeLater(() -> appendJetpackMovement(message));
+            return;
+        }
         if (jetpackMovementArea != null) {
             LocalDateTime now = LocalDateTime.now();
             String timestamp = now.format(DateTimeFormatter.ofPattern("HH:mm:ss"));
@@ -104,6 +109,10 @@ public class CityMapUpdater {
      * Appends a message to the radio instructions text area
      */
     public void appendRadioInstruction(String message) {
+        if (!SwingUtilities.isEventDispatchThread()) {  // Radio instructions run on the simulation thread
+            SwingUtilities.invokeLater(() -> appendRadioInstruction(message));
+            return;
+        }
         if (radioInstructionsArea != null) {
             radioInstructionsArea.append(message);
             radioInstructionsArea.setCaretPosition(radioInstructionsArea.getDocument().getLength());
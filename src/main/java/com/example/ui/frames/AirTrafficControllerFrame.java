@@ -10,6 +10,8 @@
  * Key Responsibilities:
  * - Display city selection interface and transition to active city map views
  * - Initialize and coordinate manager subsystems (logging, jetpack management, timers, display)
+ * - Start every city's runtime at launch so all cities fly concurrently; a city view only attaches
+ * - Report per-city CPU and tick latency from the View menu
  * - Manage lifecycle of child windows (RadarTapeWindow for communications log)
  * - Provide File menu actions: save sessions, export logs/reports, open sessions folder
  * - Maintain current weather and day/time state for the selected city
@@ -22,6 +24,7 @@
  * - RadarTapeWindow: Floating window for radio communication history
  * - CityLogManager: Centralized logging for radar, movement, weather, and accident data
  * - CityJetpackManager: Registry and lifecycle management for jetpacks per city
+ * - CityRuntimeManager: One running simulation per city, independent of what is on screen
  * - SessionManager: Persistence for session snapshots and exports
  * - ConfigManager: User preferences and application settings
  * - ConsoleOutputPanel: Status messages displayed to operator
@@ -45,7 +48,6 @@ import java.awt.Image;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
-import java.util.ArrayList;
 
 import javax.imageio.ImageIO;
 import javax.swing.JFrame;
@@ -56,11 +58,13 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
 
-import com.example.jetpack.JetPack;
 import com.example.logging.CityLogManager;
 import com.example.manager.CityDisplayUpdater;
 import com.example.manager.CityJetpackManager;
+import com.example.manager.CityRuntime;
+import com.example.manager.CityRuntimeManager;
 import com.example.manager.CityTimerManager;
+import com.example.ui.citymap.CityMapLoader;
 import com.example.ui.citymap.CityMapPanel;
 import com.example.ui.panels.CitySelectionPanel;
 import com.example.ui.panels.ConsoleOutputPanel;
@@ -88,6 +92,7 @@ public class AirTrafficControllerFrame extends JFrame implements ActionListener
     private final CityJetpackManager jetpackManager;
     private final CityTimerManager timerManager;
     private final CityDisplayUpdater displayUpdater;
+    private final CityRuntimeManager runtimeManager;
     private final ConsoleOutputPanel consolePanel;
     
     // Data persistence
@@ -100,16 +105,23 @@ public class AirTrafficControllerFrame extends JFrame implements ActionListener
      * Displays the map for the selected city
      */
     private void displayCityMap(String city) {
+        CityRuntime runtime = runtimeManager.getRuntime(city);
+        if (runtime == null) {
+            JOptionPane.showMessageDialog(this,
+                "City " + city + " is not running (map could not be loaded).",
+                "Error",
+                JOptionPane.ERROR_MESSAGE);
+            return;
+        }
         currentCity = city;
-        ArrayList<JetPack> jetpacks = jetpackManager.getJetpacksForCity(city);
         mainPanel.removeAll();
         
-        // Initialize weather and day/time for this city
-        currentWeather = new Weather();
+        // The city is already flying; show its weather and a fresh clock for this view
+        currentWeather = runtime.getWeather();
         currentDayTime = new DayTime();
         
-        // Create CityMapPanel with external class
-        cityMapPanel = new CityMapPanel(city, jetpacks, currentWeather, currentDayTime, logManager, radarTapeWindow);
+        // Attach a CityMapPanel to the running city
+        cityMapPanel = new CityMapPanel(runtime, currentDayTime, logManager, radarTapeWindow);
         
         // Set callbacks for communication with parent frame
         cityMapPanel.setShowCitySelectionCallback(() -> showCitySelection());
@@ -213,6 +225,11 @@ public class AirTrafficControllerFrame extends JFrame implements ActionListener
         displayUpdater = new CityDisplayUpdater();
         configManager = new ConfigManager();
         sessionManager = new SessionManager();
+        
+        // Every city flies from launch, whether or not it is on screen
+        runtimeManager = new CityRuntimeManager(jetpackManager, logManager,
+            city -> CityMapLoader.loadCityMap(city, this).getMapImage());
+        runtimeManager.startAll();
 
         // Set up the main frame
         setTitle("Air Traffic Controller - City Selection");
@@ -298,14 +315,41 @@ public class AirTrafficControllerFrame extends JFrame implements ActionListener
         exitItem.setMnemonic('X');
         exitItem.addActionListener(e -> {
             configManager.saveConfig();
+            runtimeManager.stopAll();
             System.exit(0);
         });
         fileMenu.add(exitItem);
         
         menuBar.add(fileMenu);
+        
+        // View menu
+        JMenu viewMenu = new JMenu("View");
+        viewMenu.setMnemonic('V');
+        
+        // City Load
+        JMenuItem cityLoadItem = new JMenuItem("City Load");
+        cityLoadItem.setMnemonic('L');
+        cityLoadItem.addActionListener(e -> showCityLoad());
+        viewMenu.add(cityLoadItem);
+        
+        menuBar.add(viewMenu);
         setJMenuBar(menuBar);
     }
     
+    /**
+     * Show each city's CPU time and tick latency
+     */
+    private void showCityLoad() {
+        String report = runtimeManager.formatLoadReport();
+        for (String line : report.split("\n")) {
+            consolePanel.appendMessage(line);
+        }
+        JOptionPane.showMessageDialog(this,
+            new javax.swing.JTextArea(report),
+            "City Load",
+            JOptionPane.INFORMATION_MESSAGE);
+    }
+    
     /**
      * Save current session to file
      */
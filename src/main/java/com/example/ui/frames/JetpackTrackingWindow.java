@@ -247,6 +247,8 @@ public class JetpackTrackingWindow extends JFrame {
         private final Map<JetPackFlight, JetPackFlightState> allStates;
         // Removed unused field: private final CityMapAnimationController animationController;
         private CityModel3D cityModel;
+        /** Jetpacks in render range for the frame being painted */
+        private List<JetPackFlight> nearbyJetpacks = new ArrayList<>();
         
         public MapTrackingPanel(String cityName, JetPackFlight flight,
                                List<JetPackFlight> allFlights,
@@ -283,9 +285,10 @@ public class JetpackTrackingWindow extends JFrame {
             g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
             
+            // Nearby jetpacks computed once per paint and shared by the scene and the HUD
+            nearbyJetpacks = getNearbyJetpacks();
+            
             if (cityModel != null) {
-                // Get nearby jetpacks for rendering
-                List<JetPackFlight> nearbyJetpacks = getNearbyJetpacks();
                 
                 // Get active accidents (placeholder for now)
                 List<AccidentAlert.Accident> accidents = new ArrayList<>();
@@ -309,15 +312,15 @@ public class JetpackTrackingWindow extends JFrame {
             List<JetPackFlight> nearby = new ArrayList<>();
             double myX = flight.getX();
             double myY = flight.getY();
+            double rangeSq = 1500.0 * 1500.0;
             
             for (JetPackFlight otherFlight : allFlights) {
                 if (otherFlight == flight) continue; // Skip self
                 
                 double dx = otherFlight.getX() - myX;
                 double dy = otherFlight.getY() - myY;
-                double distance = Math.sqrt(dx * dx + dy * dy);
                 
-                if (distance < 1500) { // Within render range
+                if (dx * dx + dy * dy < rangeSq) { // Within render range (squared, no sqrt)
                     nearby.add(otherFlight);
                 }
             }
@@ -413,7 +416,7 @@ public class JetpackTrackingWindow extends JFrame {
             y += lineHeight;
 
             // Nearby jetpacks count
-            List<JetPackFlight> nearby = getNearbyJetpacks();
+            List<JetPackFlight> nearby = nearbyJetpacks;  // Computed by paintComponent for this frame
             if (!nearby.isEmpty()) {
                 g2d.setColor(new Color(150, 200, 255));
                 g2d.drawString("Nearby: " + nearby.size() + " jetpacks", 20, y);
@@ -11,6 +11,7 @@
  * - Auto-scroll to show latest transmissions
  * - Color-code different message types
  * - Maintain message history
+ * - Accept per-sweep message batches with a single display refresh and log write
  * - Integrate with Radio system
  * 
  * @author Haisam Elkewidy
@@ -23,13 +24,16 @@ import java.awt.Color;
 import java.awt.Insets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
 
 import com.example.ui.utility.UIComponentFactory;
 
@@ -61,6 +65,16 @@ public class RadarTapeWindow extends JFrame {
          * @param message the formatted message to write
          */
         void writeToRadarLog(String city, String message);
+
+        /**
+         * Writes a batch of radar messages in one call.
+         * The default joins them into one multi-line write so the log file is opened once.
+         * @param city the city name for log file identification
+         * @param messages the formatted messages to write, oldest first
+         */
+        default void writeToRadarLog(String city, List<String> messages) {
+            writeToRadarLog(city, String.join(System.lineSeparator(), messages));
+        }
     }
 
     /**
@@ -119,6 +133,10 @@ public class RadarTapeWindow extends JFrame {
      * @param message the message text to add (without timestamp)
      */
     public void addMessage(String message) {
+        if (!SwingUtilities.isEventDispatchThread()) {  // Simulation and radar threads report here too
+            SwingUtilities.invokeLater(() -> addMessage(message));
+            return;
+        }
         LocalDateTime now = LocalDateTime.now();  // Get current time
         String timestamp = now.format(timeFormatter);  // Format time as HH:mm:ss
         String formattedMessage = "[" + timestamp + "] " + message;  // Add timestamp prefix
@@ -138,6 +156,35 @@ public class RadarTapeWindow extends JFrame {
         updateDisplay();  // Refresh the text area display
     }
     
+    /**
+     * Adds a batch of messages produced by one sweep.
+     * All messages share one timestamp; the log is written once and the display refreshed once.
+     * 
+     * @param batch the message texts to add (without timestamp), oldest first
+     */
+    public void addMessages(List<String> batch) {
+        if (batch.isEmpty()) return;  // Nothing changed this sweep
+        if (!SwingUtilities.isEventDispatchThread()) {  // Keep the message list on the EDT
+            List<String> copy = new ArrayList<>(batch);
+            SwingUtilities.invokeLater(() -> addMessages(copy));
+            return;
+        }
+        String prefix = "[" + LocalDateTime.now().format(timeFormatter) + "] ";  // One timestamp per batch
+        List<String> formatted = new ArrayList<>(batch.size());
+        for (String message : batch) {
+            String formattedMessage = prefix + message;
+            formatted.add(formattedMessage);
+            messages.addFirst(formattedMessage);  // Newest first, as with addMessage
+        }
+        while (messages.size() > MAX_MESSAGES) {  // Trim once after the whole batch
+            messages.removeLast();
+        }
+        if (logWriter != null) {  // Check if log writer is available
+            logWriter.writeToRadarLog(city, formatted);  // One log write per batch
+        }
+        updateDisplay();  // One text rebuild per batch
+    }
+    
     /**
      * Updates the text area display with current message history.
      * Rebuilds entire text from message list and scrolls to top.
@@ -35,6 +35,7 @@ import com.example.accident.AccidentAlert.Accident;
 import com.example.flight.JetPackFlight;
 import com.example.flight.JetPackFlightState;
 import com.example.model.CityModel3D;
+import com.example.utility.water.TerrainMask;
 import com.jogamp.opengl.GL;
 import com.jogamp.opengl.GL2;
 import com.jogamp.opengl.GLAutoDrawable;
@@ -167,9 +168,12 @@ public class JOGLRenderer3D implements GLEventListener {
         // Draw water
         if (cityModel != null) {
             int step = 16;
-            for (int x = 0; x < cityModel.getMapWidth(); x += step) {
-                for (int y = 0; y < cityModel.getMapHeight(); y += step) {
-                    if (cityModel.isWater(x, y)) {
+            TerrainMask terrain = cityModel.getTerrainMask();
+            byte[] row = new byte[cityModel.getMapWidth()];  // Terrain classes of one sampled row
+            for (int y = 0; y < cityModel.getMapHeight(); y += step) {
+                terrain.getRow(y, 0, row.length, row, 0);  // One bulk read per row of tiles
+                for (int x = 0; x < cityModel.getMapWidth(); x += step) {
+                    if (row[x] == TerrainMask.WATER) {
                         gl.glColor3f(0.2f, 0.4f, 0.9f); // water blue
                         gl.glMaterialfv(GL2.GL_FRONT, GL2.GL_SPECULAR, new float[]{0.8f,0.9f,1.0f,1.0f}, 0);
                         gl.glMaterialf(GL2.GL_FRONT, GL2.GL_SHININESS, 80f);
@@ -3,8 +3,7 @@
  * 
  * Purpose:
  * Provides utility methods for dynamically invoking methods on objects at runtime without compile-time
- * dependencies. Used primarily by the radio communication system to execute commands on flight objects
- * without tight coupling. Encapsulates reflection error handling and provides convenient overloads for
+ * dependencies, for code that has no typed interface to call through. Encapsulates reflection error handling and provides convenient overloads for
  * common parameter count scenarios (1, 2, or 3 arguments).
  * 
  * Key Responsibilities:
@@ -12,11 +11,9 @@
  * - Handle reflection exceptions gracefully (catch and log/ignore)
  * - Provide overloaded methods for 1, 2, and 3-argument invocations
  * - Check for method existence before invocation attempts
- * - Support RadioCommandExecutor's dynamic command execution
  * 
  * Interactions:
- * - Used extensively by RadioCommandExecutor for command dispatch
- * - Enables Radio to send instructions to flights without direct coupling
+ * - No longer used for radio dispatch: RadioCommandExecutor calls flights through RadioReceiver
  * - Supports plugin-like architecture for extensible flight behaviors
  * - Alternative to direct method calls for loose coupling
  * 
@@ -66,6 +66,25 @@ public class GeometryUtils {
         return Math.sqrt(dx * dx + dy * dy);
     }
 
+    /**
+     * Calculates the Euclidean distance between two points in 3D, treating altitude
+     * (feet) as the same scale as map units
+     * 
+     * @param x1 X coordinate of first point
+     * @param y1 Y coordinate of first point
+     * @param z1 Altitude of first point
+     * @param x2 X coordinate of second point
+     * @param y2 Y coordinate of second point
+     * @param z2 Altitude of second point
+     * @return Distance between the two points
+     */
+    public static double calculateDistance3D(double x1, double y1, double z1, double x2, double y2, double z2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double dz = z2 - z1;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
         // Added for test compatibility
         public static double calculateDistance(int x1, int y1, int x2, int y2) {
             return calculateDistance((double)x1, (double)y1, (double)x2, (double)y2);
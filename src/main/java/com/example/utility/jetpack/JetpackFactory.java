@@ -8,7 +8,8 @@
  * realistic and diverse jetpack populations.
  * 
  * Key Responsibilities:
- * - Generate 100-300 jetpacks per city with city-specific callsigns
+ * - Generate 100 jetpacks per city with city-specific callsigns, or any fleet size on request
+ * - Generate capacity-planning fleets (10k-1M) straight into a FleetRegistry without JetPack objects
  * - Assign city-appropriate models and manufacturers
  * - Create diverse owner names by cycling and numbering
  * - Apply callsign formatting with leading zeros for numbers 1-10
@@ -16,6 +17,8 @@
  * 
  * Interactions:
  * - Delegates to com.example.utility.JetpackFactory for actual object creation
+ * - Fills FleetRegistry for large fleets with exactly the same field values, serials included once
+ *   formatted by JetPack
  * - Used by city map viewers to generate complete jetpack fleets
  * - Provides jetpacks to CityMapPanel for flight initialization
  * - Supports realistic callsign generation (ALPHA-01, BRAVO-02, etc.)
@@ -38,6 +41,7 @@ package com.example.utility.jetpack;
 
 import java.util.ArrayList;
 
+import com.example.jetpack.FleetRegistry;
 import com.example.jetpack.JetPack;
 
 /**
@@ -47,42 +51,78 @@ import com.example.jetpack.JetPack;
  */
 public class JetpackFactory {
     
+    /** Fleet size flown by each city on screen */
+    public static final int DEFAULT_FLEET_SIZE = 100;
+
+    /** Owner first names, numbered once the list wraps ("John #2") */
+    private static final String[] BASE_OWNERS = {"John", "Jane", "Michael", "Sarah", "David", "Emily", "Chris", "Amanda", "Robert", "Lisa"};
+    /** Manufacturing years to cycle through */
+    private static final String[] YEARS = {"2022", "2023", "2024"};
+
     /**
-     * Generates 300 jetpacks dynamically for a city
+     * Generates the default 100 jetpacks for a city
      */
     public static ArrayList<JetPack> generateJetpacksForCity(String prefix, String cityName) {
-        ArrayList<JetPack> jetpacks = new ArrayList<>();
-
-        // Base arrays to cycle through
-        String[] baseCallsigns = getCallsignsForCity(cityName);
-        String[] baseOwners = {"John", "Jane", "Michael", "Sarah", "David", "Emily", "Chris", "Amanda", "Robert", "Lisa"};
-        String[] baseModels = getModelsForCity(cityName);
-        String[] baseManufacturers = getManufacturersForCity(cityName);
-        String[] years = {"2022", "2023", "2024"};
-
-        // Generate 100 jetpacks
-        for (int i = 0; i < 100; i++) {
-            int jetpackNumber = i + 1;
-            String formattedNumber = (i <= 9) ? String.format("%02d", jetpackNumber) : String.valueOf(jetpackNumber); // Pad with leading zero for i=0 to 10
-            String callsign = baseCallsigns[i % baseCallsigns.length] + "-" + formattedNumber;
-            String owner = baseOwners[i % baseOwners.length] + " #" + (i / baseOwners.length + 1);
-            String model = baseModels[i % baseModels.length];
-            String manufacturer = baseManufacturers[i % baseManufacturers.length];
-            String year = years[i % years.length];
+        return generateJetpacksForCity(prefix, cityName, DEFAULT_FLEET_SIZE);
+    }
 
+    /**
+     * Generates a fleet of the given size for a city
+     */
+    public static ArrayList<JetPack> generateJetpacksForCity(String prefix, String cityName, int count) {
+        ArrayList<JetPack> jetpacks = new ArrayList<>(count);
+        String[][] cityArrays = {getCallsignsForCity(cityName), getModelsForCity(cityName), getManufacturersForCity(cityName)};
+        String[] fields = new String[7];
+        for (int i = 0; i < count; i++) {
+            describeJetpack(prefix, cityArrays, i, fields);
             jetpacks.add(com.example.utility.JetpackFactory.createJetPack(
-                prefix + "-" + String.format("%03d", i + 1), // id
-                prefix + "-" + String.format("%03d", i + 1), // serialNumber
-                callsign, // callsign
-                owner, // ownerName
-                year, // year
-                model, // model
-                manufacturer // manufacturer
+                fields[0], // id
+                fields[1], // serialNumber
+                fields[2], // callsign
+                fields[3], // ownerName
+                fields[4], // year
+                fields[5], // model
+                fields[6]  // manufacturer
             ));
         }
-
         return jetpacks;
     }
+
+    /**
+     * Generates a fleet of the given size for a city into a registry, without creating JetPack objects.
+     * Field values match generateJetpacksForCity jetpack for jetpack.
+     *
+     * @return The registry, for chaining
+     */
+    public static FleetRegistry generateFleet(String prefix, String cityName, int count, FleetRegistry registry) {
+        String[][] cityArrays = {getCallsignsForCity(cityName), getModelsForCity(cityName), getManufacturersForCity(cityName)};
+        String[] fields = new String[7];
+        for (int i = 0; i < count; i++) {
+            describeJetpack(prefix, cityArrays, i, fields);
+            registry.add(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6]);
+        }
+        return registry;
+    }
+
+    /**
+     * Fills in the identification fields of the i-th jetpack in a city's fleet, in FleetRegistry.CSV_HEADER order.
+     * cityArrays holds the city's callsigns, models and manufacturers.
+     */
+    private static void describeJetpack(String prefix, String[][] cityArrays, int i, String[] fields) {
+        String[] baseCallsigns = cityArrays[0];
+        String[] baseModels = cityArrays[1];
+        String[] baseManufacturers = cityArrays[2];
+
+        int jetpackNumber = i + 1;
+        String formattedNumber = (i <= 9) ? String.format("%02d", jetpackNumber) : String.valueOf(jetpackNumber); // Pad with leading zero for i=0 to 10
+        fields[0] = prefix + "-" + String.format("%03d", jetpackNumber); // id
+        fields[1] = fields[0]; // serialNumber
+        fields[2] = baseCallsigns[i % baseCallsigns.length] + "-" + formattedNumber; // callsign
+        fields[3] = BASE_OWNERS[i % BASE_OWNERS.length] + " #" + (i / BASE_OWNERS.length + 1); // ownerName
+        fields[4] = YEARS[i % YEARS.length]; // year
+        fields[5] = baseModels[i % baseModels.length]; // model
+        fields[6] = baseManufacturers[i % baseManufacturers.length]; // manufacturer
+    }
     
     /**
      * Gets city-specific callsigns
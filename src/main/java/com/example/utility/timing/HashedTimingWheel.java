@@ -0,0 +1,192 @@
+/**
+ * Hashed timing wheel for large numbers of cheaply rescheduled deadlines.
+ *
+ * Purpose:
+ * Tracks deadlines for many items (radar contacts, parking timers) without scanning every item on
+ * each tick. Time is divided into fixed-length ticks; each deadline lives in the bucket for its tick
+ * modulo the wheel size. Scheduling, rescheduling and cancelling are O(1) list operations, and
+ * advancing the wheel only visits the buckets whose ticks have passed.
+ *
+ * Key Responsibilities:
+ * - Place timeouts into buckets by deadline tick (wheel size is a power of two, index by mask)
+ * - Move an existing timeout to a new deadline in O(1) without allocating
+ * - Collect every timeout whose deadline tick has passed when the wheel is advanced
+ * - Keep far-future deadlines in place across wheel rotations until their tick comes round
+ *
+ * Interactions:
+ * - Used by Radar to age contacts through coasting, lost and dropped states
+ * - Used by CitySimulation to fire parking departures at their due tick
+ *
+ * Patterns & Constraints:
+ * - Intrusive doubly linked buckets: each Timeout is its own list node
+ * - Deadlines are rounded up to the next tick, so a timeout never fires early
+ * - Expired timeouts are returned, not called back, so callers act on them outside the lock
+ * - Thread-safe; every operation holds the wheel's monitor briefly
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.utility.timing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HashedTimingWheel schedules items against deadlines with O(1) insert, move and cancel.
+ *
+ * @param <T> Item type carried by each timeout
+ */
+public class HashedTimingWheel<T> {
+
+    /**
+     * A scheduled deadline for one item; also the node linking it into its bucket.
+     *
+     * @param <T> Item type
+     */
+    public static final class Timeout<T> {
+        private final T item;
+        private long deadline;
+        private long deadlineTick;
+        private boolean scheduled;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(T item) {
+            this.item = item;
+        }
+
+        /** Returns the item this timeout was scheduled for */
+        public T getItem() { return item; }
+        /** Returns the requested deadline (ms) */
+        public long getDeadline() { return deadline; }
+        /** Returns whether the timeout is waiting in the wheel */
+        public boolean isScheduled() { return scheduled; }
+    }
+
+    private final long tickMillis;
+    private final long startTime;
+    private final int mask;
+    private final Timeout<T>[] buckets;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates a wheel.
+     *
+     * @param tickMillis Length of one tick in ms (resolution of every deadline)
+     * @param wheelSize Number of buckets, rounded up to a power of two
+     * @param startTime Time (ms) of tick zero
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startTime) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick length and wheel size must be positive");
+        }
+        int buckets = 1;
+        while (buckets < wheelSize) buckets <<= 1;  // Round up to a power of two for mask indexing
+        this.tickMillis = tickMillis;
+        this.startTime = startTime;
+        this.mask = buckets - 1;
+        this.buckets = (Timeout<T>[]) new Timeout<?>[buckets];
+    }
+
+    /**
+     * Schedules an item at an absolute deadline.
+     *
+     * @param item Item to return when the deadline passes
+     * @param deadline Absolute deadline in ms
+     * @return Handle for rescheduling or cancelling
+     */
+    public synchronized Timeout<T> schedule(T item, long deadline) {
+        Timeout<T> timeout = new Timeout<>(item);
+        link(timeout, deadline);
+        return timeout;
+    }
+
+    /**
+     * Moves a timeout to a new deadline, rescheduling it if it already fired or was cancelled.
+     */
+    public synchronized void reschedule(Timeout<T> timeout, long deadline) {
+        if (timeout.scheduled) {
+            unlink(timeout);
+        }
+        link(timeout, deadline);
+    }
+
+    /**
+     * Cancels a timeout.
+     *
+     * @return true if it was waiting in the wheel
+     */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (!timeout.scheduled) return false;
+        unlink(timeout);
+        return true;
+    }
+
+    /**
+     * Advances the wheel to a time and removes every timeout whose tick has passed.
+     *
+     * @param now Current time in ms
+     * @return Expired timeouts, in bucket order; empty if none
+     */
+    public synchronized List<Timeout<T>> advance(long now) {
+        long targetTick = tickOf(now);
+        if (targetTick <= currentTick) {
+            return new ArrayList<>(0);
+        }
+        List<Timeout<T>> expired = new ArrayList<>();
+        long visit = Math.min(targetTick - currentTick, buckets.length);  // Each bucket at most once per call
+        for (long tick = currentTick + 1; tick <= currentTick + visit; tick++) {
+            Timeout<T> timeout = buckets[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.deadlineTick <= targetTick) {  // Later rounds stay for a future pass
+                    unlink(timeout);
+                    expired.add(timeout);
+                }
+                timeout = next;
+            }
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+
+    /** Returns the number of waiting timeouts */
+    public synchronized int size() { return size; }
+    /** Returns the tick length in ms */
+    public long getTickMillis() { return tickMillis; }
+    /** Returns the number of buckets */
+    public int getWheelSize() { return buckets.length; }
+
+    private long tickOf(long time) {
+        return Math.floorDiv(time - startTime, tickMillis);
+    }
+
+    private void link(Timeout<T> timeout, long deadline) {
+        long tick = Math.floorDiv(deadline - startTime + tickMillis - 1, tickMillis);  // Round up: never early
+        timeout.deadline = deadline;
+        timeout.deadlineTick = Math.max(tick, currentTick + 1);  // Past deadlines fire on the next advance
+        int index = (int) (timeout.deadlineTick & mask);
+        Timeout<T> head = buckets[index];
+        timeout.previous = null;
+        timeout.next = head;
+        if (head != null) head.previous = timeout;
+        buckets[index] = timeout;
+        timeout.scheduled = true;
+        size++;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            buckets[(int) (timeout.deadlineTick & mask)] = timeout.next;
+        }
+        if (timeout.next != null) timeout.next.previous = timeout.previous;
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.scheduled = false;
+        size--;
+    }
+}
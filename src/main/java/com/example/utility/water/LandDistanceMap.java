@@ -0,0 +1,227 @@
+/**
+ * Precomputed nearest-land lookup for a city map, built once and answered in constant time.
+ *
+ * Purpose:
+ * Emergency landings over water need the closest land pixel. Searching outward from the flight
+ * reads thousands of pixels per query and, during a mass emergency, repeats that for every flight
+ * over the river. This map runs an exact Euclidean distance transform over the whole image once and
+ * records, for every pixel, the land pixel nearest to it, so each later query is one array read.
+ *
+ * Key Responsibilities:
+ * - Read every pixel's water or land class from the map's TerrainMask
+ * - Compute the nearest land pixel of every pixel with a two-pass exact distance transform
+ *   (columns, then lower envelopes of parabolas along rows), both passes in parallel bands
+ * - Answer closest-land and distance-to-land queries in O(1)
+ * - Built once per city map and owned by its TerrainMask
+ * - Report build time and memory footprint
+ *
+ * Interactions:
+ * - Built lazily by TerrainMask.getLandDistanceMap()
+ * - Used by FlightEmergencyHandler to redirect emergency landings off the water
+ * - Used by WaterDetector.findClosestLandPoint
+ *
+ * Patterns & Constraints:
+ * - Immutable after construction; safe to share across threads
+ * - Stores one int per pixel (the packed index of its nearest land pixel); distances are derived
+ *   from that index on demand rather than stored
+ * - Ties between equally distant land pixels resolve the same way on every build
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.utility.water;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * LandDistanceMap stores the nearest land pixel of every pixel of a map.
+ */
+public final class LandDistanceMap {
+    /** Rows or columns handled per parallel band */
+    private static final int BAND = 64;
+    /** Marks "no land in this column" during the first pass */
+    private static final int NONE = -1;
+
+    private final int width;
+    private final int height;
+    private final int[] nearest;  // Packed index (y * width + x) of the nearest land pixel, NONE when the map has no land
+    private final int landCount;
+    private final long buildNanos;
+
+    /**
+     * Builds the map from a terrain mask; roads and bridges count as land.
+     */
+    public LandDistanceMap(TerrainMask terrain) {
+        long start = System.nanoTime();
+        this.width = terrain.getWidth();
+        this.height = terrain.getHeight();
+        this.nearest = new int[width * height];
+        boolean[] land = classify(terrain);
+        int count = 0;
+        for (boolean b : land) {
+            if (b) count++;
+        }
+        this.landCount = count;
+        if (count == 0) {
+            Arrays.fill(nearest, NONE);
+        } else {
+            IntStream.range(0, bands(width)).parallel().forEach(band -> nearestInColumns(land, band * BAND));
+            IntStream.range(0, bands(height)).parallel().forEach(band -> nearestInRows(band * BAND));
+        }
+        this.buildNanos = System.nanoTime() - start;
+    }
+
+    /** Returns the map width in pixels */
+    public int getWidth() { return width; }
+    /** Returns the map height in pixels */
+    public int getHeight() { return height; }
+    /** Returns the number of land pixels */
+    public int getLandCount() { return landCount; }
+    /** Returns true when the map has at least one land pixel */
+    public boolean hasLand() { return landCount > 0; }
+    /** Returns the time taken to build the map, in milliseconds */
+    public double getBuildMillis() { return buildNanos / 1e6; }
+
+    /**
+     * Returns the approximate retained size of the map in bytes.
+     */
+    public long estimateBytes() {
+        return 16L + 4L * nearest.length + 48;
+    }
+
+    /**
+     * Returns a one-line summary of the map's size, build time and memory.
+     */
+    public String formatFootprint() {
+        return String.format("%dx%d, %d land px, built in %.1f ms, %.1f MB", width, height, landCount,
+            getBuildMillis(), estimateBytes() / 1048576.0);
+    }
+
+    /**
+     * Returns the land pixel nearest to the position (the position itself when on land), or null
+     * when the map has no land. Positions outside the map are clamped onto its edge first.
+     */
+    public Point closestLand(int x, int y) {
+        int index = nearestIndex(x, y);
+        return index == NONE ? null : new Point(index % width, index / width);
+    }
+
+    /**
+     * Returns the straight-line distance in pixels from the position to its nearest land pixel,
+     * 0 on land, or Double.POSITIVE_INFINITY when the map has no land.
+     */
+    public double distanceToLand(int x, int y) {
+        int index = nearestIndex(x, y);
+        if (index == NONE) return Double.POSITIVE_INFINITY;
+        return Math.hypot(index % width - x, index / width - y);
+    }
+
+    /** Returns true if the pixel, clamped onto the map, is land */
+    public boolean isLand(int x, int y) {
+        int cx = clamp(x, width);
+        int cy = clamp(y, height);
+        return nearest[cy * width + cx] == cy * width + cx;
+    }
+
+    private int nearestIndex(int x, int y) {
+        return nearest[clamp(y, height) * width + clamp(x, width)];
+    }
+
+    /**
+     * Reads the mask a row at a time, in parallel bands, into land flags.
+     */
+    private boolean[] classify(TerrainMask terrain) {
+        boolean[] land = new boolean[width * height];
+        IntStream.range(0, bands(height)).parallel().forEach(band -> {
+            byte[] row = new byte[width];
+            int end = Math.min(height, (band + 1) * BAND);
+            for (int y = band * BAND; y < end; y++) {
+                terrain.getRow(y, 0, width, row, 0);
+                for (int x = 0; x < width; x++) {
+                    land[y * width + x] = row[x] != TerrainMask.WATER;
+                }
+            }
+        });
+        return land;
+    }
+
+    /**
+     * First pass: for a band of columns, stores in nearest[] the row of the closest land pixel in the
+     * same column (NONE when the column has none). Scans rows down then up so memory is walked in order.
+     */
+    private void nearestInColumns(boolean[] land, int x0) {
+        int x1 = Math.min(width, x0 + BAND);
+        int[] last = new int[x1 - x0];
+        Arrays.fill(last, NONE);
+        for (int y = 0; y < height; y++) {
+            for (int x = x0; x < x1; x++) {
+                if (land[y * width + x]) last[x - x0] = y;
+                nearest[y * width + x] = last[x - x0];
+            }
+        }
+        Arrays.fill(last, NONE);
+        for (int y = height - 1; y >= 0; y--) {
+            for (int x = x0; x < x1; x++) {
+                int index = y * width + x;
+                if (land[index]) last[x - x0] = y;
+                int below = last[x - x0];
+                int above = nearest[index];
+                if (below != NONE && (above == NONE || below - y < y - above)) {
+                    nearest[index] = below;  // Strictly closer below; ties keep the row above
+                }
+            }
+        }
+    }
+
+    /**
+     * Second pass: for a band of rows, finds for each pixel the column whose column-nearest land pixel
+     * is closest, using the lower envelope of the parabolas (x - c)^2 + dy(c)^2, and replaces the
+     * stored row with the packed index of that land pixel.
+     */
+    private void nearestInRows(int y0) {
+        int y1 = Math.min(height, y0 + BAND);
+        int[] rowOf = new int[width];
+        int[] sites = new int[width];
+        double[] bounds = new double[width + 1];
+        for (int y = y0; y < y1; y++) {
+            System.arraycopy(nearest, y * width, rowOf, 0, width);
+            int k = -1;
+            for (int c = 0; c < width; c++) {
+                if (rowOf[c] == NONE) continue;  // No land in this column
+                double fc = squared(rowOf[c], y) + (double) c * c;
+                double s = 0;
+                while (k >= 0) {
+                    int v = sites[k];
+                    s = (fc - squared(rowOf[v], y) - (double) v * v) / (2.0 * (c - v));
+                    if (s > bounds[k]) break;
+                    k--;
+                }
+                k++;
+                sites[k] = c;
+                bounds[k] = k == 0 ? Double.NEGATIVE_INFINITY : s;
+            }
+            int sites0 = k + 1;
+            k = 0;
+            for (int x = 0; x < width; x++) {
+                while (k + 1 < sites0 && bounds[k + 1] < x) k++;
+                int c = sites[k];
+                nearest[y * width + x] = rowOf[c] * width + c;
+            }
+        }
+    }
+
+    private static double squared(int row, int y) {
+        double dy = row - y;
+        return dy * dy;
+    }
+
+    private static int bands(int length) {
+        return (length + BAND - 1) / BAND;
+    }
+
+    private static int clamp(int value, int length) {
+        return Math.max(0, Math.min(length - 1, value));
+    }
+}
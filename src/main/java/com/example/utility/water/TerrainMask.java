@@ -0,0 +1,248 @@
+/**
+ * Packed per-pixel terrain classes of a city map, classified once and shared by every caller.
+ *
+ * Purpose:
+ * Parking placement, building generation, emergency landings, the 3D renderers and the tracking HUD
+ * all need to know whether a map pixel is water. Each used to read the pixel through
+ * BufferedImage.getRGB (the slow color-model path) and apply its own, slightly different RGB rule.
+ * TerrainMask classifies the whole map once with one rule and stores the result at two bits per
+ * pixel, so every later lookup is a shift and a mask, and all callers agree on what is water.
+ *
+ * Key Responsibilities:
+ * - Classify every pixel as land, water, road or bridge with a single color rule
+ * - Pack the classes two bits per pixel, rows aligned to whole words, built in parallel row bands
+ * - Answer point queries in O(1), and row and rectangle queries in bulk for renderers
+ * - Cache one mask per map image, so each city is classified once
+ * - Own the city's LandDistanceMap, built from the mask on first use
+ *
+ * Interactions:
+ * - Used by WaterDetector, CityModel3D, ParkingSpaceManager, ParkingSpaceGenerator and
+ *   FlightEmergencyHandler in place of their own getRGB water tests
+ * - Feeds LandDistanceMap and the water-only OccupancyGrid built by CityMapFlightInitializer
+ * - Build time and memory are listed in CityRuntimeManager's load report
+ *
+ * Patterns & Constraints:
+ * - Immutable after construction; safe to share across threads
+ * - Water takes precedence over road, so gray-blue water is never mistaken for pavement; bridges
+ *   take precedence over water, since they are drawn across it
+ * - Positions outside the map read as water, the conservative answer for landing and parking
+ * - Assumes the map image is not drawn on after the mask is built
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.utility.water;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * TerrainMask stores a two-bit terrain class for every pixel of a map.
+ */
+public final class TerrainMask {
+    /** Land that is neither road nor bridge */
+    public static final int LAND = 0;
+    /** Rivers, lakes, harbors and open sea */
+    public static final int WATER = 1;
+    /** Gray pavement */
+    public static final int ROAD = 2;
+    /** Yellow or orange bridge decks */
+    public static final int BRIDGE = 3;
+
+    private static final String[] NAMES = {"land", "water", "road", "bridge"};
+    private static final int PIXELS_PER_WORD = 32;
+    private static final int BAND = 64;  // Rows per parallel band
+
+    // Masks are keyed by image identity; images dropped by their city drop their masks
+    private static final Map<BufferedImage, TerrainMask> CACHE = new WeakHashMap<>();
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] words;  // Row-major, 32 pixels per word, pixel x at bits 2*(x % 32)
+    private final int[] counts = new int[4];
+    private final long buildNanos;
+    private volatile LandDistanceMap landDistances;
+
+    /**
+     * Returns the mask for a map image, classifying it on first use.
+     */
+    public static TerrainMask forImage(BufferedImage image) {
+        synchronized (CACHE) {
+            return CACHE.computeIfAbsent(image, TerrainMask::new);
+        }
+    }
+
+    /**
+     * Returns the mask already built for a map image, or null when none has been built yet.
+     */
+    public static TerrainMask cached(BufferedImage image) {
+        synchronized (CACHE) {
+            return CACHE.get(image);
+        }
+    }
+
+    /**
+     * Classifies a packed RGB pixel.
+     *
+     * Water uses three empirically tuned tiers: blue dominating both other channels by a clear
+     * margin (rivers, harbors), bright blue leading both channels (deep water), and low red and
+     * green under a moderate blue (water in shadow). Roads are mid-range grays, bridges are warm
+     * yellows and oranges.
+     */
+    public static int classify(int rgb) {
+        int r = (rgb >> 16) & 0xFF;
+        int g = (rgb >> 8) & 0xFF;
+        int b = rgb & 0xFF;
+        if (r > 180 && g > 120 && b < 100) {
+            return BRIDGE;
+        }
+        if ((b > r + 20 && b > g + 20) ||                  // Standard water: blue dominates
+            (b > 150 && b > r && b > g) ||                  // Deep water: high blue with blue dominance
+            (r < 100 && g < 150 && b > 100 && b - r > 30)) {  // Dark water: blue bias in shadow
+            return WATER;
+        }
+        if (Math.abs(r - g) < 15 && Math.abs(r - b) < 15 && r > 80 && r < 200) {
+            return ROAD;
+        }
+        return LAND;
+    }
+
+    /** Returns the lower-case name of a terrain class */
+    public static String nameOf(int terrainClass) { return NAMES[terrainClass]; }
+
+    /**
+     * Classifies an image.
+     */
+    public TerrainMask(BufferedImage image) {
+        long start = System.nanoTime();
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+        this.wordsPerRow = (width + PIXELS_PER_WORD - 1) / PIXELS_PER_WORD;
+        this.words = new long[wordsPerRow * height];
+        int bands = (height + BAND - 1) / BAND;
+        int[][] bandCounts = new int[bands][4];
+        IntStream.range(0, bands).parallel().forEach(band -> classifyBand(image, band, bandCounts[band]));
+        for (int[] c : bandCounts) {
+            for (int i = 0; i < 4; i++) counts[i] += c[i];
+        }
+        this.buildNanos = System.nanoTime() - start;
+    }
+
+    /** Returns the map width in pixels */
+    public int getWidth() { return width; }
+    /** Returns the map height in pixels */
+    public int getHeight() { return height; }
+    /** Returns the number of pixels of a terrain class */
+    public int getCount(int terrainClass) { return counts[terrainClass]; }
+    /** Returns the time taken to classify the map, in milliseconds */
+    public double getBuildMillis() { return buildNanos / 1e6; }
+
+    /**
+     * Returns the approximate retained size of the mask in bytes, not counting its LandDistanceMap.
+     */
+    public long estimateBytes() {
+        return 16L + 8L * words.length + 64;
+    }
+
+    /** Returns a one-line summary of the mask's size, build time and memory */
+    public String formatFootprint() {
+        return String.format("%dx%d, %.1f%% water, built in %.1f ms, %.2f MB", width, height,
+            100.0 * counts[WATER] / Math.max(1, (long) width * height), getBuildMillis(), estimateBytes() / 1048576.0);
+    }
+
+    /**
+     * Returns the terrain class of a pixel; WATER outside the map.
+     */
+    public int classAt(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return WATER;
+        }
+        return (int) (words[y * wordsPerRow + (x >>> 5)] >>> ((x & 31) << 1)) & 3;
+    }
+
+    /** Returns true if the pixel is water or outside the map */
+    public boolean isWater(int x, int y) { return classAt(x, y) == WATER; }
+
+    /** Returns true if the pixel is on the map and not water (plain land, road or bridge) */
+    public boolean isLand(int x, int y) { return classAt(x, y) != WATER; }
+
+    /**
+     * Copies the classes of count pixels of row y, starting at x, into out[offset...]. Pixels
+     * outside the map read as WATER.
+     */
+    public void getRow(int y, int x, int count, byte[] out, int offset) {
+        if (y < 0 || y >= height) {
+            Arrays.fill(out, offset, offset + count, (byte) WATER);
+            return;
+        }
+        int base = y * wordsPerRow;
+        for (int i = 0; i < count; i++) {
+            int px = x + i;
+            out[offset + i] = (byte) ((px < 0 || px >= width) ? WATER
+                : (int) (words[base + (px >>> 5)] >>> ((px & 31) << 1)) & 3);
+        }
+    }
+
+    /**
+     * Copies the classes of a w by h rectangle, row by row, into out (at least w * h long).
+     */
+    public void getRect(int x, int y, int w, int h, byte[] out) {
+        for (int row = 0; row < h; row++) {
+            getRow(y + row, x, w, out, row * w);
+        }
+    }
+
+    /**
+     * Counts the pixels of a terrain class in a rectangle, clipped to the map.
+     */
+    public int countInRect(int x, int y, int w, int h, int terrainClass) {
+        int x0 = Math.max(0, x), x1 = Math.min(width, x + w);
+        int y0 = Math.max(0, y), y1 = Math.min(height, y + h);
+        int count = 0;
+        for (int row = y0; row < y1; row++) {
+            int base = row * wordsPerRow;
+            for (int px = x0; px < x1; px++) {
+                if (((int) (words[base + (px >>> 5)] >>> ((px & 31) << 1)) & 3) == terrainClass) count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the nearest-land map of this mask, building it on first use.
+     */
+    public LandDistanceMap getLandDistanceMap() {
+        LandDistanceMap map = landDistances;
+        if (map == null) {
+            synchronized (this) {
+                map = landDistances;
+                if (map == null) {
+                    map = new LandDistanceMap(this);
+                    landDistances = map;
+                }
+            }
+        }
+        return map;
+    }
+
+    /** Returns the nearest-land map if it has been built, otherwise null */
+    public LandDistanceMap getLandDistanceMapIfBuilt() { return landDistances; }
+
+    private void classifyBand(BufferedImage image, int band, int[] bandCounts) {
+        int[] rgb = new int[width];
+        int end = Math.min(height, (band + 1) * BAND);
+        for (int y = band * BAND; y < end; y++) {
+            image.getRGB(0, y, width, 1, rgb, 0, width);  // One color-model pass per row
+            int base = y * wordsPerRow;
+            for (int x = 0; x < width; x++) {
+                int terrainClass = classify(rgb[x]);
+                bandCounts[terrainClass]++;
+                words[base + (x >>> 5)] |= (long) terrainClass << ((x & 31) << 1);
+            }
+        }
+    }
+}
@@ -9,9 +9,9 @@
  * 
  * Key Responsibilities:
  * - Load and analyze city map images from resources
- * - Detect water pixels using RGB color threshold algorithms
+ * - Detect water pixels through the map's TerrainMask
  * - Generate random land points for parking space placement
- * - Find closest land point using spiral search algorithm
+ * - Find closest land point from the mask's distance transform, built on first use
  * - Support water avoidance for flight path planning
  * - Handle out-of-bounds coordinates as water for safety
  * 
@@ -24,9 +24,9 @@
  * 
  * Patterns & Constraints:
  * - Loads map image once at construction, reused for all queries
- * - RGB threshold algorithm: (b > r+20 && b > g+20) for basic water
- * - Three-tier detection: standard water, deep water, dark water
- * - Spiral search for closest land (circular expansion from center)
+ * - Pixels are classified once into a shared TerrainMask (three-tier water rule: standard,
+ *   deep and dark water), so each query is a packed-array read instead of getRGB
+ * - Closest land answered in O(1) by a LandDistanceMap of the whole image
  * - Out-of-bounds treated as water for conservative safety
  * - Thread-safe for reads after construction
  * 
@@ -49,6 +49,8 @@ public class WaterDetector {
     private int width;
     /** height */
     private int height;
+    /** terrain */
+    private TerrainMask terrain;  // Classified once at load, shared with other users of the image
 
     public WaterDetector(String resourcePath) throws IOException {
         InputStream is = getClass().getResourceAsStream(resourcePath);
@@ -65,28 +67,12 @@ public class WaterDetector {
         }
         width = mapImage.getWidth();
         height = mapImage.getHeight();
+        terrain = TerrainMask.forImage(mapImage);
     }
 
     public boolean isWater(int x, int y) {
-        // Treat out-of-bounds as water for safety
-        if (x < 0 || x >= width || y < 0 || y >= height) {
-            return true;
-        }
-        
-        // Extract RGB components from pixel
-        int rgb = mapImage.getRGB(x, y);
-        int r = (rgb >> 16) & 0xFF;
-        int g = (rgb >> 8) & 0xFF;
-        int b = rgb & 0xFF;
-        
-        // Water detection using empirically-derived RGB thresholds from city map analysis
-        // These values were tuned to match typical water colors in urban map imagery:
-        // - Rivers/harbors tend to be blue-dominant (b > r+20, b > g+20)
-        // - Deep water has high absolute blue values (b > 150)
-        // - Dark water (shadows) has low red, moderate green, higher blue (r < 100, g < 150, b > 100)
-        return (b > r + 20 && b > g + 20) ||        // Standard water: blue dominates by significant margin
-               (b > 150 && b > r && b > g) ||        // Deep water: high blue value with blue dominance
-               (r < 100 && g < 150 && b > 100 && b - r > 30);  // Dark water: constrained RGB ranges with blue bias
+        // Out-of-bounds reads as water for safety; the class rule lives in TerrainMask.classify
+        return terrain.isWater(x, y);
     }
 
     public Point getRandomLandPoint(Random rand, int margin) {
@@ -111,27 +97,11 @@ public class WaterDetector {
             return new Point(x, y);
         }
         
-        // Spiral search outward from current position to find nearest land
-        int maxRadius = Math.max(width, height);
-        for (int radius = 10; radius < maxRadius; radius += 10) {
-            // Check points in a circle at this radius
-            int numPoints = radius * 4;  // More points for larger circles
-            for (int i = 0; i < numPoints; i++) {
-                double angle = (2 * Math.PI * i) / numPoints;
-                int testX = x + (int)(radius * Math.cos(angle));
-                int testY = y + (int)(radius * Math.sin(angle));
-                
-                // Check if point is within map bounds
-                if (testX >= 0 && testX < width && testY >= 0 && testY < height) {
-                    if (!isWater(testX, testY)) {
-                        return new Point(testX, testY);  // Found closest land
-                    }
-                }
-            }
-        }
+        // Nearest land pixel from the precomputed distance transform
+        Point land = terrain.getLandDistanceMap().closestLand(x, y);
         
-        // Fallback to map center if no land found (unlikely)
-        return new Point(width / 2, height / 2);
+        // Fallback to map center if the map has no land
+        return land != null ? land : new Point(width / 2, height / 2);
     }
 
     public int getWidth() {
@@ -38,6 +38,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
 
+import com.example.simulation.SimulationRandom;
+
 public class Weather {
     /** Severity level 1: Safe for all flight operations (Clear, Partly Cloudy, Light Rain, etc.) */
     public static final int SEVERITY_MINIMAL = 1;
@@ -196,7 +198,7 @@ public class Weather {
      * Useful for simulation and testing dynamic weather scenarios.
      */
     public void changeWeatherRandomly() {
-        Random random = new Random();  // Create random number generator
+        Random random = SimulationRandom.newRandom();  // Create random number generator
         String[] weatherArray = weatherTypes.keySet().toArray(new String[weatherTypes.size()]);  // Convert map keys to array
         String randomWeather = weatherArray[random.nextInt(weatherArray.length)];  // Pick random weather from array
         changeWeather(randomWeather);  // Apply the randomly selected weather
@@ -208,7 +210,7 @@ public class Weather {
      * Called after weather changes to update conditions appropriately.
      */
     private void adjustWeatherParameters() {
-        Random random = new Random();  // Create random number generator for variation
+        Random random = SimulationRandom.newRandom();  // Create random number generator for variation
         switch (currentWeather) {  // Select parameter ranges based on weather type
             case "Clear/Sunny":  // Perfect weather conditions
                 temperature = 70 + random.nextInt(20);  // 70-89°F (pleasant to warm)
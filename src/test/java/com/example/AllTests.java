@@ -26,13 +26,35 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 import com.example.detection.CollisionDetectorTest;
+import com.example.detection.ProximityAlertTrackerTest;
 import com.example.detection.RadarTest;
+import com.example.detection.RadarConcurrencyTest;
+import com.example.detection.RadarSpatialIndexTest;
+import com.example.detection.RadarSweepEngineTest;
+import com.example.detection.RadarNetworkTest;
+import com.example.detection.RadarExtrapolationTest;
+import com.example.detection.ConflictProbeTest;
+import com.example.detection.SweepAndPruneTest;
 import com.example.flight.FlightEmergencyHandlerTest;
+import com.example.flight.FlightStoreTest;
+import com.example.flight.FlightTickAllocationTest;
+import com.example.jetpack.FleetRegistryTest;
+import com.example.manager.CityRuntimeTest;
+import com.example.model.BuildingIndexTest;
 import com.example.model.JetPackTest;
 import com.example.model.ParkingSpaceTest;
 import com.example.model.WeatherTest;
+import com.example.navigation.RoutePlannerTest;
+import com.example.parking.ParkingPoolTest;
+import com.example.parking.ParkingReservationTest;
+import com.example.radio.RadioCommandExecutorTest;
 import com.example.utility.GeometryUtilsTest;
+import com.example.utility.timing.HashedTimingWheelTest;
+import com.example.simulation.SimulationEngineTest;
+import com.example.simulation.SimulationRandomTest;
 import com.example.utility.WaterDetectorTest;
+import com.example.utility.water.LandDistanceMapTest;
+import com.example.utility.water.TerrainMaskTest;
 
 /**
  * Comprehensive Test Suite Runner
@@ -43,19 +65,41 @@ import com.example.utility.WaterDetectorTest;
 @SuiteClasses({  // Define the list of test classes to include in this suite
     // Model tests - validate core data structures and business logic
     JetPackTest.class,         // Test JetPack model operations
+    FleetRegistryTest.class,   // Test interned fleet columns, callsign ids and CSV import
     ParkingSpaceTest.class,    // Test parking space management
+    ParkingPoolTest.class,     // Test free-space pool picks and nearest-free queries
+    ParkingReservationTest.class,  // Test lock-free parking reservations under contention
+    BuildingIndexTest.class,   // Test building footprint grid queries
+    RoutePlannerTest.class,    // Test A* detour planning and route cache
     WeatherTest.class,         // Test weather system functionality
     
     // Detection tests - validate collision and radar systems
     RadarTest.class,           // Test radar tracking and detection
+    RadarConcurrencyTest.class,   // Test concurrent radar writers and snapshot readers
+    RadarSpatialIndexTest.class,  // Test k-d tree queries against brute force
+    RadarSweepEngineTest.class,  // Test scheduled sweeps and immutable sweep frames
+    RadarNetworkTest.class,  // Test sector routing, track fusion and degraded coverage
+    RadarExtrapolationTest.class,  // Test dead-reckoning error between sweeps
     CollisionDetectorTest.class,  // Test collision detection algorithms
+    SweepAndPruneTest.class,   // Test broad-phase pair pruning against brute force
+    ConflictProbeTest.class,   // Test lookahead conflict prediction
+    ProximityAlertTrackerTest.class,  // Test pair alert state transitions
     
     // Utility tests - validate helper functions and calculations
     GeometryUtilsTest.class,   // Test geometric calculations
+    HashedTimingWheelTest.class,  // Test timing wheel scheduling and expiry
+    SimulationEngineTest.class,  // Test fixed-timestep loop and headless city simulation
+    SimulationRandomTest.class,  // Test seeded deterministic runs and trajectory hashes
+    CityRuntimeTest.class,     // Test concurrent cities and attachable views
     WaterDetectorTest.class,   // Test water body detection
+    TerrainMaskTest.class,     // Test packed terrain classes and bulk queries
+    LandDistanceMapTest.class,  // Test nearest-land distance transform against brute force
     
     // Flight tests - validate flight control and emergency systems
     FlightEmergencyHandlerTest.class,  // Test emergency handling logic
+    FlightTickAllocationTest.class,  // Test allocation-free flight ticks
+    FlightStoreTest.class,  // Test structure-of-arrays flight store
+    RadioCommandExecutorTest.class,  // Test typed radio command dispatch
     
     // Original test - basic framework validation
     AppTest.class              // Test application bootstrap
@@ -0,0 +1,127 @@
+/**
+ * Stand-alone benchmark comparing the brute-force pair loop with the SweepAndPrune broad phase.
+ *
+ * Purpose:
+ * Measures time per collision sweep at 1k, 10k and 50k flights so the broad phase can be sized
+ * against fleet growth, with and without altitude banding. Not a JUnit test (no Test suffix), so it does not run with the unit suite.
+ *
+ * Usage:
+ * java -cp target/classes:target/test-classes com.example.detection.CollisionBroadPhaseBenchmark
+ *
+ * Patterns & Constraints:
+ * - Fleet density is held constant (map side grows with sqrt of fleet size)
+ * - Warm-up iterations precede each measured run
+ * - Brute force at 50k is measured once; it takes seconds per sweep
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.example.flight.JetPackFlight;
+import com.example.flight.JetPackFlightState;
+import com.example.jetpack.JetPack;
+
+public class CollisionBroadPhaseBenchmark {
+    private static final double WARNING_DISTANCE = CollisionDetector.getWarningDistance();
+    /** Flights per square unit, roughly 2.5k flights on a 1200x800 city map */
+    private static final double DENSITY = 2500.0 / (1200 * 800);
+
+    private static long pairCount;
+
+    public static void main(String[] args) {
+        int[] sizes = {1_000, 10_000, 50_000};
+        System.out.printf("%8s %12s %12s %12s %12s %12s %9s%n",
+            "flights", "brute ms", "sweep ms", "pairs", "banded ms", "bnd pairs", "speedup");
+        for (int size : sizes) {
+            List<JetPackFlight> flights = createFleet(size, new Random(size));
+            Map<JetPackFlight, JetPackFlightState> states = new HashMap<>();
+
+            int bruteRuns = size >= 50_000 ? 1 : 5;
+            double bruteMs = timeBruteForce(flights, bruteRuns);
+
+            SweepAndPrune sweep = new SweepAndPrune(WARNING_DISTANCE);
+            sweep.update(flights, states);  // Initial bulk sort is a one-off cost, not per tick
+            double sweepMs = timeSweep(sweep, flights, states, 20);
+            long candidates = pairCount;
+
+            SweepAndPrune banded = new SweepAndPrune(WARNING_DISTANCE, CollisionDetector.getAltitudeBandHeight());
+            banded.update(flights, states);
+            double bandedMs = timeSweep(banded, flights, states, 20);
+            long bandedCandidates = pairCount;
+
+            System.out.printf("%8d %12.2f %12.2f %12d %12.2f %12d %8.1fx%n", size, bruteMs, sweepMs, candidates,
+                bandedMs, bandedCandidates, bruteMs / bandedMs);
+        }
+    }
+
+    private static List<JetPackFlight> createFleet(int size, Random random) {
+        int side = (int) Math.sqrt(size / DENSITY);
+        List<JetPackFlight> flights = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            JetPack jp = new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model");
+            Point start = new Point(random.nextInt(side), random.nextInt(side));
+            Point dest = new Point(random.nextInt(side), random.nextInt(side));
+            flights.add(new JetPackFlight(jp, start, dest, Color.RED));
+        }
+        return flights;
+    }
+
+    private static double timeBruteForce(List<JetPackFlight> flights, int runs) {
+        bruteForce(flights);  // Warm-up
+        long start = System.nanoTime();
+        for (int r = 0; r < runs; r++) {
+            bruteForce(flights);
+        }
+        return (System.nanoTime() - start) / 1e6 / runs;
+    }
+
+    private static void bruteForce(List<JetPackFlight> flights) {
+        long pairs = 0;
+        for (int i = 0; i < flights.size(); i++) {
+            JetPackFlight a = flights.get(i);
+            for (int j = i + 1; j < flights.size(); j++) {
+                JetPackFlight b = flights.get(j);
+                double dx = a.getX() - b.getX();
+                double dy = a.getY() - b.getY();
+                if (Math.sqrt(dx * dx + dy * dy) < WARNING_DISTANCE) {
+                    pairs++;
+                }
+            }
+        }
+        pairCount = pairs;
+    }
+
+    private static double timeSweep(SweepAndPrune sweep, List<JetPackFlight> flights,
+                                    Map<JetPackFlight, JetPackFlightState> states, int runs) {
+        long total = 0;
+        for (int r = 0; r < runs + 5; r++) {  // First five runs are warm-up
+            for (JetPackFlight flight : flights) {
+                flight.updatePosition();  // One tick of motion between sweeps, like the animation loop
+            }
+            long[] pairs = new long[1];
+            long start = System.nanoTime();
+            sweep.update(flights, states);
+            sweep.forEachCandidatePair((a, b) -> {
+                double dx = a.getX() - b.getX();
+                double dy = a.getY() - b.getY();
+                if (Math.sqrt(dx * dx + dy * dy) < WARNING_DISTANCE) {
+                    pairs[0]++;
+                }
+            });
+            if (r >= 5) {
+                total += System.nanoTime() - start;
+            }
+            pairCount = pairs[0];
+        }
+        return total / 1e6 / runs;
+    }
+}
@@ -10,6 +10,7 @@
  * - Edge cases and boundary condition handling
  * - Error scenarios and exception handling
  * - Integration with related components
+ * - One separation rule: horizontal distance for pairs under 100 ft apart in altitude, whatever their bands
  * 
  * Patterns & Constraints:
  * - JUnit framework for test execution and assertions
@@ -28,11 +29,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.example.detection.ProximityAlertTracker.AlertLevel;
 import com.example.flight.JetPackFlight;
 import com.example.flight.JetPackFlightState;
 import com.example.jetpack.JetPack;
@@ -162,6 +165,33 @@ public class CollisionDetectorTest {
         detector.checkCollisions(flights, flightStates);
     }
     
+    /** Samples two flights 30 units apart horizontally at the given altitudes into a frame */
+    private static SweepFrame pairFrame(JetPackFlight first, JetPackFlight second, double altitude1, double altitude2) {
+        return new SweepFrame(1, 0, new JetPackFlight[] {first, second}, new int[] {0, 1},
+            new double[] {100, 130}, new double[] {100, 100}, new double[] {altitude1, altitude2}, new boolean[2]);
+    }
+    
+    @Test
+    public void testVerticalSeparationRuleAcrossAltitudeBands() {
+        JetPackFlight flight1 = new JetPackFlight(new JetPack("TEST-001", "ALPHA-01", "Pilot1", "2024", "Model1", "Mfg1"),
+            new Point(100, 100), new Point(200, 200), Color.RED);
+        JetPackFlight flight2 = new JetPackFlight(new JetPack("TEST-002", "BRAVO-02", "Pilot2", "2024", "Model2", "Mfg2"),
+            new Point(130, 100), new Point(230, 200), Color.BLUE);
+        ProximityAlertTracker tracker = detector.getAlertTracker();
+        
+        detector.checkCollisions(pairFrame(flight1, flight2, 24, 51));  // dz = 27, two 25 ft bands apart
+        assertEquals("27 ft apart is not vertically separated", AlertLevel.CRITICAL, tracker.getLevel(flight1, flight2));
+        
+        detector.checkCollisions(pairFrame(flight1, flight2, 60, 190));  // Stacked 130 ft apart
+        assertEquals("Vertically separated pairs are cleared", AlertLevel.CLEAR, tracker.getLevel(flight1, flight2));
+        
+        detector.checkCollisions(pairFrame(flight1, flight2, 100, 199));  // dz = 99, adjacent 100 ft bands
+        assertEquals(AlertLevel.CRITICAL, tracker.getLevel(flight1, flight2));
+        
+        detector.checkCollisions(pairFrame(flight1, flight2, 100, 200));  // dz = 100 meets the separation
+        assertEquals(AlertLevel.CLEAR, tracker.getLevel(flight1, flight2));
+    }
+    
     @Test
     public void testAccidentAlertIntegration() {
         assertNotNull("Accident alert should be integrated", detector.getAccidentAlert());
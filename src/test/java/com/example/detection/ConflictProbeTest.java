@@ -0,0 +1,173 @@
+/**
+ * Unit tests for ConflictProbe functionality and behavior validation.
+ *
+ * Purpose:
+ * Validates closest-point-of-approach predictions, ranking, prediction reuse across ticks and the
+ * per-tick pair-test budget of the lookahead conflict probe.
+ *
+ * Key Test Areas:
+ * - Head-on and crossing geometries produce correctly timed conflicts
+ * - Diverging and laterally separated pairs produce none
+ * - Predictions are reused while targets and speeds are unchanged
+ * - Budget overflow defers changed flights instead of dropping them
+ * - Altitude drift beyond the tolerance re-probes; reported separation follows current altitudes
+ * - Distant flights share no grid cells and need no pair tests
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Flights are projected in level flight; random-walk altitude steps stay inside the tolerance
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.example.flight.JetPackFlight;
+import com.example.flight.JetPackFlightState;
+import com.example.jetpack.JetPack;
+
+/**
+ * Test suite for ConflictProbe
+ */
+public class ConflictProbeTest {
+    private List<JetPackFlight> flights;
+    private Map<JetPackFlight, JetPackFlightState> flightStates;
+
+    @Before
+    public void setUp() {
+        flights = new ArrayList<>();
+        flightStates = new HashMap<>();
+    }
+
+    private JetPackFlight addFlight(String callsign, int x, int y, int destX, int destY) {
+        JetPack jp = new JetPack("JP-" + callsign, "TEST-" + callsign, callsign, "Pilot", "2024", "Model");
+        JetPackFlight flight = new JetPackFlight(jp, new Point(x, y), new Point(destX, destY), Color.RED);
+        flights.add(flight);
+        return flight;
+    }
+
+    @Test
+    public void testHeadOnPairPredictedBeforeContact() {
+        addFlight("ALPHA", 100, 500, 900, 500);
+        addFlight("BRAVO", 900, 500, 100, 500);
+        ConflictProbe probe = new ConflictProbe();
+
+        List<PredictedConflict> conflicts = probe.update(flights, flightStates);
+        assertEquals("Head-on pair should be predicted", 1, conflicts.size());
+        PredictedConflict conflict = conflicts.get(0);
+        assertEquals("800 units closing at 4 units/tick is 200 ticks", 8.0, conflict.getTimeToClosestApproach(), 0.01);
+        assertEquals("Head-on pair meets exactly", 0.0, conflict.getClosestApproachDistance(), 0.01);
+        assertTrue("Zero miss distance is a predicted collision", conflict.isPredictedCollision());
+    }
+
+    @Test
+    public void testCrossingPairMissDistance() {
+        addFlight("ALPHA", 0, 500, 1000, 500);   // Eastbound along y=500
+        addFlight("BRAVO", 500, 0, 500, 1000);   // Southbound along x=500, arrives at crossing together
+        ConflictProbe probe = new ConflictProbe();
+
+        List<PredictedConflict> conflicts = probe.update(flights, flightStates);
+        assertEquals("Crossing pair should be predicted", 1, conflicts.size());
+        assertEquals("Both reach the crossing after 250 ticks", 10.0, conflicts.get(0).getTimeToClosestApproach(), 0.05);
+    }
+
+    @Test
+    public void testDivergingAndParallelPairsIgnored() {
+        addFlight("ALPHA", 400, 500, 100, 500);  // Westbound
+        addFlight("BRAVO", 500, 500, 900, 500);  // Eastbound, moving apart
+        addFlight("CHARLIE", 100, 800, 900, 800); // Parallel track 300 units away
+        ConflictProbe probe = new ConflictProbe();
+
+        assertTrue("No pair converges inside the separation", probe.update(flights, flightStates).isEmpty());
+    }
+
+    @Test
+    public void testPredictionsReusedWhileLegsUnchanged() {
+        addFlight("ALPHA", 100, 500, 900, 500);
+        addFlight("BRAVO", 900, 500, 100, 500);
+        ConflictProbe probe = new ConflictProbe();
+        probe.update(flights, flightStates);
+        assertEquals("First tick evaluates the pair", 1, probe.getLastEvaluationCount());
+
+        for (JetPackFlight flight : flights) {
+            flight.updatePosition();
+        }
+        List<PredictedConflict> conflicts = probe.update(flights, flightStates);
+        assertEquals("Unchanged legs reuse the prediction", 0, probe.getLastEvaluationCount());
+        assertEquals("Unchanged legs need no pair tests", 0, probe.getLastPairTestCount());
+        assertEquals("Reused CPA shifts by one tick", 7.96, conflicts.get(0).getTimeToClosestApproach(), 0.01);
+
+        flights.get(0).setNewDestination(new Point(900, 510));  // New leg, still converging, invalidates the pair
+        probe.update(flights, flightStates);
+        assertEquals("Changed leg forces re-evaluation", 1, probe.getLastEvaluationCount());
+    }
+
+    @Test
+    public void testBudgetDefersChangedFlightsToLaterTicks() {
+        for (int i = 0; i < 6; i++) {  // Six flights converging on one point: 15 conflicting pairs
+            double angle = i * Math.PI / 3;
+            addFlight("F" + i, (int) (500 + 300 * Math.cos(angle)), (int) (500 + 300 * Math.sin(angle)), 500, 500);
+        }
+        ConflictProbe probe = new ConflictProbe(10.0, 50.0, 1000.0, 4);
+
+        int evaluated = 0;
+        int ticks = 0;
+        do {
+            probe.update(flights, flightStates);
+            assertTrue("Budget overrun is at most one flight's scan", probe.getLastPairTestCount() < 4 + flights.size());
+            evaluated += probe.getLastEvaluationCount();
+            ticks++;
+        } while (probe.getPendingCount() > 0 && ticks < 10);
+        assertTrue("Budget spreads the initial probe over several ticks", ticks > 1);
+        assertEquals("Queue drains", 0, probe.getPendingCount());
+        assertEquals("Each pair evaluated exactly once", 15, evaluated);
+        assertEquals("All conflicts reported once the queue drains", 15, probe.getConflicts().size());
+    }
+
+    @Test
+    public void testAltitudeDriftTriggersReprobe() {
+        JetPackFlight alpha = addFlight("ALPHA", 100, 500, 900, 500);
+        JetPackFlight bravo = addFlight("BRAVO", 900, 500, 100, 500);
+        ConflictProbe probe = new ConflictProbe();
+        probe.update(flights, flightStates);
+        double climb = bravo.getAltitude() >= alpha.getAltitude() ? 30 : -30;  // Toward bravo, so the pair stays in conflict
+        alpha.receiveAltitudeInstruction(alpha.getAltitude() + climb, "Climb");
+
+        int evaluated = 0;
+        List<PredictedConflict> conflicts = null;
+        for (int i = 0; i < 10; i++) {
+            for (JetPackFlight flight : flights) {
+                flight.updatePosition();
+            }
+            conflicts = probe.update(flights, flightStates);
+            evaluated += probe.getLastEvaluationCount();
+        }
+        assertTrue("Climbing 3 ft/tick drifts past the tolerance", evaluated > 0);
+        assertTrue("Drift inside the tolerance reuses the prediction", evaluated < 10);
+        assertEquals(1, conflicts.size());
+        assertEquals("Separation is read from current altitudes",
+            Math.abs(alpha.getAltitude() - bravo.getAltitude()), conflicts.get(0).getVerticalSeparation(), 1e-9);
+    }
+
+    @Test
+    public void testDistantFlightsNeedNoPairTests() {
+        addFlight("ALPHA", 100, 100, 150, 100);
+        addFlight("BRAVO", 900, 900, 950, 900);  // Leg boxes hundreds of units apart
+        ConflictProbe probe = new ConflictProbe();
+
+        assertTrue(probe.update(flights, flightStates).isEmpty());
+        assertEquals("No shared grid cell, no pair test", 0, probe.getLastPairTestCount());
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Unit tests for ProximityAlertTracker functionality and behavior validation.
+ *
+ * Purpose:
+ * Validates that the pair alert state table reports only level changes, applies hysteresis on
+ * de-escalation and clears pairs that drop out of a sweep.
+ *
+ * Key Test Areas:
+ * - Enter, escalate, de-escalate and clear transitions
+ * - Repeated observations at the same level produce no transitions
+ * - Hysteresis margin holds a level near its threshold
+ * - Unobserved pairs are cleared and release their state
+ * - The shared radar tape wording for each kind of transition
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Distances are supplied directly; flights only provide identity
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.example.detection.ProximityAlertTracker.AlertLevel;
+import com.example.detection.ProximityAlertTracker.AlertTransition;
+import com.example.detection.ProximityAlertTracker.TransitionKind;
+import com.example.flight.JetPackFlight;
+import com.example.jetpack.JetPack;
+
+/**
+ * Test suite for ProximityAlertTracker
+ */
+public class ProximityAlertTrackerTest {
+    private ProximityAlertTracker tracker;
+    private JetPackFlight alpha;
+    private JetPackFlight bravo;
+
+    @Before
+    public void setUp() {
+        tracker = new ProximityAlertTracker(100.0, 50.0, 20.0, 10.0);
+        alpha = createFlight("ALPHA");
+        bravo = createFlight("BRAVO");
+    }
+
+    private static JetPackFlight createFlight(String callsign) {
+        JetPack jp = new JetPack("JP-" + callsign, "TEST-" + callsign, callsign, "Pilot", "2024", "Model");
+        return new JetPackFlight(jp, new Point(0, 0), new Point(100, 100), Color.RED);
+    }
+
+    private List<AlertTransition> sweep(double distance) {
+        tracker.beginSweep();
+        tracker.observe(alpha, bravo, distance);
+        return tracker.endSweep();
+    }
+
+    @Test
+    public void testEnterEscalateDeEscalateClear() {
+        List<AlertTransition> transitions = sweep(90.0);
+        assertEquals(1, transitions.size());
+        assertEquals(TransitionKind.ENTER, transitions.get(0).getKind());
+        assertEquals(AlertLevel.WARNING, transitions.get(0).getTo());
+
+        transitions = sweep(40.0);
+        assertEquals(TransitionKind.ESCALATE, transitions.get(0).getKind());
+        assertEquals(AlertLevel.CRITICAL, transitions.get(0).getTo());
+
+        transitions = sweep(70.0);
+        assertEquals(TransitionKind.DE_ESCALATE, transitions.get(0).getKind());
+        assertEquals(AlertLevel.WARNING, transitions.get(0).getTo());
+
+        transitions = sweep(120.0);
+        assertEquals(TransitionKind.CLEAR, transitions.get(0).getKind());
+        assertEquals("Cleared pairs are dropped", 0, tracker.getActiveAlertCount());
+    }
+
+    @Test
+    public void testSteadyPairIsNotReannounced() {
+        sweep(80.0);
+        for (int i = 0; i < 10; i++) {
+            assertTrue("Unchanged level emits nothing", sweep(80.0 - i).isEmpty());
+        }
+        assertEquals(AlertLevel.WARNING, tracker.getLevel(bravo, alpha));
+    }
+
+    @Test
+    public void testHysteresisHoldsLevelNearThreshold() {
+        sweep(45.0);  // CRITICAL
+        assertTrue("Inside the dead band stays CRITICAL", sweep(55.0).isEmpty());
+        assertTrue("Back under the threshold is no change", sweep(49.0).isEmpty());
+        assertEquals(AlertLevel.WARNING, sweep(60.0).get(0).getTo());
+        assertTrue("Just outside warning stays WARNING", sweep(105.0).isEmpty());
+        assertEquals(AlertLevel.CLEAR, sweep(110.0).get(0).getTo());
+    }
+
+    @Test
+    public void testAccidentJumpsLevels() {
+        List<AlertTransition> transitions = sweep(10.0);
+        assertEquals(1, transitions.size());
+        assertEquals(AlertLevel.ACCIDENT, transitions.get(0).getTo());
+        assertTrue("Accident is reported once", sweep(12.0).isEmpty());
+    }
+
+    @Test
+    public void testUnobservedPairIsCleared() {
+        sweep(30.0);
+        tracker.beginSweep();  // Pair no longer a broad-phase candidate
+        List<AlertTransition> transitions = tracker.endSweep();
+        assertEquals(1, transitions.size());
+        assertEquals(TransitionKind.CLEAR, transitions.get(0).getKind());
+        assertTrue("Distance unknown when the pair left the window", Double.isNaN(transitions.get(0).getDistance()));
+        assertEquals(0, tracker.getActiveAlertCount());
+    }
+
+    @Test
+    public void testDistantPairsAllocateNothing() {
+        tracker.beginSweep();
+        tracker.observe(alpha, bravo, 500.0);
+        assertTrue(tracker.endSweep().isEmpty());
+        assertEquals(0, tracker.getActiveAlertCount());
+    }
+
+    @Test
+    public void testTransitionMessages() {
+        assertEquals("⚠️ Warning: ALPHA and BRAVO are 90.0 units apart",
+            CollisionDetector.formatTransition(sweep(90.0).get(0)));
+        assertEquals("⚠️ CRITICAL: ALPHA and BRAVO are 40.0 units apart - COLLISION RISK!",
+            CollisionDetector.formatTransition(sweep(40.0).get(0)));
+        assertEquals("↘️ Easing: ALPHA and BRAVO down to WARNING at 70.0 units",
+            CollisionDetector.formatTransition(sweep(70.0).get(0)));
+        assertEquals("✅ Clear: ALPHA and BRAVO are separated",
+            CollisionDetector.formatTransition(sweep(120.0).get(0)));
+    }
+}
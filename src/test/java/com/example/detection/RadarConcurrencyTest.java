@@ -0,0 +1,135 @@
+/**
+ * Multi-writer stress tests for the Radar contact store.
+ *
+ * Purpose:
+ * Validates that concurrent position writers and snapshot readers neither lose contacts nor observe
+ * torn or mutable state, and that snapshot versions only move forward.
+ *
+ * Key Test Areas:
+ * - Many writer threads adding and updating disjoint and shared jetpacks
+ * - Readers taking snapshots while writes are in flight
+ * - Final store contents and version after all writers finish
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Threads are joined with a timeout so a deadlock fails the test instead of hanging it
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import com.example.detection.Radar.RadarContact;
+import com.example.jetpack.JetPack;
+
+/**
+ * Concurrency suite for Radar
+ */
+public class RadarConcurrencyTest {
+    private static final int WRITERS = 8;
+    private static final int OWN_JETPACKS = 250;
+    private static final int SHARED_JETPACKS = 50;
+    private static final int ROUNDS = 40;
+
+    private static JetPack createJetPack(String id) {
+        return new JetPack("JP-" + id, "TEST-" + id, "CALL-" + id, "Pilot", "2024", "Model");
+    }
+
+    @Test
+    public void testConcurrentWritersAndReaders() throws Exception {
+        Radar radar = new Radar("RADAR-STRESS", 100.0, 0, 0);
+        List<JetPack> shared = new ArrayList<>();
+        for (int i = 0; i < SHARED_JETPACKS; i++) {
+            shared.add(createJetPack("S" + i));
+        }
+        List<List<JetPack>> owned = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            List<JetPack> mine = new ArrayList<>();
+            for (int i = 0; i < OWN_JETPACKS; i++) {
+                mine.add(createJetPack("W" + w + "-" + i));
+            }
+            owned.add(mine);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            final List<JetPack> mine = owned.get(w);
+            final int writer = w;
+            writers.add(pool.submit(() -> {
+                start.await();
+                for (int round = 0; round < ROUNDS; round++) {
+                    for (int i = 0; i < mine.size(); i++) {
+                        radar.updateJetPackPosition(mine.get(i), round, i, 100 + writer);  // Adds on first round
+                    }
+                    for (JetPack jetpack : shared) {
+                        radar.updateJetPackPosition(jetpack, writer, round, 100);  // Contended contacts
+                    }
+                }
+                return null;
+            }));
+        }
+        List<Future<?>> readers = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            readers.add(pool.submit(() -> {
+                start.await();
+                long lastVersion = -1;
+                while (writing.get()) {
+                    RadarSnapshot snapshot = radar.getSnapshot();
+                    assertTrue("Versions never go backwards", snapshot.getVersion() >= lastVersion);
+                    lastVersion = snapshot.getVersion();
+                    for (RadarContact contact : snapshot.getContacts().values()) {
+                        assertNotNull("Snapshots never hold null contacts", contact);
+                    }
+                    assertTrue("Snapshot size bounded by fleet", snapshot.size() <= WRITERS * OWN_JETPACKS + SHARED_JETPACKS);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        for (Future<?> reader : readers) {
+            reader.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals("No contact lost", WRITERS * OWN_JETPACKS + SHARED_JETPACKS, radar.getTrackedJetpackCount());
+        RadarSnapshot finalSnapshot = radar.getSnapshot();
+        assertEquals("Every write bumps the version",
+            (long) WRITERS * ROUNDS * (OWN_JETPACKS + SHARED_JETPACKS), finalSnapshot.getVersion());
+        for (int w = 0; w < WRITERS; w++) {
+            List<JetPack> mine = owned.get(w);
+            for (int i = 0; i < mine.size(); i++) {
+                RadarContact contact = finalSnapshot.getContact(mine.get(i));
+                assertEquals("Last round wins for single-writer contacts", ROUNDS - 1, contact.getX());
+                assertEquals(i, contact.getY());
+                assertEquals(100 + w, contact.getAltitude());
+            }
+        }
+        for (JetPack jetpack : shared) {
+            RadarContact contact = finalSnapshot.getContact(jetpack);
+            assertTrue("Shared contacts hold a whole write from one writer",
+                contact.getX() >= 0 && contact.getX() < WRITERS && contact.getAltitude() == 100);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Unit tests for RadarContact dead-reckoning and behavior validation.
+ *
+ * Purpose:
+ * Validates that contacts fed at a reduced sweep rate can be extrapolated to every display tick
+ * with bounded error, using real FlightMovementController motion on straight and turning legs.
+ *
+ * Key Test Areas:
+ * - Velocity and climb rate estimated from consecutive fixes
+ * - Straight-leg extrapolation error within position rounding
+ * - Turning-leg extrapolation error bounded by the distance flown in one sweep interval
+ * - Extrapolation horizon clamp
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Radar clock driven by the test: 40 ms display ticks, one sweep every 10 ticks
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.awt.Point;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.example.detection.Radar.RadarContact;
+import com.example.flight.FlightMovementController;
+import com.example.jetpack.JetPack;
+
+/**
+ * Test suite for RadarContact extrapolation
+ */
+public class RadarExtrapolationTest {
+    private static final long TICK_MS = 40;
+    private static final int TICKS_PER_SWEEP = 10;  // Sweeps 10x less often than the display
+    private static final double SPEED = 2.0;  // Map units per tick
+    private static final double ROUNDING_ERROR = 3.0;  // Whole-unit fixes: position plus velocity rounding
+
+    private Radar radar;
+    private JetPack jetpack;
+    private long now;
+
+    @Before
+    public void setUp() {
+        now = System.currentTimeMillis();
+        radar = new Radar("TEST-RADAR", 50.0, 0, 0);
+        radar.setClock(() -> now);
+        jetpack = new JetPack("JP1", "TEST-001", "ALPHA-01", "Pilot", "2024", "Model");
+    }
+
+    /**
+     * Flies the controller, sweeping every TICKS_PER_SWEEP ticks, and returns the largest
+     * horizontal extrapolation error seen on any display tick after the second sweep.
+     */
+    private double flyAndMeasure(FlightMovementController controller, int ticks, Double targetAltitude) {
+        double[] predicted = new double[3];
+        double worst = 0;
+        int sweeps = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            if (tick % TICKS_PER_SWEEP == 0) {
+                radar.updateJetPackPosition(jetpack, (int) controller.getX(), (int) controller.getY(),
+                    (int) controller.getAltitude());
+                sweeps++;
+            }
+            now += TICK_MS;
+            controller.updatePosition(SPEED, false);
+            controller.updateAltitude(targetAltitude);
+            if (sweeps >= 2) {  // Velocity needs two fixes
+                radar.getSnapshot().getContact(jetpack).extrapolate(now, predicted);
+                worst = Math.max(worst, Math.hypot(predicted[0] - controller.getX(), predicted[1] - controller.getY()));
+            }
+        }
+        return worst;
+    }
+
+    @Test
+    public void testVelocityEstimatedFromFixes() {
+        FlightMovementController controller = new FlightMovementController(new Point(0, 0), new Point(5000, 0), SPEED, 100);
+        flyAndMeasure(controller, 30, 200.0);  // Climbs 3 ft per tick throughout
+        RadarContact contact = radar.getSnapshot().getContact(jetpack);
+        assertEquals(SPEED * 1000 / TICK_MS, contact.getVelocityX(), 5.0);
+        assertEquals(0.0, contact.getVelocityY(), 0.5);
+        assertEquals("Climbing toward the target altitude", 3.0 * 1000 / TICK_MS, contact.getClimbRate(), 5.0);
+    }
+
+    @Test
+    public void testStraightLegErrorWithinRounding() {
+        FlightMovementController controller = new FlightMovementController(new Point(10, 20), new Point(3000, 1500), SPEED, 100);
+        assertTrue(flyAndMeasure(controller, 500, 100.0) <= ROUNDING_ERROR);
+    }
+
+    @Test
+    public void testTurningLegErrorBoundedBySweepInterval() {
+        FlightMovementController controller = new FlightMovementController(new Point(0, 0), new Point(0, 0), SPEED, 100);
+        controller.setWaypoints(Arrays.asList(new Point(203, 0), new Point(203, 317), new Point(-150, 317), new Point(-150, 0)));
+        double bound = SPEED * TICKS_PER_SWEEP * Math.sqrt(2) + ROUNDING_ERROR;  // Full right-angle turn just after a fix
+        double worst = flyAndMeasure(controller, 700, 100.0);
+        assertTrue("Turn error " + worst + " within " + bound, worst <= bound);
+        assertTrue("Turns do cost accuracy versus a straight leg", worst > ROUNDING_ERROR);
+    }
+
+    @Test
+    public void testExtrapolationStopsAtHorizon() {
+        FlightMovementController controller = new FlightMovementController(new Point(0, 0), new Point(5000, 0), SPEED, 100);
+        flyAndMeasure(controller, 30, 100.0);
+        RadarContact contact = radar.getSnapshot().getContact(jetpack);
+        double[] atHorizon = contact.extrapolate(contact.getLastUpdated() + RadarContact.MAX_EXTRAPOLATION_MS, new double[3]);
+        double[] beyond = contact.extrapolate(contact.getLastUpdated() + 60_000, new double[3]);
+        assertEquals(atHorizon[0], beyond[0], 0.0);
+        double[] before = contact.extrapolate(contact.getLastUpdated() - 1_000, new double[3]);
+        assertEquals("No back-extrapolation", contact.getX(), before[0], 0.0);
+    }
+}
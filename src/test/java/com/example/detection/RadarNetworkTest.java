@@ -0,0 +1,158 @@
+/**
+ * Unit tests for RadarNetwork functionality and behavior validation.
+ *
+ * Purpose:
+ * Validates that overlapping sector radars each track the jetpacks in their coverage, that fusion
+ * yields one system track per jetpack and one conflict per pair, and that losing a radar degrades
+ * coverage only where no other sector overlaps.
+ *
+ * Key Test Areas:
+ * - Grid coverage layout and per-sector contact routing
+ * - Track fusion across overlap zones
+ * - Conflict de-duplication across sectors
+ * - Degraded coverage with a radar switched off
+ * - Sweeps published to listeners; parked flights tracked but never in conflict
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Frames come from a RadarSweepEngine without its own radar
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.example.detection.RadarNetwork.Conflict;
+import com.example.detection.RadarNetwork.NetworkSweep;
+import com.example.detection.RadarNetwork.SystemTrack;
+import com.example.flight.JetPackFlight;
+import com.example.jetpack.JetPack;
+
+/**
+ * Test suite for RadarNetwork
+ */
+public class RadarNetworkTest {
+    private RadarNetwork network;
+    private List<JetPackFlight> flights;
+    private RadarSweepEngine engine;
+
+    @Before
+    public void setUp() {
+        network = new RadarNetwork();
+        network.addGridCoverage("TEST", 2000, 1000, 2, 1);  // Sectors centred at (500,500) and (1500,500)
+        flights = new ArrayList<>();
+        flights.add(createFlight("WEST", 100, 500));
+        flights.add(createFlight("MID-A", 1000, 500));  // Overlap zone
+        flights.add(createFlight("MID-B", 1050, 500));  // Overlap zone, 50 units from MID-A
+        flights.add(createFlight("EAST", 1900, 500));
+        engine = new RadarSweepEngine(null, flights);
+    }
+
+    @After
+    public void tearDown() {
+        network.shutdown();
+    }
+
+    private static JetPackFlight createFlight(String callsign, int x, int y) {
+        JetPack jp = new JetPack("JP-" + callsign, "TEST-" + callsign, callsign, "Pilot", "2024", "Model");
+        return new JetPackFlight(jp, new Point(x, y), new Point(x, y + 1000), Color.RED);
+    }
+
+    private SystemTrack trackFor(NetworkSweep sweep, String callsign) {
+        for (SystemTrack track : sweep.getTracks()) {
+            if (track.getJetpack().getCallsign().equals(callsign)) return track;
+        }
+        return null;
+    }
+
+    @Test
+    public void testGridCoverageOverlaps() {
+        List<Radar> radars = network.getRadars();
+        assertEquals(2, radars.size());
+        assertTrue(radars.get(0).covers(1000, 500));
+        assertTrue(radars.get(1).covers(1000, 500));
+        assertFalse(radars.get(1).covers(100, 500));
+    }
+
+    @Test
+    public void testOneSystemTrackPerJetpack() {
+        NetworkSweep sweep = network.ingest(engine.sweepNow());
+        assertEquals(2, sweep.getActiveRadars());
+        assertEquals(flights.size(), sweep.getTracks().size());
+        assertEquals(1, trackFor(sweep, "WEST").getReportingRadars());
+        assertEquals("Overlap zone seen by both sectors", 2, trackFor(sweep, "MID-A").getReportingRadars());
+        assertEquals("TEST-1-1", trackFor(sweep, "WEST").getPrimaryRadarId());
+        assertEquals("TEST-1-2", trackFor(sweep, "EAST").getPrimaryRadarId());
+        assertEquals("WEST plus the overlap pair", 3, network.getRadars().get(0).getTrackedJetpackCount());
+    }
+
+    @Test
+    public void testConflictReportedOncePerPair() {
+        NetworkSweep sweep = network.ingest(engine.sweepNow());
+        assertEquals(1, sweep.getConflicts().size());
+        Conflict conflict = sweep.getConflicts().get(0);
+        assertEquals(50.0, conflict.getDistance(), 1.0);
+        assertEquals("Both sectors saw it; fusion merged them", 2, conflict.getReportingRadars());
+    }
+
+    @Test
+    public void testDisabledRadarDegradesOnlyItsExclusiveArea() {
+        network.getRadars().get(0).setActive(false);
+        NetworkSweep sweep = network.ingest(engine.sweepNow());
+        assertEquals(1, sweep.getActiveRadars());
+        assertEquals("WEST is outside the remaining sector", null, trackFor(sweep, "WEST"));
+        assertEquals("TEST-1-2", trackFor(sweep, "MID-A").getPrimaryRadarId());
+        assertEquals(3, sweep.getTracks().size());
+        assertEquals(1, sweep.getConflicts().size());
+    }
+
+    @Test
+    public void testDepartedFlightRemovedFromSectors() {
+        network.ingest(engine.sweepNow());
+        flights.remove(1);
+        NetworkSweep sweep = network.ingest(engine.sweepNow());
+        assertEquals(3, sweep.getTracks().size());
+        assertEquals(2, network.getRadars().get(0).getTrackedJetpackCount());
+        assertTrue(sweep.getConflicts().isEmpty());
+    }
+
+    @Test
+    public void testListenersReceiveSweepsWithoutParkedConflicts() {
+        List<NetworkSweep> received = new ArrayList<>();
+        network.addListener(received::add);
+        SweepFrame sampled = engine.sweepNow();
+        int n = sampled.size();
+        JetPackFlight[] sampledFlights = new JetPackFlight[n];
+        int[] ids = new int[n];
+        double[] xs = new double[n], ys = new double[n], altitudes = new double[n];
+        boolean[] parked = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            sampledFlights[i] = sampled.getFlight(i);
+            ids[i] = sampled.getId(i);
+            xs[i] = sampled.getX(i);
+            ys[i] = sampled.getY(i);
+            altitudes[i] = sampled.getAltitude(i);
+            parked[i] = sampled.getFlight(i) == flights.get(2);  // MID-B sits in a parking space
+        }
+        SweepFrame frame = new SweepFrame(sampled.getSequence() + 1, 0, sampledFlights, ids, xs, ys, altitudes, parked);
+        NetworkSweep sweep = network.ingest(frame);
+        assertEquals(Collections.singletonList(sweep), received);
+        assertSame(frame, sweep.getFrame());
+        assertEquals("Parked flights are tracked", flights.size(), sweep.getTracks().size());
+        assertTrue("but never conflict", sweep.getConflicts().isEmpty());
+    }
+}
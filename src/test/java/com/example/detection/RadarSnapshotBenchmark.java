@@ -0,0 +1,141 @@
+/**
+ * Stand-alone benchmark comparing copy-on-read radar positions with shared versioned snapshots.
+ *
+ * Purpose:
+ * Measures the cost of serving several readers per sweep (tracking windows, radar tape, system check)
+ * when each reader copies the contact map, against one cached snapshot shared by all of them, and
+ * the throughput of concurrent position writers against a synchronized HashMap store.
+ * Not a JUnit test (no Test suffix), so it does not run with the unit suite.
+ *
+ * Usage:
+ * java -cp target/classes:target/test-classes com.example.detection.RadarSnapshotBenchmark
+ *
+ * Patterns & Constraints:
+ * - Each sweep writes every contact once, then serves READERS_PER_SWEEP reads
+ * - Warm-up sweeps precede each measured run
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.example.detection.Radar.RadarContact;
+import com.example.jetpack.JetPack;
+
+public class RadarSnapshotBenchmark {
+    private static final int READERS_PER_SWEEP = 4;
+    private static final int SWEEPS = 200;
+    private static final int WRITER_THREADS = 4;
+    private static final int WRITES_PER_THREAD = 500_000;
+
+    private static long sink;
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%8s %16s %16s %9s%n", "contacts", "copy-on-read ms", "snapshot ms", "speedup");
+        for (int size : new int[] {1_000, 10_000, 50_000}) {
+            List<JetPack> fleet = createFleet(size);
+            double copyMs = timeCopyOnRead(fleet);
+            double snapshotMs = timeSnapshots(fleet);
+            System.out.printf("%8d %16.2f %16.2f %8.1fx%n", size, copyMs, snapshotMs, copyMs / snapshotMs);
+        }
+
+        List<JetPack> fleet = createFleet(10_000);
+        double lockedMs = timeWriters(fleet, new SynchronizedStore());
+        Radar radar = new Radar();
+        double radarMs = timeWriters(fleet, radar::updateJetPackPosition);
+        System.out.printf("%n%d writer threads x %d writes: synchronized HashMap %.1f ms, Radar %.1f ms%n",
+            WRITER_THREADS, WRITES_PER_THREAD, lockedMs, radarMs);
+        System.out.println(sink == 42 ? "" : " ");  // Keep results observable
+    }
+
+    private interface PositionWriter {
+        void write(JetPack jetpack, int x, int y, int altitude);
+    }
+
+    /**
+     * The previous store: plain HashMap guarded by one lock, copied on every read.
+     */
+    private static final class SynchronizedStore implements PositionWriter {
+        private final Map<JetPack, RadarContact> contacts = new HashMap<>();
+
+        @Override
+        public synchronized void write(JetPack jetpack, int x, int y, int altitude) {
+            contacts.put(jetpack, new RadarContact(x, y, altitude));
+        }
+
+        synchronized Map<JetPack, RadarContact> copy() {
+            return new HashMap<>(contacts);
+        }
+    }
+
+    private static List<JetPack> createFleet(int size) {
+        List<JetPack> fleet = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            fleet.add(new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model"));
+        }
+        return fleet;
+    }
+
+    private static double timeCopyOnRead(List<JetPack> fleet) {
+        SynchronizedStore store = new SynchronizedStore();
+        long total = 0;
+        for (int sweep = 0; sweep < SWEEPS + 10; sweep++) {  // First ten sweeps are warm-up
+            for (int i = 0; i < fleet.size(); i++) {
+                store.write(fleet.get(i), sweep, i, 100);
+            }
+            long start = System.nanoTime();
+            for (int r = 0; r < READERS_PER_SWEEP; r++) {
+                sink += store.copy().size();  // Each reader copies
+            }
+            if (sweep >= 10) total += System.nanoTime() - start;
+        }
+        return total / 1e6 / SWEEPS;
+    }
+
+    private static double timeSnapshots(List<JetPack> fleet) {
+        Radar radar = new Radar();
+        long total = 0;
+        for (int sweep = 0; sweep < SWEEPS + 10; sweep++) {
+            for (int i = 0; i < fleet.size(); i++) {
+                radar.updateJetPackPosition(fleet.get(i), sweep, i, 100);
+            }
+            long start = System.nanoTime();
+            for (int r = 0; r < READERS_PER_SWEEP; r++) {
+                sink += radar.getSnapshot().size();  // First reader builds, the rest share
+            }
+            if (sweep >= 10) total += System.nanoTime() - start;
+        }
+        return total / 1e6 / SWEEPS;
+    }
+
+    private static double timeWriters(List<JetPack> fleet, PositionWriter writer) throws Exception {
+        for (JetPack jetpack : fleet) {
+            writer.write(jetpack, 0, 0, 100);  // Populate so the run measures updates, not inserts
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(WRITER_THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < WRITER_THREADS; t++) {
+            final int offset = t * (fleet.size() / WRITER_THREADS);
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                    writer.write(fleet.get((offset + i) % fleet.size()), i, i, 100);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        return elapsed / 1e6;
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Unit tests for RadarSpatialIndex functionality and behavior validation.
+ *
+ * Purpose:
+ * Validates k-d tree radius, rectangle and k-nearest queries against brute-force scans over
+ * random contact sets, including duplicate coordinates and degenerate inputs.
+ *
+ * Key Test Areas:
+ * - Radius and rectangle queries return exactly the brute-force sets
+ * - k-nearest returns the k closest contacts in distance order
+ * - Empty index, k larger than the fleet, and stacked duplicate positions
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Fixed random seeds keep failures reproducible
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.example.detection.Radar.RadarContact;
+import com.example.jetpack.JetPack;
+
+/**
+ * Brute-force equivalence suite for RadarSpatialIndex
+ */
+public class RadarSpatialIndexTest {
+    private Map<JetPack, RadarContact> contacts;
+
+    @Before
+    public void setUp() {
+        contacts = new HashMap<>();
+    }
+
+    private void addRandomContacts(int count, int mapSize, Random random) {
+        for (int i = 0; i < count; i++) {
+            JetPack jp = new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model");
+            contacts.put(jp, new RadarContact(random.nextInt(mapSize), random.nextInt(mapSize), 100));
+        }
+    }
+
+    private static long distanceSq(RadarContact contact, int x, int y) {
+        long dx = contact.getX() - x;
+        long dy = contact.getY() - y;
+        return dx * dx + dy * dy;
+    }
+
+    @Test
+    public void testRadiusAndRectangleMatchBruteForce() {
+        Random random = new Random(5);
+        addRandomContacts(3000, 2000, random);
+        RadarSpatialIndex index = new RadarSpatialIndex(contacts);
+        assertEquals(3000, index.size());
+
+        for (int q = 0; q < 200; q++) {
+            int x = random.nextInt(2000);
+            int y = random.nextInt(2000);
+            double radius = random.nextInt(300);
+            HashSet<JetPack> expected = new HashSet<>();
+            for (Map.Entry<JetPack, RadarContact> entry : contacts.entrySet()) {
+                if (distanceSq(entry.getValue(), x, y) <= radius * radius) expected.add(entry.getKey());
+            }
+            List<JetPack> found = index.findInRadius(x, y, radius);
+            assertEquals("Radius query " + q, expected, new HashSet<>(found));
+            assertEquals("No duplicates in radius result", expected.size(), found.size());
+
+            int w = random.nextInt(400);
+            int h = random.nextInt(400);
+            HashSet<JetPack> inRect = new HashSet<>();
+            for (Map.Entry<JetPack, RadarContact> entry : contacts.entrySet()) {
+                RadarContact c = entry.getValue();
+                if (c.getX() >= x && c.getX() <= x + w && c.getY() >= y && c.getY() <= y + h) inRect.add(entry.getKey());
+            }
+            assertEquals("Rectangle query " + q, inRect, new HashSet<>(index.findInRectangle(x, y, x + w, y + h)));
+        }
+    }
+
+    @Test
+    public void testNearestMatchesBruteForceOrder() {
+        Random random = new Random(9);
+        addRandomContacts(2000, 1000, random);
+        RadarSpatialIndex index = new RadarSpatialIndex(contacts);
+        for (int q = 0; q < 100; q++) {
+            final int x = random.nextInt(1000);
+            final int y = random.nextInt(1000);
+            List<Long> expected = new ArrayList<>();
+            for (RadarContact contact : contacts.values()) {
+                expected.add(distanceSq(contact, x, y));
+            }
+            Collections.sort(expected);
+            List<JetPack> nearest = index.findNearest(x, y, 10);
+            assertEquals(10, nearest.size());
+            for (int i = 0; i < nearest.size(); i++) {
+                assertEquals("Neighbour " + i + " distance", (long) expected.get(i), distanceSq(contacts.get(nearest.get(i)), x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testDegenerateInputs() {
+        RadarSpatialIndex empty = new RadarSpatialIndex(contacts);
+        assertTrue(empty.findInRadius(0, 0, 100).isEmpty());
+        assertTrue(empty.findNearest(0, 0, 5).isEmpty());
+
+        for (int i = 0; i < 50; i++) {  // Stacked contacts at one point
+            JetPack jp = new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model");
+            contacts.put(jp, new RadarContact(10, 10, 100));
+        }
+        RadarSpatialIndex stacked = new RadarSpatialIndex(contacts);
+        assertEquals("Duplicates all found", 50, stacked.findInRadius(10, 10, 0).size());
+        assertEquals("k capped at fleet size", 50, stacked.findNearest(0, 0, 500).size());
+        assertEquals(50, stacked.findInRectangle(10, 10, 10, 10).size());
+    }
+}
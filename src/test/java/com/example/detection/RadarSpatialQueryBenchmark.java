@@ -0,0 +1,94 @@
+/**
+ * Stand-alone benchmark comparing linear radar scans with the per-sweep k-d tree.
+ *
+ * Purpose:
+ * Measures radius, rectangle and k-nearest query cost over 10k contacts, at the rate of several
+ * hundred queries per sweep, including the one-off index build. Not a JUnit test (no Test suffix),
+ * so it does not run with the unit suite.
+ *
+ * Usage:
+ * java -cp target/classes:target/test-classes com.example.detection.RadarSpatialQueryBenchmark
+ *
+ * Patterns & Constraints:
+ * - The linear baseline reproduces the previous Math.pow/Math.sqrt scan
+ * - Warm-up rounds precede measurement
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.example.detection.Radar.RadarContact;
+import com.example.jetpack.JetPack;
+
+public class RadarSpatialQueryBenchmark {
+    private static final int CONTACTS = 10_000;
+    private static final int MAP_SIZE = 5_000;
+    private static final int QUERIES = 500;
+    private static final int ROUNDS = 20;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        Radar radar = new Radar();
+        for (int i = 0; i < CONTACTS; i++) {
+            JetPack jp = new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model");
+            radar.addJetpackToRadar(jp, random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE), 100);
+        }
+        int[][] points = new int[QUERIES][2];
+        for (int[] point : points) {
+            point[0] = random.nextInt(MAP_SIZE);
+            point[1] = random.nextInt(MAP_SIZE);
+        }
+
+        long linear = 0;
+        long build = 0;
+        long radius = 0;
+        long rectangle = 0;
+        long nearest = 0;
+        for (int round = 0; round < ROUNDS + 5; round++) {  // First five rounds are warm-up
+            RadarSnapshot snapshot = radar.getSnapshot();
+            long t0 = System.nanoTime();
+            for (int[] p : points) sink += linearScan(snapshot.getContacts(), p[0], p[1], 30.0).size();
+            long t1 = System.nanoTime();
+            RadarSpatialIndex index = new RadarSpatialIndex(snapshot.getContacts());  // Per-sweep rebuild
+            long t2 = System.nanoTime();
+            for (int[] p : points) sink += index.findInRadius(p[0], p[1], 30.0).size();
+            long t3 = System.nanoTime();
+            for (int[] p : points) sink += index.findInRectangle(p[0] - 100, p[1] - 100, p[0] + 100, p[1] + 100).size();
+            long t4 = System.nanoTime();
+            for (int[] p : points) sink += index.findNearest(p[0], p[1], 8).size();
+            long t5 = System.nanoTime();
+            if (round >= 5) {
+                linear += t1 - t0;
+                build += t2 - t1;
+                radius += t3 - t2;
+                rectangle += t4 - t3;
+                nearest += t5 - t4;
+            }
+        }
+        System.out.printf("%d contacts, %d queries per sweep (ms per sweep)%n", CONTACTS, QUERIES);
+        System.out.printf("  linear radius scan   %8.2f%n", linear / 1e6 / ROUNDS);
+        System.out.printf("  k-d tree build       %8.2f%n", build / 1e6 / ROUNDS);
+        System.out.printf("  k-d radius           %8.2f%n", radius / 1e6 / ROUNDS);
+        System.out.printf("  k-d rectangle        %8.2f%n", rectangle / 1e6 / ROUNDS);
+        System.out.printf("  k-d 8-nearest        %8.2f%n", nearest / 1e6 / ROUNDS);
+        System.out.println(sink == 42 ? "" : " ");
+    }
+
+    private static List<JetPack> linearScan(Map<JetPack, RadarContact> contacts, int centerX, int centerY, double r) {
+        List<JetPack> result = new ArrayList<>();
+        for (Map.Entry<JetPack, RadarContact> entry : contacts.entrySet()) {
+            RadarContact contact = entry.getValue();
+            double distance = Math.sqrt(Math.pow(contact.getX() - centerX, 2) + Math.pow(contact.getY() - centerY, 2));
+            if (distance <= r) result.add(entry.getKey());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Unit tests for RadarSweepEngine functionality and behavior validation.
+ *
+ * Purpose:
+ * Validates that sweeps sample flight positions into immutable frames, keep flight ids stable,
+ * keep the radar contact store in step with the fleet and run on schedule at the scan interval.
+ *
+ * Key Test Areas:
+ * - Frame contents match flight positions at sample time
+ * - Stable ids across sweeps and removal of departed flights from the radar
+ * - Listener delivery, including isolation from a failing listener
+ * - Scheduled sweeps start and stop, sample only on the sampler, and skip while it stalls
+ * - A radarless engine sweeps at its interval source, such as a RadarNetwork's fastest radar
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Scheduled test uses a short scan interval and a latch with a generous timeout
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.example.flight.JetPackFlight;
+import com.example.jetpack.JetPack;
+
+/**
+ * Test suite for RadarSweepEngine
+ */
+public class RadarSweepEngineTest {
+    private Radar radar;
+    private List<JetPackFlight> flights;
+    private RadarSweepEngine engine;
+
+    @Before
+    public void setUp() {
+        radar = new Radar("TEST-RADAR", 50.0, 0, 0);
+        flights = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            flights.add(createFlight(i, 100 * i, 50 * i));
+        }
+        engine = new RadarSweepEngine(radar, flights);
+    }
+
+    private static JetPackFlight createFlight(int i, int x, int y) {
+        JetPack jp = new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model");
+        return new JetPackFlight(jp, new Point(x, y), new Point(x + 500, y + 500), Color.RED);
+    }
+
+    @Test
+    public void testFrameMatchesFlightPositions() {
+        SweepFrame frame = engine.sweepNow();
+        assertEquals(flights.size(), frame.size());
+        for (int i = 0; i < frame.size(); i++) {
+            JetPackFlight flight = frame.getFlight(i);
+            assertEquals(flight.getX(), frame.getX(i), 0.0);
+            assertEquals(flight.getY(), frame.getY(i), 0.0);
+            assertEquals(flight.getAltitude(), frame.getAltitude(i), 0.0);
+            assertEquals(i, frame.indexOf(flight));
+        }
+        assertSame(frame, engine.getLatestFrame());
+        assertEquals(flights.size(), radar.getTrackedJetpackCount());
+    }
+
+    @Test
+    public void testIdsStableAndDepartedFlightsDropped() {
+        SweepFrame first = engine.sweepNow();
+        JetPackFlight departed = flights.remove(0);
+        SweepFrame second = engine.sweepNow();
+
+        assertTrue(second.getSequence() > first.getSequence());
+        assertEquals(-1, second.indexOf(departed));
+        for (int i = 0; i < second.size(); i++) {
+            int before = first.indexOf(second.getFlight(i));
+            assertEquals("Id kept across sweeps", first.getId(before), second.getId(i));
+        }
+        assertNull("Departed flight leaves the radar", radar.getSnapshot().getContact(departed.getJetpack()));
+        assertEquals(flights.size(), radar.getTrackedJetpackCount());
+    }
+
+    @Test
+    public void testFrameIsUnaffectedByLaterMovement() {
+        SweepFrame frame = engine.sweepNow();
+        double x = frame.getX(0);
+        flights.get(0).updatePosition();
+        assertEquals("Frame holds its own copy", x, frame.getX(0), 0.0);
+    }
+
+    @Test
+    public void testListenersReceiveFramesDespiteFailures() {
+        AtomicInteger received = new AtomicInteger();
+        engine.addListener(frame -> { throw new IllegalStateException("boom"); });
+        engine.addListener(frame -> received.incrementAndGet());
+        engine.sweepNow();
+        engine.sweepNow();
+        assertEquals(2, received.get());
+    }
+
+    @Test
+    public void testScheduledSweepsRunAtScanInterval() throws InterruptedException {
+        radar.setScanInterval(20);
+        CountDownLatch latch = new CountDownLatch(3);
+        engine.addListener(frame -> latch.countDown());
+        engine.start();
+        try {
+            assertTrue(engine.isRunning());
+            assertTrue("Several sweeps within the timeout", latch.await(5, TimeUnit.SECONDS));
+            assertNotNull(engine.getLatestFrame());
+        } finally {
+            engine.stop();
+        }
+        assertFalse(engine.isRunning());
+    }
+
+    @Test
+    public void testRadarlessEngineFollowsNetworkScanInterval() throws InterruptedException {
+        RadarNetwork network = new RadarNetwork();
+        assertEquals(RadarNetwork.DEFAULT_SCAN_INTERVAL_MS, network.getScanInterval());
+        Radar slow = new Radar("SLOW", 50.0, 0, 0);
+        network.addRadar(slow);
+        network.addRadar(radar);
+        radar.setScanInterval(20);
+        assertEquals("Network sweeps at its fastest radar", 20, network.getScanInterval());
+
+        RadarSweepEngine citySweep = new RadarSweepEngine(null, flights, null, Runnable::run);
+        citySweep.setIntervalSource(network::getScanInterval);
+        assertEquals(20, citySweep.getScanInterval());
+        CountDownLatch latch = new CountDownLatch(5);
+        citySweep.addListener(frame -> latch.countDown());
+        citySweep.start();
+        try {
+            // At the one-second default five sweeps would take four seconds
+            assertTrue("Sweeps at the network's interval", latch.await(2, TimeUnit.SECONDS));
+        } finally {
+            citySweep.stop();
+        }
+    }
+
+    @Test
+    public void testScheduledSweepsSampleOnTheSampler() throws InterruptedException {
+        radar.setScanInterval(20);
+        ExecutorService owner = Executors.newSingleThreadExecutor();
+        AtomicReference<Thread> ownerThread = new AtomicReference<>();
+        owner.execute(() -> ownerThread.set(Thread.currentThread()));
+        Set<Thread> samplingThreads = ConcurrentHashMap.newKeySet();
+        RadarSweepEngine owned = new RadarSweepEngine(radar, flights, null,
+            task -> owner.execute(() -> { samplingThreads.add(Thread.currentThread()); task.run(); }));
+        CountDownLatch latch = new CountDownLatch(3);
+        owned.addListener(frame -> latch.countDown());
+        owned.start();
+        try {
+            assertTrue("Several sweeps within the timeout", latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            owned.stop();
+            owner.shutdown();
+        }
+        assertEquals(flights.size(), owned.getLatestFrame().size());
+        assertEquals("Only the owner samples", Collections.singleton(ownerThread.get()), samplingThreads);
+    }
+
+    @Test
+    public void testStalledSamplerSkipsSweeps() throws InterruptedException {
+        radar.setScanInterval(10);
+        AtomicInteger requests = new AtomicInteger();
+        RadarSweepEngine stalled = new RadarSweepEngine(radar, flights, null, task -> requests.incrementAndGet());  // Never runs
+        stalled.start();
+        try {
+            Thread.sleep(100);
+        } finally {
+            stalled.stop();
+        }
+        assertNull("No frame without a sample", stalled.getLatestFrame());
+        assertEquals("One request waits on a stalled owner", 1, requests.get());
+    }
+}
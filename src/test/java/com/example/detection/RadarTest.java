@@ -21,8 +21,11 @@
 
 package com.example.detection;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -32,6 +35,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.example.detection.Radar.RadarContact;
+import com.example.detection.Radar.TrackState;
 import com.example.jetpack.JetPack;
 
 /**
@@ -123,6 +127,19 @@ public class RadarTest {
         assertFalse("Should not include far jetpack", nearby.contains(jetpack3));
     }
     
+    @Test
+    public void testSpatialQueriesSeeWritesWithinScanInterval() {
+        radar.addJetpackToRadar(jetpack1, 500, 500, 1500);
+        radar.addJetpackToRadar(jetpack2, 550, 550, 1500);
+        radar.getSweepSnapshot();  // A sweep taken now stays current for the whole scan interval
+        assertTrue(radar.getJetpacksInRadius(500, 500, 100.0).contains(jetpack2));
+
+        radar.updateJetPackPosition(jetpack2, 1000, 1000, 1500);  // Moves away before the next sweep
+        assertFalse("Neighbours reflect the move at once", radar.getJetpacksInRadius(500, 500, 100.0).contains(jetpack2));
+        assertTrue(radar.getJetpacksInRectangle(900, 900, 1100, 1100).contains(jetpack2));
+        assertEquals(jetpack2, radar.getNearestJetpacks(1000, 1000, 1).get(0));
+    }
+    
     @Test
     public void testCheckForCollisions() {
         radar.addJetpackToRadar(jetpack1, 500, 500, 1500);
@@ -193,4 +210,100 @@ public class RadarTest {
         assertTrue("Should contain radar ID", str.contains("RADAR-TEST-01"));
         assertTrue("Should contain range info", str.contains("100.0"));
     }
+    
+    @Test
+    public void testSnapshotReusedUntilNextWrite() {
+        radar.addJetpackToRadar(jetpack1, 100, 200, 1500);
+        RadarSnapshot first = radar.getSnapshot();
+        assertTrue("Unchanged store returns the same snapshot", first == radar.getSnapshot());
+        
+        radar.updateJetPackPosition(jetpack1, 110, 210, 1500);
+        RadarSnapshot second = radar.getSnapshot();
+        assertTrue("Write produces a newer snapshot", second.getVersion() > first.getVersion());
+        assertEquals("Old snapshot keeps its positions", 100, first.getContact(jetpack1).getX());
+        assertEquals("New snapshot sees the write", 110, second.getContact(jetpack1).getX());
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotIsUnmodifiable() {
+        radar.addJetpackToRadar(jetpack1, 100, 200, 1500);
+        radar.getJetPackPositions().remove(jetpack1);
+    }
+    
+    @Test
+    public void testSweepSnapshotSharedWithinScanInterval() {
+        radar.addJetpackToRadar(jetpack1, 100, 200, 1500);
+        radar.setScanInterval(60_000);
+        RadarSnapshot sweep = radar.getSweepSnapshot();
+        radar.updateJetPackPosition(jetpack1, 150, 250, 1500);
+        assertTrue("Readers inside one scan interval share the sweep", sweep == radar.getSweepSnapshot());
+        radar.performRadarSweep();
+        assertEquals("Explicit sweep publishes the latest positions", 150, radar.getSweepSnapshot().getContact(jetpack1).getX());
+    }
+    
+    @Test
+    public void testSilentContactCoastsIsLostAndDropped() {
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        radar.setClock(now::get);
+        radar.setTrackTimeouts(1000, 2000, 3000);
+        List<String> events = new ArrayList<>();
+        radar.addTrackListener((jp, from, to) -> events.add(jp.getCallsign() + ":" + from + "->" + to));
+        radar.addJetpackToRadar(jetpack1, 100, 200, 1500);
+        radar.addJetpackToRadar(jetpack2, 300, 200, 1500);
+        
+        now.addAndGet(1500);
+        radar.updateJetPackPosition(jetpack2, 310, 200, 1500);  // Only jetpack2 keeps reporting
+        radar.performRadarSweep();
+        assertEquals(TrackState.COASTING, radar.getSnapshot().getContact(jetpack1).getTrackState());
+        assertTrue(radar.getSnapshot().getContact(jetpack2).isTracked());
+        
+        now.addAndGet(1000);
+        radar.updateJetPackPosition(jetpack2, 320, 200, 1500);
+        radar.expireContacts();
+        assertEquals(TrackState.LOST, radar.getSnapshot().getContact(jetpack1).getTrackState());
+        
+        now.addAndGet(1000);
+        radar.updateJetPackPosition(jetpack2, 330, 200, 1500);
+        radar.expireContacts();
+        assertEquals("Dropped contact leaves the store", 1, radar.getTrackedJetpackCount());
+        assertEquals(Arrays.asList("ALPHA-01:TRACKED->COASTING", "ALPHA-01:COASTING->LOST", "ALPHA-01:LOST->DROPPED"), events);
+    }
+    
+    @Test
+    public void testFixReacquiresCoastingContact() {
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        radar.setClock(now::get);
+        radar.setTrackTimeouts(1000, 2000, 3000);
+        List<TrackState> states = new ArrayList<>();
+        radar.addTrackListener((jp, from, to) -> states.add(to));
+        radar.addJetpackToRadar(jetpack1, 100, 200, 1500);
+        
+        now.addAndGet(1200);
+        radar.expireContacts();
+        radar.updateJetPackPosition(jetpack1, 120, 200, 1500);
+        assertTrue("Fresh fix restores tracking", radar.getSnapshot().getContact(jetpack1).isTracked());
+        
+        now.addAndGet(900);  // Old deadlines come due, but the contact was refreshed
+        radar.expireContacts();
+        assertEquals(Arrays.asList(TrackState.COASTING, TrackState.TRACKED), states);
+        assertEquals(1, radar.getTrackedJetpackCount());
+    }
+    
+    @Test
+    public void testLateSweepReportsEveryStage() {
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        radar.setClock(now::get);
+        radar.setTrackTimeouts(1000, 2000, 3000);
+        List<TrackState> states = new ArrayList<>();
+        radar.addTrackListener((jp, from, to) -> states.add(to));
+        radar.addJetpackToRadar(jetpack1, 100, 200, 1500);
+        now.addAndGet(60_000);
+        assertEquals(3, radar.expireContacts());
+        assertEquals(Arrays.asList(TrackState.COASTING, TrackState.LOST, TrackState.DROPPED), states);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testTrackTimeoutsMustIncrease() {
+        radar.setTrackTimeouts(2000, 1000, 3000);
+    }
 }
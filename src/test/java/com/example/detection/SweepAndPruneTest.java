@@ -0,0 +1,192 @@
+/**
+ * Unit tests for SweepAndPrune functionality and behavior validation.
+ *
+ * Purpose:
+ * Validates that the sort-and-sweep broad phase reports exactly the pairs a brute-force O(n²)
+ * scan would find inside the prune window, across several ticks of movement and fleet changes.
+ *
+ * Key Test Areas:
+ * - Equivalence with brute force on random fleets
+ * - Correctness after incremental movement (insertion-sort path)
+ * - Flights added to and removed from the list between sweeps
+ * - Pair ordering matches source list order
+ * - Altitude banding reports only same- or adjacent-band pairs
+ * - Frames carry parked state, so frame sweeps never read live flight states
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Fixed random seeds keep failures reproducible
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.detection;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.example.flight.JetPackFlight;
+import com.example.flight.JetPackFlightState;
+import com.example.jetpack.JetPack;
+
+/**
+ * Brute-force equivalence suite for SweepAndPrune
+ */
+public class SweepAndPruneTest {
+    private static final double PRUNE = 100.0;
+    private static final double BAND = 25.0;
+    private static int nextCallsign = 0;
+    private Map<JetPackFlight, JetPackFlightState> flightStates;
+
+    @Before
+    public void setUp() {
+        flightStates = new HashMap<>();
+    }
+
+    private static List<JetPackFlight> randomFleet(int count, int mapSize, Random random) {
+        List<JetPackFlight> flights = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int id = nextCallsign++;  // Unique callsigns across fleets created by one test
+            JetPack jp = new JetPack("JP" + id, "TEST-" + id, "CALL-" + id, "Pilot" + id, "2024", "Model");
+            Point start = new Point(random.nextInt(mapSize), random.nextInt(mapSize));
+            Point dest = new Point(random.nextInt(mapSize), random.nextInt(mapSize));
+            flights.add(new JetPackFlight(jp, start, dest, Color.RED));
+        }
+        return flights;
+    }
+
+    private static Set<String> bruteForcePairs(List<JetPackFlight> flights) {
+        Set<String> pairs = new HashSet<>();
+        for (int i = 0; i < flights.size(); i++) {
+            for (int j = i + 1; j < flights.size(); j++) {
+                JetPackFlight a = flights.get(i);
+                JetPackFlight b = flights.get(j);
+                if (Math.abs(a.getX() - b.getX()) <= PRUNE && Math.abs(a.getY() - b.getY()) <= PRUNE) {
+                    pairs.add(a.getJetpack().getCallsign() + "|" + b.getJetpack().getCallsign());
+                }
+            }
+        }
+        return pairs;
+    }
+
+    private static Set<String> bruteForceBandedPairs(List<JetPackFlight> flights) {
+        Set<String> pairs = new HashSet<>();
+        for (String pair : bruteForcePairs(flights)) {
+            String[] callsigns = pair.split("\\|");
+            JetPackFlight a = findByCallsign(flights, callsigns[0]);
+            JetPackFlight b = findByCallsign(flights, callsigns[1]);
+            int bandA = (int) Math.floor(a.getAltitude() / BAND);
+            int bandB = (int) Math.floor(b.getAltitude() / BAND);
+            if (Math.abs(bandA - bandB) <= 1) {
+                pairs.add(pair);
+            }
+        }
+        return pairs;
+    }
+
+    private static JetPackFlight findByCallsign(List<JetPackFlight> flights, String callsign) {
+        for (JetPackFlight flight : flights) {
+            if (flight.getJetpack().getCallsign().equals(callsign)) return flight;
+        }
+        throw new IllegalStateException("Unknown callsign " + callsign);
+    }
+
+    private Set<String> sweepPairs(SweepAndPrune sweep, List<JetPackFlight> flights) {
+        Set<String> pairs = new HashSet<>();
+        sweep.update(flights, flightStates);
+        sweep.forEachCandidatePair((a, b) -> {
+            assertTrue("Pair should be reported in list order", flights.indexOf(a) < flights.indexOf(b));
+            assertTrue("Pair should be reported once", pairs.add(a.getJetpack().getCallsign() + "|" + b.getJetpack().getCallsign()));
+        });
+        return pairs;
+    }
+
+    @Test
+    public void testMatchesBruteForceOnRandomFleet() {
+        List<JetPackFlight> flights = randomFleet(500, 1500, new Random(42));
+        SweepAndPrune sweep = new SweepAndPrune(PRUNE);
+        assertEquals("Sweep should find the brute-force pairs", bruteForcePairs(flights), sweepPairs(sweep, flights));
+        assertEquals("All flights should be tracked", 500, sweep.size());
+    }
+
+    @Test
+    public void testMatchesBruteForceAcrossMovingTicks() {
+        List<JetPackFlight> flights = randomFleet(300, 1000, new Random(7));
+        SweepAndPrune sweep = new SweepAndPrune(PRUNE);
+        for (int tick = 0; tick < 40; tick++) {
+            for (JetPackFlight flight : flights) {
+                flight.updatePosition();  // Coherent motion exercises the insertion-sort path
+            }
+            assertEquals("Tick " + tick + " should match brute force", bruteForcePairs(flights), sweepPairs(sweep, flights));
+        }
+    }
+
+    @Test
+    public void testFlightsAddedAndRemovedBetweenSweeps() {
+        Random random = new Random(11);
+        List<JetPackFlight> flights = randomFleet(200, 800, random);
+        SweepAndPrune sweep = new SweepAndPrune(PRUNE);
+        sweepPairs(sweep, flights);
+
+        flights.subList(0, 50).clear();  // Drop a block of flights
+        flights.addAll(randomFleet(10, 800, random));  // Small insert uses the incremental path
+        assertEquals("Sweep should track membership changes", bruteForcePairs(flights), sweepPairs(sweep, flights));
+        assertEquals("Removed flights should be dropped", 160, sweep.size());
+
+        flights.addAll(randomFleet(100, 800, random));  // Large insert uses the bulk sort path
+        assertEquals("Sweep should handle bulk inserts", bruteForcePairs(flights), sweepPairs(sweep, flights));
+    }
+
+    @Test
+    public void testEmptyAndSingleFlight() {
+        SweepAndPrune sweep = new SweepAndPrune(PRUNE);
+        List<JetPackFlight> flights = new ArrayList<>();
+        assertTrue("Empty fleet has no pairs", sweepPairs(sweep, flights).isEmpty());
+        flights.addAll(randomFleet(1, 100, new Random(3)));
+        assertTrue("Single flight has no pairs", sweepPairs(sweep, flights).isEmpty());
+    }
+
+    @Test
+    public void testAltitudeBandsMatchBruteForce() {
+        List<JetPackFlight> flights = randomFleet(400, 600, new Random(19));  // Dense cluster, altitudes 80-160 ft
+        SweepAndPrune banded = new SweepAndPrune(PRUNE, BAND);
+        for (int tick = 0; tick < 20; tick++) {
+            for (JetPackFlight flight : flights) {
+                flight.updatePosition();  // Altitude drifts across band boundaries
+            }
+            Set<String> expected = bruteForceBandedPairs(flights);
+            assertEquals("Tick " + tick + " should match banded brute force", expected, sweepPairs(banded, flights));
+            assertTrue("Banding should prune pairs", expected.size() < bruteForcePairs(flights).size());
+        }
+        assertTrue("Flights should span several bands", banded.getBandCount() >= 3);
+    }
+
+    @Test
+    public void testFrameParkedFlagsSkipPairs() {
+        List<JetPackFlight> flights = randomFleet(3, 100, new Random(23));
+        JetPackFlight[] sampled = flights.toArray(new JetPackFlight[0]);
+        double[] xs = {100, 110, 120};
+        double[] ys = {100, 100, 100};
+        double[] altitudes = {100, 100, 100};
+        SweepFrame frame = new SweepFrame(1, 0, sampled, new int[] {0, 1, 2}, xs, ys, altitudes,
+            new boolean[] {false, true, false});  // The middle flight was parked when sampled
+        SweepAndPrune sweep = new SweepAndPrune(PRUNE);
+        sweep.update(frame);
+        Set<String> pairs = new HashSet<>();
+        sweep.forEachCandidatePair((a, b) -> pairs.add(a.getJetpack().getCallsign() + "|" + b.getJetpack().getCallsign()));
+        assertEquals(Collections.singleton(sampled[0].getJetpack().getCallsign() + "|" + sampled[2].getJetpack().getCallsign()), pairs);
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Stand-alone benchmark for the structure-of-arrays flight store.
+ *
+ * Purpose:
+ * Runs one city of 50,000 flights through CitySimulation twice: once with every flight in its own
+ * private store (each flight moved by its own updatePosition) and once with all flights in one shared
+ * FlightStore (straight-line flights moved by the batch kernel). Reports time per tick and retained
+ * heap per flight for each layout. Not a JUnit test (no Test suffix), so it does not run with the
+ * unit suite.
+ *
+ * Usage:
+ * java -cp target/classes:target/test-classes com.example.flight.FlightStoreBenchmark
+ *
+ * Patterns & Constraints:
+ * - Both runs start in deterministic mode from the same seed; the trajectory hash column must match
+ * - Heap per flight is measured around building the flights, after explicit GCs, so it is approximate
+ * - Warm-up ticks precede each measured run; radar sweeps are disabled
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.flight;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.example.jetpack.JetPack;
+import com.example.simulation.CitySimulation;
+import com.example.simulation.SimulationEngine;
+import com.example.simulation.SimulationRandom;
+import com.example.simulation.TrajectoryHash;
+
+public class FlightStoreBenchmark {
+    private static final int FLIGHTS = 50_000;
+    private static final int MAP_SIZE = 20_000;
+    private static final int WARM_UP_TICKS = 100;
+    private static final int TICKS = 300;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        System.out.printf("%d flights, %d ticks%n", FLIGHTS, TICKS);
+        System.out.printf("%-14s %10s %14s %18s%n", "layout", "ms/tick", "bytes/flight", "trajectory hash");
+        for (int round = 0; round < 2; round++) {  // Second round after both layouts have been compiled
+            run("per-flight", false, round == 1);
+            run("shared store", true, round == 1);
+        }
+    }
+
+    private static void run(String label, boolean shared, boolean print) {
+        SimulationRandom.setSeed(SEED);
+        Random random = SimulationRandom.newRandom();
+        long heapBefore = usedHeap();
+        FlightStore store = shared ? new FlightStore(FLIGHTS) : null;
+        List<JetPackFlight> flights = new ArrayList<>(FLIGHTS);
+        Map<JetPackFlight, JetPackFlightState> states = new HashMap<>();
+        for (int i = 0; i < FLIGHTS; i++) {
+            JetPack jp = new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model");
+            Point start = new Point(random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE));
+            Point destination = new Point(random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE));
+            JetPackFlight flight = shared ? new JetPackFlight(jp, start, destination, Color.RED, store)
+                : new JetPackFlight(jp, start, destination, Color.RED);
+            flights.add(flight);
+            states.put(flight, new JetPackFlightState(flight, new ArrayList<>()));
+        }
+        long bytesPerFlight = (usedHeap() - heapBefore) / FLIGHTS;
+        CitySimulation simulation = new CitySimulation(flights, states, null, null, MAP_SIZE, MAP_SIZE, random);
+        simulation.setLocalSweepsEnabled(false);
+        TrajectoryHash hash = new TrajectoryHash();
+        SimulationEngine engine = new SimulationEngine(40, hash.wrap(simulation, flights));
+        engine.step(WARM_UP_TICKS);
+        long start = System.nanoTime();
+        engine.step(TICKS);
+        double ms = (System.nanoTime() - start) / 1e6 / TICKS;
+        if (print) {
+            System.out.printf("%-14s %10.3f %14d %18x%n", label, ms, bytesPerFlight, hash.getValue());
+        }
+        SimulationRandom.clearSeed();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * Unit tests for FlightStore and the flight classes that view its slots.
+ *
+ * Purpose:
+ * Validates that the store's batch kernel moves flights exactly as their own per-flight update
+ * would, that the status bits hand routed, radio-directed, halted and parked flights to the right
+ * path, and that views read and write only their own slot.
+ *
+ * Key Test Areas:
+ * - Seeded city runs match bit for bit with and without a shared store, serial and parallel
+ * - ROUTED, RADIO, INACTIVE and PARKED bits set and cleared by the flight's own operations
+ * - Store growth and slot isolation between flights
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Runs in deterministic mode and clears the seed afterwards
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.flight;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import com.example.jetpack.JetPack;
+import com.example.parking.ParkingSpace;
+import com.example.simulation.CitySimulation;
+import com.example.simulation.SimulationEngine;
+import com.example.simulation.SimulationRandom;
+import com.example.simulation.TrajectoryHash;
+
+/**
+ * Test suite for FlightStore
+ */
+public class FlightStoreTest {
+    private static final int MAP_SIZE = 1000;
+    private static final int FLIGHTS = 300;
+
+    @After
+    public void tearDown() {
+        SimulationRandom.clearSeed();
+    }
+
+    /**
+     * Builds a seeded city, some flights with waypoints, radio instructions and weather, and runs it
+     * for 400 ticks. With store == null every flight gets a private store, so nothing uses the kernel.
+     */
+    private static List<JetPackFlight> runCity(FlightStore store, ForkJoinPool pool, TrajectoryHash hash) {
+        SimulationRandom.setSeed(777);
+        Random layout = SimulationRandom.newRandom();
+        List<ParkingSpace> parking = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            parking.add(new ParkingSpace("P" + i, 50 + layout.nextInt(MAP_SIZE - 100), 50 + layout.nextInt(MAP_SIZE - 100)));
+        }
+        List<JetPackFlight> flights = new ArrayList<>();
+        Map<JetPackFlight, JetPackFlightState> states = new HashMap<>();
+        for (int i = 0; i < FLIGHTS; i++) {
+            JetPack jp = new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model");
+            Point start = new Point(layout.nextInt(MAP_SIZE), layout.nextInt(MAP_SIZE));
+            Point destination = new Point(layout.nextInt(MAP_SIZE), layout.nextInt(MAP_SIZE));
+            JetPackFlight flight = (store == null) ? new JetPackFlight(jp, start, destination, Color.RED)
+                : new JetPackFlight(jp, start, destination, Color.RED, store);
+            if (i % 7 == 0) {
+                flight.addWaypoint(new Point(layout.nextInt(MAP_SIZE), layout.nextInt(MAP_SIZE)));
+            }
+            flights.add(flight);
+            states.put(flight, new JetPackFlightState(flight, parking));
+        }
+        CitySimulation simulation = new CitySimulation(flights, states, null, null, MAP_SIZE, MAP_SIZE,
+            SimulationRandom.newRandom());
+        simulation.setChunkSize(32);
+        simulation.setUpdatePool(pool);
+        SimulationEngine.SimulationStep recorded = hash.wrap(simulation, flights);
+        new SimulationEngine(40, tick -> {
+            if (tick == 50) {
+                for (int i = 0; i < FLIGHTS; i += 11) {
+                    flights.get(i).receiveAltitudeInstruction(190, "Climb");
+                    flights.get(i + 1).receiveCoordinateInstruction(500, 500, "Vector");
+                }
+            }
+            if (tick == 100) {
+                for (JetPackFlight flight : flights) flight.setInclementWeather(true);
+            }
+            if (tick == 150) {
+                for (JetPackFlight flight : flights) flight.setInclementWeather(false);
+                flights.get(3).halt("Test");
+            }
+            if (tick == 200) {
+                flights.get(3).clearEmergencyHalt();
+            }
+            recorded.step(tick);
+        }).step(400);
+        return flights;
+    }
+
+    private static List<Point> trailOf(JetPackFlight flight) {
+        FlightStore store = flight.getStore();
+        int id = flight.getStoreId();
+        List<Point> trail = new ArrayList<>();
+        for (int i = 0; i < store.trailSize[id]; i++) {
+            int slot = store.trailIndex(id, i);
+            trail.add(new Point(store.trailX[slot], store.trailY[slot]));
+        }
+        return trail;
+    }
+
+    @Test
+    public void testKernelMatchesPerFlightUpdate() {
+        TrajectoryHash objects = new TrajectoryHash();
+        List<JetPackFlight> expected = runCity(null, null, objects);
+        TrajectoryHash kernel = new TrajectoryHash();
+        List<JetPackFlight> actual = runCity(new FlightStore(16), null, kernel);
+        assertEquals(400, kernel.getRecordedTicks());
+        assertEquals("Shared store, serial", objects.getValue(), kernel.getValue());
+        for (int i = 0; i < FLIGHTS; i++) {
+            assertEquals(trailOf(expected.get(i)), trailOf(actual.get(i)));
+            assertEquals(expected.get(i).getColor(), actual.get(i).getColor());
+            assertEquals(expected.get(i).getAltitudeRate(), actual.get(i).getAltitudeRate(), 0.0);
+        }
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            TrajectoryHash parallel = new TrajectoryHash();
+            runCity(new FlightStore(FLIGHTS), pool, parallel);
+            assertEquals("Shared store, 3 update threads", objects.getValue(), parallel.getValue());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testStatusBitsSelectTheUpdatePath() {
+        FlightStore store = new FlightStore(4);
+        JetPack jp = new JetPack("JP1", "TEST-1", "CALL-1", "Pilot", "2024", "Model");
+        JetPackFlight flight = new JetPackFlight(jp, new Point(0, 0), new Point(1000, 0), Color.RED, store);
+        int id = flight.getStoreId();
+        assertFalse(store.needsFullUpdate(id));
+
+        flight.addWaypoint(new Point(4, 0));
+        assertTrue("Waypoints are followed by updatePosition", store.needsFullUpdate(id));
+        assertEquals(0, store.advance(0, store.size()));
+        flight.updatePosition();
+        flight.updatePosition();
+        flight.updatePosition();
+        assertFalse("Past the last waypoint", store.needsFullUpdate(id));
+
+        flight.receiveAltitudeInstruction(60, "Descend");
+        assertTrue(store.needsFullUpdate(id));
+        for (int i = 0; i < 100 && store.needsFullUpdate(id); i++) {
+            flight.updatePosition();
+        }
+        assertFalse("Instruction complete", store.needsFullUpdate(id));
+        assertEquals(1, store.advance(0, store.size()));
+
+        double x = flight.getX();
+        flight.halt("Test");
+        assertEquals(0, store.advance(0, store.size()));
+        assertEquals(x, flight.getX(), 0.0);
+        assertSame(Color.RED, flight.getColor());
+        flight.clearEmergencyHalt();
+        flight.markParked(true);
+        assertEquals(0, store.advance(0, store.size()));
+        flight.markParked(false);
+        assertEquals(1, store.advance(0, store.size()));
+        assertTrue(flight.getX() > x);
+    }
+
+    @Test
+    public void testStoreGrowsAndKeepsSlotsApart() {
+        FlightStore store = new FlightStore(1);
+        List<FlightMovementController> controllers = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            controllers.add(new FlightMovementController(store, new Point(i, 0), new Point(i, 1000), 2.0, 100,
+                new java.util.SplittableRandom(i)));
+        }
+        assertEquals(40, store.size());
+        FlightHazardMonitor monitor = new FlightHazardMonitor(store, 7);
+        monitor.setInclementWeather(true);
+        store.advance(0, store.size());
+        for (int i = 0; i < 40; i++) {
+            FlightMovementController controller = controllers.get(i);
+            assertEquals(i, controller.getId());
+            assertEquals(i, controller.getX(), 0.0);
+            assertEquals(i == 7 ? 1.0 : 2.0, controller.getY(), 0.0);
+            assertEquals(Arrays.asList(new Point(i, 0)), controller.getTrail());
+        }
+        store.setHazardAll(FlightHazardMonitor.WEATHER, false);
+        assertFalse(monitor.isInclementWeather());
+        assertTrue("Store grew past its initial capacity", store.estimateBytes() > 40 * 100);
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Unit tests for the allocation-free flight update path.
+ *
+ * Purpose:
+ * Validates that a steady-state flight tick (position, altitude, color, hazard checks, arrival test
+ * and parking state) allocates nothing, measured with ThreadMXBean.getThreadAllocatedBytes, and that
+ * the trail ring buffer, color palette and hazard bitmask behave like the structures they replaced.
+ *
+ * Key Test Areas:
+ * - Zero bytes allocated per steady-state tick across many flights
+ * - Trail holds the newest 15 positions, newest first
+ * - Hazard bits, names and speed reduction
+ * - Arrival test with squared distances
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Allocation test is skipped on JVMs without per-thread allocation counters
+ * - Warm-up ticks run first so one-time class loading and JIT work are not counted
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.flight;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Test;
+
+import com.example.jetpack.JetPack;
+import com.example.parking.ParkingPool;
+import com.example.parking.ParkingSpace;
+
+/**
+ * Test suite for the flight tick hot path
+ */
+public class FlightTickAllocationTest {
+    private static final int FLIGHTS = 2_000;
+
+    @Test
+    public void testSteadyStateTickAllocatesNothing() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocation.isThreadAllocatedMemorySupported());
+        allocation.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        List<ParkingSpace> fullLot = new ArrayList<>();  // Every space taken: parking lookups find nothing
+        for (int i = 0; i < 20; i++) {
+            fullLot.add(new ParkingSpace("P" + i, 10 * i, 10));
+        }
+        new ParkingPool(fullLot);
+        for (ParkingSpace space : fullLot) {
+            space.occupy();
+        }
+        JetPackFlight[] flights = new JetPackFlight[FLIGHTS];
+        JetPackFlightState[] states = new JetPackFlightState[FLIGHTS];
+        for (int i = 0; i < FLIGHTS; i++) {
+            JetPack jp = new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model");
+            flights[i] = new JetPackFlight(jp, new Point(i % 500, i / 4), new Point(900_000, 900_000), Color.RED);
+            flights[i].setInclementWeather(i % 3 == 0);  // Mix of normal and hazard-reduced speeds
+            states[i] = new JetPackFlightState(flights[i], (i % 2 == 0) ? fullLot : new ArrayList<>());
+        }
+
+        int reached = tick(flights, states, 3_000);  // Warm-up
+        long before = allocation.getThreadAllocatedBytes(threadId);
+        reached += tick(flights, states, 500);
+        long allocated = allocation.getThreadAllocatedBytes(threadId) - before;
+        assertEquals("No flight should arrive", 0, reached);
+        assertEquals("Bytes allocated over 500 steady-state ticks of " + FLIGHTS + " flights", 0, allocated);
+    }
+
+    private static int tick(JetPackFlight[] flights, JetPackFlightState[] states, int ticks) {
+        int reached = 0;
+        for (int t = 0; t < ticks; t++) {
+            for (int i = 0; i < flights.length; i++) {
+                flights[i].updatePosition();
+                states[i].update();
+                if (flights[i].hasReachedDestination()) reached++;
+            }
+        }
+        return reached;
+    }
+
+    @Test
+    public void testTrailKeepsNewestPositionsFirst() {
+        FlightMovementController controller = new FlightMovementController(new Point(0, 0), new Point(1000, 0), 2.0, 100);
+        assertEquals(0, controller.getTrailSize());
+        for (int i = 0; i < 40; i++) {
+            controller.updatePosition(2.0, false);
+        }
+        assertEquals(15, controller.getTrailSize());
+        List<Point> trail = controller.getTrail();
+        assertEquals(15, trail.size());
+        for (int i = 0; i < 15; i++) {
+            assertEquals(new Point(2 * (39 - i), 0), trail.get(i));  // Position before update 39 - i
+            assertEquals(trail.get(i).x, controller.getTrailX(i));
+            assertEquals(trail.get(i).y, controller.getTrailY(i));
+        }
+        controller.updatePosition(2.0, true);  // Halted: trail unchanged
+        assertEquals(78, controller.getTrailX(0));
+    }
+
+    @Test
+    public void testHazardBitmask() {
+        FlightHazardMonitor monitor = new FlightHazardMonitor();
+        assertFalse(monitor.hasActiveHazards());
+        monitor.setInclementWeather(true);
+        monitor.setPoliceActivity(true);
+        monitor.setEmergencyHalt(true);
+        assertEquals(FlightHazardMonitor.WEATHER | FlightHazardMonitor.POLICE_ACTIVITY | FlightHazardMonitor.EMERGENCY_HALT,
+            monitor.getHazardMask());
+        assertEquals(Arrays.asList("WEATHER", "POLICE_ACTIVITY", "EMERGENCY_HALT"), monitor.getActiveHazards());
+        assertEquals("EMERGENCY HALT", monitor.getHazardStatus());
+        assertEquals(1.0, monitor.calculateEffectiveSpeed(2.0), 1e-9);
+        monitor.clearEmergencyHalt();
+        monitor.setInclementWeather(false);
+        assertTrue(monitor.isPoliceActivity());
+        assertFalse(monitor.isEmergencyHalt());
+        assertEquals("POLICE AREA", monitor.getHazardStatus());
+        monitor.clearAllHazards();
+        assertEquals(0, monitor.getHazardMask());
+    }
+
+    @Test
+    public void testArrivalAndPaletteColors() {
+        FlightMovementController controller = new FlightMovementController(new Point(0, 0), new Point(3, 0), 2.0, 100);
+        assertFalse("3 units away at speed 2", controller.hasReachedDestination(false));
+        controller.updatePosition(2.0, false);
+        assertTrue(controller.hasReachedDestination(false));
+        assertFalse(controller.hasReachedDestination(true));
+
+        JetPack jp = new JetPack("JP1", "TEST-1", "CALL-1", "Pilot", "2024", "Model");
+        JetPackFlight flight = new JetPackFlight(jp, new Point(0, 0), new Point(5000, 5000), Color.RED);
+        flight.updatePosition();
+        Color cruising = flight.getColor();
+        flight.updatePosition();
+        assertSame("Palette color is reused, not rebuilt each tick", cruising, flight.getColor());
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Stand-alone heap sizing benchmark for large fleets.
+ *
+ * Purpose:
+ * Measures retained heap per jetpack for a fleet held as JetPack objects (as CityJetpackManager does
+ * for 100 jetpacks) and for the same fleet in a FleetRegistry, at 10k, 100k and 1M jetpacks, and
+ * compares the measurement with FleetRegistry's own estimate. Also times CSV export and streaming
+ * import of the largest registry.
+ * Not a JUnit test (no Test suffix), so it does not run with the unit suite.
+ *
+ * Usage:
+ * java -Xmx2g -cp target/classes:target/test-classes com.example.jetpack.FleetMemoryBenchmark [maxFleet]
+ *
+ * Patterns & Constraints:
+ * - Heap is measured as used memory after repeated System.gc() calls, so figures are approximate
+ * - Both representations hold identical field values from JetpackFactory
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.jetpack;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+
+import com.example.utility.jetpack.JetpackFactory;
+
+public class FleetMemoryBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int maxFleet = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf("%10s %16s %16s %16s%n", "jetpacks", "JetPack B/jp", "registry B/jp", "estimate B/jp");
+        FleetRegistry largest = null;
+        for (int fleet = 10_000; fleet <= maxFleet; fleet *= 10) {
+            long base = usedHeap();
+            ArrayList<JetPack> jetpacks = JetpackFactory.generateJetpacksForCity("NY", "New York", fleet);
+            double objectBytes = (double) (usedHeap() - base) / fleet;
+            if (jetpacks.size() != fleet) throw new AssertionError();
+            jetpacks = null;
+
+            base = usedHeap();
+            FleetRegistry registry = JetpackFactory.generateFleet("NY", "New York", fleet, new FleetRegistry(fleet));
+            registry.trimToSize();
+            double registryBytes = (double) (usedHeap() - base) / fleet;
+            System.out.printf("%10d %16.1f %16.1f %16.1f%n", fleet, objectBytes, registryBytes, registry.getBytesPerJetpack());
+            largest = registry;
+        }
+        if (largest == null) return;
+
+        long start = System.nanoTime();
+        StringWriter csv = new StringWriter();
+        largest.exportCsv(csv);
+        long exported = System.nanoTime();
+        FleetRegistry imported = new FleetRegistry();
+        imported.importCsv(new StringReader(csv.toString()));
+        long done = System.nanoTime();
+        System.out.printf("CSV %d jetpacks: export %.0f ms, import %.0f ms (%.0f ns/jetpack)%n", imported.size(),
+            (exported - start) / 1e6, (done - exported) / 1e6, (double) (done - exported) / imported.size());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Unit tests for FleetRegistry and the parametric fleet generator.
+ *
+ * Purpose:
+ * Validates that the interned column store gives back exactly the fields it was given, that
+ * callsigns map to dense ids, and that CSV import and export round-trip a fleet.
+ *
+ * Key Test Areas:
+ * - Generated registry matches JetPack fleets from the same generator field for field, serials included
+ * - Callsign to dense id lookup, unknown callsigns and duplicate rejection
+ * - Leading zeros, long digit runs, null fields, commas and quotes
+ * - Streaming CSV import errors name the offending line, including serials a JetPack cannot hold
+ * - Interning keeps the stem count and bytes per jetpack small for large fleets
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - In-memory readers and writers; no files
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.jetpack;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+import com.example.utility.jetpack.JetpackFactory;
+
+/**
+ * Test suite for FleetRegistry
+ */
+public class FleetRegistryTest {
+
+    private static void assertSameJetPack(JetPack expected, JetPack actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getSerialNumber(), actual.getSerialNumber());
+        assertEquals(expected.getCallsign(), actual.getCallsign());
+        assertEquals(expected.getOwnerName(), actual.getOwnerName());
+        assertEquals(expected.getYear(), actual.getYear());
+        assertEquals(expected.getModel(), actual.getModel());
+        assertEquals(expected.getManufacturer(), actual.getManufacturer());
+    }
+
+    @Test
+    public void testGeneratedFleetMatchesJetPackFleet() {
+        ArrayList<JetPack> jetpacks = JetpackFactory.generateJetpacksForCity("HOU", "Houston", 250);
+        FleetRegistry registry = JetpackFactory.generateFleet("HOU", "Houston", 250, new FleetRegistry());
+        assertEquals(250, registry.size());
+        for (int i = 0; i < jetpacks.size(); i++) {
+            JetPack expected = jetpacks.get(i);
+            assertEquals(i, registry.indexOf(expected.getCallsign()));
+            assertEquals(expected.getId(), registry.getId(i));
+            assertEquals("Stored as the JetPack holds it", expected.getSerialNumber(), registry.getSerialNumber(i));
+            assertEquals(expected.getOwnerName(), registry.getOwnerName(i));
+            assertEquals(expected.getYear(), registry.getYear(i));
+            assertEquals(expected.getModel(), registry.getModel(i));
+            assertEquals(expected.getManufacturer(), registry.getManufacturer(i));
+            assertSameJetPack(expected, registry.toJetPack(i));
+        }
+        assertEquals("BOS-001", registry.getSerialNumber(0));
+        assertEquals("ROCKET-01", registry.getCallsign(0));
+        assertEquals("HOU-001", registry.getId(0));
+        assertEquals("John #1", registry.getOwnerName(0));
+    }
+
+    @Test
+    public void testDefaultFleetSizeUnchanged() {
+        assertEquals(JetpackFactory.DEFAULT_FLEET_SIZE, JetpackFactory.generateJetpacksForCity("NY", "New York").size());
+    }
+
+    @Test
+    public void testCallsignLookup() {
+        FleetRegistry registry = new FleetRegistry();
+        assertEquals(0, registry.add("A", "S1", "ALPHA-01", "Ann", "2024", "M", "X"));
+        assertEquals(1, registry.add("B", "S2", "ALPHA-1", "Ben", "2024", "M", "X"));
+        assertEquals(2, registry.add("C", "S3", "TANGO", "Cy", "2024", "M", "X"));
+        assertEquals(0, registry.indexOf("ALPHA-01"));
+        assertEquals("Leading zeros are part of the callsign", 1, registry.indexOf("ALPHA-1"));
+        assertEquals(2, registry.indexOf("TANGO"));
+        assertEquals(-1, registry.indexOf("ALPHA-001"));
+        assertEquals(-1, registry.indexOf("BRAVO-01"));
+        assertEquals(-1, registry.indexOf(null));
+        try {
+            registry.add("D", "S4", "ALPHA-01", "Di", "2024", "M", "X");
+            fail("Duplicate callsign accepted");
+        } catch (IllegalArgumentException expected) {
+            assertEquals(3, registry.size());
+        }
+    }
+
+    @Test
+    public void testAddAfterTrimmingTinyRegistry() {
+        FleetRegistry empty = new FleetRegistry();
+        empty.trimToSize();
+        assertEquals(0, empty.add("A", "S1", "ALPHA-01", "Ann", "2024", "M", "X"));
+
+        FleetRegistry one = new FleetRegistry();
+        one.add("A", "S1", "ALPHA-01", "Ann", "2024", "M", "X");
+        one.trimToSize();
+        assertEquals(1, one.add("B", "S2", "BRAVO-02", "Ben", "2024", "M", "X"));
+        assertEquals(2, one.add("C", "S3", "CHARLIE-03", "Cy", "2024", "M", "X"));
+        assertEquals("BRAVO-02", one.getCallsign(1));
+        assertEquals(0, one.indexOf("ALPHA-01"));
+        assertEquals(2, one.indexOf("CHARLIE-03"));
+    }
+
+    @Test
+    public void testFieldsRoundTripExactly() {
+        FleetRegistry registry = new FleetRegistry();
+        registry.add("JP-0000042", "SN-12345678901234", "X7", null, "2024", "HeatSeeker 3000", "Acme, Inc. \"West\"");
+        assertEquals("JP-0000042", registry.getId(0));
+        assertEquals("Serials are formatted as JetPack formats them", "BOS-12345678901234", registry.getSerialNumber(0));
+        assertEquals("X7", registry.getCallsign(0));
+        assertNull(registry.getOwnerName(0));
+        assertEquals("HeatSeeker 3000", registry.getModel(0));
+        assertEquals("Acme, Inc. \"West\"", registry.getManufacturer(0));
+    }
+
+    @Test
+    public void testCsvRoundTrip() throws IOException {
+        FleetRegistry original = JetpackFactory.generateFleet("DAL", "Dallas", 500, new FleetRegistry());
+        original.add("DAL-999", "DAL-999", "LONE, STAR", "Quote \"Q\" Owner", "2025", "Custom", "DFWAero");
+        StringWriter csv = new StringWriter();
+        original.exportCsv(csv);
+        assertTrue(csv.toString().startsWith(FleetRegistry.CSV_HEADER + "\n"));
+
+        FleetRegistry copy = new FleetRegistry();
+        assertEquals(501, copy.importCsv(new StringReader(csv.toString())));
+        for (int i = 0; i < original.size(); i++) {
+            assertSameJetPack(original.toJetPack(i), copy.toJetPack(i));
+        }
+        assertEquals(500, copy.indexOf("LONE, STAR"));
+    }
+
+    @Test
+    public void testImportErrorNamesLine() throws IOException {
+        String csv = FleetRegistry.CSV_HEADER + "\n"
+            + "A,S1,ALPHA-01,Ann,2024,M,X\n"
+            + "B,S2,ALPHA-02,Ben,2024,M\n";
+        FleetRegistry registry = new FleetRegistry();
+        try {
+            registry.importCsv(new StringReader(csv));
+            fail("Short line accepted");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Line 3:"));
+        }
+        assertEquals("Lines before the error stay imported", 1, registry.size());
+
+        try {
+            registry.importCsv(new StringReader("C,SN-ABC,CHARLIE-03,Cy,2024,M,X\n"));
+            fail("Serial without digits accepted");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Line 1:"));
+        }
+        assertEquals("Rejected before anything was stored", 1, registry.size());
+        assertEquals(-1, registry.indexOf("CHARLIE-03"));
+    }
+
+    @Test
+    public void testLargeFleetIsCompact() {
+        FleetRegistry registry = JetpackFactory.generateFleet("BOS", "Boston", 100_000, new FleetRegistry(100_000));
+        registry.trimToSize();
+        assertEquals(100_000, registry.size());
+        assertTrue("Only stems are interned, not whole values: " + registry.getDistinctStems(), registry.getDistinctStems() < 50);
+        assertTrue("Bytes per jetpack " + registry.getBytesPerJetpack(), registry.getBytesPerJetpack() < 100);
+        assertEquals(99_999, registry.indexOf(registry.getCallsign(99_999)));
+    }
+}
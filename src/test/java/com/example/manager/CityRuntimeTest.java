@@ -0,0 +1,161 @@
+/**
+ * Unit tests for CityRuntime lifecycle, view attachment and load accounting.
+ *
+ * Purpose:
+ * Validates that a city keeps flying with or without a view attached, that views only receive
+ * callbacks while attached, and that several cities run side by side on their own threads.
+ *
+ * Key Test Areas:
+ * - Headless stepping without log files
+ * - Tick, movement and weather callbacks to attached views; none after detach
+ * - Concurrent cities with separate simulation threads and separate worlds
+ * - Per-city load figures
+ * - Each city moves large fleets on its own bounded update pool, shut down with the city
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Blank (all land) map images; no CityLogManager, so no log files are touched
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.manager;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Test;
+
+import com.example.flight.JetPackFlight;
+import com.example.jetpack.JetPack;
+
+/**
+ * Test suite for CityRuntime
+ */
+public class CityRuntimeTest {
+    private final List<CityRuntime> runtimes = new ArrayList<>();
+
+    /**
+     * Counts every callback a view receives
+     */
+    private static class CountingView implements CityRuntime.CityView {
+        final AtomicLong lastTick = new AtomicLong();
+        final AtomicInteger ticks = new AtomicInteger();
+        final AtomicInteger movements = new AtomicInteger();
+        final AtomicInteger weatherChanges = new AtomicInteger();
+
+        @Override public void onTick(long tick) { ticks.incrementAndGet(); lastTick.set(tick); }
+        @Override public void onMovement(String message) { movements.incrementAndGet(); }
+        @Override public void onRadarMessage(String message) { }
+        @Override public void onWeatherChanged(int oldSeverity, int newSeverity) { weatherChanges.incrementAndGet(); }
+    }
+
+    private CityRuntime createCity(String city, int fleetSize) {
+        List<JetPack> fleet = new ArrayList<>();
+        for (int i = 0; i < fleetSize; i++) {
+            fleet.add(new JetPack("JP" + i, "SN-" + i, city.substring(0, 3).toUpperCase() + "-" + i, "Pilot", "2024", "Model"));
+        }
+        CityRuntime runtime = new CityRuntime(city, fleet, new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB), null);
+        runtimes.add(runtime);
+        return runtime;
+    }
+
+    @After
+    public void tearDown() {
+        for (CityRuntime runtime : runtimes) {
+            runtime.stop();
+        }
+    }
+
+    @Test
+    public void testStepsHeadlessWithoutViews() {
+        CityRuntime runtime = createCity("Boston", 6);
+        assertEquals(6, runtime.getFlights().size());
+        runtime.getEngine().step(100);  // Movement messages go nowhere without a log manager
+        CityRuntime.CityLoad load = runtime.getLoad();
+        assertEquals(100, load.getTicks());
+        assertTrue(load.getCpuMillis() >= 0);
+        assertTrue(load.getMaxTickMillis() >= load.getMeanTickMillis());
+        assertEquals(0, load.getSkippedTicks());
+    }
+
+    @Test
+    public void testViewReceivesCallbacksOnlyWhileAttached() {
+        CityRuntime runtime = createCity("Dallas", 6);
+        CountingView view = new CountingView();
+        runtime.attach(view);
+        runtime.getEngine().step(CityRuntime.WEATHER_CHANGE_TICKS);
+        assertEquals("One publish per batch", 1, view.ticks.get());
+        assertEquals(CityRuntime.WEATHER_CHANGE_TICKS, view.lastTick.get());
+        assertEquals(1, view.weatherChanges.get());
+        assertTrue("Flights report their movement", view.movements.get() > 0);
+
+        runtime.detach(view);
+        int movements = view.movements.get();
+        runtime.getEngine().step(CityRuntime.WEATHER_CHANGE_TICKS);
+        assertEquals(1, view.ticks.get());
+        assertEquals(1, view.weatherChanges.get());
+        assertEquals(movements, view.movements.get());
+        assertEquals("The city kept flying", 2L * CityRuntime.WEATHER_CHANGE_TICKS, runtime.getLoad().getTicks());
+    }
+
+    @Test
+    public void testCitiesRunConcurrentlyOnTheirOwnThreads() throws InterruptedException {
+        CityRuntime boston = createCity("Boston", 4);
+        CityRuntime houston = createCity("Houston", 4);
+        List<JetPackFlight> shared = new ArrayList<>(boston.getFlights());
+        shared.retainAll(houston.getFlights());
+        assertTrue("Each city has its own world", shared.isEmpty());
+
+        List<String> bostonThreads = Collections.synchronizedList(new ArrayList<>());
+        List<String> houstonThreads = Collections.synchronizedList(new ArrayList<>());
+        boston.getEngine().addListener(tick -> bostonThreads.add(Thread.currentThread().getName()));
+        houston.getEngine().addListener(tick -> houstonThreads.add(Thread.currentThread().getName()));
+        boston.start();
+        houston.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((boston.getLoad().getTicks() < 5 || houston.getLoad().getTicks() < 5) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(boston.isRunning() && houston.isRunning());
+        assertTrue(boston.getLoad().getTicks() >= 5);
+        assertTrue(houston.getLoad().getTicks() >= 5);
+
+        boston.stop();
+        assertFalse("Stopping one city leaves the other running", boston.isRunning());
+        assertTrue(houston.isRunning());
+        houston.stop();
+        assertEquals("simulation-Boston", bostonThreads.get(0));
+        assertEquals("simulation-Houston", houstonThreads.get(0));
+    }
+
+    @Test
+    public void testEachCityMovesOnItsOwnUpdatePool() {
+        CityRuntime boston = createCity("Boston", 6);
+        CityRuntime houston = createCity("Houston", 6);
+        ForkJoinPool pool = boston.getUpdatePool();
+        assertNotSame("Cities do not share workers", pool, houston.getUpdatePool());
+        assertNotSame(ForkJoinPool.commonPool(), pool);
+        assertTrue(pool.getParallelism() <= CityRuntime.MAX_UPDATE_THREADS);
+
+        boston.getSimulation().setChunkSize(2);  // Three chunks, so the move phase goes parallel
+        boston.getEngine().step(20);
+        assertTrue("Workers started for the parallel phase", pool.getPoolSize() > 0);
+        assertEquals(0, houston.getUpdatePool().getPoolSize());
+        assertEquals(20, boston.getLoad().getTicks());
+
+        boston.stop();
+        assertTrue(pool.isShutdown());
+        assertFalse(houston.getUpdatePool().isShutdown());
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Unit tests for BuildingIndex functionality and behavior validation.
+ *
+ * Purpose:
+ * Validates that the building grid answers point and radius queries exactly as a linear scan of the
+ * building list would, including result order, and that the city model and flight movement use it.
+ *
+ * Key Test Areas:
+ * - Point containment matches the first containing building in list order
+ * - Radius queries match a linear scan, without duplicates for footprints spanning cells
+ * - Queries outside the grid and on an empty city
+ * - Flights detour around buildings in the city model
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Random layouts use a fixed seed
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.model;
+
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import com.example.flight.FlightMovementController;
+
+/**
+ * Test suite for BuildingIndex
+ */
+public class BuildingIndexTest {
+
+    private static List<Building3D> randomCity(long seed, int count) {
+        Random random = new Random(seed);
+        List<Building3D> buildings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            buildings.add(new Building3D(random.nextDouble() * 1000, random.nextDouble() * 1000,
+                5 + random.nextDouble() * 150, 5 + random.nextDouble() * 150, 100, "office"));  // Some span many cells
+        }
+        return buildings;
+    }
+
+    @Test
+    public void testPointQueriesMatchLinearScan() {
+        List<Building3D> buildings = randomCity(3, 400);
+        BuildingIndex index = new BuildingIndex(buildings, 40);
+        Random random = new Random(4);
+        for (int q = 0; q < 5000; q++) {
+            double x = random.nextDouble() * 1300 - 100;
+            double y = random.nextDouble() * 1300 - 100;
+            Building3D expected = null;
+            for (Building3D b : buildings) {
+                if (b.containsPoint(x, y)) {
+                    expected = b;
+                    break;
+                }
+            }
+            assertSame(expected, index.findContaining(x, y));
+        }
+    }
+
+    @Test
+    public void testRadiusQueriesMatchLinearScan() {
+        List<Building3D> buildings = randomCity(5, 400);
+        BuildingIndex index = new BuildingIndex(buildings, 40);
+        Random random = new Random(6);
+        for (int q = 0; q < 500; q++) {
+            double x = random.nextDouble() * 1300 - 100;
+            double y = random.nextDouble() * 1300 - 100;
+            double radius = random.nextDouble() * 120;
+            List<Building3D> expected = new ArrayList<>();
+            for (Building3D b : buildings) {
+                if (b.distanceTo(x, y) <= radius) expected.add(b);
+            }
+            assertEquals(expected, index.findNear(x, y, radius));
+        }
+    }
+
+    @Test
+    public void testFootprintEdgesAndEmptyCity() {
+        Building3D b = new Building3D(100, 100, 50, 30, 80, "office");
+        BuildingIndex index = new BuildingIndex(Collections.singletonList(b), 16);
+        assertSame("Far corner is inclusive", b, index.findContaining(150, 130));
+        assertNull(index.findContaining(150.5, 130));
+        assertNull(index.findContaining(-5, -5));
+        assertEquals(1, index.findNear(160, 115, 10).size());
+
+        BuildingIndex empty = new BuildingIndex(new ArrayList<>());
+        assertNull(empty.findContaining(0, 0));
+        assertTrue(empty.findNear(0, 0, 100).isEmpty());
+    }
+
+    @Test
+    public void testCityModelBacksFlightObstacleCheck() {
+        CityModel3D city = new CityModel3D("Testville", new BufferedImage(800, 800, BufferedImage.TYPE_INT_RGB));
+        assertTrue(city.getBuildings().size() > 0);
+        Building3D obstacle = city.getBuildings().get(0);
+        assertEquals("building", city.getTerrainType(obstacle.getX() + 1, obstacle.getY() + 1));
+
+        double startX = obstacle.getX() - 3;  // Next step lands inside the footprint
+        double startY = obstacle.getY() + 1;
+        FlightMovementController controller = new FlightMovementController(
+            new Point((int) startX, (int) startY), new Point((int) startX + 500, (int) startY), 2.0, 100);
+        controller.setCityModel(city);
+        controller.updatePosition(4.0, false);
+        assertTrue("Blocked step turns into a detour", controller.isDetourActive());
+        assertEquals((int) startX, (int) controller.getX());
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Stand-alone benchmark for RoutePlanner and its route cache.
+ *
+ * Purpose:
+ * Builds a generic city (procedural buildings plus a river) and 100 parking spots on free land,
+ * then plans routes between random pairs of spots, the way detours and reroutes cluster around
+ * parking. Reports grid build time, time per query with an empty cache and after it has warmed up,
+ * and the hit ratio. Not a JUnit test (no Test suffix), so it does not run with the unit suite.
+ *
+ * Usage:
+ * java -cp target/classes:target/test-classes com.example.navigation.RoutePlannerBenchmark
+ *
+ * Patterns & Constraints:
+ * - Seeded, so every run plans the same queries
+ * - The cold pass runs with a fresh planner; the warm passes reuse it
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.navigation;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import com.example.model.CityModel3D;
+import com.example.simulation.SimulationRandom;
+
+public class RoutePlannerBenchmark {
+    private static final int MAP_WIDTH = 1600;
+    private static final int MAP_HEIGHT = 1200;
+    private static final int SPOTS = 100;
+    private static final int QUERIES = 20_000;
+    private static final int WARM_PASSES = 5;
+
+    public static void main(String[] args) {
+        SimulationRandom.setSeed(7);
+        BufferedImage map = new BufferedImage(MAP_WIDTH, MAP_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = map.createGraphics();
+        g.setColor(new Color(200, 200, 190));
+        g.fillRect(0, 0, MAP_WIDTH, MAP_HEIGHT);
+        g.setColor(new Color(40, 90, 200));  // River with two crossings' worth of land left at the ends
+        g.fillRect(MAP_WIDTH / 3, 150, 60, MAP_HEIGHT - 300);
+        g.dispose();
+        CityModel3D city = new CityModel3D("Benchville", map);
+
+        long buildStart = System.nanoTime();
+        OccupancyGrid grid = new OccupancyGrid(MAP_WIDTH, MAP_HEIGHT, city.getBuildings(), city::isWater);
+        double buildMs = (System.nanoTime() - buildStart) / 1e6;
+        System.out.printf("%d buildings, grid %dx%d (%d blocked) built in %.1f ms%n", city.getBuildings().size(),
+            grid.getColumns(), grid.getRows(), grid.getBlockedCount(), buildMs);
+
+        Random random = new Random(11);
+        Point[] spots = new Point[SPOTS];
+        for (int i = 0; i < SPOTS; i++) {
+            Point p;
+            do {
+                p = new Point(random.nextInt(MAP_WIDTH), random.nextInt(MAP_HEIGHT));
+            } while (grid.isBlocked(p.x, p.y));
+            spots[i] = p;
+        }
+        int[] from = new int[QUERIES];
+        int[] to = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            from[i] = random.nextInt(SPOTS);
+            to[i] = random.nextInt(SPOTS);
+        }
+
+        RoutePlanner planner = new RoutePlanner(grid);
+        long waypoints = 0;
+        long start = System.nanoTime();
+        waypoints += run(planner, spots, from, to);
+        double coldUs = (System.nanoTime() - start) / 1e3 / QUERIES;
+        long coldSearches = planner.getSearchCount();
+        start = System.nanoTime();
+        for (int pass = 0; pass < WARM_PASSES; pass++) {
+            waypoints += run(planner, spots, from, to);
+        }
+        double warmUs = (System.nanoTime() - start) / 1e3 / QUERIES / WARM_PASSES;
+        long total = (long) QUERIES * (WARM_PASSES + 1);
+        System.out.printf("Cold cache: %8.2f us/query  (%d A* searches)%n", coldUs, coldSearches);
+        System.out.printf("Warm cache: %8.2f us/query  (%d A* searches in %d warm passes)%n", warmUs,
+            planner.getSearchCount() - coldSearches, WARM_PASSES);
+        System.out.printf("Direct %d, hits %d, misses %d of %d queries; %d routes cached; %.1f waypoints/route%n",
+            planner.getDirectRoutes(), planner.getCacheHits(), planner.getCacheMisses(), total,
+            planner.getCachedRoutes(), (double) waypoints / total);
+        SimulationRandom.clearSeed();
+    }
+
+    private static long run(RoutePlanner planner, Point[] spots, int[] from, int[] to) {
+        long waypoints = 0;
+        for (int i = 0; i < from.length; i++) {
+            Point a = spots[from[i]];
+            waypoints += planner.plan(a.x, a.y, spots[to[i]]).size();
+        }
+        return waypoints;
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Unit tests for OccupancyGrid and RoutePlanner.
+ *
+ * Purpose:
+ * Validates that planned routes never cross a building (with clearance) or water, that they are
+ * smoothed down to their turning points, and that the route cache answers repeat queries between
+ * the same regions without searching again.
+ *
+ * Key Test Areas:
+ * - Straight-line answers when the way is clear
+ * - Routes around a wall and a lake, checked point by point
+ * - Cache hits for nearby starts and goals, LRU eviction
+ * - Unreachable goals and blocked starts
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Synthetic maps built from explicit buildings and a water rectangle
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.navigation;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import com.example.model.Building3D;
+
+/**
+ * Test suite for RoutePlanner
+ */
+public class RoutePlannerTest {
+    private static final int MAP_SIZE = 400;
+
+    // A wall from the top edge down to y = 350, with a lake in the top-right corner
+    private static final Building3D WALL = new Building3D(190, 0, 20, 350, 100, "office");
+    private static final OccupancyGrid.WaterMask LAKE = (x, y) -> x > 300 && y < 120;
+
+    private static OccupancyGrid wallAndLake() {
+        return new OccupancyGrid(MAP_SIZE, MAP_SIZE, Collections.singletonList(WALL), LAKE);
+    }
+
+    /** Asserts that every point along the route, except the target itself, is clear of the wall and lake */
+    private static void assertClear(double fromX, double fromY, List<Point> route) {
+        double x = fromX, y = fromY;
+        for (int i = 0; i < route.size(); i++) {
+            Point p = route.get(i);
+            double length = Math.hypot(p.x - x, p.y - y);
+            for (double t = 0; t <= length; t += 0.5) {
+                double px = x + (p.x - x) * t / Math.max(length, 1e-9);
+                double py = y + (p.y - y) * t / Math.max(length, 1e-9);
+                assertFalse("Leg " + i + " crosses the wall at " + px + "," + py, WALL.containsPoint(px, py));
+                assertFalse("Leg " + i + " crosses the lake at " + px + "," + py, LAKE.isWater(px, py));
+            }
+            x = p.x;
+            y = p.y;
+        }
+    }
+
+    @Test
+    public void testClearLineIsFlownDirectly() {
+        RoutePlanner planner = new RoutePlanner(new OccupancyGrid(MAP_SIZE, MAP_SIZE, new ArrayList<>(), null));
+        assertEquals(Arrays.asList(new Point(300, 250)), planner.plan(20, 30, new Point(300, 250)));
+        assertEquals(1, planner.getDirectRoutes());
+        assertEquals(0, planner.getSearchCount());
+    }
+
+    @Test
+    public void testRouteGoesAroundWallAndLake() {
+        OccupancyGrid grid = wallAndLake();
+        assertTrue(grid.isBlocked(200, 100));
+        assertTrue("Clearance around the footprint", grid.isBlocked(185, 100));
+        assertTrue(grid.isBlocked(350, 50));
+        assertFalse(grid.isBlocked(100, 100));
+        RoutePlanner planner = new RoutePlanner(grid);
+
+        Point target = new Point(350, 160);
+        List<Point> route = planner.plan(60, 60, target);
+        assertFalse(route.isEmpty());
+        assertEquals(target, route.get(route.size() - 1));
+        assertTrue("Smoothed to a few turning points, was " + route, route.size() <= 5);
+        assertClear(60, 60, route);
+        boolean passesBelowWall = false;
+        for (Point p : route) {
+            passesBelowWall |= p.y > 350;
+        }
+        assertTrue("The only way across is below the wall", passesBelowWall);
+    }
+
+    @Test
+    public void testNearbyQueriesReuseCachedRoute() {
+        RoutePlanner planner = new RoutePlanner(wallAndLake());
+        List<Point> first = planner.plan(60, 60, new Point(350, 160));
+        long searches = planner.getSearchCount();
+        assertEquals(1, planner.getCacheMisses());
+        assertEquals(1, planner.getCachedRoutes());
+
+        List<Point> second = planner.plan(63, 58, new Point(352, 163));  // Same start and goal regions
+        assertEquals(1, planner.getCacheHits());
+        assertEquals("No new search", searches, planner.getSearchCount());
+        assertClear(63, 58, second);
+        assertEquals(first.size(), second.size());
+        assertEquals(new Point(352, 163), second.get(second.size() - 1));
+
+        assertEquals("Same query, same answer", second, planner.plan(63, 58, new Point(352, 163)));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedRouteIsEvicted() {
+        RoutePlanner planner = new RoutePlanner(wallAndLake(), 1);
+        planner.plan(60, 60, new Point(350, 160));
+        planner.plan(60, 250, new Point(300, 200));
+        assertEquals(1, planner.getCachedRoutes());
+        planner.plan(60, 60, new Point(350, 160));
+        assertEquals("Evicted, so missed again", 3, planner.getCacheMisses());
+    }
+
+    @Test
+    public void testUnreachableGoalAndBlockedStart() {
+        List<Building3D> box = Arrays.asList(  // Four walls around (300, 300)
+            new Building3D(260, 260, 80, 10, 50, "office"), new Building3D(260, 330, 80, 10, 50, "office"),
+            new Building3D(260, 260, 10, 80, 50, "office"), new Building3D(330, 260, 10, 80, 50, "office"));
+        RoutePlanner boxed = new RoutePlanner(new OccupancyGrid(MAP_SIZE, MAP_SIZE, 10, box, 4, null));
+        assertTrue(boxed.plan(50, 50, new Point(300, 300)).isEmpty());
+
+        RoutePlanner planner = new RoutePlanner(wallAndLake());
+        List<Point> route = planner.plan(188, 100, new Point(60, 60));  // Starts inside the wall's clearance
+        assertEquals(new Point(60, 60), route.get(route.size() - 1));
+        assertFalse("First waypoint leaves the blocked cells", planner.getGrid().isBlocked(route.get(0).x, route.get(0).y));
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Stand-alone benchmark for parking selection during a city-wide weather emergency.
+ *
+ * Purpose:
+ * Times 5,000 simultaneous emergency landings against 10,000 parking spaces (half occupied) through
+ * FlightEmergencyHandler, once with the linear scan and once with ParkingPool's grid, and times the
+ * same number of random free-space picks with the old collect-then-pick approach and the pool.
+ * Not a JUnit test (no Test suffix), so it does not run with the unit suite.
+ *
+ * Usage:
+ * java -cp target/classes:target/test-classes com.example.parking.ParkingPoolBenchmark
+ *
+ * Patterns & Constraints:
+ * - Fixed seed; both methods answer the same queries and must pick the same landing spots
+ * - Warm-up rounds precede each measured round
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.parking;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.example.flight.FlightEmergencyHandler;
+
+public class ParkingPoolBenchmark {
+    private static final int SPACES = 10_000;
+    private static final int LANDINGS = 5_000;
+    private static final int MAP_SIZE = 8_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        List<ParkingSpace> spaces = new ArrayList<>();
+        for (int i = 0; i < SPACES; i++) {
+            spaces.add(new ParkingSpace("P" + i, random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE)));
+        }
+        ParkingPool pool = new ParkingPool(spaces);
+        for (ParkingSpace space : spaces) {
+            if (random.nextBoolean()) space.occupy();
+        }
+        List<ParkingSpace> unindexed = new ArrayList<>(spaces);  // Same spaces, no pool: linear scan
+        double[] xs = new double[LANDINGS];
+        double[] ys = new double[LANDINGS];
+        for (int i = 0; i < LANDINGS; i++) {
+            xs[i] = random.nextInt(MAP_SIZE);
+            ys[i] = random.nextInt(MAP_SIZE);
+        }
+        FlightEmergencyHandler handler = new FlightEmergencyHandler("BENCH-01");
+
+        System.out.printf("%d spaces (%d free), %d simultaneous emergency landings%n", SPACES, pool.getFreeCount(), LANDINGS);
+        Point[] scanResults = new Point[LANDINGS];
+        Point[] poolResults = new Point[LANDINGS];
+        double scanMs = 0, poolMs = 0;
+        for (int round = 0; round < 2 * ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < LANDINGS; i++) {
+                scanResults[i] = handler.findEmergencyLandingSpot(xs[i], ys[i], unindexed, "BENCH");
+            }
+            long mid = System.nanoTime();
+            for (int i = 0; i < LANDINGS; i++) {
+                poolResults[i] = handler.findEmergencyLandingSpot(xs[i], ys[i], spaces, "BENCH");
+            }
+            long end = System.nanoTime();
+            if (round >= ROUNDS) {  // First half is warm-up
+                scanMs += (mid - start) / 1e6 / ROUNDS;
+                poolMs += (end - mid) / 1e6 / ROUNDS;
+            }
+        }
+        for (int i = 0; i < LANDINGS; i++) {
+            if (!scanResults[i].equals(poolResults[i])) throw new AssertionError("Landing " + i + " differs");
+        }
+        System.out.printf("Nearest free: linear %8.2f ms   pool %8.2f ms   (%.0fx)%n", scanMs, poolMs, scanMs / poolMs);
+
+        double collectMs = 0, pickMs = 0;
+        long checksum = 0;
+        for (int round = 0; round < 2 * ROUNDS; round++) {
+            Random picks = new Random(round);
+            long start = System.nanoTime();
+            for (int i = 0; i < LANDINGS; i++) {
+                List<ParkingSpace> available = new ArrayList<>();  // What selectRandomParking used to do
+                for (ParkingSpace space : spaces) {
+                    if (!space.isOccupied()) available.add(space);
+                }
+                checksum += available.get(picks.nextInt(available.size())).getX();
+            }
+            long mid = System.nanoTime();
+            for (int i = 0; i < LANDINGS; i++) {
+                checksum += pool.randomFree(picks).getX();
+            }
+            long end = System.nanoTime();
+            if (round >= ROUNDS) {
+                collectMs += (mid - start) / 1e6 / ROUNDS;
+                pickMs += (end - mid) / 1e6 / ROUNDS;
+            }
+        }
+        System.out.printf("Random free:  collect %7.2f ms   pool %8.2f ms   (%.0fx)  [%d]%n",
+            collectMs, pickMs, collectMs / pickMs, checksum % 10);
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Unit tests for ParkingPool functionality and behavior validation.
+ *
+ * Purpose:
+ * Validates that the free-space pool stays in step with occupy/vacate, that random picks only
+ * return free spaces, and that nearest-free queries match a linear scan of the space list exactly.
+ *
+ * Key Test Areas:
+ * - Free count and membership through occupy, vacate and repeated calls
+ * - Random picks cover every free space and never an occupied one
+ * - Nearest-free matches brute force, including ties and queries outside the grid
+ * - Full pools, lists without a pool, and emergency landings through FlightEmergencyHandler
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Random layouts use a fixed seed
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.parking;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import com.example.flight.FlightEmergencyHandler;
+
+/**
+ * Test suite for ParkingPool
+ */
+public class ParkingPoolTest {
+
+    private static List<ParkingSpace> randomSpaces(Random random, int count, int size) {
+        List<ParkingSpace> spaces = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            spaces.add(new ParkingSpace("P" + i, random.nextInt(size), random.nextInt(size)));
+        }
+        return spaces;
+    }
+
+    private static ParkingSpace bruteForceNearest(List<ParkingSpace> spaces, double x, double y) {
+        ParkingSpace best = null;
+        double bestDistSq = Double.POSITIVE_INFINITY;
+        for (ParkingSpace space : spaces) {
+            double dx = space.getX() - x, dy = space.getY() - y;
+            if (!space.isOccupied() && dx * dx + dy * dy < bestDistSq) {
+                bestDistSq = dx * dx + dy * dy;
+                best = space;
+            }
+        }
+        return best;
+    }
+
+    @Test
+    public void testFreeSetFollowsOccupancy() {
+        List<ParkingSpace> spaces = randomSpaces(new Random(1), 50, 1000);
+        spaces.get(3).occupy();  // Occupied before the pool exists
+        ParkingPool pool = new ParkingPool(spaces);
+        assertEquals(49, pool.getFreeCount());
+        spaces.get(7).occupy();
+        spaces.get(7).occupy();  // Repeated calls change nothing
+        assertEquals(48, pool.getFreeCount());
+        spaces.get(3).vacate();
+        spaces.get(3).vacate();
+        assertEquals(49, pool.getFreeCount());
+        assertSame(pool, spaces.get(0).getPool());
+        assertSame(pool, ParkingPool.forSpaces(spaces));
+        assertNull("A copy of the list has no pool", ParkingPool.forSpaces(new ArrayList<>(spaces)));
+    }
+
+    @Test
+    public void testRandomPickCoversOnlyFreeSpaces() {
+        List<ParkingSpace> spaces = randomSpaces(new Random(2), 40, 1000);
+        ParkingPool pool = new ParkingPool(spaces);
+        for (int i = 0; i < 40; i += 2) {
+            spaces.get(i).occupy();
+        }
+        Random random = new Random(3);
+        Set<ParkingSpace> picked = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            ParkingSpace space = pool.randomFree(random);
+            assertFalse(space.isOccupied());
+            picked.add(space);
+        }
+        assertEquals("Every free space gets picked", 20, picked.size());
+        for (ParkingSpace space : spaces) {
+            space.occupy();
+        }
+        assertNull(pool.randomFree(random));
+        assertNull(pool.nearestFree(500, 500));
+    }
+
+    @Test
+    public void testNearestFreeMatchesLinearScan() {
+        Random random = new Random(4);
+        List<ParkingSpace> spaces = randomSpaces(random, 2000, 4000);
+        spaces.add(new ParkingSpace("DUP", spaces.get(10).getX(), spaces.get(10).getY()));  // Tie: list order wins
+        ParkingPool pool = new ParkingPool(spaces);
+        for (int round = 0; round < 5; round++) {
+            for (ParkingSpace space : spaces) {
+                if (random.nextDouble() < 0.2 * round) space.occupy(); else space.vacate();
+            }
+            for (int q = 0; q < 500; q++) {
+                double x = random.nextInt(4400) - 200;  // Some queries fall outside the grid
+                double y = random.nextInt(4400) - 200;
+                assertSame(bruteForceNearest(spaces, x, y), pool.nearestFree(x, y));
+            }
+            assertSame(bruteForceNearest(spaces, spaces.get(10).getX(), spaces.get(10).getY()),
+                pool.nearestFree(spaces.get(10).getX(), spaces.get(10).getY()));
+        }
+    }
+
+    @Test
+    public void testEmergencyLandingUsesPool() {
+        List<ParkingSpace> spaces = randomSpaces(new Random(5), 300, 1000);
+        new ParkingPool(spaces);
+        spaces.get(0).occupy();
+        FlightEmergencyHandler handler = new FlightEmergencyHandler("TEST-01");
+        Point viaPool = handler.findEmergencyLandingSpot(spaces.get(0).getX(), spaces.get(0).getY(), spaces, "TEST");
+        Point viaScan = handler.findEmergencyLandingSpot(spaces.get(0).getX(), spaces.get(0).getY(), new ArrayList<>(spaces), "TEST");
+        assertEquals(viaScan, viaPool);
+        assertFalse(viaPool.equals(spaces.get(0).getLocation()));
+    }
+}
@@ -0,0 +1,284 @@
+/**
+ * Unit tests for parking reservations and their use by JetPackFlightState.
+ *
+ * Purpose:
+ * Validates that a space can be claimed by exactly one holder even when many threads race for it,
+ * that a claim turns into occupancy only for its holder, and that flights give reservations back
+ * when they are diverted or take too long to arrive.
+ *
+ * Key Test Areas:
+ * - Concurrent claims on the same spaces: one winner each, losers counted as conflicts
+ * - Concurrent pool reservations never hand out a space twice
+ * - Reserve, occupy, release and vacate rules, and the pool's free set through each step
+ * - Legacy occupy/vacate alongside reservations
+ * - Release on diversion and on timeout for a flight heading to parking
+ * - Radio diversions and emergency landings keep their destinations
+ * - Simultaneous emergency landings claim distinct spaces, with or without a pool
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Threads start together on a barrier to make races likely; assertions hold for any interleaving
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.parking;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import com.example.flight.JetPackFlight;
+import com.example.flight.JetPackFlightState;
+import com.example.jetpack.JetPack;
+
+/**
+ * Test suite for parking reservations
+ */
+public class ParkingReservationTest {
+    private static final int THREADS = 8;
+
+    private static List<ParkingSpace> gridSpaces(int count, int origin) {
+        List<ParkingSpace> spaces = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            spaces.add(new ParkingSpace("P" + i, origin + 40 * (i % 10), origin + 40 * (i / 10)));
+        }
+        return spaces;
+    }
+
+    @Test
+    public void testRacingClaimsHaveOneWinner() throws Exception {
+        List<ParkingSpace> spaces = gridSpaces(200, 0);
+        ParkingPool pool = new ParkingPool(spaces);
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<List<ParkingSpace>>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Object holder = "holder-" + t;
+            results.add(executor.submit(() -> {
+                start.await();
+                List<ParkingSpace> won = new ArrayList<>();
+                for (ParkingSpace space : spaces) {
+                    if (space.tryReserve(holder)) won.add(space);
+                }
+                return won;
+            }));
+        }
+        Set<ParkingSpace> winners = new HashSet<>();
+        int wins = 0;
+        for (Future<List<ParkingSpace>> result : results) {
+            List<ParkingSpace> won = result.get(10, TimeUnit.SECONDS);
+            wins += won.size();
+            winners.addAll(won);
+        }
+        executor.shutdown();
+        assertEquals("Each space is won exactly once", spaces.size(), wins);
+        assertEquals(spaces.size(), winners.size());
+        for (ParkingSpace space : spaces) {
+            assertEquals(THREADS - 1, space.getReservationConflicts());
+        }
+        assertEquals(spaces.size() * (THREADS - 1), pool.getConflicts());
+        assertEquals(spaces.size(), pool.getReservations());
+        assertEquals(0, pool.getFreeCount());
+        assertNull(pool.randomFree(new Random(1)));
+    }
+
+    @Test
+    public void testConcurrentPoolReservationsNeverShareASpace() throws Exception {
+        List<ParkingSpace> spaces = gridSpaces(500, 0);
+        ParkingPool pool = new ParkingPool(spaces);
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<List<ParkingSpace>>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int seed = t;
+            results.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                List<ParkingSpace> won = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    Object holder = new Object();  // One flight per reservation
+                    ParkingSpace space = (i % 2 == 0) ? pool.reserveRandom(random, holder)
+                        : pool.reserveNearest(random.nextInt(400), random.nextInt(2000), holder);
+                    if (space != null) {
+                        assertTrue(space.isClaimedBy(holder));
+                        won.add(space);
+                    }
+                }
+                return won;
+            }));
+        }
+        Set<ParkingSpace> winners = new HashSet<>();
+        int wins = 0;
+        for (Future<List<ParkingSpace>> result : results) {
+            List<ParkingSpace> won = result.get(10, TimeUnit.SECONDS);
+            wins += won.size();
+            winners.addAll(won);
+        }
+        executor.shutdown();
+        assertEquals("No space handed out twice", wins, winners.size());
+        assertEquals(wins, pool.getReservations());
+        assertEquals(spaces.size() - wins, pool.getFreeCount());
+        assertTrue("Every retry follows a conflict", pool.getRetries() <= pool.getConflicts());
+    }
+
+    @Test
+    public void testReservationLifecycle() {
+        List<ParkingSpace> spaces = gridSpaces(10, 0);
+        ParkingPool pool = new ParkingPool(spaces);
+        ParkingSpace space = spaces.get(4);
+        Object flight = new Object(), other = new Object();
+
+        assertTrue(space.tryReserve(flight));
+        assertTrue("Reserving again is a no-op", space.tryReserve(flight));
+        assertTrue(space.isReserved());
+        assertFalse(space.isOccupied());
+        assertEquals(9, pool.getFreeCount());
+        assertFalse(space.tryReserve(other));
+        assertFalse("Only the holder may land", space.occupy(other));
+        assertFalse(space.release(other));
+
+        assertTrue(space.occupy(flight));
+        assertTrue(space.isOccupied());
+        assertFalse("Occupied spaces are vacated, not released", space.release(flight));
+        assertFalse(space.vacate(other));
+        assertTrue(space.vacate(flight));
+        assertTrue(space.isAvailable());
+        assertEquals(10, pool.getFreeCount());
+
+        assertTrue(space.tryReserve(other));
+        assertTrue(space.release(other));
+        assertFalse(space.occupy(other));
+        assertEquals(10, pool.getFreeCount());
+        assertEquals(2, pool.getReservations());
+        assertEquals(1, pool.getReleases());
+        assertEquals(1, pool.getConflicts());
+        assertEquals(1, space.getReservationConflicts());
+        assertEquals(1, pool.getMostContested(5).size());
+        assertSame(space, pool.getMostContested(5).get(0));
+    }
+
+    @Test
+    public void testLegacyOccupyBlocksReservations() {
+        List<ParkingSpace> spaces = gridSpaces(3, 0);
+        ParkingPool pool = new ParkingPool(spaces);
+        spaces.get(0).occupy();
+        assertFalse(spaces.get(0).tryReserve(new Object()));
+        assertEquals(2, pool.getFreeCount());
+        spaces.get(0).vacate();
+        assertTrue(spaces.get(0).isAvailable());
+        assertEquals(3, pool.getFreeCount());
+        Object holder = new Object();
+        assertTrue(spaces.get(1).tryReserve(holder));
+        spaces.get(1).vacate();  // Clears the claim as well
+        assertTrue(spaces.get(1).isAvailable());
+        assertEquals(3, pool.getFreeCount());
+    }
+
+    @Test
+    public void testFlightReleasesOnDiversionAndTimeout() {
+        List<ParkingSpace> spaces = gridSpaces(20, 2000);  // Far from the flight, so it never arrives
+        ParkingPool pool = new ParkingPool(spaces);
+        JetPack jetpack = new JetPack("JP1", "TEST-1", "CALL-1", "Pilot", "2024", "Model");
+        JetPackFlight flight = new JetPackFlight(jetpack, new Point(0, 0), new Point(100, 100), Color.RED);
+        JetPackFlightState state = new JetPackFlightState(flight, spaces);
+
+        ParkingSpace target = reserveByUpdating(state);
+        assertTrue(target.isClaimedBy(state));
+        assertTrue(state.isParkingInProgress());
+        assertEquals(new Point(target.getX(), target.getY()), flight.getDestination());
+        assertEquals(19, pool.getFreeCount());
+
+        flight.setNewDestination(new Point(50, 50));  // Radio instruction sends it elsewhere
+        state.update();
+        assertNull(state.getTargetParking());
+        assertTrue(target.isAvailable());
+        assertEquals(20, pool.getFreeCount());
+        assertFalse(state.isParkingInProgress());
+
+        target = reserveByUpdating(state);
+        for (int i = 0; i < JetPackFlightState.RESERVATION_TIMEOUT_TICKS; i++) {
+            state.update();
+            assertSame(target, state.getTargetParking());
+        }
+        state.update();
+        assertNull("Reservation expires", state.getTargetParking());
+        assertTrue(target.isAvailable());
+        assertEquals(2, pool.getReleases());
+    }
+
+    @Test
+    public void testInstructedDestinationsAreKept() {
+        List<ParkingSpace> spaces = gridSpaces(20, 2000);
+        new ParkingPool(spaces);
+        JetPack jetpack = new JetPack("JP1", "TEST-1", "CALL-1", "Pilot", "2024", "Model");
+        JetPackFlight flight = new JetPackFlight(jetpack, new Point(0, 0), new Point(100, 100), Color.RED);
+        JetPackFlightState state = new JetPackFlightState(flight, spaces);
+        flight.setFlightStateProvider(f -> state);
+
+        ParkingSpace target = reserveByUpdating(state);
+        flight.receiveCoordinateInstruction(900, 900, "Divert");
+        for (int i = 0; i < 50; i++) {
+            state.update();
+        }
+        assertTrue("Diversion gives the space back", target.isAvailable());
+        assertNull(state.getTargetParking());
+        assertEquals("Radio destination is not replaced by parking", new Point(900, 900), flight.getDestination());
+
+        flight.emergencyLanding(spaces, "Test");
+        ParkingSpace landing = state.getTargetParking();
+        assertNotNull("Emergency landing hands its claim to the state", landing);
+        assertTrue(landing.isClaimedBy(state));
+        for (int i = 0; i < 50; i++) {
+            state.update();
+        }
+        assertSame(landing, state.getTargetParking());
+        assertEquals(new Point(landing.getX(), landing.getY()), flight.getDestination());
+    }
+
+    @Test
+    public void testSimultaneousEmergencyLandingsClaimDistinctSpaces() {
+        for (boolean pooled : new boolean[] {true, false}) {
+            List<ParkingSpace> spaces = gridSpaces(20, 0);
+            if (pooled) {
+                new ParkingPool(spaces);
+            }
+            Set<ParkingSpace> claimed = new HashSet<>();
+            for (int i = 0; i < 10; i++) {  // Every flight at the same spot, nearest to the same space
+                JetPack jetpack = new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model");
+                JetPackFlight flight = new JetPackFlight(jetpack, new Point(0, 0), new Point(500, 500), Color.RED);
+                JetPackFlightState state = new JetPackFlightState(flight, spaces);
+                flight.setFlightStateProvider(f -> state);
+                flight.emergencyLanding(spaces, "Mass landing");
+                assertTrue(state.getTargetParking().isClaimedBy(state));
+                assertTrue("Each flight gets its own space", claimed.add(state.getTargetParking()));
+            }
+            assertEquals(10, claimed.size());
+        }
+    }
+
+    private static ParkingSpace reserveByUpdating(JetPackFlightState state) {
+        for (int i = 0; i < 100 && state.getTargetParking() == null; i++) {
+            state.update();
+        }
+        assertNotNull(state.getTargetParking());
+        return state.getTargetParking();
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Unit tests for RadioCommandExecutor and typed radio commands.
+ *
+ * Purpose:
+ * Validates that each radio command reaches the registered flight with its arguments intact, that
+ * emergency landings carry the flight's parking spaces, and that Radio delivers instructions to a
+ * real JetPackFlight.
+ *
+ * Key Test Areas:
+ * - Coordinate, altitude and emergency landing dispatch through RadioReceiver
+ * - Parking spaces from the registered JetPackFlightState, or none without one
+ * - Unregistered callsigns are ignored
+ * - End to end through Radio to JetPackFlight
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - RecordingReceiver stands in for a flight
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.radio;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import com.example.flight.JetPackFlight;
+import com.example.flight.JetPackFlightState;
+import com.example.jetpack.JetPack;
+import com.example.parking.ParkingSpace;
+
+/**
+ * Test suite for RadioCommandExecutor
+ */
+public class RadioCommandExecutorTest {
+
+    /** Records the last instruction received */
+    private static final class RecordingReceiver implements RadioReceiver {
+        String last;
+        List<ParkingSpace> parkingSpaces;
+
+        @Override
+        public void receiveCoordinateInstruction(int newX, int newY, String reason) {
+            last = "coords " + newX + "," + newY + " " + reason;
+        }
+
+        @Override
+        public void receiveAltitudeInstruction(double newAltitude, String reason) {
+            last = "altitude " + newAltitude + " " + reason;
+        }
+
+        @Override
+        public void receiveEmergencyLandingInstruction(List<ParkingSpace> parkingSpaces, String reason) {
+            last = "landing " + reason;
+            this.parkingSpaces = parkingSpaces;
+        }
+    }
+
+    @Test
+    public void testCommandsReachRegisteredFlight() {
+        RadioCommandExecutor executor = new RadioCommandExecutor();
+        RecordingReceiver receiver = new RecordingReceiver();
+        executor.registerFlight("ALPHA-01", receiver);
+        assertTrue(executor.isFlightRegistered("ALPHA-01"));
+
+        executor.executeCoordinateInstruction("ALPHA-01", 120, 340, "Traffic");
+        assertEquals("coords 120,340 Traffic", receiver.last);
+        executor.executeAltitudeInstruction("ALPHA-01", 550.0, "Climb");
+        assertEquals("altitude 550.0 Climb", receiver.last);
+        assertTrue(executor.execute("ALPHA-01", RadioCommand.emergencyLanding("Land now")));
+        assertEquals("landing Land now", receiver.last);
+        assertNull("No state registered: halt in place", receiver.parkingSpaces);
+    }
+
+    @Test
+    public void testEmergencyLandingUsesRegisteredParking() {
+        RadioCommandExecutor executor = new RadioCommandExecutor();
+        RecordingReceiver receiver = new RecordingReceiver();
+        List<ParkingSpace> spaces = new ArrayList<>();
+        spaces.add(new ParkingSpace("P1", 10, 10));
+        JetPack jetpack = new JetPack("JP1", "TEST-1", "BRAVO-01", "Pilot", "2024", "Model");
+        JetPackFlight flight = new JetPackFlight(jetpack, new Point(0, 0), new Point(100, 100), Color.RED);
+        executor.registerFlight("BRAVO-01", receiver);
+        executor.registerFlightState("BRAVO-01", new JetPackFlightState(flight, spaces));
+
+        executor.executeEmergencyLandingInstruction("BRAVO-01", "Storm");
+        assertSame(spaces, receiver.parkingSpaces);
+    }
+
+    @Test
+    public void testUnregisteredCallsignIgnored() {
+        RadioCommandExecutor executor = new RadioCommandExecutor();
+        RecordingReceiver receiver = new RecordingReceiver();
+        executor.registerFlight("CHARLIE-01", receiver);
+        executor.unregisterFlight("CHARLIE-01");
+        assertFalse(executor.execute("CHARLIE-01", RadioCommand.altitude(100, "Descend")));
+        assertFalse(executor.execute("NOBODY", RadioCommand.coordinates(1, 2, "Turn")));
+        assertNull(receiver.last);
+        assertEquals(0, executor.getRegisteredFlightCount());
+    }
+
+    @Test
+    public void testRadioRedirectsJetPackFlight() {
+        Radio radio = new Radio("123.4", "ATC-TEST");
+        JetPack jetpack = new JetPack("JP2", "TEST-2", "DELTA-01", "Pilot", "2024", "Model");
+        JetPackFlight flight = new JetPackFlight(jetpack, new Point(0, 0), new Point(100, 100), Color.RED);
+        radio.registerFlight(jetpack.getCallsign(), flight);
+
+        radio.giveNewCoordinates(jetpack, 400, 300, "Traffic");
+        assertEquals(new Point(400, 300), flight.getDestination());
+        assertTrue(flight.getCurrentStatus().contains("Traffic"));
+    }
+}
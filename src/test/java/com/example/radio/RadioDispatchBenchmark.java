@@ -0,0 +1,125 @@
+/**
+ * Stand-alone throughput benchmark for radio command dispatch.
+ *
+ * Purpose:
+ * Sends one second's worth of commands at 100,000 commands/sec (a mix of coordinate, altitude and
+ * emergency landing instructions across 1,000 registered flights) through the old by-name reflective
+ * dispatch and through RadioCommandExecutor's typed dispatch, and reports time per command and how
+ * much of the one-second budget each approach uses.
+ * Not a JUnit test (no Test suffix), so it does not run with the unit suite.
+ *
+ * Usage:
+ * java -cp target/classes:target/test-classes com.example.radio.RadioDispatchBenchmark
+ *
+ * Patterns & Constraints:
+ * - The reflective path reproduces what RadioCommandExecutor did before: a registry lookup, then
+ *   ReflectionHelper resolving and invoking the method by name for every command
+ * - Flights are CountingReceivers, so only dispatch is measured, not flight logic
+ * - Warm-up rounds precede each measured round; both paths must deliver identical totals
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.radio;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.parking.ParkingSpace;
+import com.example.utility.reflection.ReflectionHelper;
+
+public class RadioDispatchBenchmark {
+    private static final int COMMANDS_PER_SECOND = 100_000;
+    private static final int FLIGHTS = 1_000;
+    private static final int ROUNDS = 10;
+
+    /** Receiver that only accumulates its arguments; public so reflection can reach its methods */
+    public static final class CountingReceiver implements RadioReceiver {
+        long sum;
+
+        @Override
+        public void receiveCoordinateInstruction(int newX, int newY, String reason) { sum += newX + newY; }
+
+        @Override
+        public void receiveAltitudeInstruction(double newAltitude, String reason) { sum += (long) newAltitude; }
+
+        @Override
+        public void receiveEmergencyLandingInstruction(List<ParkingSpace> parkingSpaces, String reason) { sum += 1; }
+    }
+
+    public static void main(String[] args) {
+        String[] callsigns = new String[FLIGHTS];
+        CountingReceiver[] receivers = new CountingReceiver[FLIGHTS];
+        Map<String, Object> untyped = new HashMap<>();  // The old Object-valued registry
+        RadioCommandExecutor executor = new RadioCommandExecutor();
+        for (int i = 0; i < FLIGHTS; i++) {
+            callsigns[i] = String.format("FLIGHT-%04d", i);
+            receivers[i] = new CountingReceiver();
+            untyped.put(callsigns[i], receivers[i]);
+            executor.registerFlight(callsigns[i], receivers[i]);
+        }
+
+        double reflectMs = 0, typedMs = 0;
+        long delivered = 0;
+        for (int round = 0; round < 2 * ROUNDS; round++) {
+            long beforeRound = total(receivers);
+            long start = System.nanoTime();
+            for (int i = 0; i < COMMANDS_PER_SECOND; i++) {
+                Object flight = untyped.get(callsigns[i % FLIGHTS]);
+                switch (i % 3) {
+                    case 0:
+                        ReflectionHelper.invokeThreeArgMethod(flight, "receiveCoordinateInstruction",
+                            i & 1023, int.class, i & 511, int.class, "Traffic", String.class);
+                        break;
+                    case 1:
+                        ReflectionHelper.invokeTwoArgMethod(flight, "receiveAltitudeInstruction",
+                            (double) (i & 255), double.class, "Climb", String.class);
+                        break;
+                    default:
+                        ReflectionHelper.invokeTwoArgMethod(flight, "receiveEmergencyLandingInstruction",
+                            null, List.class, "Land", String.class);
+                }
+            }
+            long mid = System.nanoTime();
+            long afterReflect = total(receivers);
+            for (int i = 0; i < COMMANDS_PER_SECOND; i++) {
+                String callsign = callsigns[i % FLIGHTS];
+                switch (i % 3) {
+                    case 0:
+                        executor.executeCoordinateInstruction(callsign, i & 1023, i & 511, "Traffic");
+                        break;
+                    case 1:
+                        executor.executeAltitudeInstruction(callsign, i & 255, "Climb");
+                        break;
+                    default:
+                        executor.executeEmergencyLandingInstruction(callsign, "Land");
+                }
+            }
+            long end = System.nanoTime();
+            long afterTyped = total(receivers);
+            if (afterReflect - beforeRound != afterTyped - afterReflect) {
+                throw new AssertionError("Round " + round + ": the two paths delivered different commands");
+            }
+            delivered = afterTyped - afterReflect;
+            if (round >= ROUNDS) {  // First half is warm-up
+                reflectMs += (mid - start) / 1e6 / ROUNDS;
+                typedMs += (end - mid) / 1e6 / ROUNDS;
+            }
+        }
+        System.out.printf("%d commands across %d flights (one second at %d commands/sec)%n",
+            COMMANDS_PER_SECOND, FLIGHTS, COMMANDS_PER_SECOND);
+        System.out.printf("Reflection: %8.2f ms  %6.0f ns/command  %5.1f%% of the 1 s budget%n",
+            reflectMs, reflectMs * 1e6 / COMMANDS_PER_SECOND, reflectMs / 10.0);
+        System.out.printf("Typed:      %8.2f ms  %6.0f ns/command  %5.1f%% of the 1 s budget  (%.0fx)  [%d]%n",
+            typedMs, typedMs * 1e6 / COMMANDS_PER_SECOND, typedMs / 10.0, reflectMs / typedMs, delivered % 10);
+    }
+
+    private static long total(CountingReceiver[] receivers) {
+        long sum = 0;
+        for (CountingReceiver receiver : receivers) {
+            sum += receiver.sum;
+        }
+        return sum;
+    }
+}
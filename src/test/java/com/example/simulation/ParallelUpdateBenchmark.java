@@ -0,0 +1,81 @@
+/**
+ * Stand-alone benchmark for the parallel flight update phase of CitySimulation.
+ *
+ * Purpose:
+ * Produces a scaling curve for one simulation tick at 10,000 flights: serial, then on ForkJoinPools
+ * of 1 up to availableProcessors workers. The serial commit phase and the conflict probe are part of
+ * every tick, so the curve shows the whole-tick speedup, not just the movement phase.
+ * Not a JUnit test (no Test suffix), so it does not run with the unit suite.
+ *
+ * Usage:
+ * java -cp target/classes:target/test-classes com.example.simulation.ParallelUpdateBenchmark
+ *
+ * Patterns & Constraints:
+ * - Each configuration starts from a freshly built city in deterministic mode with the same seed;
+ *   the trajectory hash column must match on every row
+ * - Warm-up ticks precede each measured run
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.simulation;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import com.example.flight.JetPackFlight;
+import com.example.flight.JetPackFlightState;
+import com.example.jetpack.JetPack;
+
+public class ParallelUpdateBenchmark {
+    private static final int FLIGHTS = 10_000;
+    private static final int MAP_SIZE = 4_000;
+    private static final int WARM_UP_TICKS = 50;
+    private static final int TICKS = 200;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%d flights, %d ticks, %d available processors%n", FLIGHTS, TICKS, cores);
+        System.out.printf("%8s %12s %9s %18s%n", "workers", "ms/tick", "speedup", "trajectory hash");
+        TrajectoryHash serialHash = new TrajectoryHash();
+        double serialMs = timeTicks(null, serialHash);
+        System.out.printf("%8s %12.3f %8.2fx %18x%n", "serial", serialMs, 1.0, serialHash.getValue());
+        for (int workers = 1; workers <= cores; workers++) {
+            ForkJoinPool pool = new ForkJoinPool(workers);
+            TrajectoryHash hash = new TrajectoryHash();
+            double ms = timeTicks(pool, hash);
+            pool.shutdown();
+            System.out.printf("%8d %12.3f %8.2fx %18x%n", workers, ms, serialMs / ms, hash.getValue());
+        }
+    }
+
+    private static double timeTicks(ForkJoinPool pool, TrajectoryHash hash) {
+        SimulationRandom.setSeed(SEED);
+        Random random = SimulationRandom.newRandom();
+        List<JetPackFlight> flights = new ArrayList<>(FLIGHTS);
+        Map<JetPackFlight, JetPackFlightState> states = new HashMap<>();
+        for (int i = 0; i < FLIGHTS; i++) {
+            JetPack jp = new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model");
+            JetPackFlight flight = new JetPackFlight(jp,
+                new Point(random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE)),
+                new Point(random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE)), Color.RED);
+            flights.add(flight);
+            states.put(flight, new JetPackFlightState(flight, new ArrayList<>()));
+        }
+        CitySimulation simulation = new CitySimulation(flights, states, null, null, MAP_SIZE, MAP_SIZE, random);
+        simulation.setLocalSweepsEnabled(false);
+        simulation.setUpdatePool(pool);
+        SimulationEngine engine = new SimulationEngine(40, hash.wrap(simulation, flights));
+        engine.step(WARM_UP_TICKS);
+        long start = System.nanoTime();
+        engine.step(TICKS);
+        return (System.nanoTime() - start) / 1e6 / TICKS;
+    }
+}
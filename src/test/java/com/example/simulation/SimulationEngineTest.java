@@ -0,0 +1,317 @@
+/**
+ * Unit tests for SimulationEngine functionality and behavior validation.
+ *
+ * Purpose:
+ * Validates the fixed-timestep loop: manual stepping, threaded start and stop, command hand-off,
+ * the catch-up and skip policy, and a headless CitySimulation run with no display.
+ *
+ * Key Test Areas:
+ * - step and step(n) run ticks and publish once per call
+ * - start/stop drive ticks on the engine thread
+ * - A loop that outlives stop never runs alongside its replacement
+ * - Submitted commands run on the stepping thread before the next tick
+ * - Stalls beyond the catch-up limit are skipped, not replayed
+ * - CitySimulation moves flights and samples frames headless
+ * - Parallel flight updates match a serial run, including the order of side effects
+ * - Parking departures fire from the timing wheel at their due tick, with no per-tick work
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Threaded tests use latches with generous timeouts
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.simulation;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import com.example.flight.JetPackFlight;
+import com.example.flight.JetPackFlightState;
+import com.example.jetpack.JetPack;
+import com.example.parking.ParkingSpace;
+
+/**
+ * Test suite for SimulationEngine
+ */
+public class SimulationEngineTest {
+
+    @Test
+    public void testManualStepRunsTicksAndPublishesOnce() {
+        AtomicInteger steps = new AtomicInteger();
+        AtomicInteger publishes = new AtomicInteger();
+        SimulationEngine engine = new SimulationEngine(40, tick -> steps.incrementAndGet());
+        engine.addListener(tick -> publishes.incrementAndGet());
+        engine.step();
+        engine.step(9);
+        assertEquals(10, steps.get());
+        assertEquals(2, publishes.get());
+        assertEquals(10, engine.getTickCount());
+        assertEquals(400, engine.getSimulatedMillis());
+    }
+
+    @Test
+    public void testStartAndStopRunTicksOnEngineThread() throws InterruptedException {
+        AtomicReference<Thread> stepThread = new AtomicReference<>();
+        CountDownLatch ticks = new CountDownLatch(5);
+        SimulationEngine engine = new SimulationEngine(5, tick -> {
+            stepThread.set(Thread.currentThread());
+            ticks.countDown();
+        });
+        engine.start();
+        try {
+            assertTrue(engine.isRunning());
+            assertTrue(ticks.await(5, TimeUnit.SECONDS));
+        } finally {
+            engine.stop();
+        }
+        assertFalse(engine.isRunning());
+        assertFalse("Ticks do not run on the caller", stepThread.get() == Thread.currentThread());
+        long stoppedAt = engine.getTickCount();
+        Thread.sleep(30);
+        assertEquals("No ticks after stop", stoppedAt, engine.getTickCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testManualStepRejectedWhileRunning() {
+        SimulationEngine engine = new SimulationEngine(1000, tick -> { });
+        engine.start();
+        try {
+            engine.step();
+        } finally {
+            engine.stop();
+        }
+    }
+
+    @Test
+    public void testRestartWaitsForLoopStuckInTick() throws InterruptedException {
+        CountDownLatch inTick = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        AtomicReference<Thread> stuckThread = new AtomicReference<>();
+        CountDownLatch restarted = new CountDownLatch(3);
+        SimulationEngine engine = new SimulationEngine(5, tick -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            if (tick == 1) {
+                stuckThread.set(Thread.currentThread());
+                inTick.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);  // Outlives stop's join
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                restarted.countDown();
+            }
+            active.decrementAndGet();
+        });
+        engine.start();
+        assertTrue(inTick.await(5, TimeUnit.SECONDS));
+        engine.stop();
+        assertTrue("Stop timed out with the tick still running", stuckThread.get().isAlive());
+
+        new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        }).start();
+        engine.start();  // Waits for the stuck loop to finish its tick
+        try {
+            assertFalse("Old loop exited instead of carrying on", stuckThread.get().isAlive());
+            assertTrue(restarted.await(5, TimeUnit.SECONDS));
+        } finally {
+            engine.stop();
+        }
+        assertEquals("Never two stepping threads", 1, maxActive.get());
+    }
+
+    @Test
+    public void testSubmittedCommandsRunBeforeNextTick() {
+        List<String> order = new ArrayList<>();
+        SimulationEngine engine = new SimulationEngine(40, tick -> order.add("tick" + tick));
+        engine.step();
+        engine.submit(() -> order.add("command"));
+        engine.step();
+        assertEquals(3, order.size());
+        assertEquals("command", order.get(1));
+    }
+
+    @Test
+    public void testLongStallIsSkippedNotReplayed() throws InterruptedException {
+        CountDownLatch resumed = new CountDownLatch(3);
+        SimulationEngine engine = new SimulationEngine(5, tick -> {
+            if (tick == 1) {
+                try {
+                    Thread.sleep(200);  // Roughly 40 ticks behind
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                resumed.countDown();
+            }
+        });
+        engine.setMaxCatchUpSteps(2);
+        engine.start();
+        try {
+            assertTrue(resumed.await(5, TimeUnit.SECONDS));
+        } finally {
+            engine.stop();
+        }
+        assertTrue("Backlog beyond the catch-up limit is dropped", engine.getSkippedTicks() > 20);
+    }
+
+    @Test
+    public void testCitySimulationRunsHeadless() {
+        List<JetPackFlight> flights = new ArrayList<>();
+        Map<JetPackFlight, JetPackFlightState> states = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            JetPack jp = new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model");
+            JetPackFlight flight = new JetPackFlight(jp, new Point(100 + 50 * i, 100), new Point(900, 900 - 50 * i), Color.RED);
+            flights.add(flight);
+            states.put(flight, new JetPackFlightState(flight, new ArrayList<>()));
+        }
+        CitySimulation simulation = new CitySimulation(flights, states, null, null, 1000, 1000, new Random(7));
+        SimulationEngine engine = new SimulationEngine(40, simulation);
+        double startX = flights.get(0).getX();
+        engine.step(50);
+        assertTrue("Flights advanced without a display", flights.get(0).getX() != startX);
+        assertNotNull(simulation.getPredictedConflicts());
+        assertNotNull("Two local sweeps in 50 ticks", simulation.getLocalSweeps().getLatestFrame());
+        assertEquals(2, simulation.getLocalSweeps().getLatestFrame().getSequence());
+        assertSame(flights, simulation.getFlights());
+    }
+
+    /**
+     * Runs a small city for 200 ticks and records radio completions as they are delivered.
+     */
+    private static List<String> runCity(ForkJoinPool pool, List<Point> finalPositions) {
+        List<JetPackFlight> flights = new ArrayList<>();
+        List<String> completions = new ArrayList<>();  // Deliberately not thread-safe
+        for (int i = 0; i < 40; i++) {
+            JetPack jp = new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model");
+            JetPackFlight flight = new JetPackFlight(jp, new Point(100 + 20 * i, 100), new Point(900, 900), Color.RED);
+            flight.setRadioInstructionListener(new JetPackFlight.RadioInstructionListener() {
+                @Override
+                public void onInstructionReceived(JetPackFlight f, String instruction) { }
+                @Override
+                public void onInstructionCompleted(JetPackFlight f, String instruction) {
+                    completions.add(f.getJetpack().getCallsign());
+                }
+            });
+            flight.receiveCoordinateInstruction(100 + 20 * i, 120 + 3 * (i % 7), "Test");  // Staggered arrivals
+            flights.add(flight);
+        }
+        CitySimulation simulation = new CitySimulation(flights, new HashMap<>(), null, null, 1000, 1000, new Random(11));
+        simulation.setChunkSize(8);
+        simulation.setUpdatePool(pool);
+        new SimulationEngine(40, simulation).step(200);
+        for (JetPackFlight flight : flights) {
+            finalPositions.add(new Point((int) Math.round(flight.getX() * 100), (int) Math.round(flight.getY() * 100)));
+        }
+        return completions;
+    }
+
+    @Test
+    public void testParallelUpdateMatchesSerial() {
+        List<Point> serialPositions = new ArrayList<>();
+        List<String> serialLog = runCity(null, serialPositions);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Point> parallelPositions = new ArrayList<>();
+            List<String> parallelLog = runCity(pool, parallelPositions);
+            assertEquals(40, serialLog.size());
+            assertEquals("Side effects replayed in flight-list order", serialLog, parallelLog);
+            assertEquals(serialPositions, parallelPositions);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParkingDepartsOnDueTickFromWheel() {
+        List<JetPackFlight> flights = new ArrayList<>();
+        Map<JetPackFlight, JetPackFlightState> states = new HashMap<>();
+        List<ParkingSpace> spaces = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            spaces.add(new ParkingSpace("P" + i, 100 + 150 * i, 500));
+            JetPack jp = new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model");
+            JetPackFlight flight = new JetPackFlight(jp, new Point(100 + 150 * i, 505), new Point(900, 900), Color.RED);
+            flights.add(flight);
+        }
+        for (JetPackFlight flight : flights) {
+            states.put(flight, new JetPackFlightState(flight, spaces));
+        }
+        CitySimulation simulation = new CitySimulation(flights, states, null, null, 1000, 1000, new Random(3));
+        SimulationEngine engine = new SimulationEngine(40, simulation);
+        Map<JetPackFlight, Long> parkedAt = new HashMap<>();
+        List<Long> dwells = new ArrayList<>();
+        int maxScheduled = 0;
+        for (int tick = 1; tick <= 400; tick++) {
+            engine.step();
+            maxScheduled = Math.max(maxScheduled, simulation.getScheduledDepartures());
+            for (JetPackFlight flight : flights) {
+                boolean parked = states.get(flight).isParked();
+                if (parked && !parkedAt.containsKey(flight)) {
+                    parkedAt.put(flight, (long) tick);
+                } else if (!parked && parkedAt.containsKey(flight)) {
+                    dwells.add(tick - parkedAt.remove(flight));
+                }
+            }
+            int parkedCount = 0;
+            for (JetPackFlightState state : states.values()) {
+                if (state.isParked()) parkedCount++;
+            }
+            assertEquals("One wheel entry per parked flight", parkedCount, simulation.getScheduledDepartures());
+        }
+        assertTrue("Flights parked", maxScheduled > 0);
+        assertFalse("Flights departed again", dwells.isEmpty());
+        for (long dwell : dwells) {
+            assertTrue("Dwell " + dwell + " within 15-45 ticks", dwell >= 15 && dwell <= 45);
+        }
+    }
+
+    @Test
+    public void testScheduledParkingIgnoresPerTickUpdates() {
+        JetPack jp = new JetPack("JP1", "TEST-1", "CALL-1", "Pilot", "2024", "Model");
+        JetPackFlight flight = new JetPackFlight(jp, new Point(100, 100), new Point(900, 900), Color.RED);
+        List<ParkingSpace> spaces = new ArrayList<>();
+        spaces.add(new ParkingSpace("P1", 100, 100));
+        JetPackFlightState state = new JetPackFlightState(flight, spaces);
+        AtomicInteger scheduled = new AtomicInteger();
+        state.setDepartureScheduler((s, dwell) -> scheduled.set(dwell));
+        for (int i = 0; i < 50 && !state.isParked(); i++) {
+            state.update();
+        }
+        assertTrue(state.isParked());
+        for (int i = 0; i < 100; i++) {
+            state.update();  // No countdown while the scheduler owns the departure
+        }
+        assertTrue(state.isParked());
+        assertTrue(scheduled.get() >= 15 && scheduled.get() <= 45);
+        state.depart();
+        assertFalse(state.isParked());
+        assertFalse(spaces.get(0).isOccupied());
+    }
+}
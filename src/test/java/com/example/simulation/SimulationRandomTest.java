@@ -0,0 +1,115 @@
+/**
+ * Unit tests for SimulationRandom and TrajectoryHash functionality and behavior validation.
+ *
+ * Purpose:
+ * Validates that deterministic mode makes whole city runs reproducible: the same seed yields the same
+ * trajectory hash across runs and across parallel update thread counts, and a different seed does not.
+ *
+ * Key Test Areas:
+ * - Seeded streams repeat; unseeded mode is reported as such
+ * - Trajectory hash identical across serial and parallel runs
+ * - Trajectory hash sensitive to the seed
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Restores unseeded mode after each test
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.simulation;
+
+import java.awt.Color;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Test;
+
+import com.example.flight.JetPackFlight;
+import com.example.flight.JetPackFlightState;
+import com.example.jetpack.JetPack;
+import com.example.parking.ParkingSpace;
+
+/**
+ * Test suite for SimulationRandom
+ */
+public class SimulationRandomTest {
+    private static final int MAP_SIZE = 1000;
+
+    @After
+    public void tearDown() {
+        SimulationRandom.clearSeed();
+    }
+
+    /**
+     * Builds a seeded city with parking, runs it for 300 ticks and returns its trajectory hash.
+     */
+    private static TrajectoryHash runCity(long seed, ForkJoinPool pool) {
+        SimulationRandom.setSeed(seed);
+        Random layout = SimulationRandom.newRandom();
+        List<ParkingSpace> parking = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            parking.add(new ParkingSpace("P" + i, 50 + layout.nextInt(MAP_SIZE - 100), 50 + layout.nextInt(MAP_SIZE - 100)));
+        }
+        List<JetPackFlight> flights = new ArrayList<>();
+        Map<JetPackFlight, JetPackFlightState> states = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            JetPack jp = new JetPack("JP" + i, "TEST-" + i, "CALL-" + i, "Pilot", "2024", "Model");
+            JetPackFlight flight = new JetPackFlight(jp,
+                new Point(layout.nextInt(MAP_SIZE), layout.nextInt(MAP_SIZE)),
+                new Point(layout.nextInt(MAP_SIZE), layout.nextInt(MAP_SIZE)), Color.RED);
+            flights.add(flight);
+            states.put(flight, new JetPackFlightState(flight, parking));
+        }
+        CitySimulation simulation = new CitySimulation(flights, states, null, null, MAP_SIZE, MAP_SIZE,
+            SimulationRandom.newRandom());
+        simulation.setChunkSize(16);
+        simulation.setUpdatePool(pool);
+        TrajectoryHash hash = new TrajectoryHash();
+        new SimulationEngine(40, hash.wrap(simulation, flights)).step(300);
+        return hash;
+    }
+
+    @Test
+    public void testSeededStreamsRepeat() {
+        SimulationRandom.setSeed(99);
+        assertTrue(SimulationRandom.isDeterministic());
+        long first = SimulationRandom.split().nextLong();
+        int firstInt = SimulationRandom.newRandom().nextInt();
+        SimulationRandom.setSeed(99);
+        assertEquals(first, SimulationRandom.split().nextLong());
+        assertEquals(firstInt, SimulationRandom.newRandom().nextInt());
+        SimulationRandom.clearSeed();
+        assertFalse(SimulationRandom.isDeterministic());
+    }
+
+    @Test
+    public void testSeededRunsMatchAcrossThreadCounts() {
+        TrajectoryHash serial = runCity(1234, null);
+        assertEquals(300, serial.getRecordedTicks());
+        assertEquals("Repeat run", serial.getValue(), runCity(1234, null).getValue());
+        for (int threads : new int[] {1, 3}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                assertEquals(threads + " update threads", serial.getValue(), runCity(1234, pool).getValue());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testDifferentSeedsDiverge() {
+        assertNotEquals(runCity(1, null).getValue(), runCity(2, null).getValue());
+    }
+}
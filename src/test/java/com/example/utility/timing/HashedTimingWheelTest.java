@@ -0,0 +1,90 @@
+/**
+ * Unit tests for HashedTimingWheel functionality and behavior validation.
+ *
+ * Purpose:
+ * Validates that timeouts fire on the first advance at or after their deadline, never early, and
+ * that rescheduling and cancelling move or remove them without disturbing other entries.
+ *
+ * Key Test Areas:
+ * - Deadlines rounded up to the tick and fired once
+ * - Deadlines beyond one wheel rotation wait for their round
+ * - Reschedule and cancel
+ * - Large advances visit each bucket once and still expire everything due
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Time is passed explicitly; no sleeping
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.utility.timing;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.example.utility.timing.HashedTimingWheel.Timeout;
+
+/**
+ * Test suite for HashedTimingWheel
+ */
+public class HashedTimingWheelTest {
+    private HashedTimingWheel<String> wheel;
+
+    @Before
+    public void setUp() {
+        wheel = new HashedTimingWheel<>(10, 8, 0);  // 8 buckets of 10 ms: one rotation is 80 ms
+    }
+
+    @Test
+    public void testFiresAtDeadlineNotBefore() {
+        wheel.schedule("a", 25);
+        assertTrue(wheel.advance(20).isEmpty());
+        assertTrue("Deadline rounds up to the 30 ms tick", wheel.advance(29).isEmpty());
+        List<Timeout<String>> expired = wheel.advance(30);
+        assertEquals(1, expired.size());
+        assertEquals("a", expired.get(0).getItem());
+        assertFalse(expired.get(0).isScheduled());
+        assertTrue("Fires once", wheel.advance(100).isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testDeadlineBeyondOneRotationWaits() {
+        wheel.schedule("near", 30);
+        wheel.schedule("far", 110);  // Same bucket as 30, one round later
+        assertEquals(1, wheel.advance(30).size());
+        assertTrue(wheel.advance(100).isEmpty());
+        assertEquals("far", wheel.advance(110).get(0).getItem());
+    }
+
+    @Test
+    public void testRescheduleAndCancel() {
+        Timeout<String> moved = wheel.schedule("moved", 20);
+        Timeout<String> cancelled = wheel.schedule("cancelled", 20);
+        wheel.reschedule(moved, 50);
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse("Second cancel is a no-op", wheel.cancel(cancelled));
+        assertTrue(wheel.advance(40).isEmpty());
+        assertEquals("moved", wheel.advance(50).get(0).getItem());
+
+        wheel.reschedule(moved, 10);  // Past deadline after firing: due on the next tick
+        assertEquals(1, wheel.advance(60).size());
+    }
+
+    @Test
+    public void testLargeAdvanceExpiresEverythingDue() {
+        for (int i = 0; i < 100; i++) {
+            wheel.schedule("t" + i, i * 7);
+        }
+        wheel.schedule("later", 10_000);
+        assertEquals(100, wheel.advance(1_000).size());
+        assertEquals(1, wheel.size());
+        assertEquals(8, wheel.getWheelSize());
+    }
+}
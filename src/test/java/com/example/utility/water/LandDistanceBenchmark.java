@@ -0,0 +1,106 @@
+/**
+ * Stand-alone benchmark for LandDistanceMap against the old spiral search for closest land.
+ *
+ * Purpose:
+ * Builds a city-sized map (a wide river, a harbor and an offshore strip of open water), then times
+ * building the nearest-land map and answering closest-land for flights scattered over the water,
+ * compared with the spiral search FlightEmergencyHandler and WaterDetector used before. Reports the
+ * build time and memory per city. Not a JUnit test (no Test suffix), so it does not run with the
+ * unit suite.
+ *
+ * Usage:
+ * java -cp target/classes:target/test-classes com.example.utility.water.LandDistanceBenchmark
+ *
+ * Patterns & Constraints:
+ * - Seeded, so every run asks the same queries
+ * - Build time is the best of several builds, after one warm-up build, and excludes the TerrainMask
+ * - The spiral reads pixels through getRGB, as it used to
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.utility.water;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+public class LandDistanceBenchmark {
+    private static final int MAP_WIDTH = 2000;
+    private static final int MAP_HEIGHT = 1600;
+    private static final int QUERIES = 2_000;
+    private static final int BUILDS = 5;
+
+    public static void main(String[] args) {
+        BufferedImage map = new BufferedImage(MAP_WIDTH, MAP_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = map.createGraphics();
+        g.setColor(new Color(200, 200, 190));
+        g.fillRect(0, 0, MAP_WIDTH, MAP_HEIGHT);
+        g.setColor(new Color(40, 90, 200));
+        g.fillRect(600, 0, 250, MAP_HEIGHT);          // River
+        g.fillOval(1100, 900, 700, 600);              // Harbor
+        g.fillRect(0, MAP_HEIGHT - 200, MAP_WIDTH, 200);  // Open water along the south edge
+        g.dispose();
+
+        TerrainMask terrain = new TerrainMask(map);
+        LandDistanceMap land = new LandDistanceMap(terrain);  // Warm-up
+        double bestMs = Double.MAX_VALUE;
+        for (int i = 0; i < BUILDS; i++) {
+            land = new LandDistanceMap(terrain);
+            bestMs = Math.min(bestMs, land.getBuildMillis());
+        }
+        System.out.printf("%dx%d map, %d land pixels: built in %.1f ms, %.1f MB (%d bytes/pixel)%n",
+            MAP_WIDTH, MAP_HEIGHT, land.getLandCount(), bestMs, land.estimateBytes() / 1048576.0,
+            land.estimateBytes() / ((long) MAP_WIDTH * MAP_HEIGHT));
+
+        Random random = new Random(3);
+        int[] xs = new int[QUERIES];
+        int[] ys = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            do {
+                xs[i] = random.nextInt(MAP_WIDTH);
+                ys[i] = random.nextInt(MAP_HEIGHT);
+            } while (!terrain.isWater(xs[i], ys[i]));
+        }
+
+        long checksum = 0;
+        double spiralDistance = 0, exactDistance = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            Point p = spiral(map, xs[i], ys[i]);
+            checksum += p.x + p.y;
+            spiralDistance += Math.hypot(p.x - xs[i], p.y - ys[i]);
+        }
+        double spiralUs = (System.nanoTime() - start) / 1e3 / QUERIES;
+        start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            Point p = land.closestLand(xs[i], ys[i]);
+            checksum += p.x + p.y;
+            exactDistance += Math.hypot(p.x - xs[i], p.y - ys[i]);
+        }
+        double mapUs = (System.nanoTime() - start) / 1e3 / QUERIES;
+        System.out.printf("Spiral search: %10.3f us/query, mean distance to land %.1f px%n", spiralUs, spiralDistance / QUERIES);
+        System.out.printf("Distance map:  %10.3f us/query, mean distance to land %.1f px%n", mapUs, exactDistance / QUERIES);
+        System.out.printf("Break-even after %.0f queries (checksum %d)%n", bestMs * 1e3 / (spiralUs - mapUs), checksum);
+    }
+
+    /** The spiral search the emergency handler used before the distance map */
+    private static Point spiral(BufferedImage map, int x, int y) {
+        int maxRadius = Math.max(map.getWidth(), map.getHeight());
+        for (int radius = 10; radius < maxRadius; radius += 10) {
+            int numPoints = radius * 4;
+            for (int i = 0; i < numPoints; i++) {
+                double angle = (2 * Math.PI * i) / numPoints;
+                int testX = x + (int) (radius * Math.cos(angle));
+                int testY = y + (int) (radius * Math.sin(angle));
+                if (testX >= 0 && testX < map.getWidth() && testY >= 0 && testY < map.getHeight()
+                        && TerrainMask.classify(map.getRGB(testX, testY)) != TerrainMask.WATER) {
+                    return new Point(testX, testY);
+                }
+            }
+        }
+        return new Point(map.getWidth() / 2, map.getHeight() / 2);
+    }
+}
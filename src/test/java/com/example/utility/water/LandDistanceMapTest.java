@@ -0,0 +1,133 @@
+/**
+ * Unit tests for LandDistanceMap.
+ *
+ * Purpose:
+ * Validates that the precomputed nearest-land map gives exactly the Euclidean distance a brute-force
+ * search over every land pixel gives, on maps large enough to span several parallel bands.
+ *
+ * Key Test Areas:
+ * - Exact distances against brute force on random and river-shaped maps
+ * - Land pixels map to themselves; off-map queries are clamped
+ * - Maps without land, and one map per image from the TerrainMask cache
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Synthetic images with a fixed seed; pure blue pixels are water, light gray ones land
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.utility.water;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test suite for LandDistanceMap
+ */
+public class LandDistanceMapTest {
+    private static final int WATER = 0x0000FF;
+    private static final int LAND = 0xC8C8BE;
+
+    private static boolean isWater(int rgb) {
+        return TerrainMask.classify(rgb) == TerrainMask.WATER;
+    }
+
+    private static BufferedImage filled(int width, int height, int rgb) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(new Color(rgb));
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        return image;
+    }
+
+    /** Asserts that every pixel's nearest land is land and exactly as close as the closest land pixel */
+    private static void assertMatchesBruteForce(BufferedImage image) {
+        LandDistanceMap map = new LandDistanceMap(new TerrainMask(image));
+        int width = image.getWidth(), height = image.getHeight();
+        List<Point> lands = new ArrayList<>();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (!isWater(image.getRGB(x, y))) lands.add(new Point(x, y));
+            }
+        }
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                long best = Long.MAX_VALUE;
+                for (Point p : lands) {
+                    best = Math.min(best, (long) (p.x - x) * (p.x - x) + (long) (p.y - y) * (p.y - y));
+                }
+                Point land = map.closestLand(x, y);
+                assertFalse("Nearest of " + x + "," + y + " is land", isWater(image.getRGB(land.x, land.y)));
+                long d2 = (long) (land.x - x) * (land.x - x) + (long) (land.y - y) * (land.y - y);
+                assertEquals("Squared distance at " + x + "," + y, best, d2);
+            }
+        }
+    }
+
+    @Test
+    public void testSparseLandMatchesBruteForce() {
+        BufferedImage image = filled(150, 140, WATER);  // Spans three bands each way
+        Random random = new Random(5);
+        for (int i = 0; i < 25; i++) {
+            image.setRGB(random.nextInt(150), random.nextInt(140), LAND);
+        }
+        assertMatchesBruteForce(image);
+    }
+
+    @Test
+    public void testRiverMatchesBruteForce() {
+        BufferedImage image = filled(130, 90, LAND);
+        Graphics2D g = image.createGraphics();
+        g.setColor(new Color(WATER));
+        g.fillRect(40, 0, 35, 90);      // River
+        g.fillOval(80, 10, 45, 60);     // Lake joining it
+        g.fillRect(0, 0, 130, 6);       // Coast along the top edge
+        g.dispose();
+        assertMatchesBruteForce(image);
+    }
+
+    @Test
+    public void testLandAndOffMapQueries() {
+        BufferedImage image = filled(100, 100, WATER);
+        image.setRGB(10, 20, LAND);
+        image.setRGB(90, 80, LAND);
+        LandDistanceMap map = new LandDistanceMap(new TerrainMask(image));
+        assertEquals(2, map.getLandCount());
+        assertTrue(map.isLand(10, 20));
+        assertFalse(map.isLand(11, 20));
+        assertEquals(new Point(10, 20), map.closestLand(10, 20));
+        assertEquals(0, map.distanceToLand(90, 80), 0);
+        assertEquals(new Point(90, 80), map.closestLand(70, 70));
+        assertEquals(5, map.distanceToLand(13, 24), 1e-9);
+        assertEquals("Clamped onto the corner first", new Point(10, 20), map.closestLand(-50, -50));
+        assertEquals(4L * 100 * 100, map.estimateBytes(), 100);
+    }
+
+    @Test
+    public void testNoLandAndCachePerImage() {
+        LandDistanceMap sea = new LandDistanceMap(new TerrainMask(filled(40, 30, WATER)));
+        assertFalse(sea.hasLand());
+        assertNull(sea.closestLand(5, 5));
+        assertEquals(Double.POSITIVE_INFINITY, sea.distanceToLand(5, 5), 0);
+
+        BufferedImage image = filled(40, 30, LAND);
+        LandDistanceMap first = TerrainMask.forImage(image).getLandDistanceMap();
+        assertSame("Built once per image", first, TerrainMask.forImage(image).getLandDistanceMap());
+        assertNotSame(first, TerrainMask.forImage(filled(40, 30, LAND)).getLandDistanceMap());
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Stand-alone benchmark for TerrainMask against per-query getRGB classification.
+ *
+ * Purpose:
+ * Builds a city-sized map (land, a river, a harbor and a street grid), then times classifying it
+ * into a TerrainMask and answering water lookups at random points, compared with reading each pixel
+ * through BufferedImage.getRGB and applying the color rule, as the old per-caller tests did. Reports
+ * the build time and memory per city. Not a JUnit test (no Test suffix), so it does not run with
+ * the unit suite.
+ *
+ * Usage:
+ * java -cp target/classes:target/test-classes com.example.utility.water.TerrainMaskBenchmark
+ *
+ * Patterns & Constraints:
+ * - Seeded, so every run asks the same queries
+ * - Build time is the best of several builds, after one warm-up build
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.utility.water;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+public class TerrainMaskBenchmark {
+    private static final int MAP_WIDTH = 2000;
+    private static final int MAP_HEIGHT = 1600;
+    private static final int QUERIES = 5_000_000;
+    private static final int BUILDS = 5;
+
+    public static void main(String[] args) {
+        BufferedImage map = new BufferedImage(MAP_WIDTH, MAP_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = map.createGraphics();
+        g.setColor(new Color(225, 220, 205));
+        g.fillRect(0, 0, MAP_WIDTH, MAP_HEIGHT);
+        g.setColor(new Color(128, 132, 134));
+        for (int i = 0; i < MAP_WIDTH; i += 80) {
+            g.fillRect(i, 0, 6, MAP_HEIGHT);  // Avenues
+        }
+        for (int i = 0; i < MAP_HEIGHT; i += 80) {
+            g.fillRect(0, i, MAP_WIDTH, 6);  // Streets
+        }
+        g.setColor(new Color(40, 90, 200));
+        g.fillRect(600, 0, 250, MAP_HEIGHT);  // River
+        g.fillOval(1100, 900, 700, 600);      // Harbor
+        g.setColor(new Color(230, 160, 60));
+        g.fillRect(580, 700, 290, 12);        // Bridge
+        g.dispose();
+
+        TerrainMask mask = new TerrainMask(map);  // Warm-up
+        double bestMs = Double.MAX_VALUE;
+        for (int i = 0; i < BUILDS; i++) {
+            mask = new TerrainMask(map);
+            bestMs = Math.min(bestMs, mask.getBuildMillis());
+        }
+        long pixels = (long) MAP_WIDTH * MAP_HEIGHT;
+        System.out.printf("%dx%d map: built in %.1f ms, %.2f MB (%.2f bits/pixel)%n", MAP_WIDTH, MAP_HEIGHT, bestMs,
+            mask.estimateBytes() / 1048576.0, 8.0 * mask.estimateBytes() / pixels);
+        System.out.printf("Classes: %d land, %d water, %d road, %d bridge%n", mask.getCount(TerrainMask.LAND),
+            mask.getCount(TerrainMask.WATER), mask.getCount(TerrainMask.ROAD), mask.getCount(TerrainMask.BRIDGE));
+
+        Random random = new Random(3);
+        int[] xs = new int[QUERIES];
+        int[] ys = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            xs[i] = random.nextInt(MAP_WIDTH);
+            ys[i] = random.nextInt(MAP_HEIGHT);
+        }
+        for (int round = 0; round < 2; round++) {  // Second round after both loops have been compiled
+            int water = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                if (TerrainMask.classify(map.getRGB(xs[i], ys[i])) == TerrainMask.WATER) water++;
+            }
+            double rgbNs = (double) (System.nanoTime() - start) / QUERIES;
+            int maskWater = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                if (mask.isWater(xs[i], ys[i])) maskWater++;
+            }
+            double maskNs = (double) (System.nanoTime() - start) / QUERIES;
+            if (round == 1) {
+                System.out.printf("getRGB + rule: %7.2f ns/lookup (%d water)%n", rgbNs, water);
+                System.out.printf("TerrainMask:   %7.2f ns/lookup (%d water)%n", maskNs, maskWater);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Unit tests for TerrainMask.
+ *
+ * Purpose:
+ * Validates the shared terrain color rule and that the packed mask returns, for every pixel, the
+ * class the rule gives for its color, through point, row and rectangle queries.
+ *
+ * Key Test Areas:
+ * - Classification of water tiers, roads, bridges and plain land
+ * - Packed lookups against per-pixel classification, across word and band boundaries
+ * - Bulk row and rectangle reads, and counts, including off-map pixels
+ * - One mask per image from the cache
+ *
+ * Patterns & Constraints:
+ * - JUnit framework for test execution and assertions
+ * - Synthetic images from a fixed seed and palette
+ *
+ * @author Haisam Elkewidy
+ */
+
+package com.example.utility.water;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test suite for TerrainMask
+ */
+public class TerrainMaskTest {
+    private static final int RIVER = 0x2840C8;   // Blue dominates
+    private static final int DEEP = 0x8CA0DC;    // Bright blue leads
+    private static final int SHADOW = 0x3C6478;  // Dark, blue-biased
+    private static final int ROAD = 0x808486;
+    private static final int BRIDGE = 0xE6A03C;
+    private static final int PARK = 0x50A03C;
+    private static final int[] PALETTE = {RIVER, DEEP, SHADOW, ROAD, BRIDGE, PARK};
+
+    /** An image of random palette colors; 70 wide so rows end mid-word, 150 tall so it spans three bands */
+    private static BufferedImage randomImage() {
+        BufferedImage image = new BufferedImage(70, 150, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(9);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, PALETTE[random.nextInt(PALETTE.length)]);
+            }
+        }
+        return image;
+    }
+
+    @Test
+    public void testClassify() {
+        assertEquals(TerrainMask.WATER, TerrainMask.classify(RIVER));
+        assertEquals(TerrainMask.WATER, TerrainMask.classify(DEEP));
+        assertEquals(TerrainMask.WATER, TerrainMask.classify(SHADOW));
+        assertEquals(TerrainMask.ROAD, TerrainMask.classify(ROAD));
+        assertEquals(TerrainMask.BRIDGE, TerrainMask.classify(BRIDGE));
+        assertEquals(TerrainMask.LAND, TerrainMask.classify(PARK));
+        assertEquals(TerrainMask.LAND, TerrainMask.classify(0x000000));
+        assertEquals(TerrainMask.LAND, TerrainMask.classify(0xFFFFFF));
+        assertEquals("bridge", TerrainMask.nameOf(TerrainMask.BRIDGE));
+    }
+
+    @Test
+    public void testEveryPixelMatchesItsColor() {
+        BufferedImage image = randomImage();
+        TerrainMask mask = new TerrainMask(image);
+        int[] counts = new int[4];
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int expected = TerrainMask.classify(image.getRGB(x, y));
+                counts[expected]++;
+                assertEquals("Pixel " + x + "," + y, expected, mask.classAt(x, y));
+                assertEquals(expected == TerrainMask.WATER, mask.isWater(x, y));
+            }
+        }
+        for (int c = 0; c < 4; c++) {
+            assertEquals(counts[c], mask.getCount(c));
+        }
+        assertTrue("Off the map reads as water", mask.isWater(-1, 5) && mask.isWater(70, 5) && mask.isWater(5, 150));
+        assertFalse(mask.isLand(5, -1));
+        assertEquals(8L * 3 * 150, mask.estimateBytes(), 100);  // Three words per 70-pixel row
+    }
+
+    @Test
+    public void testRowAndRectangleQueries() {
+        BufferedImage image = randomImage();
+        TerrainMask mask = new TerrainMask(image);
+        byte[] row = new byte[10];
+        mask.getRow(64, 62, 10, row, 0);  // Crosses the right edge
+        for (int i = 0; i < 10; i++) {
+            assertEquals(mask.classAt(62 + i, 64), row[i]);
+        }
+        assertEquals(TerrainMask.WATER, row[9]);
+
+        byte[] rect = new byte[40 * 5];
+        mask.getRect(20, 60, 40, 5, rect);  // Spans a band boundary and two words
+        int roads = 0;
+        for (int dy = 0; dy < 5; dy++) {
+            for (int dx = 0; dx < 40; dx++) {
+                assertEquals(mask.classAt(20 + dx, 60 + dy), rect[dy * 40 + dx]);
+                if (rect[dy * 40 + dx] == TerrainMask.ROAD) roads++;
+            }
+        }
+        assertEquals(roads, mask.countInRect(20, 60, 40, 5, TerrainMask.ROAD));
+        int allRoads = mask.countInRect(-10, -10, 100, 200, TerrainMask.ROAD);  // Clipped to the map
+        assertEquals(mask.getCount(TerrainMask.ROAD), allRoads);
+
+        byte[] offMap = new byte[3];
+        mask.getRow(-1, 0, 3, offMap, 0);
+        assertArrayEquals(new byte[] {TerrainMask.WATER, TerrainMask.WATER, TerrainMask.WATER}, offMap);
+    }
+
+    @Test
+    public void testOneMaskPerImage() {
+        BufferedImage image = randomImage();
+        assertNull(TerrainMask.cached(image));
+        TerrainMask mask = TerrainMask.forImage(image);
+        assertSame(mask, TerrainMask.forImage(image));
+        assertSame(mask, TerrainMask.cached(image));
+        assertNull("Nearest-land map is built on first use", mask.getLandDistanceMapIfBuilt());
+        assertSame(mask.getLandDistanceMap(), mask.getLandDistanceMapIfBuilt());
+    }
+}